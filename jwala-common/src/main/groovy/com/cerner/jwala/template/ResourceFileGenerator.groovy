@@ -7,14 +7,24 @@ import com.cerner.jwala.common.domain.model.resource.ResourceGroup
 import com.cerner.jwala.common.domain.model.webserver.WebServer
 import com.cerner.jwala.common.properties.ApplicationProperties
 import com.cerner.jwala.common.properties.ExternalProperties
+import com.cerner.jwala.common.properties.PropertyKeys
 import com.cerner.jwala.template.exception.ResourceFileGeneratorException
-import groovy.text.StreamingTemplateEngine
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 class ResourceFileGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceFileGenerator.class);
+    private static final int DEFAULT_TEMPLATE_CACHE_SIZE = 1000;
+    private static final ResourceTemplateCache TEMPLATE_CACHE = new ResourceTemplateCache(
+            ApplicationProperties.getAsInteger(PropertyKeys.RESOURCE_TEMPLATE_CACHE_SIZE, DEFAULT_TEMPLATE_CACHE_SIZE));
+
+    /**
+     * @return the statistics of the cache of compiled templates
+     */
+    static Map<String, Object> getTemplateCacheStatistics() {
+        return TEMPLATE_CACHE.getStatistics()
+    }
 
     static <T> String generateResourceConfig(String fileName, String templateText, ResourceGroup resourceGroup, T selectedValue) {
         WebServer webServer = null
@@ -77,10 +87,8 @@ class ResourceFileGenerator {
             binding.ext = extMap;
         }
 
-        final engine = new StreamingTemplateEngine();
-
         try {
-            return engine.createTemplate(templateText).make(binding.withDefault { '' })
+            return TEMPLATE_CACHE.getTemplate(templateText).make(binding.withDefault { '' })
         } catch (final Exception e) {
             final String messageHistory = "Failed to bind data and properties to : " + fileName.trim();
             final String message = messageHistory + " for " + entityInfo + ". Cause(s) of the failure is/are: " + e.getMessage()
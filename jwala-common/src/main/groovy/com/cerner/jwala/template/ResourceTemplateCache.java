@@ -0,0 +1,166 @@
+package com.cerner.jwala.template;
+
+import groovy.text.StreamingTemplateEngine;
+import groovy.text.Template;
+import groovy.text.TemplateEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of compiled resource templates.
+ * <p>
+ * Every compile of a template generates a new class, so compiling the same template for each JVM of a large group is
+ * slow and fills the Metaspace. The templates are keyed by the SHA-256 of their text so an edited template simply gets
+ * a new entry, the entry of the previous text is evicted once it becomes the least recently used one. A template that
+ * is being compiled by a thread is not compiled again by the threads that ask for it at the same time, they wait for
+ * the result instead.
+ */
+public class ResourceTemplateCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceTemplateCache.class);
+
+    private final int maxSize;
+    private final TemplateEngine engine;
+    private final Map<String, Template> templates;
+    private final ConcurrentMap<String, FutureTask<Template>> compilations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong compileTimeMillis = new AtomicLong();
+
+    /**
+     * @param maxSize the maximum number of compiled templates to keep, templates are not cached if less than 1
+     */
+    public ResourceTemplateCache(final int maxSize) {
+        this(maxSize, new StreamingTemplateEngine());
+    }
+
+    ResourceTemplateCache(final int maxSize, final TemplateEngine engine) {
+        this.maxSize = maxSize;
+        this.engine = engine;
+        this.templates = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Template> eldest) {
+                if (size() > ResourceTemplateCache.this.maxSize) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the compiled template of a template text, the template is compiled if it is not in the cache
+     *
+     * @param templateText the template text
+     * @return the compiled {@link Template}
+     * @throws Exception if the template can't be compiled
+     */
+    public Template getTemplate(final String templateText) throws Exception {
+        if (maxSize < 1) {
+            missCount.incrementAndGet();
+            return compile(templateText);
+        }
+
+        final String key = getKey(templateText);
+        synchronized (templates) {
+            final Template template = templates.get(key);
+            if (template != null) {
+                hitCount.incrementAndGet();
+                return template;
+            }
+        }
+
+        final FutureTask<Template> compilation = new FutureTask<>(() -> compile(templateText));
+        final FutureTask<Template> pendingCompilation = compilations.putIfAbsent(key, compilation);
+        if (pendingCompilation != null) {
+            hitCount.incrementAndGet();
+            return getResult(pendingCompilation);
+        }
+
+        missCount.incrementAndGet();
+        try {
+            compilation.run();
+            final Template template = getResult(compilation);
+            synchronized (templates) {
+                templates.put(key, template);
+            }
+            return template;
+        } finally {
+            compilations.remove(key);
+        }
+    }
+
+    /**
+     * @return the size, limit, hit, miss and eviction counts of the cache and the time spent compiling templates
+     */
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> statistics = new LinkedHashMap<>();
+        synchronized (templates) {
+            statistics.put("size", templates.size());
+        }
+        final long hits = hitCount.get();
+        final long misses = missCount.get();
+        statistics.put("maxSize", maxSize);
+        statistics.put("hitCount", hits);
+        statistics.put("missCount", misses);
+        statistics.put("hitRatio", hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        statistics.put("evictionCount", evictionCount.get());
+        statistics.put("compileTimeMillis", compileTimeMillis.get());
+        return statistics;
+    }
+
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    private Template compile(final String templateText) throws Exception {
+        final long startTime = System.currentTimeMillis();
+        final Template template = engine.createTemplate(templateText);
+        final long duration = System.currentTimeMillis() - startTime;
+        compileTimeMillis.addAndGet(duration);
+        LOGGER.debug("Compiled a template of {} characters in {} ms", templateText.length(), duration);
+        return template;
+    }
+
+    private static Template getResult(final FutureTask<Template> compilation) throws Exception {
+        try {
+            return compilation.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String getKey(final String templateText) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(templateText.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder key = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.cerner.jwala.commandprocessor.impl.jsch;
+
+import com.cerner.jwala.commandprocessor.CommandProcessor;
+import com.cerner.jwala.common.domain.model.ssh.DecryptPassword;
+import com.cerner.jwala.common.exec.CommandOutputReturnCode;
+import com.cerner.jwala.common.exec.ExecCommand;
+import com.cerner.jwala.common.exec.ExecReturnCode;
+import com.cerner.jwala.common.exec.RemoteExecCommand;
+import com.cerner.jwala.common.exec.RemoteSystemConnection;
+import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
+import com.cerner.jwala.common.jsch.impl.RemoteOutputCollector;
+import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.common.properties.PropertyKeys;
+import com.cerner.jwala.exception.RemoteCommandFailureException;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copies a batch of files to a remote host over a single exec channel.
+ * <p>
+ * The files are streamed as a tar archive (optionally gzip-compressed) to a remote tar which extracts them in a
+ * temporary staging directory. Nothing is written to the destinations if the archive can't be extracted. The parent
+ * directory of each destination is then created if needed, an existing destination is either skipped or backed up
+ * depending on the options, and the staged file is copied next to its destination and renamed over it so that a
+ * destination is either left untouched or completely replaced. All of these are done by the same remote invocation. The
+ * remote end reports the outcome of each file which is made available by {@link #getFileResults()}.
+ * <p>
+ * The command fragments are the command name followed by source and destination pairs e.g.
+ * <code>new ExecCommand("tar", source1, destination1, source2, destination2)</code>
+ */
+public class JschScpBatchCommandProcessorImpl implements CommandProcessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JschScpBatchCommandProcessorImpl.class);
+    private static final int CHANNEL_CONNECT_TIMEOUT = 60000;
+    private static final long TIMEOUT = 300000;
+    private static final int BUFFER_SIZE = 8192;
+    private static final String RESULT_PREFIX = "JWALA_BATCH_RESULT";
+    private static final String TMP_SUFFIX = ".jwala-tmp";
+
+    private final JSch jsch;
+    private final RemoteExecCommand remoteCommand;
+    private final boolean compress;
+    private final boolean overwrite;
+    private final String backupSuffix;
+    private final List<String> sources = new ArrayList<>();
+    private final List<String> destinations = new ArrayList<>();
+    private final Map<String, FileResult> fileResults = new LinkedHashMap<>();
+
+    private String commandOutputStr;
+    private String errorOutputStr;
+    private int returnCode = -1;
+
+    /**
+     * The outcome of the copy of a file
+     */
+    public enum FileResult {
+        COPIED, SKIPPED, CREATE_DIR_FAILED, BACKUP_FAILED, COPY_FAILED, NOT_COPIED;
+
+        public boolean wasSuccessful() {
+            return this == COPIED || this == SKIPPED;
+        }
+    }
+
+    /**
+     * Creates a processor that overwrites existing destinations without backing them up
+     *
+     * @param jsch          the {@link JSch}
+     * @param remoteCommand the command, see the class documentation for the expected fragments
+     * @param compress      gzip the archive if true
+     */
+    public JschScpBatchCommandProcessorImpl(final JSch jsch, final RemoteExecCommand remoteCommand, final boolean compress) {
+        this(jsch, remoteCommand, compress, true, null);
+    }
+
+    /**
+     * @param jsch          the {@link JSch}
+     * @param remoteCommand the command, see the class documentation for the expected fragments
+     * @param compress      gzip the archive if true
+     * @param overwrite     if false destinations that already exist are skipped
+     * @param backupSuffix  if not null, existing destinations are copied to their path plus this suffix before they
+     *                      are overwritten
+     */
+    public JschScpBatchCommandProcessorImpl(final JSch jsch, final RemoteExecCommand remoteCommand, final boolean compress,
+                                            final boolean overwrite, final String backupSuffix) {
+        this.jsch = jsch;
+        this.remoteCommand = remoteCommand;
+        this.compress = compress;
+        this.overwrite = overwrite;
+        this.backupSuffix = backupSuffix;
+
+        final List<String> commandFragments = remoteCommand.getCommand().getCommandFragments();
+        if (commandFragments.size() < 3 || commandFragments.size() % 2 == 0) {
+            throw new JscScpCommandProcessorImplException(MessageFormat.format(
+                    "Expecting source and destination pairs but got {0}", commandFragments));
+        }
+        for (int i = 1; i < commandFragments.size(); i += 2) {
+            sources.add(commandFragments.get(i));
+            destinations.add(commandFragments.get(i + 1).replace("\\", "/"));
+        }
+    }
+
+    /**
+     * Copies a single file and places it at its destination with one remote invocation. The archive is compressed
+     * according to {@link PropertyKeys#JSCH_SCP_BATCH_COMPRESS}.
+     *
+     * @param jsch         the {@link JSch}
+     * @param connection   the host where the file is copied to
+     * @param source       the file to copy
+     * @param destination  where the file is placed
+     * @param overwrite    if false an existing destination is skipped
+     * @param backupSuffix if not null, an existing destination is copied to its path plus this suffix before it is
+     *                     overwritten
+     * @return the result whose standard output is the {@link FileResult} of the file, {@link FileResult#NOT_COPIED}
+     * with a failed return code if the remote end did not report a result
+     * @throws RemoteCommandFailureException if the copy could not be run
+     */
+    public static RemoteCommandReturnInfo copyAndPlace(final JSch jsch, final RemoteSystemConnection connection,
+                                                       final String source, final String destination,
+                                                       final boolean overwrite, final String backupSuffix)
+            throws RemoteCommandFailureException {
+        final JschScpBatchCommandProcessorImpl processor = new JschScpBatchCommandProcessorImpl(jsch,
+                new RemoteExecCommand(connection, new ExecCommand("tar", source, destination)),
+                ApplicationProperties.getAsBoolean(PropertyKeys.JSCH_SCP_BATCH_COMPRESS.getPropertyName()), overwrite,
+                backupSuffix);
+        processor.processCommand();
+        final FileResult fileResult = processor.getFileResults().get(processor.getDestinations().get(0));
+        if (fileResult == null) {
+            // e.g. the remote script died before it could report the result
+            LOGGER.error("No result for the copy of {} to {} on {}, return code {} :: ERROR: {}", source, destination,
+                    connection.getHost(), processor.returnCode, processor.getErrorOutputStr());
+            return new RemoteCommandReturnInfo(processor.returnCode == 0 ? CommandOutputReturnCode.FAILED.getCodeNumber()
+                    : processor.returnCode, FileResult.NOT_COPIED.name(), processor.getErrorOutputStr());
+        }
+        return new RemoteCommandReturnInfo(processor.returnCode, fileResult.name(), processor.getErrorOutputStr());
+    }
+
+    @Override
+    public void processCommand() throws RemoteCommandFailureException {
+        final RemoteSystemConnection remoteSystemConnection = remoteCommand.getRemoteSystemConnection();
+        LOGGER.debug("batch scp of {} file(s) to {}", sources.size(), remoteSystemConnection);
+
+        Session session = null;
+        ChannelExec channel = null;
+        try {
+            session = prepareSession(remoteSystemConnection);
+            session.connect();
+
+            channel = (ChannelExec) session.openChannel("exec");
+            channel.setCommand(createRemoteCommand());
+            final RemoteOutputCollector remoteOutput = new RemoteOutputCollector();
+            final RemoteOutputCollector remoteErrorOutput = new RemoteOutputCollector();
+            channel.setOutputStream(remoteOutput);
+            channel.setErrStream(remoteErrorOutput);
+            final OutputStream localInput = channel.getOutputStream();
+            channel.connect(CHANNEL_CONNECT_TIMEOUT);
+
+            // closing the stream sends EOF which tells the remote tar that the archive is complete
+            try (OutputStream out = localInput) {
+                sendArchive(out);
+            }
+
+            // the error stream is only closed by JSch when the channel is closed i.e. after the exit status was sent
+            if (!remoteOutput.awaitCompletion(TIMEOUT) || !remoteErrorOutput.awaitCompletion(TIMEOUT)) {
+                throw new JscScpCommandProcessorImplException(MessageFormat.format(
+                        "Batch secure copy timeout! Timeout = {0} ms", TIMEOUT));
+            }
+
+            commandOutputStr = remoteOutput.getOutput();
+            errorOutputStr = remoteErrorOutput.getOutput();
+            returnCode = channel.getExitStatus();
+            parseFileResults(commandOutputStr);
+            LOGGER.debug("batch scp to {} done with exit status {} and results {}", remoteSystemConnection.getHost(),
+                    returnCode, fileResults);
+        } catch (final JSchException | IOException | InterruptedException e) {
+            LOGGER.error("Failed to copy files with error: {}", e.getMessage(), e);
+            throw new RemoteCommandFailureException(remoteCommand, e);
+        } finally {
+            if (channel != null && channel.isConnected()) {
+                channel.disconnect();
+            }
+
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Writes the source files to the stream as a tar archive, the entries are named after their index
+     *
+     * @param out the stream where the archive is written
+     * @throws IOException
+     */
+    private void sendArchive(final OutputStream out) throws IOException {
+        final OutputStream archiveOut = compress ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        final TarArchiveOutputStream tarOut = new TarArchiveOutputStream(archiveOut, BUFFER_SIZE);
+        tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+        tarOut.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+        final byte[] buf = new byte[BUFFER_SIZE];
+        for (int i = 0; i < sources.size(); i++) {
+            final File file = new File(sources.get(i));
+            final TarArchiveEntry entry = new TarArchiveEntry(String.valueOf(i));
+            entry.setSize(file.length());
+            entry.setMode(0644);
+            tarOut.putArchiveEntry(entry);
+            try (InputStream in = new FileInputStream(file)) {
+                int size;
+                while ((size = in.read(buf)) != -1) {
+                    tarOut.write(buf, 0, size);
+                }
+            }
+            tarOut.closeArchiveEntry();
+            LOGGER.debug(">>>>>> Sent {} as entry {}", file, i);
+        }
+        tarOut.finish();
+        if (archiveOut instanceof GZIPOutputStream) {
+            ((GZIPOutputStream) archiveOut).finish();
+        }
+        out.flush();
+    }
+
+    /**
+     * Creates the shell script that extracts the archive in a staging directory then places each file at its destination
+     *
+     * @return the remote command
+     */
+    private String createRemoteCommand() {
+        final StringBuilder command = new StringBuilder();
+        command.append("stage=$(mktemp -d 2>/dev/null || (mkdir -p /tmp/jwala-batch-$$ && echo /tmp/jwala-batch-$$)) && ")
+                .append(compress ? "tar -xzf - -C \"$stage\"" : "tar -xf - -C \"$stage\"")
+                .append(" || { [ -n \"$stage\" ] && rm -rf \"$stage\"; exit 1; }; failed=0; ");
+        for (int i = 0; i < destinations.size(); i++) {
+            final String destination = destinations.get(i);
+            final int parentIndex = destination.lastIndexOf('/');
+            final String parentDir = parentIndex > 0 ? destination.substring(0, parentIndex) : ".";
+            final String quotedDestination = quote(destination);
+            final String tmpFile = quote(destination + TMP_SUFFIX);
+            command.append("if ! mkdir -p ").append(quote(parentDir)).append("; then s=").append(FileResult.CREATE_DIR_FAILED);
+            if (!overwrite) {
+                command.append("; elif [ -e ").append(quotedDestination).append(" ]; then s=").append(FileResult.SKIPPED);
+            } else if (backupSuffix != null) {
+                command.append("; elif [ -e ").append(quotedDestination).append(" ] && ! cp -p ").append(quotedDestination)
+                        .append(' ').append(quote(destination + backupSuffix)).append("; then s=")
+                        .append(FileResult.BACKUP_FAILED);
+            }
+            command.append("; elif cp \"$stage/").append(i).append("\" ").append(tmpFile)
+                    .append(" && mv -f ").append(tmpFile).append(' ').append(quotedDestination)
+                    .append("; then s=").append(FileResult.COPIED)
+                    .append("; else rm -f ").append(tmpFile).append("; s=").append(FileResult.COPY_FAILED).append("; fi; ")
+                    .append("case $s in ").append(FileResult.COPIED).append('|').append(FileResult.SKIPPED)
+                    .append(") ;; *) failed=1 ;; esac; ")
+                    .append("echo \"").append(RESULT_PREFIX).append(' ').append(i).append(" $s\"; ");
+        }
+        command.append("rm -rf \"$stage\"; exit $failed");
+        return command.toString();
+    }
+
+    /**
+     * Single quotes a path for the remote shell, a leading ~/ is left unquoted so that it is still expanded
+     *
+     * @param path the path to quote
+     * @return the quoted path
+     */
+    public static String quote(final String path) {
+        if (path.startsWith("~/")) {
+            return "~/" + quote(path.substring(2));
+        }
+        return "'" + path.replace("'", "'\\''") + "'";
+    }
+
+    private void parseFileResults(final String output) {
+        for (final String destination : destinations) {
+            fileResults.put(destination, FileResult.NOT_COPIED);
+        }
+        for (final String line : output.split("\\r?\\n")) {
+            final String[] result = line.trim().split(" ");
+            if (result.length == 3 && RESULT_PREFIX.equals(result[0])) {
+                try {
+                    fileResults.put(destinations.get(Integer.parseInt(result[1])), FileResult.valueOf(result[2]));
+                } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+                    LOGGER.warn("Ignoring unexpected batch scp result {}", line, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the outcome of the copy of each file keyed by destination
+     */
+    public Map<String, FileResult> getFileResults() {
+        return Collections.unmodifiableMap(fileResults);
+    }
+
+    /**
+     * @return the source files in the order they were given
+     */
+    public List<String> getSources() {
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * @return the destinations in the order they were given, with / as the separator like the keys of
+     * {@link #getFileResults()}
+     */
+    public List<String> getDestinations() {
+        return Collections.unmodifiableList(destinations);
+    }
+
+    @Override
+    public String getCommandOutputStr() {
+        return commandOutputStr;
+    }
+
+    @Override
+    public String getErrorOutputStr() {
+        return errorOutputStr;
+    }
+
+    @Override
+    public ExecReturnCode getExecutionReturnCode() {
+        return new ExecReturnCode(returnCode);
+    }
+
+    @Override
+    public void close() throws IOException {
+
+    }
+
+    /**
+     * Prepare the session by setting session properties.
+     *
+     * @param remoteSystemConnection see {@link RemoteSystemConnection}
+     * @return {@link Session}
+     * @throws JSchException
+     */
+    private Session prepareSession(final RemoteSystemConnection remoteSystemConnection) throws JSchException {
+        final Session session = jsch.getSession(remoteSystemConnection.getUser(), remoteSystemConnection.getHost(),
+                remoteSystemConnection.getPort());
+        final char[] encryptedPassword = remoteSystemConnection.getEncryptedPassword();
+        session.setPassword(encryptedPassword == null ? remoteSystemConnection.getPassword()
+                : new DecryptPassword().decrypt(encryptedPassword));
+        session.setConfig("StrictHostKeyChecking", "no");
+        session.setConfig("PreferredAuthentications", "password,gssapi-with-mic,publickey,keyboard-interactive");
+        return session;
+    }
+}
@@ -139,13 +139,13 @@ public class JschScpCommandProcessorImpl implements CommandProcessor {
      * @throws IOException
      */
     private void sendFileContent(final String filePath) throws IOException {
-        byte[] buf = new byte[1024];
+        byte[] buf = new byte[8192];
 
         LOGGER.debug(">>>>>> Sending file CONTENTS of {}", filePath);
 
         try (FileInputStream fis = new FileInputStream(filePath)) {
-            while (fis.available() > 0) {
-                final int size = fis.read(buf);
+            int size;
+            while ((size = fis.read(buf)) != -1) {
                 localInput.write(buf, 0, size);
             }
         }
@@ -0,0 +1,63 @@
+package com.cerner.jwala.commandprocessor.jsch.impl;
+
+import com.jcraft.jsch.Channel;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A keyed pool of JSch channels that keeps track of failed borrows and exposes its metrics.
+ */
+public class JschChannelPool extends GenericKeyedObjectPool<ChannelSessionKey, Channel> {
+
+    private final KeyedPooledJschChannelFactory channelFactory;
+    private final AtomicLong borrowFailureCount = new AtomicLong();
+
+    public JschChannelPool(final KeyedPooledJschChannelFactory channelFactory,
+                           final GenericKeyedObjectPoolConfig config) {
+        super(channelFactory, config);
+        this.channelFactory = channelFactory;
+    }
+
+    @Override
+    public Channel borrowObject(final ChannelSessionKey key, final long borrowMaxWaitMillis) throws Exception {
+        try {
+            return super.borrowObject(key, borrowMaxWaitMillis);
+        } catch (final Exception e) {
+            borrowFailureCount.incrementAndGet();
+            throw e;
+        }
+    }
+
+    public long getBorrowFailureCount() {
+        return borrowFailureCount.get();
+    }
+
+    /**
+     * @return a snapshot of the pool's configuration and usage
+     */
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxTotal", getMaxTotal());
+        metrics.put("maxTotalPerKey", getMaxTotalPerKey());
+        metrics.put("maxWaitMillis", getMaxWaitMillis());
+        metrics.put("numActive", getNumActive());
+        metrics.put("numIdle", getNumIdle());
+        metrics.put("numWaiters", getNumWaiters());
+        metrics.put("numSessions", channelFactory.getSessionCount());
+        metrics.put("meanBorrowWaitTimeMillis", getMeanBorrowWaitTimeMillis());
+        metrics.put("maxBorrowWaitTimeMillis", getMaxBorrowWaitTimeMillis());
+        metrics.put("borrowedCount", getBorrowedCount());
+        metrics.put("borrowFailureCount", getBorrowFailureCount());
+        metrics.put("createdCount", getCreatedCount());
+        metrics.put("destroyedCount", getDestroyedCount());
+        metrics.put("destroyedByBorrowValidationCount", getDestroyedByBorrowValidationCount());
+        metrics.put("destroyedByEvictorCount", getDestroyedByEvictorCount());
+        metrics.put("numActivePerKey", getNumActivePerKey());
+        return metrics;
+    }
+
+}
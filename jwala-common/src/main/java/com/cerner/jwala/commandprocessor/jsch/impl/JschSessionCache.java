@@ -0,0 +1,234 @@
+package com.cerner.jwala.commandprocessor.jsch.impl;
+
+import com.cerner.jwala.common.domain.model.ssh.DecryptPassword;
+import com.cerner.jwala.common.exec.RemoteSystemConnection;
+import com.cerner.jwala.common.jsch.JschServiceException;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PreDestroy;
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of long lived JSch sessions keyed by {@link ChannelSessionKey} (user, host and port) wherein a single
+ * session carries several channels. The number of channels that can be opened concurrently on a session is capped
+ * (see sshd's MaxSessions), sessions that have not been used for a while are evicted and sessions that are found to
+ * be disconnected are transparently reconnected.
+ * <p/>
+ * Usage: {@link #borrowSession(ChannelSessionKey)} then {@link #returnSession(ChannelSessionKey)} in a finally block.
+ * If a channel cannot be opened on a borrowed session, call {@link #renewSession(ChannelSessionKey, Session)} to get a
+ * session to retry on without giving up the channel slot.
+ */
+public class JschSessionCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JschSessionCache.class);
+    private static final int SESSION_CONNECT_TIMEOUT = 60000;
+    private static final int SERVER_ALIVE_INTERVAL = 30000;
+    private static final int SERVER_ALIVE_COUNT_MAX = 3;
+
+    private final JSch jsch;
+    private final int maxChannelsPerSession;
+    private final long idleTimeout;
+    private final long borrowTimeout;
+    private final Map<ChannelSessionKey, SessionEntry> sessionEntryMap = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param jsch                  the {@link JSch} used to create sessions
+     * @param maxChannelsPerSession the maximum number of channels that can be opened at the same time on a session
+     * @param idleTimeout           the length of time in ms a session can stay unused before it gets evicted
+     * @param borrowTimeout         the length of time in ms to wait for a free channel slot on a session
+     */
+    public JschSessionCache(final JSch jsch, final int maxChannelsPerSession, final long idleTimeout,
+                            final long borrowTimeout) {
+        this.jsch = jsch;
+        this.maxChannelsPerSession = maxChannelsPerSession;
+        this.idleTimeout = idleTimeout;
+        this.borrowTimeout = borrowTimeout;
+    }
+
+    /**
+     * Reserves a channel slot on the session identified by the key and returns the session. The session is connected
+     * if it isn't yet or if it was found to be disconnected.
+     *
+     * @param key the key that identifies the session
+     * @return a connected {@link Session}
+     * @throws JSchException if the session cannot be connected
+     */
+    public Session borrowSession(final ChannelSessionKey key) throws JSchException {
+        final SessionEntry entry = getSessionEntry(key);
+        try {
+            if (!entry.channelPermits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+                throw new JschServiceException(MessageFormat.format("Failed to get a channel slot on session {0} within {1} ms!",
+                        key, borrowTimeout));
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JschServiceException(MessageFormat.format("Interrupted while waiting for a channel slot on session {0}!",
+                    key), e);
+        }
+
+        try {
+            return entry.getConnectedSession(key);
+        } catch (final JSchException | RuntimeException e) {
+            entry.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Frees the channel slot reserved by {@link #borrowSession(ChannelSessionKey)}. The session is kept open.
+     *
+     * @param key the key that identifies the session
+     */
+    public void returnSession(final ChannelSessionKey key) {
+        final SessionEntry entry = sessionEntryMap.get(key);
+        if (entry != null) {
+            entry.release();
+        }
+    }
+
+    /**
+     * Returns a session to retry on after a channel could not be opened on the given one. The channel slot reserved
+     * by the caller is kept. A session that is still connected is returned as is since the channels of the other
+     * borrowers run on it and the failure may only concern the caller's channel (e.g. sshd's MaxSessions), only a
+     * disconnected session is replaced by a freshly connected one.
+     *
+     * @param key           the key that identifies the session
+     * @param failedSession the session where the channel failed to open
+     * @return a connected {@link Session}
+     * @throws JSchException if the session cannot be connected
+     */
+    public Session renewSession(final ChannelSessionKey key, final Session failedSession) throws JSchException {
+        if (failedSession.isConnected()) {
+            LOGGER.debug("session {} is still connected, keeping it", key);
+        }
+        return getSessionEntry(key).getConnectedSession(key);
+    }
+
+    /**
+     * Disconnects sessions that do not have any open channels and were not used within the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${jsch.exec.session.evict.period.millis:60000}")
+    public void evictIdleSessions() {
+        final long now = System.currentTimeMillis();
+        for (final Map.Entry<ChannelSessionKey, SessionEntry> mapEntry : sessionEntryMap.entrySet()) {
+            mapEntry.getValue().evictIfIdle(mapEntry.getKey(), now);
+        }
+    }
+
+    /**
+     * Disconnects all the sessions.
+     */
+    @PreDestroy
+    public void close() {
+        for (final Map.Entry<ChannelSessionKey, SessionEntry> mapEntry : sessionEntryMap.entrySet()) {
+            mapEntry.getValue().invalidate(mapEntry.getKey());
+        }
+        sessionEntryMap.clear();
+    }
+
+    /**
+     * @param key the key that identifies the session
+     * @return the number of channel slots currently reserved on the session
+     */
+    public int getBorrowedCount(final ChannelSessionKey key) {
+        final SessionEntry entry = sessionEntryMap.get(key);
+        return entry == null ? 0 : maxChannelsPerSession - entry.channelPermits.availablePermits();
+    }
+
+    private SessionEntry getSessionEntry(final ChannelSessionKey key) {
+        SessionEntry entry = sessionEntryMap.get(key);
+        if (entry == null) {
+            final SessionEntry newEntry = new SessionEntry();
+            entry = sessionEntryMap.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Prepare the session by setting session properties
+     *
+     * @param remoteSystemConnection {@link RemoteSystemConnection}
+     * @return {@link Session}
+     * @throws JSchException
+     */
+    private Session prepareSession(final RemoteSystemConnection remoteSystemConnection) throws JSchException {
+        final Session session = jsch.getSession(remoteSystemConnection.getUser(), remoteSystemConnection.getHost(),
+                remoteSystemConnection.getPort());
+        final char[] encryptedPassword = remoteSystemConnection.getEncryptedPassword();
+        if (encryptedPassword != null) {
+            session.setPassword(new DecryptPassword().decrypt(encryptedPassword));
+            session.setConfig("StrictHostKeyChecking", "no");
+            session.setConfig("PreferredAuthentications", "password,gssapi-with-mic,publickey,keyboard-interactive");
+        }
+        session.setServerAliveInterval(SERVER_ALIVE_INTERVAL);
+        session.setServerAliveCountMax(SERVER_ALIVE_COUNT_MAX);
+        return session;
+    }
+
+    /**
+     * Holds the session of a key together with the channel slots. The entry outlives its session so that the
+     * channel cap still holds while a session is being reconnected or after it was evicted.
+     */
+    private class SessionEntry {
+
+        private final Semaphore channelPermits = new Semaphore(maxChannelsPerSession, true);
+        private Session session;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        synchronized Session getConnectedSession(final ChannelSessionKey key) throws JSchException {
+            lastUsed = System.currentTimeMillis();
+            if (session != null && session.isConnected()) {
+                return session;
+            }
+
+            if (session != null) {
+                LOGGER.warn("Session {} is no longer connected, reconnecting...", key);
+            }
+
+            LOGGER.debug("preparing session {}...", key);
+            final Session newSession = prepareSession(key.remoteSystemConnection);
+            newSession.connect(SESSION_CONNECT_TIMEOUT);
+            session = newSession;
+            LOGGER.debug("session {} connected", key);
+            return session;
+        }
+
+        synchronized void invalidate(final ChannelSessionKey key) {
+            if (session != null) {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+                session = null;
+                LOGGER.debug("session {} invalidated", key);
+            }
+        }
+
+        synchronized void evictIfIdle(final ChannelSessionKey key, final long now) {
+            if (session != null && channelPermits.availablePermits() == maxChannelsPerSession
+                    && now - lastUsed > idleTimeout) {
+                LOGGER.debug("session {} idle for more than {} ms, evicting...", key, idleTimeout);
+                invalidate(key);
+            }
+        }
+
+        void release() {
+            lastUsed = System.currentTimeMillis();
+            channelPermits.release();
+        }
+    }
+
+}
@@ -13,19 +13,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
  * A keyed JSCH channel factory.
+ * <p/>
+ * Channels of the same key share a session. The factory keeps count of the channels opened on each session so that a
+ * session is disconnected and forgotten as soon as its last channel is destroyed (e.g. by the pool's idle evictor) or
+ * when it is found to be no longer connected.
  *
  * Created by Jedd Cuison on 2/26/2016.
  */
 public class KeyedPooledJschChannelFactory extends BaseKeyedPooledObjectFactory<ChannelSessionKey, Channel> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KeyedPooledJschChannelFactory.class);
+    private static final int CHANNEL_CONNECT_TIMEOUT = 60000;
 
     private final JSch jsch;
     private final Map<ChannelSessionKey, Session> sessionMap = new HashMap<>();
+    private final Map<Session, Integer> sessionChannelCountMap = new IdentityHashMap<>();
 
     public KeyedPooledJschChannelFactory(final JSch jsch) {
         this.jsch = jsch;
@@ -33,17 +40,32 @@ public class KeyedPooledJschChannelFactory extends BaseKeyedPooledObjectFactory<
 
     @Override
     public Channel create(final ChannelSessionKey key) throws Exception {
-        Session session;
+        final Channel channel;
         synchronized (sessionMap) {
-            session = sessionMap.get(key);
+            Session session = sessionMap.get(key);
             if (session == null || !session.isConnected()) {
+                if (session != null) {
+                    LOGGER.debug("session {} is no longer connected, reaping it...", key);
+                    reapSession(key, session);
+                }
                 session = prepareSession(key.remoteSystemConnection);
                 session.connect();
                 sessionMap.put(key, session);
                 LOGGER.debug("session {} created and connected!", key);
             }
+            channel = session.openChannel(key.channelType.getChannelType());
+            final Integer channelCount = sessionChannelCountMap.get(session);
+            sessionChannelCountMap.put(session, channelCount == null ? 1 : channelCount + 1);
         }
-        return session.openChannel(key.channelType.getChannelType());
+
+        try {
+            channel.connect(CHANNEL_CONNECT_TIMEOUT);
+            LOGGER.debug("channel {} of session {} connected!", channel.getId(), key);
+        } catch (final JSchException e) {
+            releaseSession(key, channel);
+            throw e;
+        }
+        return channel;
     }
 
     @Override
@@ -51,13 +73,77 @@ public class KeyedPooledJschChannelFactory extends BaseKeyedPooledObjectFactory<
         return new DefaultPooledObject<>(channel);
     }
 
+    @Override
+    public boolean validateObject(final ChannelSessionKey key, final PooledObject<Channel> pool) {
+        // Channel.isConnected also checks that the channel's session is still connected
+        final Channel channel = pool.getObject();
+        return channel.isConnected() && !channel.isClosed();
+    }
+
     @Override
     public void destroyObject(final ChannelSessionKey key, final PooledObject<Channel> pool) throws Exception {
         pool.getObject().disconnect();
         LOGGER.debug("channel {} of session {} disconnected!", pool.getObject().getId(), key);
+        releaseSession(key, pool.getObject());
         super.destroyObject(key, pool);
     }
 
+    /**
+     * @return the number of sessions currently held by the factory
+     */
+    public int getSessionCount() {
+        synchronized (sessionMap) {
+            return sessionChannelCountMap.size();
+        }
+    }
+
+    /**
+     * Decrements the channel count of the session where the channel was opened, the session is reaped if it no longer
+     * has any channels or if it is no longer connected.
+     *
+     * @param key     the key of the channel
+     * @param channel the channel that was destroyed
+     */
+    private void releaseSession(final ChannelSessionKey key, final Channel channel) {
+        final Session session;
+        try {
+            session = channel.getSession();
+        } catch (final JSchException e) {
+            LOGGER.warn("Channel {} of session {} has no session!", channel.getId(), key, e);
+            return;
+        }
+
+        synchronized (sessionMap) {
+            final Integer channelCount = sessionChannelCountMap.get(session);
+            if (channelCount == null) {
+                return;
+            }
+
+            if (channelCount <= 1 || !session.isConnected()) {
+                reapSession(key, session);
+            } else {
+                sessionChannelCountMap.put(session, channelCount - 1);
+            }
+        }
+    }
+
+    /**
+     * Disconnects a session and removes it from the session map. Must be called while holding the session map lock.
+     *
+     * @param key     the key of the session
+     * @param session the session to reap
+     */
+    private void reapSession(final ChannelSessionKey key, final Session session) {
+        if (session.isConnected()) {
+            session.disconnect();
+        }
+        sessionChannelCountMap.remove(session);
+        if (sessionMap.get(key) == session) {
+            sessionMap.remove(key);
+        }
+        LOGGER.debug("session {} reaped!", key);
+    }
+
     /**
      * Prepare the session by setting session properties.
      * @param remoteSystemConnection {@link RemoteSystemConnection}
@@ -0,0 +1,8 @@
+package com.cerner.jwala.common.configuration;
+
+/**
+ * JUnit category of the tests that measure how long something takes. They are slow and their results depend on the
+ * machine so the test task only runs them when the jwalaPerformanceTest property is set e.g. gradle -PjwalaPerformanceTest
+ */
+public interface PerformanceTest {
+}
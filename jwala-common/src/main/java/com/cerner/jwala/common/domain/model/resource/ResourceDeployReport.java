@@ -0,0 +1,64 @@
+package com.cerner.jwala.common.domain.model.resource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The outcome of deploying generated resource files to a host, per deployed file
+ */
+public class ResourceDeployReport {
+
+    public enum Status {
+        /**
+         * The file was transferred because its content differs from the deployed file
+         */
+        CHANGED,
+        /**
+         * The file was not transferred because the deployed file has the same content
+         */
+        UNCHANGED,
+        /**
+         * The file was not transferred because it is already deployed and must not be overwritten
+         */
+        SKIPPED,
+        /**
+         * The file could not be deployed
+         */
+        FAILED
+    }
+
+    private final Map<String, Status> fileStatuses = new LinkedHashMap<>();
+
+    public void add(final String destination, final Status status) {
+        fileStatuses.put(destination, status);
+    }
+
+    public Map<String, Status> getFileStatuses() {
+        return Collections.unmodifiableMap(fileStatuses);
+    }
+
+    public int getCount(final Status status) {
+        int count = 0;
+        for (final Status fileStatus : fileStatuses.values()) {
+            if (fileStatus == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean hasFailures() {
+        return getCount(Status.FAILED) > 0;
+    }
+
+    public String getSummary() {
+        return getCount(Status.CHANGED) + " changed, " + getCount(Status.UNCHANGED) + " unchanged, " +
+                getCount(Status.SKIPPED) + " skipped, " + getCount(Status.FAILED) + " failed";
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceDeployReport{" + getSummary() + ", fileStatuses=" + fileStatuses + "}";
+    }
+}
@@ -1,14 +1,7 @@
 package com.cerner.jwala.common.jsch.impl;
 
-import static com.cerner.jwala.common.properties.PropertyKeys.*;
-
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.ConnectException;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 
@@ -21,18 +14,16 @@ import org.springframework.stereotype.Service;
 
 import com.cerner.jwala.commandprocessor.jsch.impl.ChannelSessionKey;
 import com.cerner.jwala.commandprocessor.jsch.impl.ChannelType;
-import com.cerner.jwala.common.domain.model.ssh.DecryptPassword;
+import com.cerner.jwala.commandprocessor.jsch.impl.JschSessionCache;
 import com.cerner.jwala.common.exec.ExecReturnCode;
 import com.cerner.jwala.common.exec.RemoteSystemConnection;
 import com.cerner.jwala.common.jsch.JschService;
 import com.cerner.jwala.common.jsch.JschServiceException;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
-import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.exception.ExitCodeNotAvailableException;
 import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.ChannelShell;
-import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 
@@ -50,13 +41,10 @@ public class JschServiceImpl implements JschService {
     private static final int CHANNEL_BORROW_LOOP_WAIT_TIME = 180000;
     private static final String EXIT_CODE_START_MARKER = "EXIT_CODE";
     private static final String EXIT_CODE_END_MARKER = "***";
-    private static final int BYTE_CHUNK_SIZE = 1024;
-    private static final int CHANNEL_EXEC_CLOSE_TIMEOUT = 300000;
-    private static final String SHELL_READ_SLEEP_DEFAULT_VALUE = "250";
-    private static final String READ_LOOP_SLEEP_TIME_DEFAULT_VALUE = "100";
+    private static final byte SHELL_OUTPUT_END_MARKER = (byte) 0xff;
 
     @Autowired
-    private JSch jsch;
+    private JschSessionCache jschSessionCache;
 
     @Autowired
     private GenericKeyedObjectPool<ChannelSessionKey, Channel> channelPool;
@@ -69,10 +57,12 @@ public class JschServiceImpl implements JschService {
         final ChannelSessionKey channelSessionKey = new ChannelSessionKey(remoteSystemConnection, ChannelType.SHELL);
         LOGGER.debug("channel session key = {}", channelSessionKey);
         Channel channel = null;
+        boolean channelReusable = false;
         try {
             channel = getChannelShell(channelSessionKey);
 
-            final InputStream in = channel.getInputStream();
+            final RemoteOutputCollector remoteOutput = new RemoteOutputCollector(SHELL_OUTPUT_END_MARKER);
+            channel.setOutputStream(remoteOutput);
             final OutputStream out = channel.getOutputStream();
 
             LOGGER.debug("Executing command \"{}\"", command);
@@ -84,60 +74,95 @@ public class JschServiceImpl implements JschService {
             out.write(CRLF.getBytes(StandardCharsets.UTF_8));
             out.flush();
 
-            return getShellRemoteCommandReturnInfo(command, in, timeout);
+            final RemoteCommandReturnInfo remoteCommandReturnInfo =
+                    getShellRemoteCommandReturnInfo(command, remoteOutput, timeout);
+            channelReusable = remoteOutput.isComplete();
+            return remoteCommandReturnInfo;
         } catch (final Exception e) {
             final String errMsg = MessageFormat.format("Failed to run the following command: {0}", command);
             LOGGER.error(errMsg, e);
             throw new JschServiceException(errMsg, e);
         } finally {
             if (channel != null) {
-                channelPool.returnObject(channelSessionKey, channel);
-                LOGGER.debug("channel {} returned", channel.getId());
+                releaseChannelShell(channelSessionKey, channel, channelReusable);
             }
         }
     }
 
     /**
-     * Reads remote output which is then wrapped inside {@link RemoteCommandReturnInfo}
+     * Waits for the remote output which is then wrapped inside {@link RemoteCommandReturnInfo}
      *
      * @param command the command to run
-     * @param in the input stream
-     * @param timeout the length of time in ms in which the method waits for a available byte(s) as a result of command  @return result of the command
+     * @param remoteOutput the collector where the channel writes the remote output to
+     * @param timeout the length of time in ms in which the method waits for incoming data as a result of command
      * @return {@link RemoteCommandReturnInfo}
-     * @throws IOException
+     * @throws InterruptedException if interrupted while waiting for the remote output
      */
-    private RemoteCommandReturnInfo getShellRemoteCommandReturnInfo(final String command, final InputStream in, final long timeout)
-            throws IOException {
+    private RemoteCommandReturnInfo getShellRemoteCommandReturnInfo(final String command,
+                                                                    final RemoteOutputCollector remoteOutput,
+                                                                    final long timeout) throws InterruptedException {
         LOGGER.debug("Reading remote output ...");
-        final String remoteOutput = readRemoteOutput(in, (char) 0xff, timeout);
+        if (!remoteOutput.awaitCompletionWhileActive(timeout)) {
+            LOGGER.warn("Remote output reading timeout!");
+        }
+        final String output = remoteOutput.getOutput();
         LOGGER.debug("****** output: start ******");
-        LOGGER.debug(remoteOutput);
+        LOGGER.debug(output);
         LOGGER.debug("****** output: end ******");
 
-        return new RemoteCommandReturnInfo(parseReturnCode(remoteOutput, command), remoteOutput, null);
+        return new RemoteCommandReturnInfo(parseReturnCode(output, command), output, null);
+    }
+
+    /**
+     * Returns the shell channel to the pool. A channel whose output was not read through to the end marker is
+     * invalidated since whatever is left of the output would end up in the result of the next command.
+     *
+     * @param channelSessionKey the session key that identifies the channel
+     * @param channel the channel to release
+     * @param reusable true if the channel can be used for another command
+     */
+    private void releaseChannelShell(final ChannelSessionKey channelSessionKey, final Channel channel,
+                                     final boolean reusable) {
+        if (reusable) {
+            channelPool.returnObject(channelSessionKey, channel);
+            LOGGER.debug("channel {} returned", channel.getId());
+            return;
+        }
+
+        try {
+            channelPool.invalidateObject(channelSessionKey, channel);
+            LOGGER.debug("channel {} invalidated", channel.getId());
+        } catch (final Exception e) {
+            LOGGER.error("Failed to invalidate channel {}!", channel.getId(), e);
+        }
     }
 
     @Override
     public RemoteCommandReturnInfo runExecCommand(RemoteSystemConnection remoteSystemConnection, String command, long timeout) {
-        Session session = null;
+        final ChannelSessionKey channelSessionKey = new ChannelSessionKey(remoteSystemConnection, ChannelType.EXEC);
+        boolean sessionBorrowed = false;
         ChannelExec channel = null;
         try {
-            // We can't keep the session and the channels open for type exec since we need the exit code and the
-            // standard error e.g. thread dump uses this and requires the exit code and the standard error.
-            LOGGER.debug("preparing session...");
-            session = prepareSession(remoteSystemConnection);
-            session.connect();
-            LOGGER.debug("session connected");
-            channel = (ChannelExec) session.openChannel(ChannelType.EXEC.getChannelType());
+            // The session is cached and shared, only the channel is opened per command since we need the exit code
+            // and the standard error e.g. thread dump uses this and requires the exit code and the standard error.
+            LOGGER.debug("borrowing session {}...", channelSessionKey);
+            final Session session = jschSessionCache.borrowSession(channelSessionKey);
+            sessionBorrowed = true;
 
             LOGGER.debug("Executing command \"{}\"", scrubberService.scrub(command));
-            channel.setCommand(command.getBytes(StandardCharsets.UTF_8));
-
-            LOGGER.debug("channel {} connecting...", channel.getId());
-            channel.connect(CHANNEL_CONNECT_TIMEOUT);
-            LOGGER.debug("channel {} connected!", channel.getId());
+            RemoteOutputCollector standardOutput = new RemoteOutputCollector();
+            RemoteOutputCollector errorOutput = new RemoteOutputCollector();
+            try {
+                channel = openExecChannel(session, command, standardOutput, errorOutput);
+            } catch (final JSchException e) {
+                LOGGER.warn("Failed to open a channel on session {}, retrying...", channelSessionKey, e);
+                standardOutput = new RemoteOutputCollector();
+                errorOutput = new RemoteOutputCollector();
+                channel = openExecChannel(jschSessionCache.renewSession(channelSessionKey, session), command,
+                        standardOutput, errorOutput);
+            }
 
-            return getExecRemoteCommandReturnInfo(channel, timeout);
+            return getExecRemoteCommandReturnInfo(channel, standardOutput, errorOutput, timeout);
         } catch (final Exception e) {
             if (e.getCause() instanceof ConnectException) {
                 throw new JschServiceException(
@@ -154,194 +179,77 @@ public class JschServiceImpl implements JschService {
                 LOGGER.debug("Channel {} disconnected!", channel.getId());
             }
 
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-                LOGGER.debug("session disconnected");
-            }
-        }
-    }
-
-    /**
-     * Reads std and error remote output which are then wrapped inside {@link RemoteCommandReturnInfo}
-     *
-     * @param channelExec the channel where the command is sent for execution
-     * @param timeout the length of time in ms in which the method waits for a available byte(s) as a result of command
-     * @return {@link RemoteCommandReturnInfo}
-     */
-    private RemoteCommandReturnInfo getExecRemoteCommandReturnInfo(final ChannelExec channelExec, final long timeout)
-            throws IOException, JSchException {
-
-        final String output = scrubberService.scrub(readExecRemoteOutput(channelExec, timeout));
-        LOGGER.debug("remote output = {}", output);
-
-        String errorOutput = null;
-
-        // wait for the channel to close before checking the exit status
-        final long startTime = System.currentTimeMillis();
-        while (!channelExec.isClosed()) {
-            if ((System.currentTimeMillis() - startTime) > CHANNEL_EXEC_CLOSE_TIMEOUT) {
-                errorOutput = MessageFormat.format("Wait for channel to close timeout! Timeout = {0} ms",
-                        CHANNEL_EXEC_CLOSE_TIMEOUT);
-                LOGGER.error(errorOutput);
-                break;
+            if (sessionBorrowed) {
+                jschSessionCache.returnSession(channelSessionKey);
+                LOGGER.debug("session {} returned", channelSessionKey);
             }
         }
-
-        LOGGER.debug("Channel exec exit status = {}", channelExec.getExitStatus());
-
-        if (channelExec.getExitStatus() != 0 && channelExec.getExitStatus() != -1) {
-            errorOutput = readExecRemoteOutput(channelExec, timeout);
-            LOGGER.debug("remote error output = {}", errorOutput);
-        }
-
-        return new RemoteCommandReturnInfo(channelExec.getExitStatus(), output, errorOutput);
     }
 
     /**
-     * Read the remote output for the exec channel. This is the code provided on the jcraft site with a timeout added.
+     * Opens an exec channel on a session then sends the command. The output streams are set before connecting so
+     * that no output is lost.
      *
-     * @param channelExec the exec channel
-     * @param timeout     the maximum period of time for reading the channel output
-     * @return the output from the channel
-     * @throws IOException for any issues encoutered when retrieving the input stream from the channel
+     * @param session the session where to open the channel
+     * @param command the command to execute
+     * @param standardOutput where the standard output of the command is written to
+     * @param errorOutput where the standard error of the command is written to
+     * @return the connected {@link ChannelExec}
+     * @throws JSchException if the channel cannot be opened or connected
      */
-    private String readExecRemoteOutput(ChannelExec channelExec, long timeout) throws IOException {
-        final BufferedInputStream bufIn = new BufferedInputStream(channelExec.getInputStream());
-        final StringBuilder outputBuilder = new StringBuilder();
-
-        final byte[] tmp = new byte[BYTE_CHUNK_SIZE];
-        final long startTime = System.currentTimeMillis();
-        final long readLoopSleepTime = Long.parseLong(ApplicationProperties.get(
-                JSCH_EXEC_READ_REMOTE_OUTPUT_LOOP_SLEEP_TIME.getPropertyName(), READ_LOOP_SLEEP_TIME_DEFAULT_VALUE));
-
-        while (true) {
-            // read the stream
-            while (bufIn.available() > 0) {
-                int i = bufIn.read(tmp, 0, BYTE_CHUNK_SIZE);
-                if (i < 0) {
-                    break;
-                }
-                outputBuilder.append(new String(tmp, 0, i, StandardCharsets.UTF_8));
-            }
-
-            // check if the channel is closed
-            if (channelExec.isClosed()) {
-                // check for any more bytes on the input stream
-                sleep(readLoopSleepTime);
-
-                if (bufIn.available() > 0) {
-                    continue;
-                }
-
-                LOGGER.debug("exit-status: {}", channelExec.getExitStatus());
-                break;
-            }
-
-            // check timeout
-            if ((System.currentTimeMillis() - startTime) > timeout) {
-                LOGGER.warn("Remote exec output reading timeout!");
-                break;
-            }
-
-            // If for some reason the channel is not getting closed, we should not hog CPU time with this loop hence
-            // we sleep for a while
-            sleep(readLoopSleepTime);
-        }
-        return outputBuilder.toString();
-    }
-
-    /**
-     * Puts the current thread to sleep. If the sleep is interrupted, the error is caught and logged.
-     * @param val the period of time in ms for the thread to sleep
-     */
-    private void sleep(final long val) {
+    private ChannelExec openExecChannel(final Session session, final String command,
+                                        final RemoteOutputCollector standardOutput,
+                                        final RemoteOutputCollector errorOutput) throws JSchException {
+        final ChannelExec channel = (ChannelExec) session.openChannel(ChannelType.EXEC.getChannelType());
+        channel.setCommand(command.getBytes(StandardCharsets.UTF_8));
+        channel.setOutputStream(standardOutput);
+        channel.setErrStream(errorOutput);
         try {
-            Thread.sleep(val);
-        } catch (final InterruptedException ie) {
-            LOGGER.error("Sleep interrupted while reading JSch exec remote output!", ie);
+            LOGGER.debug("channel {} connecting...", channel.getId());
+            channel.connect(CHANNEL_CONNECT_TIMEOUT);
+            LOGGER.debug("channel {} connected!", channel.getId());
+        } catch (final JSchException e) {
+            channel.disconnect();
+            throw e;
         }
+        return channel;
     }
 
     /**
-     * Reads data streamed from a remote connection
+     * Waits for the std and error remote output which are then wrapped inside {@link RemoteCommandReturnInfo}.
+     * <p>
+     * JSch closes the standard output stream on EOF but only closes the error stream when the channel itself gets
+     * closed, at which point the exit status has already been received. Waiting on the error stream therefore means
+     * waiting for both outputs and the exit status.
      *
-     * @param remoteOutput  the inputstream where the remote connection will stream data to
-     * @param dataEndMarker a marker which tells the method to stop reading from the inputstream. If this is null
-     *                      then the method will try to read data from the input stream until read timeout is reached.
-     * @param timeout       the length of time in which to wait for incoming data from the stream
-     * @return the data streamed from the remote connection
-     * @throws IOException thrown when reading bytes from input stream
+     * @param channelExec the channel where the command is sent for execution
+     * @param standardOutput the collector where the channel writes the standard output to
+     * @param errorOutput the collector where the channel writes the standard error to
+     * @param timeout the length of time in ms to wait for the command to complete
+     * @return {@link RemoteCommandReturnInfo}
+     * @throws InterruptedException if interrupted while waiting for the command to complete
      */
-    private String readRemoteOutput(final InputStream remoteOutput, final Character dataEndMarker, final long timeout)
-            throws IOException {
-
-        if (null == dataEndMarker) {
-            throw new JschServiceException("Expecting non-null end marker when reading remote output");
+    private RemoteCommandReturnInfo getExecRemoteCommandReturnInfo(final ChannelExec channelExec,
+                                                                   final RemoteOutputCollector standardOutput,
+                                                                   final RemoteOutputCollector errorOutput,
+                                                                   final long timeout) throws InterruptedException {
+        String errorOutputStr = null;
+        if (!errorOutput.awaitCompletion(timeout) && !channelExec.isClosed()) {
+            errorOutputStr = MessageFormat.format("Wait for channel to close timeout! Timeout = {0} ms", timeout);
+            LOGGER.error(errorOutputStr);
         }
 
-        final int readInputSleepDuration = Integer.parseInt(ApplicationProperties.get(
-                JSCH_CHANNEL_SHELL_READ_INPUT_SLEEP_DURATION.getPropertyName(), SHELL_READ_SLEEP_DEFAULT_VALUE));
-        final BufferedInputStream buffIn = new BufferedInputStream(remoteOutput);
-        final byte[] bytes = new byte[BYTE_CHUNK_SIZE];
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        String result;
-        LOGGER.debug("Default char encoding:" + Charset.defaultCharset());
-        long startTime = System.currentTimeMillis();
-        try {
-            while (true) {
-                if (buffIn.available() != 0) {
-                    final int size = buffIn.read(bytes);
-
-                    if (size > 0) {
-                        LOGGER.debug("Read:" + size + " bytes");
-                        out.write(bytes, 0, size);
-                        LOGGER.debug("Bytes read as String: " + new String(bytes));
-                    }
-
-                    startTime = System.currentTimeMillis();
-
-                    // Alternative method of checking if we got our 'EOF' character.
-                    boolean stopReading = false;
-                    for(int b=0;b<size;b++) {
-                        if (bytes[b]==-1) {
-                            LOGGER.debug("Read EOF byte '{}', stopping remote output reading...", bytes[size - 1]);
-                            stopReading=true;
-                        }
-                    }
-
-                    if (stopReading) {
-                        break;
-                    }
-
-                    // need to verify this works on non-windows systems
-                    // currently setting the encoding to UTF8, UTF16, ASCII, or ISO all fail this conditional
-                    // e.g. new String(bytes, StandardCharsets.UTF-8)
-                    // printing out Charset.defaultCharset() shows it's using windows-1252 on a Windows JVM
-                    if (new String(bytes).indexOf(dataEndMarker) > -1) {
-                        LOGGER.debug("Read EOF character '{}', stopping remote output reading...", bytes[size - 1]);
-                        break;
-                    }
-                }
+        final String output = scrubberService.scrub(standardOutput.getOutput());
+        LOGGER.debug("remote output = {}", output);
 
-                if ((System.currentTimeMillis() - startTime) > timeout) {
-                    LOGGER.warn("Remote output reading timeout!");
-                    break;
-                }
+        LOGGER.debug("Channel exec exit status = {}", channelExec.getExitStatus());
 
-                try {
-                    Thread.sleep(readInputSleepDuration);
-                } catch (final InterruptedException e) {
-                    final String errMsg =  "readRemoteOutput was interrupted while waiting for input from JSch channel!";
-                    LOGGER.error(errMsg, e);
-                    throw new JschServiceException(errMsg, e);
-                }
-            }
-        } finally {
-            result = out.toString(StandardCharsets.UTF_8.name());
-            out.close();
+        if (channelExec.getExitStatus() != 0 && channelExec.getExitStatus() != -1) {
+            errorOutputStr = errorOutput.getOutput();
+            LOGGER.debug("remote error output = {}", errorOutputStr);
         }
 
-        return result;
+        return new RemoteCommandReturnInfo(channelExec.getExitStatus(), output, errorOutputStr);
     }
 
     /**
@@ -406,23 +314,4 @@ public class JschServiceImpl implements JschService {
         return (ChannelShell) channel;
     }
 
-    /**
-     * Prepare the session by setting session properties
-     *
-     * @param remoteSystemConnection {@link RemoteSystemConnection}
-     * @return {@link Session}
-     * @throws JSchException
-     */
-    private Session prepareSession(final RemoteSystemConnection remoteSystemConnection) throws JSchException {
-        final Session session = jsch.getSession(remoteSystemConnection.getUser(), remoteSystemConnection.getHost(),
-                remoteSystemConnection.getPort());
-        final char[] encryptedPassword = remoteSystemConnection.getEncryptedPassword();
-        if (encryptedPassword != null) {
-            session.setPassword(new DecryptPassword().decrypt(encryptedPassword));
-            session.setConfig("StrictHostKeyChecking", "no");
-            session.setConfig("PreferredAuthentications", "password,gssapi-with-mic,publickey,keyboard-interactive");
-        }
-        return session;
-    }
-
 }
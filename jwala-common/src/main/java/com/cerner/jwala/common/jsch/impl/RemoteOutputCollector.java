@@ -0,0 +1,117 @@
+package com.cerner.jwala.common.jsch.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * An {@link OutputStream} that is handed to a JSch channel (see {@link com.jcraft.jsch.Channel#setOutputStream}) so
+ * that the remote output is pushed to it by the JSch session thread instead of being polled for.
+ * <p>
+ * The output is considered complete when the stream is closed by JSch (e.g. when the channel gets closed) or when the
+ * optional end marker byte is written. Threads waiting for the output block on a latch until either happens or until
+ * their timeout elapses.
+ */
+public class RemoteOutputCollector extends OutputStream {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final CountDownLatch completeLatch = new CountDownLatch(1);
+    private final Byte endMarker;
+    private final LongSupplier clock;
+    private volatile long lastWriteTime;
+
+    /**
+     * Creates a collector that completes when it is closed
+     */
+    public RemoteOutputCollector() {
+        this(null);
+    }
+
+    /**
+     * Creates a collector that completes when it is closed or when the end marker is written
+     *
+     * @param endMarker the byte that marks the end of the output, can be null
+     */
+    public RemoteOutputCollector(final Byte endMarker) {
+        this(endMarker, System::currentTimeMillis);
+    }
+
+    RemoteOutputCollector(final Byte endMarker, final LongSupplier clock) {
+        this.endMarker = endMarker;
+        this.clock = clock;
+        this.lastWriteTime = clock.getAsLong();
+    }
+
+    @Override
+    public synchronized void write(final int b) {
+        buffer.write(b);
+        lastWriteTime = clock.getAsLong();
+        if (endMarker != null && (byte) b == endMarker) {
+            completeLatch.countDown();
+        }
+    }
+
+    @Override
+    public synchronized void write(final byte[] bytes, final int off, final int len) {
+        buffer.write(bytes, off, len);
+        lastWriteTime = clock.getAsLong();
+        if (endMarker != null) {
+            for (int i = off; i < off + len; i++) {
+                if (bytes[i] == endMarker) {
+                    completeLatch.countDown();
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        completeLatch.countDown();
+    }
+
+    /**
+     * Waits until the output is complete
+     *
+     * @param timeout the maximum length of time in ms to wait
+     * @return true if the output is complete, false if the timeout elapsed
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitCompletion(final long timeout) throws InterruptedException {
+        return completeLatch.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits until the output is complete. Unlike {@link #awaitCompletion(long)} the deadline is pushed back every time
+     * something is written, hence this only gives up if the remote end stays silent for the length of the timeout.
+     *
+     * @param inactivityTimeout the maximum length of time in ms to wait for data
+     * @return true if the output is complete, false if no data was received within the timeout
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitCompletionWhileActive(final long inactivityTimeout) throws InterruptedException {
+        long remaining = inactivityTimeout;
+        while (remaining > 0) {
+            if (completeLatch.await(remaining, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            remaining = lastWriteTime + inactivityTimeout - clock.getAsLong();
+        }
+        return isComplete();
+    }
+
+    public boolean isComplete() {
+        return completeLatch.getCount() == 0;
+    }
+
+    /**
+     * @return what was written so far decoded as UTF-8
+     */
+    public synchronized String getOutput() {
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -8,12 +8,34 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Holds the properties loaded from vars.properties.
+ * <p>
+ * The properties are kept in an immutable snapshot that is swapped as a whole when they are reloaded, so lookups
+ * neither copy nor lock anything. Values read through the typed accessors are parsed once per snapshot and cached.
+ */
 public class ApplicationProperties {
 
     public static final String PROPERTIES_ROOT_PATH = "PROPERTIES_ROOT_PATH";
-    private volatile Properties properties;
+    private volatile Snapshot snapshot;
+
+    private final List<ApplicationPropertiesChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     private static final class DeferredLoader {
         public static final ApplicationProperties INSTANCE = new ApplicationProperties();
@@ -26,7 +48,7 @@ public class ApplicationProperties {
     private static final String REQUIRED = "#REQUIRED#";
 
     private ApplicationProperties() {
-        properties = new Properties();
+        snapshot = new Snapshot(new Properties());
         init();
     }
 
@@ -34,14 +56,35 @@ public class ApplicationProperties {
         return DeferredLoader.INSTANCE;
     }
 
+    /**
+     * @return a copy of the properties, use the get methods to look up single values
+     */
     public static Properties getProperties() {
         final Properties copy = new Properties();
-        copy.putAll(getInstance().properties);
+        copy.putAll(getSnapshot().values);
         return copy;
     }
 
     public static void reload() {
-        getInstance().init();
+        final ApplicationProperties instance = getInstance();
+        synchronized (instance) {
+            final Snapshot previous = instance.snapshot;
+            instance.init();
+            instance.notifyChangeListeners(previous.getChangedKeys(instance.snapshot));
+        }
+    }
+
+    /**
+     * Register a listener that is called after a reload changed, added or removed properties
+     *
+     * @param listener the {@link ApplicationPropertiesChangeListener}
+     */
+    public static void addChangeListener(final ApplicationPropertiesChangeListener listener) {
+        getInstance().changeListeners.add(listener);
+    }
+
+    public static void removeChangeListener(final ApplicationPropertiesChangeListener listener) {
+        getInstance().changeListeners.remove(listener);
     }
 
     public static String getRequired(PropertyKeys propertyKey) {
@@ -53,7 +96,7 @@ public class ApplicationProperties {
     }
 
     public static String getRequired(String key) {
-        String propVal = getProperties().getProperty(key);
+        String propVal = getSnapshot().get(key);
         LOGGER.trace("ApplicationsProperties.get({})=({})", key, propVal);
 
         if (propVal == null || propVal.isEmpty()) {
@@ -72,7 +115,7 @@ public class ApplicationProperties {
     }
 
     public static String get(String key) {
-        String propVal = getProperties().getProperty(key);
+        String propVal = getSnapshot().get(key);
         LOGGER.trace("ApplicationsProperties.get({})=({})", key, propVal);
 
         if (REQUIRED.equalsIgnoreCase(propVal)) {
@@ -83,7 +126,11 @@ public class ApplicationProperties {
     }
 
     public static Integer getAsInteger(String key) {
-        return Integer.parseInt(getProperties().getProperty(key));
+        final Integer value = getSnapshot().getParsed(key, "int", Integer.class, Integer::valueOf);
+        if (value == null) {
+            throw new NumberFormatException("null");
+        }
+        return value;
     }
 
     /**
@@ -96,7 +143,20 @@ public class ApplicationProperties {
     }
 
     public static Boolean getAsBoolean(String key) {
-        return Boolean.parseBoolean(getProperties().getProperty(key));
+        final Boolean value = getSnapshot().getParsed(key, "boolean", Boolean.class, Boolean::valueOf);
+        return value == null ? Boolean.FALSE : value;
+    }
+
+    /**
+     * Get a property as a boolean
+     *
+     * @param key the property key
+     * @param defaultValue the value returned if the property is not set
+     * @return the property value as a boolean
+     */
+    public static Boolean getAsBoolean(PropertyKeys key, Boolean defaultValue) {
+        final Boolean value = getSnapshot().getParsed(key.getPropertyName(), "boolean", Boolean.class, Boolean::valueOf);
+        return value == null ? defaultValue : value;
     }
 
     public static Boolean getRequiredAsBoolean(PropertyKeys key) {
@@ -105,11 +165,12 @@ public class ApplicationProperties {
     }
 
     public static int size() {
-        return getProperties().size();
+        return getSnapshot().values.size();
     }
 
     public static String get(String key, String defaultValue) {
-        return getProperties().getProperty(key, defaultValue);
+        final String propVal = getSnapshot().get(key);
+        return propVal == null ? defaultValue : propVal;
     }
 
     /**
@@ -119,18 +180,85 @@ public class ApplicationProperties {
      * @return
      */
     public static Integer getAsInteger(PropertyKeys key, Integer defaultValue) {
-        final String returnVal = getProperties().getProperty(key.getPropertyName());
-        if (null == returnVal) {
-            LOGGER.debug("No property key found for {}, using default value {}", key, defaultValue);
-            return defaultValue;
-        }
+        return getParsedOrDefault(key.getPropertyName(), "an integer", "int", Integer.class, Integer::valueOf, defaultValue);
+    }
+
+    /**
+     * Get a property as a long
+     *
+     * @param key the property key
+     * @param defaultValue the value returned if the property is not set
+     * @return the property value as a long
+     */
+    public static Long getAsLong(PropertyKeys key, Long defaultValue) {
+        return getAsLong(key.getPropertyName(), defaultValue);
+    }
+
+    public static Long getAsLong(String key, Long defaultValue) {
+        return getParsedOrDefault(key, "a long", "long", Long.class, Long::valueOf, defaultValue);
+    }
+
+    /**
+     * Get a property as a {@link Duration}. The value is either a number in the given unit or an ISO-8601 duration
+     * e.g. PT30S
+     *
+     * @param key the property key
+     * @param unit the unit of the value when it is a plain number
+     * @param defaultValue the value returned if the property is not set
+     * @return the property value as a {@link Duration}
+     */
+    public static Duration getAsDuration(PropertyKeys key, TimeUnit unit, Duration defaultValue) {
+        return getAsDuration(key.getPropertyName(), unit, defaultValue);
+    }
+
+    public static Duration getAsDuration(String key, TimeUnit unit, Duration defaultValue) {
+        // the unit is part of the parsed type so that reading the same key with another unit parses it again
+        return getParsedOrDefault(key, "a duration", "duration:" + unit.name(), Duration.class,
+                value -> parseDuration(value, unit), defaultValue);
+    }
+
+    private static <T> T getParsedOrDefault(final String key, final String expected, final String parsedType,
+                                            final Class<T> type, final Function<String, T> parser, final T defaultValue) {
+        final Snapshot current = getSnapshot();
+        final T value;
         try {
-            return Integer.parseInt(returnVal);
-        } catch (NumberFormatException ex) {
-            String errorMsg = MessageFormat.format("Expecting an integer value for property with key {0} but instead found {1}", key, returnVal);
+            value = current.getParsed(key, parsedType, type, parser);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            String errorMsg = MessageFormat.format("Expecting {0} value for property with key {1} but instead found {2}",
+                    expected, key, current.get(key));
             LOGGER.error(errorMsg, ex);
             throw new ApplicationException(errorMsg, ex);
         }
+        if (value == null) {
+            LOGGER.debug("No property key found for {}, using default value {}", key, defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+
+    private static Duration parseDuration(final String value, final TimeUnit unit) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        return Duration.ofNanos(unit.toNanos(Long.parseLong(value)));
+    }
+
+    private static Snapshot getSnapshot() {
+        return getInstance().snapshot;
+    }
+
+    private void notifyChangeListeners(final Set<String> changedKeys) {
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Reloaded properties changed {}", changedKeys);
+        for (final ApplicationPropertiesChangeListener listener : changeListeners) {
+            try {
+                listener.propertiesChanged(changedKeys);
+            } catch (RuntimeException e) {
+                LOGGER.error("Properties change listener {} failed", listener, e);
+            }
+        }
     }
 
     private void init() {
@@ -149,8 +277,58 @@ public class ApplicationProperties {
         } catch (IOException e) {
             throw new ApplicationException("Failed to load properties file " + propertiesFile, e);
         }
-        properties = tempProperties;
+        snapshot = new Snapshot(tempProperties);
         LOGGER.info("Properties loaded from path " + propertiesFile);
     }
 
+    /**
+     * The properties as they were loaded plus the values parsed from them so far
+     */
+    private static final class Snapshot {
+        private final Map<String, String> values;
+        private final ConcurrentMap<String, Object> parsedValues = new ConcurrentHashMap<>();
+
+        private Snapshot(final Properties properties) {
+            final Map<String, String> map = new HashMap<>();
+            for (final String name : properties.stringPropertyNames()) {
+                map.put(name, properties.getProperty(name));
+            }
+            values = Collections.unmodifiableMap(map);
+        }
+
+        private String get(final String key) {
+            return key == null ? null : values.get(key);
+        }
+
+        private <T> T getParsed(final String key, final String parsedType, final Class<T> type,
+                                final Function<String, T> parser) {
+            final String value = get(key);
+            if (value == null) {
+                return null;
+            }
+            final String parsedKey = parsedType + ':' + key;
+            Object parsed = parsedValues.get(parsedKey);
+            if (parsed == null) {
+                parsed = parser.apply(value.trim());
+                parsedValues.putIfAbsent(parsedKey, parsed);
+            }
+            return type.cast(parsed);
+        }
+
+        private Set<String> getChangedKeys(final Snapshot other) {
+            final Set<String> changedKeys = new HashSet<>();
+            for (final Map.Entry<String, String> entry : values.entrySet()) {
+                if (!Objects.equals(entry.getValue(), other.values.get(entry.getKey()))) {
+                    changedKeys.add(entry.getKey());
+                }
+            }
+            for (final String key : other.values.keySet()) {
+                if (!values.containsKey(key)) {
+                    changedKeys.add(key);
+                }
+            }
+            return Collections.unmodifiableSet(changedKeys);
+        }
+    }
+
 }
@@ -0,0 +1,17 @@
+package com.cerner.jwala.common.properties;
+
+import java.util.Set;
+
+/**
+ * Listens to changes made to the {@link ApplicationProperties} when they are reloaded
+ */
+public interface ApplicationPropertiesChangeListener {
+
+    /**
+     * Called after the properties were reloaded, the new values are already visible through {@link ApplicationProperties}
+     *
+     * @param changedKeys the keys of the properties that were changed, added or removed
+     */
+    void propertiesChanged(Set<String> changedKeys);
+
+}
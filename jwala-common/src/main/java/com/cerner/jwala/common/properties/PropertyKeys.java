@@ -8,9 +8,8 @@ public enum PropertyKeys {
     ENCRYPTED_PASSWORD("ssh.encrypted.password"),
     JDK_BINARY_FILE_NAME("jwala.default.jdk.zip"),
     JMAP_DUMP_LIVE_ENABLED("jmap.dump.live.enabled"),
-    JSCH_CHANNEL_SHELL_READ_INPUT_SLEEP_DURATION("jsch.channel.shell.read.input.sleep.duration"),
-    JSCH_EXEC_READ_REMOTE_OUTPUT_LOOP_SLEEP_TIME("jsch.exec.read.remote.output.loop.sleep.time"),
     JSCH_EXEC_READ_REMOTE_OUTPUT_TIMEOUT("jsch.exec.read.remote.output.timeout"),
+    JSCH_SCP_BATCH_COMPRESS("jsch.scp.batch.compress"),
     JSCH_SHELL_READ_REMOTE_OUTPUT_TIMEOUT("jsch.shell.read.remote.output.timeout"),
     JWALA_HISTORY_MAX_REC_DEAFULT("jwala.history.max.rec.default"),
     JWALA_HISTORY_RESULT_FETCH_COUNT("jwala.history.result.fetch.count"),
@@ -23,10 +22,13 @@ public enum PropertyKeys {
     PRIVATE_KEY_FILE("ssh.privateKeyFile"),
     REMOTE_PATHS_TOMCAT_ROOT_CORE("remote.paths.tomcat.root.core"),
     REMOTE_SCRIPT_DIR("remote.commands.user-scripts"),
+    RESOURCE_TEMPLATE_CACHE_SIZE("resource.template.cache.size"),
+    RESOURCES_DEPLOY_DELTA("resources.deploy.delta"),
     SCRIPTS_PATH("commands.scripts-path"),
     TOMCAT_MANAGER_XML_SSL_PATH("tomcat.manager.xml.ssl.path"),
     USER_NAME("ssh.userName"),
-    JVM_ROUTE_MAX_LENGTH("jvm.route.max.length");
+    JVM_ROUTE_MAX_LENGTH("jvm.route.max.length"),
+    JVM_STATE_UPDATE_INTERVAL("jvm.state.update.interval");
 
     private String propertyName;
 
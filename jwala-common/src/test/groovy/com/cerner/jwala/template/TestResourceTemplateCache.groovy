@@ -0,0 +1,133 @@
+package com.cerner.jwala.template
+
+import com.cerner.jwala.common.domain.model.id.Identifier
+import groovy.text.StreamingTemplateEngine
+import groovy.text.Template
+import groovy.text.TemplateEngine
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class TestResourceTemplateCache extends GroovyTestCase {
+
+    static final String TEMPLATE_TEXT = 'Hello ${name}'
+
+    void testCompiledTemplateIsReused() {
+        def cache = new ResourceTemplateCache(10)
+        def template = cache.getTemplate(TEMPLATE_TEXT)
+
+        assertSame(template, cache.getTemplate(TEMPLATE_TEXT))
+        assertEquals("Hello jwala", template.make([name: "jwala"]).toString())
+        def statistics = cache.getStatistics()
+        assertEquals(1, statistics.size)
+        assertEquals(1L, statistics.hitCount)
+        assertEquals(1L, statistics.missCount)
+    }
+
+    void testEditedTemplateIsCompiledAgain() {
+        def cache = new ResourceTemplateCache(10)
+        cache.getTemplate(TEMPLATE_TEXT)
+        def edited = cache.getTemplate('Goodbye ${name}')
+
+        assertEquals("Goodbye jwala", edited.make([name: "jwala"]).toString())
+        assertEquals(2L, cache.getStatistics().missCount)
+    }
+
+    void testLeastRecentlyUsedTemplateIsEvicted() {
+        def cache = new ResourceTemplateCache(2)
+        def first = cache.getTemplate('1 ${name}')
+        cache.getTemplate('2 ${name}')
+        cache.getTemplate('1 ${name}')
+        cache.getTemplate('3 ${name}')
+
+        def statistics = cache.getStatistics()
+        assertEquals(2, statistics.size)
+        assertEquals(1L, statistics.evictionCount)
+        assertSame(first, cache.getTemplate('1 ${name}'))
+        cache.getTemplate('2 ${name}')
+        assertEquals(4L, cache.getStatistics().missCount)
+    }
+
+    void testTemplatesAreNotCachedWhenTheSizeIsZero() {
+        def cache = new ResourceTemplateCache(0)
+        assertNotSame(cache.getTemplate(TEMPLATE_TEXT), cache.getTemplate(TEMPLATE_TEXT))
+        assertEquals(0, cache.getStatistics().size)
+        assertEquals(2L, cache.getStatistics().missCount)
+    }
+
+    void testInvalidTemplateIsNotCached() {
+        def cache = new ResourceTemplateCache(10)
+        shouldFail { cache.getTemplate('${') }
+        shouldFail { cache.getTemplate('${') }
+        assertEquals(0, cache.getStatistics().size)
+    }
+
+    void testConcurrentRequestsCompileTheTemplateOnce() {
+        def compileCount = new AtomicInteger()
+        def compileStarted = new CountDownLatch(1)
+        def releaseCompile = new CountDownLatch(1)
+        def delegate = new StreamingTemplateEngine()
+        def engine = new TemplateEngine() {
+            @Override
+            Template createTemplate(Reader reader) {
+                compileCount.incrementAndGet()
+                compileStarted.countDown()
+                releaseCompile.await(10, TimeUnit.SECONDS)
+                return delegate.createTemplate(reader)
+            }
+        }
+        def cache = new ResourceTemplateCache(10, engine)
+        def executorService = Executors.newFixedThreadPool(4)
+        try {
+            def futures = (1..4).collect {
+                executorService.submit({ cache.getTemplate(TEMPLATE_TEXT) } as Callable<Template>)
+            }
+            assertTrue(compileStarted.await(10, TimeUnit.SECONDS))
+            Thread.sleep(100)
+            releaseCompile.countDown()
+
+            def templates = futures.collect { it.get(10, TimeUnit.SECONDS) }
+            assertEquals(1, compileCount.get())
+            assertEquals(1, templates.unique(false).size())
+        } finally {
+            executorService.shutdownNow()
+        }
+    }
+
+    void testRepeatedGenerationCompilesTheTemplateOnce() {
+        def templateText = new File("./src/test/resources/ServerXMLTemplate.tpl").text
+        def binding = [jvm: [id: new Identifier(11L), jvmName: "tc1", hostName: "localhost", httpPort: 8080, httpsPort: 8443, redirectPort: 8443,
+                             shutdownPort: 8005, ajpPort: 8009]].withDefault { '' }
+        def iterations = 200
+
+        def uncachedEngine = new CountingTemplateEngine()
+        def uncached = new ResourceTemplateCache(0, uncachedEngine)
+        def expected = uncached.getTemplate(templateText).make(binding).toString()
+        (iterations - 1).times { uncached.getTemplate(templateText).make(binding).toString() }
+        assertEquals(iterations, uncachedEngine.compileCount.get())
+
+        def cachedEngine = new CountingTemplateEngine()
+        def cached = new ResourceTemplateCache(10, cachedEngine)
+        iterations.times { assertEquals(expected, cached.getTemplate(templateText).make(binding).toString()) }
+        assertEquals(1, cachedEngine.compileCount.get())
+        assertEquals(iterations - 1L, cached.getStatistics().hitCount)
+    }
+
+    /**
+     * Counts the templates it compiles
+     */
+    static class CountingTemplateEngine extends TemplateEngine {
+
+        final AtomicInteger compileCount = new AtomicInteger()
+        private final TemplateEngine delegate = new StreamingTemplateEngine()
+
+        @Override
+        Template createTemplate(Reader reader) {
+            compileCount.incrementAndGet()
+            return delegate.createTemplate(reader)
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.cerner.jwala.commandprocessor.impl.jsch;
+
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
+import com.cerner.jwala.common.exec.ExecCommand;
+import com.cerner.jwala.common.exec.RemoteExecCommand;
+import com.cerner.jwala.common.exec.RemoteSystemConnection;
+import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
+import com.cerner.jwala.exception.RemoteCommandFailureException;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.Session;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit test for {@link JschScpBatchCommandProcessorImpl}
+ * <p>
+ * The remote end is played by a local shell which runs the command that would have been sent to the remote host.
+ */
+public class JschScpBatchCommandProcessorImplTest {
+
+    @Mock
+    private JSch mockJsch;
+
+    @Mock
+    private Session mockSession;
+
+    @Mock
+    private ChannelExec mockChannelExec;
+
+    private File workDir;
+    private LocalShell localShell;
+
+    @Before
+    public void setup() throws Exception {
+        assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+        initMocks(this);
+        workDir = Files.createTempDirectory("jwala-batch-scp").toFile();
+        localShell = new LocalShell();
+        when(mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession);
+        when(mockSession.openChannel(eq("exec"))).thenReturn(mockChannelExec);
+        localShell.mock(mockChannelExec);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (workDir != null) {
+            FileUtils.deleteDirectory(workDir);
+        }
+    }
+
+    @Test
+    public void testCopiesAllFiles() throws Exception {
+        final File source1 = createFile("source/setenv.bat", "set JAVA_HOME=jdk");
+        final File source2 = createFile("source/server.xml", "<Server/>");
+        final File existingDestination = createFile("dest/conf/server.xml", "<OldServer/>");
+        final String destination1 = workDir + "/dest/bin/setenv.bat";
+
+        final JschScpBatchCommandProcessorImpl processor = createProcessor(false, source1.getPath(), destination1,
+                source2.getPath(), existingDestination.getPath());
+        processor.processCommand();
+
+        assertEquals(0, processor.getExecutionReturnCode().getReturnCode().intValue());
+        assertEquals("set JAVA_HOME=jdk", FileUtils.readFileToString(new File(destination1), StandardCharsets.UTF_8));
+        assertEquals("<Server/>", FileUtils.readFileToString(existingDestination, StandardCharsets.UTF_8));
+        final Map<String, FileResult> fileResults = processor.getFileResults();
+        assertEquals(FileResult.COPIED, fileResults.get(destination1));
+        assertEquals(FileResult.COPIED, fileResults.get(existingDestination.getPath()));
+        assertFalse(new File(destination1 + ".jwala-tmp").exists());
+    }
+
+    @Test
+    public void testCopiesCompressedFiles() throws Exception {
+        final File source = createFile("source/it's got spaces.txt", "contents");
+        final String destination = workDir + "/dest dir/it's got spaces.txt";
+
+        final JschScpBatchCommandProcessorImpl processor = createProcessor(true, source.getPath(), destination);
+        processor.processCommand();
+
+        assertEquals(0, processor.getExecutionReturnCode().getReturnCode().intValue());
+        assertEquals("contents", FileUtils.readFileToString(new File(destination), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReportsPerFileResults() throws Exception {
+        final File source1 = createFile("source/a.txt", "a");
+        final File source2 = createFile("source/b.txt", "b");
+        createFile("dest/not-a-dir", "blocks the creation of the parent dir");
+        final String destination1 = workDir + "/dest/a.txt";
+        final String destination2 = workDir + "/dest/not-a-dir/b.txt";
+
+        final JschScpBatchCommandProcessorImpl processor = createProcessor(false, source1.getPath(), destination1,
+                source2.getPath(), destination2);
+        processor.processCommand();
+
+        assertEquals(1, processor.getExecutionReturnCode().getReturnCode().intValue());
+        assertEquals(FileResult.COPIED, processor.getFileResults().get(destination1));
+        assertEquals(FileResult.CREATE_DIR_FAILED, processor.getFileResults().get(destination2));
+        assertEquals("a", FileUtils.readFileToString(new File(destination1), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNothingIsCopiedIfTheArchiveCannotBeExtracted() throws Exception {
+        final File source = createFile("source/a.txt", "a");
+        final String destination = workDir + "/dest/a.txt";
+        localShell.truncateArchive = true;
+
+        final JschScpBatchCommandProcessorImpl processor = createProcessor(false, source.getPath(), destination);
+        processor.processCommand();
+
+        assertEquals(1, processor.getExecutionReturnCode().getReturnCode().intValue());
+        assertEquals(FileResult.NOT_COPIED, processor.getFileResults().get(destination));
+        assertFalse(new File(destination).exists());
+    }
+
+    @Test
+    public void testBacksUpExistingDestination() throws Exception {
+        final File source = createFile("source/server.xml", "<Server/>");
+        final File existingDestination = createFile("dest/conf/server.xml", "<OldServer/>");
+        final String newDestination = workDir + "/dest/conf/context.xml";
+
+        final JschScpBatchCommandProcessorImpl processor = createProcessor(false, true, ".20170101_000000",
+                source.getPath(), existingDestination.getPath(), source.getPath(), newDestination);
+        processor.processCommand();
+
+        assertEquals(0, processor.getExecutionReturnCode().getReturnCode().intValue());
+        assertEquals(FileResult.COPIED, processor.getFileResults().get(existingDestination.getPath()));
+        assertEquals("<Server/>", FileUtils.readFileToString(existingDestination, StandardCharsets.UTF_8));
+        assertEquals("<OldServer/>", FileUtils.readFileToString(new File(existingDestination.getPath() + ".20170101_000000"),
+                StandardCharsets.UTF_8));
+        assertEquals(FileResult.COPIED, processor.getFileResults().get(newDestination));
+        assertFalse(new File(newDestination + ".20170101_000000").exists());
+    }
+
+    @Test
+    public void testSkipsExistingDestinationWhenNotOverwriting() throws Exception {
+        final File source = createFile("source/server.xml", "<Server/>");
+        final File existingDestination = createFile("dest/conf/server.xml", "<OldServer/>");
+        final String newDestination = workDir + "/dest/conf/context.xml";
+
+        final JschScpBatchCommandProcessorImpl processor = createProcessor(false, false, null,
+                source.getPath(), existingDestination.getPath(), source.getPath(), newDestination);
+        processor.processCommand();
+
+        assertEquals(0, processor.getExecutionReturnCode().getReturnCode().intValue());
+        assertEquals(FileResult.SKIPPED, processor.getFileResults().get(existingDestination.getPath()));
+        assertEquals("<OldServer/>", FileUtils.readFileToString(existingDestination, StandardCharsets.UTF_8));
+        assertEquals(FileResult.COPIED, processor.getFileResults().get(newDestination));
+    }
+
+    @Test
+    public void testCopyAndPlaceReturnsTheFileResult() throws Exception {
+        final File source = createFile("source/server.xml", "<Server/>");
+        final File existingDestination = createFile("dest/conf/server.xml", "<OldServer/>");
+        final RemoteSystemConnection connection = new RemoteSystemConnection("user", "pwd".toCharArray(), "host", 22);
+
+        RemoteCommandReturnInfo returnInfo = JschScpBatchCommandProcessorImpl.copyAndPlace(mockJsch, connection,
+                source.getPath(), existingDestination.getPath(), false, null);
+        assertEquals(0, returnInfo.retCode);
+        assertEquals(FileResult.SKIPPED.name(), returnInfo.standardOuput);
+
+        returnInfo = JschScpBatchCommandProcessorImpl.copyAndPlace(mockJsch, connection, source.getPath(),
+                existingDestination.getPath(), true, null);
+        assertEquals(0, returnInfo.retCode);
+        assertEquals(FileResult.COPIED.name(), returnInfo.standardOuput);
+        assertEquals("<Server/>", FileUtils.readFileToString(existingDestination, StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = RemoteCommandFailureException.class)
+    public void testMissingSourceFile() throws Exception {
+        createProcessor(false, workDir + "/source/missing.txt", workDir + "/dest/missing.txt").processCommand();
+    }
+
+    @Test(expected = JscScpCommandProcessorImplException.class)
+    public void testUnpairedSourceAndDestination() {
+        createProcessor(false, "source");
+    }
+
+    private JschScpBatchCommandProcessorImpl createProcessor(final boolean compress, final String... sourceAndDestinationPairs) {
+        return createProcessor(compress, true, null, sourceAndDestinationPairs);
+    }
+
+    private JschScpBatchCommandProcessorImpl createProcessor(final boolean compress, final boolean overwrite,
+                                                             final String backupSuffix,
+                                                             final String... sourceAndDestinationPairs) {
+        final List<String> commandFragments = new ArrayList<>();
+        commandFragments.add("tar");
+        for (final String path : sourceAndDestinationPairs) {
+            commandFragments.add(path);
+        }
+        final RemoteExecCommand remoteExecCommand = new RemoteExecCommand(
+                new RemoteSystemConnection("user", "pwd".toCharArray(), "host", 22), new ExecCommand(commandFragments));
+        return new JschScpBatchCommandProcessorImpl(mockJsch, remoteExecCommand, compress, overwrite, backupSuffix);
+    }
+
+    private File createFile(final String path, final String contents) throws IOException {
+        final File file = new File(workDir, path);
+        FileUtils.writeStringToFile(file, contents, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * Runs the command given to the mocked channel in a local shell
+     */
+    private static class LocalShell {
+
+        private String command;
+        private OutputStream out;
+        private OutputStream err;
+        private Process process;
+        private final List<Thread> pumps = new ArrayList<>();
+        private boolean truncateArchive;
+
+        void mock(final ChannelExec channel) throws Exception {
+            doAnswer(new Answer<Void>() {
+                @Override
+                public Void answer(final InvocationOnMock invocation) {
+                    command = (String) invocation.getArguments()[0];
+                    return null;
+                }
+            }).when(channel).setCommand(anyString());
+            doAnswer(new Answer<Void>() {
+                @Override
+                public Void answer(final InvocationOnMock invocation) {
+                    out = (OutputStream) invocation.getArguments()[0];
+                    return null;
+                }
+            }).when(channel).setOutputStream(any(OutputStream.class));
+            doAnswer(new Answer<Void>() {
+                @Override
+                public Void answer(final InvocationOnMock invocation) {
+                    err = (OutputStream) invocation.getArguments()[0];
+                    return null;
+                }
+            }).when(channel).setErrStream(any(OutputStream.class));
+            doAnswer(new Answer<Void>() {
+                @Override
+                public Void answer(final InvocationOnMock invocation) throws IOException {
+                    process = new ProcessBuilder("sh", "-c", command).start();
+                    pump(process.getInputStream(), out);
+                    pump(process.getErrorStream(), err);
+                    return null;
+                }
+            }).when(channel).connect(anyInt());
+            when(channel.getOutputStream()).thenAnswer(new Answer<OutputStream>() {
+                @Override
+                public OutputStream answer(final InvocationOnMock invocation) {
+                    return new OutputStream() {
+                        private int written;
+
+                        @Override
+                        public void write(final int b) throws IOException {
+                            if (!truncateArchive || written++ < 100) {
+                                process.getOutputStream().write(b);
+                            }
+                        }
+
+                        @Override
+                        public void close() throws IOException {
+                            process.getOutputStream().close();
+                        }
+                    };
+                }
+            });
+            when(channel.getExitStatus()).thenAnswer(new Answer<Integer>() {
+                @Override
+                public Integer answer(final InvocationOnMock invocation) throws InterruptedException {
+                    for (final Thread pump : pumps) {
+                        pump.join();
+                    }
+                    return process.waitFor();
+                }
+            });
+        }
+
+        private void pump(final InputStream in, final OutputStream collector) {
+            final Thread pump = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        IOUtils.copy(in, collector);
+                        collector.close();
+                    } catch (final IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+            pumps.add(pump);
+            pump.start();
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.cerner.jwala.commandprocessor.jsch.impl;
+
+import com.cerner.jwala.common.exec.RemoteSystemConnection;
+import com.cerner.jwala.common.jsch.JschServiceException;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit test for {@link JschSessionCache}
+ */
+public class JschSessionCacheTest {
+
+    private static final int MAX_CHANNELS = 2;
+
+    @Mock
+    private JSch mockJsch;
+
+    @Mock
+    private Session mockSession;
+
+    @Mock
+    private Session mockOtherSession;
+
+    private JschSessionCache jschSessionCache;
+
+    private final ChannelSessionKey key = new ChannelSessionKey(new RemoteSystemConnection("user", "pwd", "host", 22),
+            ChannelType.EXEC);
+
+    @Before
+    public void setup() throws JSchException {
+        initMocks(this);
+        jschSessionCache = new JschSessionCache(mockJsch, MAX_CHANNELS, 0, 100);
+        when(mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession, mockOtherSession);
+    }
+
+    @Test
+    public void testBorrowSharesOneSession() throws JSchException {
+        when(mockSession.isConnected()).thenReturn(true);
+        assertSame(mockSession, jschSessionCache.borrowSession(key));
+        assertSame(mockSession, jschSessionCache.borrowSession(key));
+        assertEquals(2, jschSessionCache.getBorrowedCount(key));
+        verify(mockSession, times(1)).connect(anyInt());
+
+        jschSessionCache.returnSession(key);
+        jschSessionCache.returnSession(key);
+        assertEquals(0, jschSessionCache.getBorrowedCount(key));
+        verify(mockSession, never()).disconnect();
+    }
+
+    @Test(expected = JschServiceException.class)
+    public void testBorrowBeyondChannelCapTimesOut() throws JSchException {
+        when(mockSession.isConnected()).thenReturn(true);
+        for (int i = 0; i <= MAX_CHANNELS; i++) {
+            jschSessionCache.borrowSession(key);
+        }
+    }
+
+    @Test
+    public void testDisconnectedSessionIsReconnected() throws JSchException {
+        when(mockSession.isConnected()).thenReturn(false);
+        when(mockOtherSession.isConnected()).thenReturn(true);
+        assertSame(mockSession, jschSessionCache.borrowSession(key));
+        jschSessionCache.returnSession(key);
+        assertSame(mockOtherSession, jschSessionCache.borrowSession(key));
+        jschSessionCache.returnSession(key);
+    }
+
+    @Test
+    public void testRenewSessionKeepsTheChannelSlot() throws JSchException {
+        when(mockSession.isConnected()).thenReturn(true, false);
+        when(mockOtherSession.isConnected()).thenReturn(true);
+        final Session session = jschSessionCache.borrowSession(key);
+        assertSame(mockOtherSession, jschSessionCache.renewSession(key, session));
+        assertEquals(1, jschSessionCache.getBorrowedCount(key));
+        jschSessionCache.returnSession(key);
+    }
+
+    @Test
+    public void testRenewSessionKeepsAConnectedSession() throws JSchException {
+        when(mockSession.isConnected()).thenReturn(true);
+        final Session session = jschSessionCache.borrowSession(key);
+        final Session otherBorrowerSession = jschSessionCache.borrowSession(key);
+        assertSame(mockSession, jschSessionCache.renewSession(key, session));
+        assertSame(otherBorrowerSession, session);
+        verify(mockSession, never()).disconnect();
+        verify(mockJsch, times(1)).getSession(anyString(), anyString(), anyInt());
+        jschSessionCache.returnSession(key);
+        jschSessionCache.returnSession(key);
+    }
+
+    @Test
+    public void testFailedConnectReleasesTheChannelSlot() throws JSchException {
+        doThrow(new JSchException("Auth fail")).when(mockSession).connect(anyInt());
+        try {
+            jschSessionCache.borrowSession(key);
+        } catch (final JSchException e) {
+            assertEquals(0, jschSessionCache.getBorrowedCount(key));
+            return;
+        }
+        throw new AssertionError("Expected a JSchException");
+    }
+
+    @Test
+    public void testEvictIdleSessions() throws JSchException {
+        when(mockSession.isConnected()).thenReturn(true);
+        jschSessionCache.borrowSession(key);
+        jschSessionCache.evictIdleSessions();
+        verify(mockSession, never()).disconnect();
+
+        jschSessionCache.returnSession(key);
+        sleep();
+        jschSessionCache.evictIdleSessions();
+        verify(mockSession).disconnect();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.cerner.jwala.commandprocessor.jsch.impl;
+
+import com.cerner.jwala.common.exec.RemoteSystemConnection;
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelShell;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit test for {@link KeyedPooledJschChannelFactory}
+ */
+public class KeyedPooledJschChannelFactoryTest {
+
+    @Mock
+    private JSch mockJsch;
+
+    @Mock
+    private Session mockSession;
+
+    @Mock
+    private Session mockOtherSession;
+
+    @Mock
+    private ChannelShell mockChannel;
+
+    @Mock
+    private ChannelShell mockOtherChannel;
+
+    private KeyedPooledJschChannelFactory factory;
+
+    private final ChannelSessionKey key = new ChannelSessionKey(new RemoteSystemConnection("user", "pwd", "host", 22),
+            ChannelType.SHELL);
+
+    @Before
+    public void setup() throws JSchException {
+        initMocks(this);
+        factory = new KeyedPooledJschChannelFactory(mockJsch);
+        when(mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession, mockOtherSession);
+        when(mockSession.openChannel(anyString())).thenReturn(mockChannel, mockOtherChannel);
+        when(mockOtherSession.openChannel(anyString())).thenReturn(mockOtherChannel);
+        when(mockChannel.getSession()).thenReturn(mockSession);
+        when(mockOtherChannel.getSession()).thenReturn(mockSession);
+    }
+
+    @Test
+    public void testCreateConnectsChannelsOnOneSession() throws Exception {
+        when(mockSession.isConnected()).thenReturn(true);
+        assertEquals(mockChannel, factory.create(key));
+        assertEquals(mockOtherChannel, factory.create(key));
+        verify(mockSession, times(1)).connect();
+        verify(mockChannel).connect(anyInt());
+        verify(mockOtherChannel).connect(anyInt());
+        assertEquals(1, factory.getSessionCount());
+    }
+
+    @Test
+    public void testSessionIsReapedWithItsLastChannel() throws Exception {
+        when(mockSession.isConnected()).thenReturn(true);
+        final Channel channel = factory.create(key);
+        final Channel otherChannel = factory.create(key);
+
+        factory.destroyObject(key, new DefaultPooledObject<>(channel));
+        verify(mockSession, never()).disconnect();
+
+        factory.destroyObject(key, new DefaultPooledObject<>(otherChannel));
+        verify(mockSession).disconnect();
+        assertEquals(0, factory.getSessionCount());
+    }
+
+    @Test
+    public void testDisconnectedSessionIsReplaced() throws Exception {
+        when(mockSession.isConnected()).thenReturn(true);
+        factory.create(key);
+        when(mockSession.isConnected()).thenReturn(false);
+        assertEquals(mockOtherChannel, factory.create(key));
+        verify(mockOtherSession).connect();
+        assertEquals(1, factory.getSessionCount());
+    }
+
+    @Test
+    public void testFailedChannelConnectReleasesTheSession() throws Exception {
+        when(mockSession.isConnected()).thenReturn(true);
+        doThrow(new JSchException("channel is not opened.")).when(mockChannel).connect(anyInt());
+        try {
+            factory.create(key);
+        } catch (final JSchException e) {
+            verify(mockSession).disconnect();
+            assertEquals(0, factory.getSessionCount());
+            return;
+        }
+        throw new AssertionError("Expected a JSchException");
+    }
+
+    @Test
+    public void testValidateObject() {
+        when(mockChannel.isConnected()).thenReturn(true);
+        assertTrue(factory.validateObject(key, new DefaultPooledObject<Channel>(mockChannel)));
+        when(mockChannel.isClosed()).thenReturn(true);
+        assertFalse(factory.validateObject(key, new DefaultPooledObject<Channel>(mockChannel)));
+        when(mockChannel.isConnected()).thenReturn(false);
+        assertFalse(factory.validateObject(key, new DefaultPooledObject<Channel>(mockChannel)));
+    }
+
+}
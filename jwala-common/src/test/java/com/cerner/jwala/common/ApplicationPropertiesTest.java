@@ -7,8 +7,13 @@ import org.slf4j.LoggerFactory;
 
 import com.cerner.jwala.common.exception.ApplicationException;
 import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.common.properties.ApplicationPropertiesChangeListener;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class ApplicationPropertiesTest extends TestCase {
 
@@ -58,4 +63,44 @@ public class ApplicationPropertiesTest extends TestCase {
         }
     }
 
+    public void testTypedProperties() {
+        ApplicationProperties.reload();
+        assertEquals(Long.valueOf(5000000000L), ApplicationProperties.getAsLong("long.property", 1L));
+        assertEquals(Long.valueOf(1L), ApplicationProperties.getAsLong("no.such.property", 1L));
+        assertEquals(Duration.ofSeconds(30), ApplicationProperties.getAsDuration("duration.property", TimeUnit.SECONDS, null));
+        assertEquals(Duration.ofSeconds(5), ApplicationProperties.getAsDuration("net.stop.sleep.time.seconds", TimeUnit.SECONDS, null));
+        assertEquals(Duration.ofMillis(5), ApplicationProperties.getAsDuration("net.stop.sleep.time.seconds", TimeUnit.MILLISECONDS, null));
+        assertEquals(Integer.valueOf(5), ApplicationProperties.getAsInteger("integer.property"));
+        assertSame(ApplicationProperties.getAsInteger("integer.property"), ApplicationProperties.getAsInteger("integer.property"));
+        assertEquals(Boolean.TRUE, ApplicationProperties.getAsBoolean(PropertyKeys.RESOURCES_DEPLOY_DELTA, Boolean.TRUE));
+        assertEquals(Duration.ofSeconds(2), ApplicationProperties.getAsDuration(PropertyKeys.JVM_STATE_UPDATE_INTERVAL, TimeUnit.SECONDS,
+                Duration.ofSeconds(2)));
+    }
+
+    public void testPropertiesCopyDoesNotChangeTheProperties() {
+        ApplicationProperties.getProperties().setProperty("string.property", "changed");
+        assertEquals("string property", ApplicationProperties.get("string.property"));
+    }
+
+    public void testChangeListenerIsNotifiedOnReload() {
+        ApplicationProperties.reload();
+        final Set<String> changedKeys = new HashSet<>();
+        final ApplicationPropertiesChangeListener listener = changedKeys::addAll;
+        ApplicationProperties.addChangeListener(listener);
+        try {
+            System.setProperty(ApplicationProperties.PROPERTIES_ROOT_PATH, new File(".").getAbsolutePath() + "/src/test/resources/properties/reload");
+            ApplicationProperties.reload();
+            assertTrue(changedKeys.contains("reload.property"));
+            assertTrue(changedKeys.contains("jwala.history.result.fetch.count"));
+            assertTrue(changedKeys.contains("long.property"));
+            assertFalse(changedKeys.contains("string.property"));
+
+            changedKeys.clear();
+            ApplicationProperties.reload();
+            assertTrue(changedKeys.isEmpty());
+        } finally {
+            ApplicationProperties.removeChangeListener(listener);
+        }
+    }
+
 }
@@ -2,6 +2,7 @@ package com.cerner.jwala.common.jsch.impl;
 
 import com.cerner.jwala.commandprocessor.jsch.impl.ChannelSessionKey;
 import com.cerner.jwala.commandprocessor.jsch.impl.ChannelType;
+import com.cerner.jwala.commandprocessor.jsch.impl.JschSessionCache;
 import com.cerner.jwala.common.exec.RemoteSystemConnection;
 import com.cerner.jwala.common.jsch.JschService;
 import com.cerner.jwala.common.jsch.JschServiceException;
@@ -13,6 +14,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,12 +23,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -49,8 +53,6 @@ public class JschServiceImplTest {
     @Mock
     private ChannelExec mockChannelExec;
 
-    private InputStream in;
-
     @Mock
     private OutputStream mockOut;
 
@@ -63,12 +65,18 @@ public class JschServiceImplTest {
     @Before
     public void setup() {
         initMocks(this);
-        in = new ByteArrayInputStream("test".getBytes());
+        reset(Config.getMockPool());
+        when(Config.MOCK_SCRUBBER_SERVICE.scrub(anyString())).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(final InvocationOnMock invocation) {
+                return (String) invocation.getArguments()[0];
+            }
+        });
     }
 
     @Test
     public void testRunCommandUsingChannelShell() throws Exception {
-        when(mockChannelShell.getInputStream()).thenReturn(new ByteArrayInputStream("EXIT_CODE=0*** \0xff".getBytes()));
+        doAnswer(writeOutput("EXIT_CODE=0*** \0xff")).when(mockChannelShell).setOutputStream(any(OutputStream.class));
         when(mockChannelShell.getOutputStream()).thenReturn(mockOut);
         when(mockChannelShell.isConnected()).thenReturn(true);
         when(Config.getMockPool().borrowObject(any(ChannelSessionKey.class))).thenReturn(mockChannelShell);
@@ -78,9 +86,22 @@ public class JschServiceImplTest {
         assertEquals("EXIT_CODE=0*** \0xff", result.standardOuput);
     }
 
+    @Test
+    public void testRunCommandUsingChannelShellStopsReadingAtEndMarker() throws Exception {
+        doAnswer(writeOutput("EXIT_CODE=0***\n\u00ff")).when(mockChannelShell).setOutputStream(any(OutputStream.class));
+        when(mockChannelShell.getOutputStream()).thenReturn(mockOut);
+        when(mockChannelShell.isConnected()).thenReturn(true);
+        when(Config.getMockPool().borrowObject(any(ChannelSessionKey.class))).thenReturn(mockChannelShell);
+        final long startTime = System.currentTimeMillis();
+        final RemoteCommandReturnInfo result = jschService.runShellCommand(mockRemoteSystemConnection, "scp", 60000);
+        assertTrue(System.currentTimeMillis() - startTime < 60000);
+        assertEquals(0, result.retCode);
+        verify(Config.getMockPool()).returnObject(any(ChannelSessionKey.class), eq(mockChannelShell));
+    }
+
     @Test(expected = JschServiceException.class)
     public void testRunCommandUsingChannelShellAndTimesOut() throws Exception {
-        when(mockChannelShell.getInputStream()).thenReturn(new ByteArrayInputStream("output without eof".getBytes()));
+        doAnswer(writeOutput("output without eof")).when(mockChannelShell).setOutputStream(any(OutputStream.class));
         when(mockChannelShell.getOutputStream()).thenReturn(mockOut);
         when(mockChannelShell.isConnected()).thenReturn(true);
         when(Config.getMockPool().borrowObject(any(ChannelSessionKey.class))).thenReturn(mockChannelShell);
@@ -92,27 +113,115 @@ public class JschServiceImplTest {
 
     @Test
     public void testRunCommandUsingChannelExec() throws IOException, JSchException {
-        when(mockChannelExec.getInputStream()).thenReturn(in);
+        mockChannelExecOutput("test", "");
         when(mockChannelExec.getExitStatus()).thenReturn(0);
         when(Config.mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession);
         when(mockSession.openChannel(eq(ChannelType.EXEC.getChannelType()))).thenReturn(mockChannelExec);
         when(mockChannelExec.isClosed()).thenReturn(true);
-        jschService.runExecCommand(mockRemoteSystemConnection, "scp", 0);
+        final RemoteCommandReturnInfo result = jschService.runExecCommand(mockRemoteSystemConnection, "scp", 0);
         verify(mockChannelExec).setCommand(any(byte[].class));
         verify(mockChannelExec).connect(anyInt());
+        assertEquals("test", result.standardOuput);
     }
 
     @Test
     public void testRunCommandUsingChannelExecWithExitStatusNotZero() throws IOException, JSchException {
-        when(mockChannelExec.getInputStream()).thenReturn(in);
-        when(mockChannelExec.getErrStream()).thenReturn(new ByteArrayInputStream("invalid command".getBytes()));
+        mockChannelExecOutput("test", "invalid command");
         when(mockChannelExec.getExitStatus()).thenReturn(1);
         when(Config.mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession);
         when(mockSession.openChannel(eq(ChannelType.EXEC.getChannelType()))).thenReturn(mockChannelExec);
         when(mockChannelExec.isClosed()).thenReturn(true);
-        jschService.runExecCommand(mockRemoteSystemConnection, "scp", 0);
+        final RemoteCommandReturnInfo result = jschService.runExecCommand(mockRemoteSystemConnection, "scp", 0);
         verify(mockChannelExec).setCommand(any(byte[].class));
         verify(mockChannelExec).connect(anyInt());
+        assertEquals(1, result.retCode);
+        assertEquals("invalid command", result.errorOupout);
+    }
+
+    @Test
+    public void testRunCommandUsingChannelExecWaitsForChannelToClose() throws IOException, JSchException {
+        mockChannelExecOutput("test", "");
+        when(mockChannelExec.getExitStatus()).thenReturn(0);
+        when(Config.mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession);
+        when(mockSession.openChannel(eq(ChannelType.EXEC.getChannelType()))).thenReturn(mockChannelExec);
+        when(mockChannelExec.isClosed()).thenReturn(false);
+        final long startTime = System.currentTimeMillis();
+        final RemoteCommandReturnInfo result = jschService.runExecCommand(mockRemoteSystemConnection, "scp", 60000);
+        assertTrue(System.currentTimeMillis() - startTime < 60000);
+        assertEquals("test", result.standardOuput);
+        assertNull(result.errorOupout);
+    }
+
+    @Test
+    public void testRunCommandUsingChannelExecTimesOut() throws IOException, JSchException {
+        when(mockChannelExec.getExitStatus()).thenReturn(-1);
+        when(Config.mockJsch.getSession(anyString(), anyString(), anyInt())).thenReturn(mockSession);
+        when(mockSession.openChannel(eq(ChannelType.EXEC.getChannelType()))).thenReturn(mockChannelExec);
+        when(mockChannelExec.isClosed()).thenReturn(false);
+        when(mockChannelExec.isConnected()).thenReturn(true);
+        final RemoteCommandReturnInfo result = jschService.runExecCommand(mockRemoteSystemConnection, "scp", 100);
+        assertEquals(-1, result.retCode);
+        assertEquals("Wait for channel to close timeout! Timeout = 100 ms", result.errorOupout);
+        verify(mockChannelExec).disconnect();
+    }
+
+    @Test
+    public void testRunCommandUsingChannelExecReusesSession() throws IOException, JSchException {
+        final RemoteSystemConnection remoteSystemConnection = new RemoteSystemConnection("user", "pwd", "reusedHost", 22);
+        mockChannelExecOutput("test", "");
+        when(mockChannelExec.getExitStatus()).thenReturn(0);
+        when(Config.mockJsch.getSession(anyString(), eq("reusedHost"), anyInt())).thenReturn(mockSession);
+        when(mockSession.isConnected()).thenReturn(true);
+        when(mockSession.openChannel(eq(ChannelType.EXEC.getChannelType()))).thenReturn(mockChannelExec);
+        when(mockChannelExec.isClosed()).thenReturn(true);
+        jschService.runExecCommand(remoteSystemConnection, "mkdir", 0);
+        jschService.runExecCommand(remoteSystemConnection, "chmod", 0);
+        verify(Config.mockJsch, times(1)).getSession(anyString(), eq("reusedHost"), anyInt());
+        verify(mockSession, times(1)).connect(anyInt());
+        verify(mockSession, never()).disconnect();
+        verify(mockSession, times(2)).openChannel(eq(ChannelType.EXEC.getChannelType()));
+    }
+
+    /**
+     * Mimics JSch which writes the remote output to the streams set on the channel then closes them
+     */
+    private void mockChannelExecOutput(final String standardOutput, final String errorOutput) throws JSchException {
+        final OutputStream[] streams = new OutputStream[2];
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                streams[0] = (OutputStream) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(mockChannelExec).setOutputStream(any(OutputStream.class));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                streams[1] = (OutputStream) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(mockChannelExec).setErrStream(any(OutputStream.class));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws IOException {
+                streams[0].write(standardOutput.getBytes(StandardCharsets.UTF_8));
+                streams[0].close();
+                streams[1].write(errorOutput.getBytes(StandardCharsets.UTF_8));
+                streams[1].close();
+                return null;
+            }
+        }).when(mockChannelExec).connect(anyInt());
+    }
+
+    private static Answer<Void> writeOutput(final String output) {
+        return new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws IOException {
+                final OutputStream out = (OutputStream) invocation.getArguments()[0];
+                out.write(output.getBytes(StandardCharsets.ISO_8859_1));
+                return null;
+            }
+        };
     }
 
     @Configuration
@@ -135,6 +244,11 @@ public class JschServiceImplTest {
             return mockPool;
         }
 
+        @Bean
+        public JschSessionCache getJschSessionCache() {
+            return new JschSessionCache(mockJsch, 10, 300000, 1000);
+        }
+
         @Bean
         public ScrubberService getScrubberService() {
             return MOCK_SCRUBBER_SERVICE;
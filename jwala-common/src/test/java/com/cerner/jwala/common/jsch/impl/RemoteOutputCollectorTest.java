@@ -0,0 +1,88 @@
+package com.cerner.jwala.common.jsch.impl;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link RemoteOutputCollector}
+ */
+public class RemoteOutputCollectorTest {
+
+    private static final byte END_MARKER = (byte) 0xff;
+
+    @Test
+    public void testCompletesOnClose() throws Exception {
+        final RemoteOutputCollector collector = new RemoteOutputCollector();
+        collector.write("some output".getBytes(StandardCharsets.UTF_8));
+        assertFalse(collector.awaitCompletion(1));
+        collector.close();
+        assertTrue(collector.awaitCompletion(1));
+        assertEquals("some output", collector.getOutput());
+    }
+
+    @Test
+    public void testCompletesOnEndMarker() throws Exception {
+        final RemoteOutputCollector collector = new RemoteOutputCollector(END_MARKER);
+        collector.write("EXIT_CODE=0***".getBytes(StandardCharsets.UTF_8));
+        assertFalse(collector.isComplete());
+        collector.write(new byte[]{'\n', END_MARKER}, 0, 2);
+        assertTrue(collector.isComplete());
+    }
+
+    @Test
+    public void testEndMarkerOutsideOfWrittenRangeIsIgnored() throws Exception {
+        final RemoteOutputCollector collector = new RemoteOutputCollector(END_MARKER);
+        collector.write(new byte[]{'a', END_MARKER}, 0, 1);
+        assertFalse(collector.isComplete());
+        assertEquals("a", collector.getOutput());
+    }
+
+    @Test
+    public void testAwaitCompletionWhileActiveTimesOutOnInactivity() throws Exception {
+        final AtomicLong time = new AtomicLong();
+        final RemoteOutputCollector collector = new RemoteOutputCollector(END_MARKER, time::get);
+        time.set(100);
+        assertFalse(collector.awaitCompletionWhileActive(50));
+    }
+
+    @Test
+    public void testAwaitCompletionWhileActiveWaitsForActiveOutput() throws Exception {
+        final AtomicLong time = new AtomicLong();
+        final CountDownLatch pastFirstDeadline = new CountDownLatch(1);
+        final RemoteOutputCollector collector = new RemoteOutputCollector(END_MARKER, () -> {
+            final long now = time.get();
+            if (now >= 80) {
+                pastFirstDeadline.countDown();
+            }
+            return now;
+        });
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Boolean> completed = executorService.submit(() -> collector.awaitCompletionWhileActive(50));
+
+            // the write at 40 pushes the deadline back to 90 so the reader keeps on waiting once it sees 80
+            time.set(40);
+            collector.write('.');
+            time.set(80);
+            assertTrue(pastFirstDeadline.await(10, TimeUnit.SECONDS));
+
+            collector.write(END_MARKER);
+            assertTrue(completed.get(10, TimeUnit.SECONDS));
+            assertEquals(".", collector.getOutput().substring(0, 1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.cerner.jwala.ui.selenium;
 
+import com.cerner.jwala.commandprocessor.jsch.impl.JschSessionCache;
 import com.cerner.jwala.commandprocessor.jsch.impl.KeyedPooledJschChannelFactory;
 import com.cerner.jwala.common.scrubber.ScrubberService;
 import com.jcraft.jsch.JSch;
@@ -84,6 +85,11 @@ public class TestConfig {
         return new GenericKeyedObjectPool(new KeyedPooledJschChannelFactory(jsch));
     }
 
+    @Bean
+    public JschSessionCache getJschSessionCache(final JSch jsch) {
+        return new JschSessionCache(jsch, 10, 300000, 180000);
+    }
+
     @Bean
     public ScrubberService getScrubberService() {
         // We don't need to scrub anything in the logs since we don't do logging in our selenium tests as of the
@@ -78,4 +78,9 @@ public class AemPersistenceServiceConfiguration {
         return new WebServerCrudServiceImpl();
     }
 
+    @Bean
+    public LowerNameService getLowerNameService() {
+        return new LowerNameServiceImpl();
+    }
+
 }
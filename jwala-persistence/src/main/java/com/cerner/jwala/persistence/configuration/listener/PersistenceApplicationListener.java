@@ -4,10 +4,11 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 
+import com.cerner.jwala.persistence.jpa.service.LowerNameService;
 import com.cerner.jwala.persistence.service.ApplicationPersistenceService;
 
 /**
- * Listen to events and eagerly initialize OpenJPA
+ * Listen to events and eagerly initialize OpenJPA, then fill in the lower case names that update.sql leaves empty
  */
 public class PersistenceApplicationListener implements ApplicationListener<ContextRefreshedEvent> {
 
@@ -18,6 +19,7 @@ public class PersistenceApplicationListener implements ApplicationListener<Conte
             final ApplicationPersistenceService applicationPersistenceService =
                     applicationContext.getBean(ApplicationPersistenceService.class);
             applicationPersistenceService.getApplications(); // read nothing.
+            applicationContext.getBean(LowerNameService.class).fillInLowerNames();
         }      
     }
 }
@@ -1,9 +1,11 @@
 package com.cerner.jwala.persistence.jpa.domain;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import javax.persistence.*;
 import java.util.Calendar;
+import java.util.Locale;
 
 @MappedSuperclass
 public abstract class AbstractEntity<T extends AbstractEntity<T>> implements Audited {
@@ -67,7 +69,10 @@ public abstract class AbstractEntity<T extends AbstractEntity<T>> implements Aud
     @PrePersist
     protected void prePersist() {
         final Calendar now = Calendar.getInstance();
-        setCreateDate(now);
+        if (getCreateDate() == null) {
+            // an entity persisted some time after it was created, e.g. a journaled history row, keeps its create date
+            setCreateDate(now);
+        }
         setCreateBy(getUserId(createBy));
         setLastUpdateDate(now);
     }
@@ -91,4 +96,14 @@ public abstract class AbstractEntity<T extends AbstractEntity<T>> implements Aud
         return providedUserId;
     }
 
+    /**
+     * Lower case a name the way the lowerName columns are, with a fixed locale so that a lookup by name finds the
+     * same rows whatever the default locale is
+     * @param name the name
+     * @return the name in lower case
+     */
+    public static String toLowerName(final String name) {
+        return StringUtils.lowerCase(name, Locale.ENGLISH);
+    }
+
 }
@@ -1,5 +1,8 @@
 package com.cerner.jwala.persistence.jpa.domain;
 
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
+import org.apache.openjpa.persistence.jdbc.Index;
+
 import javax.persistence.*;
 
 /**
@@ -17,6 +20,7 @@ import javax.persistence.*;
  * @author horspe00
  */
 @Entity
+@EntityListeners(TopologyChangeListener.class)
 @Table(name = "app", uniqueConstraints = {@UniqueConstraint(columnNames = {"name"})})
 @NamedQueries({
         @NamedQuery(
@@ -71,6 +75,12 @@ public class JpaApplication extends AbstractEntity<JpaApplication> {
     @Column(nullable = false, unique = true)
     public String name;
 
+    /**
+     * The name lower cased by {@link #toLowerName(String)}, for the case insensitive lookups by name
+     */
+    @Index(name = "IDX_APP_LOWER_NAME")
+    private String lowerName;
+
     /**
      * Relationship stored in app.group to allow operations across a group
      * BUT, this does mean that a JpaApplication represents a single
@@ -134,8 +144,13 @@ public class JpaApplication extends AbstractEntity<JpaApplication> {
         return name;
     }
 
+    public String getLowerName() {
+        return lowerName;
+    }
+
     public void setName(String name) {
         this.name = name;
+        this.lowerName = toLowerName(name);
     }
 
     public boolean isSecure() {
@@ -1,12 +1,24 @@
 package com.cerner.jwala.persistence.jpa.domain;
 
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
+import org.apache.openjpa.persistence.FetchAttribute;
+import org.apache.openjpa.persistence.FetchGroup;
+import org.apache.openjpa.persistence.FetchGroups;
+import org.apache.openjpa.persistence.jdbc.Index;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 
 @Entity
+@EntityListeners(TopologyChangeListener.class)
 @Table(name = "grp", uniqueConstraints = {@UniqueConstraint(columnNames = {"name"})})
+@FetchGroups({
+        @FetchGroup(name = JpaGroup.FETCH_GROUP_JVMS, attributes = @FetchAttribute(name = "jvms")),
+        @FetchGroup(name = JpaGroup.FETCH_GROUP_WEB_SERVERS,
+                attributes = @FetchAttribute(name = "webServers"))
+})
 @NamedQueries({
         @NamedQuery(name = JpaGroup.QUERY_GET_GROUP_ID, query = "SELECT g.id FROM JpaGroup g WHERE g.name = :name"),
         @NamedQuery(name = JpaGroup.QUERY_GET_GROUP, query = "SELECT g FROM JpaGroup g WHERE g.id = :groupId"),
@@ -24,6 +36,12 @@ public class JpaGroup extends AbstractEntity<JpaGroup> {
     public static final String QUERY_GET_HOSTS_OF_A_GROUP = "getHostsOfAGroup";
     public static final String QUERY_GET_GROUPS_BY_ID_LIST = "getGroupsByIdList";
 
+    /**
+     * Load the JVMs or the web servers with the group, they are not loaded by default
+     */
+    public static final String FETCH_GROUP_JVMS = "jvms";
+    public static final String FETCH_GROUP_WEB_SERVERS = "webServers";
+
     public static final String QUERY_PARAM_ID = "id";
     public static final String QUERY_PARAM_STATE = "state";
     public static final String QUERY_PARAM_NAME = "name";
@@ -37,6 +55,12 @@ public class JpaGroup extends AbstractEntity<JpaGroup> {
     @Column(nullable = false, unique = true)
     public String name;
 
+    /**
+     * The name lower cased by {@link #toLowerName(String)}, for the case insensitive lookups by name
+     */
+    @Index(name = "IDX_GRP_LOWER_NAME")
+    private String lowerName;
+
     @ManyToMany
     @JoinTable(name = "GRP_JVM",
                joinColumns = {@JoinColumn(name = "GROUP_ID", referencedColumnName = "ID")},
@@ -75,8 +99,13 @@ public class JpaGroup extends AbstractEntity<JpaGroup> {
         return name;
     }
 
+    public String getLowerName() {
+        return lowerName;
+    }
+
     public void setName(String name) {
         this.name = name;
+        this.lowerName = toLowerName(name);
     }
 
     public List<JpaJvm> getJvms() {
@@ -2,6 +2,7 @@ package com.cerner.jwala.persistence.jpa.domain;
 
 import com.cerner.jwala.common.domain.model.group.History;
 import com.cerner.jwala.persistence.jpa.type.EventType;
+import org.apache.openjpa.persistence.jdbc.Index;
 
 import javax.persistence.*;
 
@@ -9,25 +10,41 @@ import javax.persistence.*;
 @Table(name = "history", uniqueConstraints = {@UniqueConstraint(columnNames = {"id"})})
 @NamedQueries({
     @NamedQuery(name = JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME,
-                query = "SELECT h FROM JpaHistory h WHERE h.group.name = :groupName ORDER BY h.id DESC"),
+                query = "SELECT h FROM JpaHistory h WHERE h.group.name = :groupName ORDER BY h.createDate DESC, h.id DESC"),
     @NamedQuery(name = JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME_AND_SERVER_NAME,
-                query = "SELECT h FROM JpaHistory h WHERE h.group.name = :groupName AND h.serverName = :serverName ORDER BY h.id DESC")
+                query = "SELECT h FROM JpaHistory h WHERE h.group.name = :groupName AND h.serverName = :serverName ORDER BY h.createDate DESC, h.id DESC"),
+    @NamedQuery(name = JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME_BEFORE,
+                query = "SELECT h FROM JpaHistory h WHERE h.group.name = :groupName AND (h.createDate < :createDate OR " +
+                        "(h.createDate = :createDate AND h.id < :id)) ORDER BY h.createDate DESC, h.id DESC"),
+    @NamedQuery(name = JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME_AND_SERVER_NAME_BEFORE,
+                query = "SELECT h FROM JpaHistory h WHERE h.group.name = :groupName AND h.serverName = :serverName AND " +
+                        "(h.createDate < :createDate OR (h.createDate = :createDate AND h.id < :id)) ORDER BY h.createDate DESC, h.id DESC"),
+    @NamedQuery(name = JpaHistory.QRY_GET_HISTORY_IDS_CREATED_BEFORE,
+                query = "SELECT h.id FROM JpaHistory h WHERE h.createDate < :createDate ORDER BY h.id"),
+    @NamedQuery(name = JpaHistory.QRY_DELETE_HISTORY_BY_IDS, query = "DELETE FROM JpaHistory h WHERE h.id IN :ids")
 })
 public class JpaHistory extends AbstractEntity<JpaHistory> {
 
     public static final String QRY_GET_HISTORY_BY_GROUP_NAME = "getHistoryByGroupName";
     public static final String QRY_GET_HISTORY_BY_GROUP_NAME_AND_SERVER_NAME = "getHistoryByGroupNameAndServerName";
+    public static final String QRY_GET_HISTORY_BY_GROUP_NAME_BEFORE = "getHistoryByGroupNameBefore";
+    public static final String QRY_GET_HISTORY_BY_GROUP_NAME_AND_SERVER_NAME_BEFORE = "getHistoryByGroupNameAndServerNameBefore";
+    public static final String QRY_GET_HISTORY_IDS_CREATED_BEFORE = "getHistoryIdsCreatedBefore";
+    public static final String QRY_DELETE_HISTORY_BY_IDS = "deleteHistoryByIds";
     private static final int MAX_EVENT_LEN = 100000;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // the history of a server or a group is read and purged newest first
     @Column(nullable = false)
+    @Index(name = "IDX_HISTORY_SERVER_CREATED", columnNames = {"serverName", "createDate"})
     public String serverName;
 
     @ManyToOne
     @JoinColumn(name = "groupId")
+    @Index(name = "IDX_HISTORY_GROUP_CREATED", columnNames = {"groupId", "createDate"})
     private JpaGroup group;
 
     @Column(length = MAX_EVENT_LEN)
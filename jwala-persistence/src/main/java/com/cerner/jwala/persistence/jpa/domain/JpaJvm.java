@@ -1,22 +1,30 @@
 package com.cerner.jwala.persistence.jpa.domain;
 
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
+import org.apache.openjpa.persistence.FetchAttribute;
+import org.apache.openjpa.persistence.FetchGroup;
+import org.apache.openjpa.persistence.jdbc.Index;
 
 import javax.persistence.*;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Entity
+@EntityListeners(TopologyChangeListener.class)
 @Table(name = "jvm", uniqueConstraints = {@UniqueConstraint(columnNames = {"name"})})
+@FetchGroup(name = JpaJvm.FETCH_GROUP_GROUPS, attributes = @FetchAttribute(name = "groups"))
 @NamedQueries({
         @NamedQuery(name = JpaJvm.QUERY_FIND_JVM_BY_GROUP_AND_JVM_NAME,
-                query = "SELECT j FROM JpaJvm j WHERE LOWER(j.name) = LOWER(:jvmName) AND LOWER(j.groups.name) = LOWER(:groupName)"),
+                query = "SELECT j FROM JpaJvm j WHERE j.lowerName = :jvmName AND j.groups.lowerName = :groupName"),
         @NamedQuery(name = JpaJvm.QUERY_UPDATE_STATE_BY_ID, query = "UPDATE JpaJvm j SET j.state = :state, j.lastUpdateDate = CURRENT_TIMESTAMP WHERE j.id = :id"),
         @NamedQuery(name = JpaJvm.QUERY_UPDATE_ERROR_STATUS_BY_ID, query = "UPDATE JpaJvm j SET j.errorStatus = :errorStatus, j.lastUpdateDate = CURRENT_TIMESTAMP  WHERE j.id = :id"),
         @NamedQuery(name = JpaJvm.QUERY_UPDATE_STATE_AND_ERR_STS_BY_ID, query = "UPDATE JpaJvm j SET j.state = :state, j.errorStatus = :errorStatus, j.lastUpdateDate = CURRENT_TIMESTAMP WHERE j.id = :id"),
-        @NamedQuery(name = JpaJvm.QUERY_GET_JVM_COUNT_BY_STATE_AND_GROUP_NAME, query = "SELECT COUNT(1) FROM JpaJvm j WHERE j.state = :state AND LOWER(j.groups.name) = LOWER(:groupName)"),
-        @NamedQuery(name = JpaJvm.QUERY_GET_JVM_COUNT_BY_GROUP_NAME, query = "SELECT COUNT(1) FROM JpaJvm j WHERE LOWER(j.groups.name) = LOWER(:groupName)"),
-        @NamedQuery(name = JpaJvm.QUERY_GET_JVMS_BY_GROUP_NAME, query = "SELECT j FROM JpaJvm j WHERE LOWER(j.groups.name) = LOWER(:groupName) ORDER by j.name")
+        @NamedQuery(name = JpaJvm.QUERY_GET_JVM_COUNT_BY_STATE_AND_GROUP_NAME, query = "SELECT COUNT(1) FROM JpaJvm j WHERE j.state = :state AND j.groups.lowerName = :groupName"),
+        @NamedQuery(name = JpaJvm.QUERY_GET_JVM_COUNT_BY_GROUP_NAME, query = "SELECT COUNT(1) FROM JpaJvm j WHERE j.groups.lowerName = :groupName"),
+        @NamedQuery(name = JpaJvm.QUERY_GET_JVMS_BY_GROUP_NAME, query = "SELECT j FROM JpaJvm j WHERE j.groups.lowerName = :groupName ORDER by j.name"),
+        @NamedQuery(name = JpaJvm.QUERY_GET_JVMS_FOR_STATE_POLLING,
+                query = "SELECT j.id, j.name, j.hostName, j.httpPort, j.httpsPort, j.statusPath, j.state, j.lastUpdateDate FROM JpaJvm j")
 })
 public class JpaJvm extends AbstractEntity<JpaJvm> {
 
@@ -27,6 +35,13 @@ public class JpaJvm extends AbstractEntity<JpaJvm> {
     public static final String QUERY_GET_JVM_COUNT_BY_STATE_AND_GROUP_NAME = "getJvmCountByStateAndGroupName";
     public static final String QUERY_GET_JVM_COUNT_BY_GROUP_NAME = "getJvmCountByGroupName";
     public static final java.lang.String QUERY_GET_JVMS_BY_GROUP_NAME = "getJvmsByGroupName";
+    public static final String QUERY_GET_JVMS_FOR_STATE_POLLING = "getJvmsForStatePolling";
+
+    /**
+     * Loads the groups with the JVM, the groups are not loaded by default. {@link JpaWebServer} has a fetch group with
+     * the same name so that adding it to a fetch plan loads the groups of both.
+     */
+    public static final String FETCH_GROUP_GROUPS = "groups";
 
     public static final String QUERY_PARAM_ID = "id";
 
@@ -45,9 +60,15 @@ public class JpaJvm extends AbstractEntity<JpaJvm> {
     @Column(nullable = false, unique = true)
     public String name;
 
+    /**
+     * The name lower cased by {@link #toLowerName(String)}, for the case insensitive lookups by name
+     */
+    @Index(name = "IDX_JVM_LOWER_NAME")
+    private String lowerName;
+
     private String hostName;
 
-    @ManyToMany(mappedBy = "jvms", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "jvms", fetch = FetchType.LAZY)
     private List<JpaGroup> groups;
 
     @Column(nullable = false)
@@ -97,8 +118,13 @@ public class JpaJvm extends AbstractEntity<JpaJvm> {
         return name;
     }
 
+    public String getLowerName() {
+        return lowerName;
+    }
+
     public void setName(String name) {
         this.name = name;
+        this.lowerName = toLowerName(name);
     }
 
     public void setId(final Long id) {
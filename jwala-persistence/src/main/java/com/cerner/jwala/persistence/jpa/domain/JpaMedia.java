@@ -4,6 +4,7 @@ import com.cerner.jwala.common.domain.model.PathToStringSerializer;
 import com.cerner.jwala.common.domain.model.StringToPathDeserializer;
 import com.cerner.jwala.common.domain.model.media.MediaType;
 import com.cerner.jwala.persistence.jpa.domain.constraint.ValidPath;
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.annotate.JsonIgnoreProperties;
 import org.codehaus.jackson.map.annotate.JsonDeserialize;
@@ -22,6 +23,7 @@ import java.nio.file.Paths;
  * POJO that defines a media such as jdk, tomcat application server,  web srve* Creted by Jedd Cuison on 12/6/2016
  */
 @Entity(name = "media")
+@EntityListeners(TopologyChangeListener.class)
 @Table(uniqueConstraints = {@UniqueConstraint(columnNames = {"NAME", "TYPE"})})
 @NamedQueries({@NamedQuery(name = JpaMedia.QUERY_FIND_BY_NAME, query = "SELECT m FROM media m WHERE lower(m.name) = lower(:name)"),
         @NamedQuery(name = JpaMedia.QUERY_FIND_BY_NAME_TYPE, query = "SELECT m FROM media m WHERE lower(m.name) = lower(:name) AND m.type = (:type)")})
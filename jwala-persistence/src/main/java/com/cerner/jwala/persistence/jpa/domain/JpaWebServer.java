@@ -1,6 +1,10 @@
 package com.cerner.jwala.persistence.jpa.domain;
 
 import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
+import org.apache.openjpa.persistence.FetchAttribute;
+import org.apache.openjpa.persistence.FetchGroup;
+import org.apache.openjpa.persistence.jdbc.Index;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -8,10 +12,12 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Entity
+@EntityListeners(TopologyChangeListener.class)
 @Table(name = "webserver", uniqueConstraints = {@UniqueConstraint(columnNames = {"name"})})
+@FetchGroup(name = JpaWebServer.FETCH_GROUP_GROUPS, attributes = @FetchAttribute(name = "groups"))
 @NamedQueries({
         @NamedQuery(name = JpaWebServer.FIND_WEB_SERVER_BY_QUERY,
-                query = "SELECT ws FROM JpaWebServer ws WHERE lower(ws.name) = lower(:wsName)"),
+                query = "SELECT ws FROM JpaWebServer ws WHERE ws.lowerName = :wsName"),
         @NamedQuery(name = JpaWebServer.FIND_JVMS_QUERY,
                 query = "SELECT DISTINCT jvm FROM JpaJvm jvm JOIN jvm.groups g " +
                         "WHERE g.id IN (SELECT a.group FROM JpaApplication a " +
@@ -28,7 +34,9 @@ import java.util.stream.Collectors;
         @NamedQuery(name = JpaWebServer.QUERY_GET_WS_BY_GROUP_NAME, query = "SELECT w FROM JpaWebServer w WHERE w.groups.name = :groupName"),
         @NamedQuery(name = JpaWebServer.FIND_WEBSERVER_BY_GROUP_QUERY, query = "SELECT w FROM JpaWebServer w WHERE w.name = :wsName AND w.groups.name = :groupName"),
         @NamedQuery(name = JpaWebServer.FIND_WEBSERVERS_BY_GROUPID, query = "SELECT j FROM JpaWebServer j WHERE :groupId MEMBER OF j.groups.id"),
-        @NamedQuery(name = JpaWebServer.FIND_WEB_SERVER_BY_NAME_LIKE_QUERY, query = "SELECT g FROM JpaWebServer g WHERE g.name LIKE  ?1 ")
+        @NamedQuery(name = JpaWebServer.FIND_WEB_SERVER_BY_NAME_LIKE_QUERY, query = "SELECT g FROM JpaWebServer g WHERE g.name LIKE  ?1 "),
+        @NamedQuery(name = JpaWebServer.QUERY_GET_WS_FOR_STATE_POLLING,
+                query = "SELECT w.id, w.name, w.host, w.port, w.httpsPort, w.statusPath, w.state FROM JpaWebServer w")
 })
 public class JpaWebServer extends AbstractEntity<JpaWebServer> {
 
@@ -45,6 +53,12 @@ public class JpaWebServer extends AbstractEntity<JpaWebServer> {
     public static final String QUERY_GET_WS_COUNT_BY_GROUP_NAME = "getWebServerCountByGroupName";
     public static final java.lang.String QUERY_GET_WS_AND_ITS_GROUPS = "getWebServerAndItsGroups";
     public static final String QUERY_GET_WS_BY_GROUP_NAME = "findWebServerByGroupName";
+    public static final String QUERY_GET_WS_FOR_STATE_POLLING = "getWebServersForStatePolling";
+
+    /**
+     * Loads the groups with the web server, the groups are not loaded by default
+     */
+    public static final String FETCH_GROUP_GROUPS = JpaJvm.FETCH_GROUP_GROUPS;
 
     public static final String QUERY_PARAM_ID = "id";
     public static final String QUERY_PARAM_STATE = "state";
@@ -58,6 +72,12 @@ public class JpaWebServer extends AbstractEntity<JpaWebServer> {
 
     private String name;
 
+    /**
+     * The name lower cased by {@link #toLowerName(String)}, for the case insensitive lookups by name
+     */
+    @Index(name = "IDX_WEBSERVER_LOWER_NAME")
+    private String lowerName;
+
     private Integer port;
 
     private Integer httpsPort;
@@ -68,7 +88,7 @@ public class JpaWebServer extends AbstractEntity<JpaWebServer> {
     @Enumerated(EnumType.STRING)
     private WebServerReachableState state;
 
-    @ManyToMany(mappedBy = "webServers", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "webServers", fetch = FetchType.LAZY)
     private List<JpaGroup> groups = new ArrayList<>();
 
     @OneToOne(targetEntity = JpaMedia.class)
@@ -91,8 +111,13 @@ public class JpaWebServer extends AbstractEntity<JpaWebServer> {
         return name;
     }
 
+    public String getLowerName() {
+        return lowerName;
+    }
+
     public void setName(String name) {
         this.name = name;
+        this.lowerName = toLowerName(name);
     }
 
     public Integer getPort() {
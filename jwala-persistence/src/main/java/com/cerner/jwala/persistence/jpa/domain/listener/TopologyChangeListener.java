@@ -0,0 +1,57 @@
+package com.cerner.jwala.persistence.jpa.domain.listener;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the version of the topology i.e. the groups, JVMs, web servers, applications and media and how they relate to
+ * each other. The version changes every time one of these entities is created, updated or removed so that data built
+ * from them can tell when it has to be rebuilt.
+ * <p>
+ * The version also changes after the transaction that changed the entity completes, otherwise data read by another
+ * thread between the flush and the commit would be tagged with the new version while still holding the old values.
+ * Bulk updates (e.g. the state updates of JVMs and web servers) don't go through entity callbacks and don't change the
+ * version.
+ */
+public class TopologyChangeListener {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+    private static final Object TRANSACTION_RESOURCE_KEY = new Object();
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(final Object entity) {
+        changed();
+    }
+
+    /**
+     * @return the current version of the topology
+     */
+    public static long getVersion() {
+        return VERSION.get();
+    }
+
+    /**
+     * Change the version of the topology now and, if a transaction is active, once more after it completes
+     */
+    public static void changed() {
+        VERSION.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive() &&
+                !TransactionSynchronizationManager.hasResource(TRANSACTION_RESOURCE_KEY)) {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_RESOURCE_KEY, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_RESOURCE_KEY);
+                    VERSION.incrementAndGet();
+                }
+            });
+        }
+    }
+}
@@ -12,36 +12,36 @@ import javax.persistence.*;
 @Table(name = "GRP_APP_CONFIG_TEMPLATE", uniqueConstraints = {@UniqueConstraint(columnNames = {"GRP_ID", "APP_ID", "TEMPLATE_NAME"})})
 @NamedQueries({
         @NamedQuery(name = JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_RESOURCE_NAMES,
-                query = "SELECT t.templateName FROM JpaGroupAppConfigTemplate t WHERE LOWER(t.grp.name) = " +
-                        "LOWER(:grpName)"),
+                query = "SELECT t.templateName FROM JpaGroupAppConfigTemplate t WHERE t.grp.lowerName = " +
+                        ":grpName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_CONTENT,
-                query = "SELECT t.templateContent FROM JpaGroupAppConfigTemplate t where LOWER(t.grp.name) = " +
-                        "LOWER(:grpName) and LOWER(t.app.name) = LOWER(:appName) and t.templateName = :templateName"),
+                query = "SELECT t.templateContent FROM JpaGroupAppConfigTemplate t where t.grp.lowerName = " +
+                        ":grpName and t.app.lowerName = :appName and t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_META_DATA,
-                query = "SELECT t.metaData FROM JpaGroupAppConfigTemplate t where LOWER(t.grp.name) = LOWER(:grpName)" +
-                        " and LOWER(t.templateName) = LOWER(:templateName)" + " and LOWER(t.app.name) = LOWER(:appName)"),
+                query = "SELECT t.metaData FROM JpaGroupAppConfigTemplate t where t.grp.lowerName = :grpName" +
+                        " and LOWER(t.templateName) = LOWER(:templateName)" + " and t.app.lowerName = :appName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.UPDATE_GROUP_APP_TEMPLATE_CONTENT,
-                query = "UPDATE JpaGroupAppConfigTemplate t SET t.templateContent = :templateContent WHERE LOWER(" +
-                        "t.grp.name) = LOWER(:grpName) AND LOWER(t.app.name) = LOWER(:appName) AND t.templateName = " +
+                query = "UPDATE JpaGroupAppConfigTemplate t SET t.templateContent = :templateContent WHERE " +
+                        "t.grp.lowerName = :grpName AND t.app.lowerName = :appName AND t.templateName = " +
                         ":templateName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.UPDATE_GROUP_APP_TEMPLATE_META_DATA,
-                query = "UPDATE JpaGroupAppConfigTemplate t SET t.metaData = :metaData WHERE LOWER(t.grp.name) = " +
-                        "LOWER(:grpName) AND LOWER(t.app.name) = LOWER(:appName) AND t.templateName = :templateName"),
+                query = "UPDATE JpaGroupAppConfigTemplate t SET t.metaData = :metaData WHERE t.grp.lowerName = " +
+                        ":grpName AND t.app.lowerName = :appName AND t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.QUERY_APP_RESOURCE_NAMES, query = "SELECT t.templateName FROM " +
-                "JpaGroupAppConfigTemplate t WHERE LOWER(t.grp.name) = LOWER(:grpName) AND LOWER(t.app.name) = " +
-                "LOWER(:appName)"),
+                "JpaGroupAppConfigTemplate t WHERE t.grp.lowerName = :grpName AND t.app.lowerName = " +
+                ":appName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_RESOURCE_NAME,
-                query = "SELECT t.templateName FROM JpaGroupAppConfigTemplate t WHERE LOWER(t.grp.name) = " +
-                        "LOWER(:grpName) AND t.templateName = :templateName"),
+                query = "SELECT t.templateName FROM JpaGroupAppConfigTemplate t WHERE t.grp.lowerName = " +
+                        ":grpName AND t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.QUERY_DELETE_GROUP_LEVEL_APP_RESOURCE_BY_APP_GROUP_TEMPLATE_NAME,
-                query = "DELETE FROM JpaGroupAppConfigTemplate t WHERE LOWER(t.app.name) = LOWER(:appName) AND LOWER" +
-                        "(t.grp.name) = LOWER(:grpName) AND t.templateName = :templateName"),
+                query = "DELETE FROM JpaGroupAppConfigTemplate t WHERE t.app.lowerName = :appName AND " +
+                        "t.grp.lowerName = :grpName AND t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.QUERY_DELETE_GROUP_LEVEL_APP_RESOURCES_BY_APP_GROUP_NAME_TEMPLATE_NAME_LIST,
-                query = "DELETE FROM JpaGroupAppConfigTemplate t WHERE LOWER(t.app.name) = LOWER(:appName) AND LOWER" +
-                        "(t.grp.name) = LOWER(:grpName) AND t.templateName IN :templateNameList"),
+                query = "DELETE FROM JpaGroupAppConfigTemplate t WHERE t.app.lowerName = :appName AND " +
+                        "t.grp.lowerName = :grpName AND t.templateName IN :templateNameList"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.QUERY_GET_GROUP_LEVEL_APP_RESOURCE,
-                query = "SELECT t FROM JpaGroupAppConfigTemplate t where LOWER(t.grp.name) = LOWER(:grpName) and " +
-                        "LOWER(t.app.name) = LOWER(:appName) and t.templateName = :templateName"),
+                query = "SELECT t FROM JpaGroupAppConfigTemplate t where t.grp.lowerName = :grpName and " +
+                        "t.app.lowerName = :appName and t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupAppConfigTemplate.UPDATE_RESOURCE_GROUP,
                 query = "UPDATE JpaGroupAppConfigTemplate t SET t.grp = :grp WHERE t.app = " +
                         ":app")
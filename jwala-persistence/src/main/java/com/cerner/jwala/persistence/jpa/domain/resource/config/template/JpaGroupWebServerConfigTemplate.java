@@ -11,32 +11,32 @@ import javax.persistence.*;
 @Table(name = "GRP_WEBSERVER_CONFIG_TEMPLATE", uniqueConstraints = {@UniqueConstraint(columnNames = {"GRP_ID", "TEMPLATE_NAME"})})
 @NamedQueries({
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_RESOURCE_NAMES,
-                query = "SELECT t.templateName FROM JpaGroupWebServerConfigTemplate t WHERE LOWER(t.grp.name) = " +
-                        "LOWER(:grpName)"),
+                query = "SELECT t.templateName FROM JpaGroupWebServerConfigTemplate t WHERE t.grp.lowerName = " +
+                        ":grpName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_CONTENT,
-                query = "SELECT t.templateContent FROM JpaGroupWebServerConfigTemplate t where LOWER(t.grp.name) = " +
-                        "LOWER(:grpName) and t.templateName = :templateName"),
+                query = "SELECT t.templateContent FROM JpaGroupWebServerConfigTemplate t where t.grp.lowerName = " +
+                        ":grpName and t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_META_DATA,
-                query = "SELECT t.metaData FROM JpaGroupWebServerConfigTemplate t where LOWER(t.grp.name) = " +
-                        "LOWER(:grpName) and t.templateName = :templateName"),
+                query = "SELECT t.metaData FROM JpaGroupWebServerConfigTemplate t where t.grp.lowerName = " +
+                        ":grpName and t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.UPDATE_GROUP_WEBSERVER_TEMPLATE_CONTENT,
                 query = "UPDATE JpaGroupWebServerConfigTemplate t SET t.templateContent = :templateContent WHERE " +
-                        "LOWER(t.grp.name) = LOWER(:grpName) AND t.templateName = :templateName"),
+                        "t.grp.lowerName = :grpName AND t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.UPDATE_GROUP_WEBSERVER_TEMPLATE_META_DATA,
-                query = "UPDATE JpaGroupWebServerConfigTemplate t SET t.metaData = :metaData WHERE LOWER(t.grp.name) " +
-                        "= LOWER(:grpName) AND t.templateName = :templateName"),
+                query = "UPDATE JpaGroupWebServerConfigTemplate t SET t.metaData = :metaData WHERE t.grp.lowerName " +
+                        "= :grpName AND t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.QUERY_DELETE_GRP_WEBSERVER_TEMPLATE, query = "DELETE FROM JpaGroupWebServerConfigTemplate t WHERE t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_RESOURCE_NAME, query =
-                "SELECT t.templateName FROM JpaGroupWebServerConfigTemplate t WHERE LOWER(t.grp.name) = " +
-                        "LOWER(:grpName) and t.templateName = :templateName"),
+                "SELECT t.templateName FROM JpaGroupWebServerConfigTemplate t WHERE t.grp.lowerName = " +
+                        ":grpName and t.templateName = :templateName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.QUERY_DELETE_GROUP_LEVEL_WEBSERVER_RESOURCE_BY_TEMPLATE_GROUP_NAME,
                 query = "DELETE FROM JpaGroupWebServerConfigTemplate t WHERE t.templateName = :templateName AND " +
-                        "LOWER(t.grp.name) = LOWER(:grpName)"),
+                        "t.grp.lowerName = :grpName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.QUERY_DELETE_GROUP_LEVEL_WEBSERVER_RESOURCES_BY_TEMPLATE_NAME_LIST_GROUP_NAME,
                 query = "DELETE FROM JpaGroupWebServerConfigTemplate t WHERE t.templateName IN :templateNameList AND " +
-                        "LOWER(t.grp.name) = LOWER(:grpName)"),
+                        "t.grp.lowerName = :grpName"),
         @NamedQuery(name = JpaGroupWebServerConfigTemplate.QUERY_GET_GROUP_LEVEL_WEBSERVER_RESOURCE,
-                query = "SELECT t FROM JpaGroupWebServerConfigTemplate t where LOWER(t.grp.name) = LOWER(:grpName) " +
+                query = "SELECT t FROM JpaGroupWebServerConfigTemplate t where t.grp.lowerName = :grpName " +
                         "and t.templateName = :templateName"),
 })
 public class JpaGroupWebServerConfigTemplate extends ConfigTemplate {
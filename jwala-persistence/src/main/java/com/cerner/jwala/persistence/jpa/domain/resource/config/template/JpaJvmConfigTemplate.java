@@ -13,33 +13,33 @@ import javax.persistence.*;
 @Table(name = "JVM_CONFIG_TEMPLATE", uniqueConstraints = {@UniqueConstraint(columnNames = {"JVM_ID", "TEMPLATE_NAME"})})
 @NamedQueries({
         @NamedQuery(name = JpaJvmConfigTemplate.GET_JVM_RESOURCE_TEMPLATE_NAMES,
-                query = "SELECT t.templateName FROM JpaJvmConfigTemplate t WHERE LOWER(t.jvm.name) = LOWER(:jvmName)"),
+                query = "SELECT t.templateName FROM JpaJvmConfigTemplate t WHERE t.jvm.lowerName = :jvmName"),
         @NamedQuery(name = JpaJvmConfigTemplate.GET_JVM_TEMPLATE_CONTENT,
-                query = "SELECT t.templateContent FROM JpaJvmConfigTemplate t where LOWER(t.jvm.name) = " +
-                        "LOWER(:jvmName) and t.templateName = :templateName"),
+                query = "SELECT t.templateContent FROM JpaJvmConfigTemplate t where t.jvm.lowerName = " +
+                        ":jvmName and t.templateName = :templateName"),
         @NamedQuery(name = JpaJvmConfigTemplate.GET_JVM_TEMPLATE_META_DATA,
-                query = "SELECT t.metaData FROM JpaJvmConfigTemplate t where LOWER(t.jvm.name) = LOWER(:jvmName) and " +
+                query = "SELECT t.metaData FROM JpaJvmConfigTemplate t where t.jvm.lowerName = :jvmName and " +
                         "t.templateName = :templateName"),
         @NamedQuery(name = JpaJvmConfigTemplate.UPDATE_JVM_TEMPLATE_META_DATA,
-                query = "UPDATE JpaJvmConfigTemplate t SET t.metaData= :metaData WHERE LOWER(t.jvm.name) = " +
-                        "LOWER(:jvmName) AND " +
+                query = "UPDATE JpaJvmConfigTemplate t SET t.metaData= :metaData WHERE t.jvm.lowerName = " +
+                        ":jvmName AND " +
                         "t.templateName = :templateName"),
         @NamedQuery(name = JpaJvmConfigTemplate.UPDATE_JVM_TEMPLATE_CONTENT,
                 query = "UPDATE JpaJvmConfigTemplate t SET t.templateContent = :templateContent WHERE " +
-                        "LOWER(t.jvm.name) = LOWER(:jvmName) AND t.templateName = :templateName"),
+                        "t.jvm.lowerName = :jvmName AND t.templateName = :templateName"),
         @NamedQuery(name = JpaJvmConfigTemplate.QUERY_DELETE_JVM_TEMPLATE, query = "DELETE FROM JpaJvmConfigTemplate t WHERE t.templateName = :templateName"),
         @NamedQuery(name = JpaJvmConfigTemplate.QUERY_DELETE_JVM_RESOURCE_BY_TEMPLATE_JVM_NAME, query = "DELETE FROM " +
-                "JpaJvmConfigTemplate t WHERE t.templateName = :templateName AND LOWER(t.jvm.name) = LOWER(:jvmName)"),
+                "JpaJvmConfigTemplate t WHERE t.templateName = :templateName AND t.jvm.lowerName = :jvmName"),
         @NamedQuery(name = JpaJvmConfigTemplate.QUERY_DELETE_JVM_RESOURCES_BY_TEMPLATE_NAME_LIST_JVM_NAME, query =
-                "DELETE FROM JpaJvmConfigTemplate t WHERE t.templateName IN :templateNameList AND LOWER(t.jvm.name) =" +
-                        " LOWER(:jvmName)"),
+                "DELETE FROM JpaJvmConfigTemplate t WHERE t.templateName IN :templateNameList AND t.jvm.lowerName =" +
+                        " :jvmName"),
         @NamedQuery(name = JpaJvmConfigTemplate.QUERY_GET_JVM_RESOURCE_TEMPLATES,
-                query = "SELECT t FROM JpaJvmConfigTemplate t WHERE LOWER(t.jvm.name) = LOWER(:jvmName)"),
+                query = "SELECT t FROM JpaJvmConfigTemplate t WHERE t.jvm.lowerName = :jvmName"),
         @NamedQuery(name = JpaJvmConfigTemplate.GET_JVM_TEMPLATE_RESOURCE_NAME,
-                query = "SELECT t.templateName FROM JpaJvmConfigTemplate t WHERE LOWER(t.jvm.name) = LOWER(:jvmName) " +
+                query = "SELECT t.templateName FROM JpaJvmConfigTemplate t WHERE t.jvm.lowerName = :jvmName " +
                         "AND t.templateName = :templateName"),
         @NamedQuery(name = JpaJvmConfigTemplate.QUERY_GET_JVM_RESOURCE,
-                query = "SELECT t FROM JpaJvmConfigTemplate t WHERE LOWER(t.jvm.name) = LOWER(:jvmName) AND " +
+                query = "SELECT t FROM JpaJvmConfigTemplate t WHERE t.jvm.lowerName = :jvmName AND " +
                         "t.templateName =" +
                         " :templateName")
 })
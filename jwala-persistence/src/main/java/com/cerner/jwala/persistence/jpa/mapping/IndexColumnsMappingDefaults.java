@@ -0,0 +1,51 @@
+package com.cerner.jwala.persistence.jpa.mapping;
+
+import org.apache.openjpa.jdbc.identifier.DBIdentifier;
+import org.apache.openjpa.jdbc.meta.ValueMapping;
+import org.apache.openjpa.jdbc.schema.Column;
+import org.apache.openjpa.jdbc.schema.Index;
+import org.apache.openjpa.jdbc.schema.Table;
+import org.apache.openjpa.persistence.jdbc.PersistenceMappingDefaults;
+import org.apache.openjpa.util.MetaDataException;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+
+/**
+ * The JPA mapping defaults, with the {@link org.apache.openjpa.persistence.jdbc.Index#columnNames()} of an index
+ * declared on a field, which OpenJPA ignores on its own. A schema built from the mapping then has the multi-column
+ * indexes as well, e.g. the history indexes on a server or group and the create date.
+ * <p>
+ * It's set as the openjpa.jdbc.MappingDefaults plugin and takes the same properties as the jpa defaults.
+ */
+public class IndexColumnsMappingDefaults extends PersistenceMappingDefaults {
+
+    @Override
+    public Index getIndex(final ValueMapping vm, final DBIdentifier name, final Table table, final Column[] cols) {
+        final Index declaredIndex = vm.getValueInfo().getIndex();
+        final String[] columnNames = getDeclaredColumnNames(vm);
+        if (declaredIndex != null && columnNames.length > 1) {
+            final Column[] indexColumns = new Column[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                indexColumns[i] = table.getColumn(DBIdentifier.newColumn(columnNames[i]));
+                if (indexColumns[i] == null) {
+                    throw new MetaDataException("The index " + declaredIndex.getIdentifier() + " of " +
+                            vm.getFieldMapping() + " names the column " + columnNames[i] + " that is not in " + table);
+                }
+            }
+            // the mapping uses the columns of the declared index when it has more than one
+            declaredIndex.setColumns(indexColumns);
+        }
+        return super.getIndex(vm, name, table, cols);
+    }
+
+    private static String[] getDeclaredColumnNames(final ValueMapping vm) {
+        final Member member = vm.getFieldMapping().getBackingMember();
+        if (!(member instanceof AnnotatedElement)) {
+            return new String[0];
+        }
+        final org.apache.openjpa.persistence.jdbc.Index index =
+                ((AnnotatedElement) member).getAnnotation(org.apache.openjpa.persistence.jdbc.Index.class);
+        return index == null ? new String[0] : index.columnNames();
+    }
+}
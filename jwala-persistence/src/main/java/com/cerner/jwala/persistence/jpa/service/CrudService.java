@@ -8,8 +8,18 @@ public interface CrudService<T extends AbstractEntity<T>> {
 
     T findById(final Long id);
 
+    /**
+     * @param fetchGroups the OpenJPA fetch groups to load with the entity
+     */
+    T findById(final Long id, final String... fetchGroups);
+
     List<T> findAll();
 
+    /**
+     * @param fetchGroups the OpenJPA fetch groups to load with the entities
+     */
+    List<T> findAll(final String... fetchGroups);
+
     T create(final T t);
 
     T update(final T entity);
@@ -23,8 +23,18 @@ public interface GroupCrudService extends CrudService<JpaGroup> {
 
     JpaGroup getGroup(final String name) throws NotFoundException;
 
+    /**
+     * @return the groups with their JVMs and the groups of the JVMs loaded, the same as {@link #getGroups(boolean)}
+     * without the web servers
+     */
     List<JpaGroup> getGroups();
 
+    /**
+     * @param fetchWebServers also load the web servers of the groups
+     * @return the groups with their JVMs and the groups of the JVMs loaded
+     */
+    List<JpaGroup> getGroups(boolean fetchWebServers);
+
     List<JpaGroup> findGroups(final String aName);
 
     void removeGroup(final Identifier<Group> aGroupId);
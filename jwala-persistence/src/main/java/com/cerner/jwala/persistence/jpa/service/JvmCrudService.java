@@ -20,10 +20,24 @@ public interface JvmCrudService extends CrudService<JpaJvm> {
 
     JpaJvm updateJvm(UpdateJvmRequest updateJvmRequest, boolean updateJvmPassword, JpaMedia jdkMedia, JpaMedia tomcatMedia);
 
+    /**
+     * @return the JVM with its groups loaded
+     */
     JpaJvm getJvm(final Identifier<Jvm> aJvmId) throws NotFoundException;
 
+    /**
+     * @return the JVMs with their groups loaded
+     */
     List<JpaJvm> getJvms();
 
+    /**
+     * Get the JVMs without loading their entities, only what the state poller needs is set: the id, name, host name,
+     * http and https ports, status path, state and last update date
+     *
+     * @return the JVMs
+     */
+    List<Jvm> getJvmsForStatePolling();
+
     void removeJvm(final Identifier<Jvm> aGroupId);
 
     JpaJvmConfigTemplate uploadJvmConfigTemplate(UploadJvmTemplateRequest uploadJvmTemplateRequest);
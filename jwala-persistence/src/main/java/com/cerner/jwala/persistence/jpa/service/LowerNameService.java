@@ -0,0 +1,17 @@
+package com.cerner.jwala.persistence.jpa.service;
+
+/**
+ * Keeps the lowerName columns that the case insensitive lookups by name of groups, JVMs, web servers and applications
+ * use
+ */
+public interface LowerNameService {
+
+    /**
+     * Fill in the lowerName of the groups, JVMs, web servers and applications that don't have one, e.g. the rows of a
+     * database that update.sql added the column to. The names are lower cased in Java the way the entities do it since
+     * the LOWER of the database depends on its locale.
+     *
+     * @return the number of groups, JVMs, web servers and applications that were filled in
+     */
+    int fillInLowerNames();
+}
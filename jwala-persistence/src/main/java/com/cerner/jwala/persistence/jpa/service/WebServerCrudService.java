@@ -23,6 +23,14 @@ public interface WebServerCrudService extends CrudService<JpaWebServer> {
 
     List<WebServer> getWebServers();
 
+    /**
+     * Get the web servers without loading their entities, only what the state poller needs is set: the id, name, host,
+     * http and https ports, status path and state
+     *
+     * @return the web servers
+     */
+    List<WebServer> getWebServersForStatePolling();
+
     void removeWebServer(final Identifier<WebServer> aWebServerId);
 
     List<WebServer> findWebServersBelongingTo(Identifier<Group> aGroupId);
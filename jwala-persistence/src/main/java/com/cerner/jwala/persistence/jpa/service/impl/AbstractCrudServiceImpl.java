@@ -4,19 +4,25 @@ import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.exception.NotFoundException;
 import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.service.CrudService;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class AbstractCrudServiceImpl<T extends AbstractEntity<T>> implements CrudService<T> {
 
+    private static final String FETCH_GROUPS_HINT = "openjpa.FetchPlan.FetchGroups";
+
     @PersistenceContext(unitName = "jwala-unit")
     protected EntityManager entityManager;
 
@@ -28,7 +34,13 @@ public abstract class AbstractCrudServiceImpl<T extends AbstractEntity<T>> imple
     }
 
 
+    @Override
     public List<T> findAll() {
+        return findAll(new String[0]);
+    }
+
+    @Override
+    public List<T> findAll(final String... fetchGroups) {
         final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         final CriteriaQuery<T> criteria = builder.createQuery(entityClass);
         final Root<T> root = criteria.from(entityClass);
@@ -36,12 +48,19 @@ public abstract class AbstractCrudServiceImpl<T extends AbstractEntity<T>> imple
 
         final TypedQuery<T> query = entityManager.createQuery(criteria);
 
-        return query.getResultList();
+        return withFetchGroups(query, fetchGroups).getResultList();
     }
 
     @Override
     public T findById(Long id) {
-        T t = entityManager.find(entityClass, id);
+        return findById(id, new String[0]);
+    }
+
+    @Override
+    public T findById(final Long id, final String... fetchGroups) {
+        final T t = fetchGroups.length == 0 ? entityManager.find(entityClass, id) :
+                entityManager.find(entityClass, id, Collections.<String, Object>singletonMap(FETCH_GROUPS_HINT,
+                        StringUtils.join(fetchGroups, ',')));
 
         if (t == null) {
             throw new NotFoundException(FaultType.ENTITY_NOT_FOUND,
@@ -51,6 +70,21 @@ public abstract class AbstractCrudServiceImpl<T extends AbstractEntity<T>> imple
         return t;
     }
 
+    /**
+     * Add fetch groups to the fetch plan of a query so that their fields are loaded with the query results rather than
+     * one query per entity when they are first accessed or, once the entities are detached, not at all
+     *
+     * @param query       the query
+     * @param fetchGroups the names of the OpenJPA fetch groups
+     * @return the query
+     */
+    protected static <Q extends Query> Q withFetchGroups(final Q query, final String... fetchGroups) {
+        if (fetchGroups.length > 0) {
+            OpenJPAPersistence.cast(query).getFetchPlan().addFetchGroups(fetchGroups);
+        }
+        return query;
+    }
+
     @Override
     @Transactional
     public void remove(final T entity) {
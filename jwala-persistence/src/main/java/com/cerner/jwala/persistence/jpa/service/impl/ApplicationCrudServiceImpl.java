@@ -10,6 +10,7 @@ import com.cerner.jwala.common.exception.NotFoundException;
 import com.cerner.jwala.common.request.app.CreateApplicationRequest;
 import com.cerner.jwala.common.request.app.UpdateApplicationRequest;
 import com.cerner.jwala.common.request.app.UploadAppTemplateRequest;
+import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplication;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplicationConfigTemplate;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
@@ -32,6 +33,11 @@ import java.util.List;
 public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaApplication> implements ApplicationCrudService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationCrudServiceImpl.class);
 
+    /**
+     * An {@link Application} is built with its group and the group's JVMs, see {@link JpaAppBuilder}
+     */
+    private static final String[] APPLICATION_FETCH_GROUPS = {JpaGroup.FETCH_GROUP_JVMS, JpaJvm.FETCH_GROUP_GROUPS};
+
     public ApplicationCrudServiceImpl() {
     }
 
@@ -62,8 +68,8 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     @Override
     public List<String> getResourceTemplateNames(final String appName, final String jvmName) {
         final Query q = entityManager.createNamedQuery(JpaApplicationConfigTemplate.GET_APP_RESOURCE_TEMPLATE_NAMES);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, appName);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         return q.getResultList();
     }
 
@@ -71,8 +77,8 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     public String getResourceTemplate(String appName, String resourceTemplateName, String jvmName, String groupName) {
         JpaJvm jpaJvm;
         Query jvmQuery = entityManager.createNamedQuery(JpaJvm.QUERY_FIND_JVM_BY_GROUP_AND_JVM_NAME);
-        jvmQuery.setParameter("jvmName", jvmName);
-        jvmQuery.setParameter("groupName", groupName);
+        jvmQuery.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
+        jvmQuery.setParameter("groupName", AbstractEntity.toLowerName(groupName));
         try {
             jpaJvm = (JpaJvm) jvmQuery.getSingleResult();
         } catch (NoResultException | NonUniqueResultException e) {
@@ -85,7 +91,7 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     @Override
     public String getResourceTemplate(final String appName, final String resourceTemplateName, JpaJvm appJvm) {
         final Query q = entityManager.createNamedQuery(JpaApplicationConfigTemplate.GET_APP_TEMPLATE_CONTENT);
-        q.setParameter("appName", appName);
+        q.setParameter("appName", AbstractEntity.toLowerName(appName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateJvm", appJvm);
         try {
@@ -100,8 +106,8 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     public String getMetaData(String appName, String jvmName, String groupName, String resourceTemplateName) {
         JpaJvm jpaJvm;
         Query jvmQuery = entityManager.createNamedQuery(JpaJvm.QUERY_FIND_JVM_BY_GROUP_AND_JVM_NAME);
-        jvmQuery.setParameter("jvmName", jvmName);
-        jvmQuery.setParameter("groupName", groupName);
+        jvmQuery.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
+        jvmQuery.setParameter("groupName", AbstractEntity.toLowerName(groupName));
         try {
             jpaJvm = (JpaJvm) jvmQuery.getSingleResult();
         } catch (NoResultException | NonUniqueResultException e) {
@@ -110,7 +116,7 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
         }
 
         final Query q = entityManager.createNamedQuery(JpaApplicationConfigTemplate.GET_APP_TEMPLATE_META_DATA);
-        q.setParameter("appName", appName);
+        q.setParameter("appName", AbstractEntity.toLowerName(appName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateJvm", jpaJvm);
         try {
@@ -163,7 +169,7 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     public void updateResourceTemplate(final String appName, final String resourceTemplateName, final String template,
                                        final JpaJvm jvm) {
         final Query q = entityManager.createNamedQuery(JpaApplicationConfigTemplate.UPDATE_APP_TEMPLATE_CONTENT);
-        q.setParameter("appName", appName);
+        q.setParameter("appName", AbstractEntity.toLowerName(appName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateContent", template);
         q.setParameter("templateJvm", jvm);
@@ -186,7 +192,7 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     @Override
     public void updateResourceMetaData(String webAppName, String resourceName, String metaData, JpaJvm jpaJvm) throws ResourceTemplateMetaDataUpdateException{
         final Query q = entityManager.createNamedQuery(JpaApplicationConfigTemplate.UPDATE_APP_TEMPLATE_META_DATA);
-        q.setParameter("appName", webAppName);
+        q.setParameter("appName", AbstractEntity.toLowerName(webAppName));
         q.setParameter("templateName", resourceName);
         q.setParameter("metaData", metaData);
         q.setParameter("templateJvm", jpaJvm);
@@ -231,9 +237,9 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
         // get an instance and then do a create or update
         Query query = entityManager.createNamedQuery(JpaApplicationConfigTemplate.GET_APP_TEMPLATE);
         if(jpaJvm!=null) {
-            query.setParameter("jvmName", jpaJvm.getName());
+            query.setParameter("jvmName", AbstractEntity.toLowerName(jpaJvm.getName()));
         }
-        query.setParameter("appName", application.getName());
+        query.setParameter("appName", AbstractEntity.toLowerName(application.getName()));
         query.setParameter("tempName", uploadAppTemplateRequest.getConfFileName());
         List<JpaApplicationConfigTemplate> templates = query.getResultList();
         JpaApplicationConfigTemplate jpaConfigTemplate;
@@ -268,8 +274,10 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
 
     @Override
     public Application getApplication(Identifier<Application> aApplicationId) throws NotFoundException {
-        JpaApplication jpaApp = entityManager.find(JpaApplication.class, aApplicationId.getId());
-        if (jpaApp == null) {
+        final JpaApplication jpaApp;
+        try {
+            jpaApp = findById(aApplicationId.getId(), APPLICATION_FETCH_GROUPS);
+        } catch (final NotFoundException e) {
             LOGGER.error("No application found for id {}", aApplicationId);
             throw new NotFoundException(FaultType.APPLICATION_NOT_FOUND,
                     "Application not found: " + aApplicationId);
@@ -279,7 +287,8 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
 
     @Override
     public List<Application> getApplications() {
-        Query q = entityManager.createQuery("select a from JpaApplication a");
+        Query q = withFetchGroups(entityManager.createQuery("select a from JpaApplication a"),
+                APPLICATION_FETCH_GROUPS);
         return buildApplications(q.getResultList());
     }
 
@@ -294,28 +303,32 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
 
     @Override
     public List<Application> findApplicationsBelongingTo(Identifier<Group> aGroupId) {
-        Query q = entityManager.createNamedQuery(JpaApplication.QUERY_BY_GROUP_ID);
+        Query q = withFetchGroups(entityManager.createNamedQuery(JpaApplication.QUERY_BY_GROUP_ID),
+                APPLICATION_FETCH_GROUPS);
         q.setParameter(JpaApplication.GROUP_ID_PARAM, aGroupId.getId());
         return buildApplications(q.getResultList());
     }
 
     @Override
     public List<Application> findApplicationsBelongingTo(final String groupName) {
-        Query q = entityManager.createNamedQuery(JpaApplication.QUERY_BY_GROUP_NAME);
+        Query q = withFetchGroups(entityManager.createNamedQuery(JpaApplication.QUERY_BY_GROUP_NAME),
+                APPLICATION_FETCH_GROUPS);
         q.setParameter(JpaApplication.GROUP_NAME_PARAM, groupName);
         return buildApplications(q.getResultList());
     }
 
     @Override
     public List<Application> findApplicationsBelongingToJvm(Identifier<Jvm> aJvmId) {
-        Query q = entityManager.createNamedQuery(JpaApplication.QUERY_BY_JVM_ID);
+        Query q = withFetchGroups(entityManager.createNamedQuery(JpaApplication.QUERY_BY_JVM_ID),
+                APPLICATION_FETCH_GROUPS);
         q.setParameter(JpaApplication.JVM_ID_PARAM, aJvmId.getId());
         return buildApplications(q.getResultList());
     }
 
     @Override
     public Application findApplication(final String appName, final String groupName, final String jvmName) {
-        final Query q = entityManager.createNamedQuery(JpaApplication.QUERY_BY_GROUP_JVM_AND_APP_NAME);
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaApplication.QUERY_BY_GROUP_JVM_AND_APP_NAME),
+                APPLICATION_FETCH_GROUPS);
         q.setParameter("appName", appName);
         q.setParameter("groupName", groupName);
         q.setParameter("jvmName", jvmName);
@@ -324,7 +337,8 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
 
     @Override
     public Application getApplication(final String name) {
-        final Query q = entityManager.createNamedQuery(JpaApplication.QUERY_BY_NAME);
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaApplication.QUERY_BY_NAME),
+                APPLICATION_FETCH_GROUPS);
         q.setParameter("appName", name);
         return JpaAppBuilder.appFrom((JpaApplication) q.getSingleResult());
     }
@@ -332,7 +346,8 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
     @Override
     public Application findApplication(final String groupName, final String appName) {
         Application application = null;
-        final Query q = entityManager.createNamedQuery(JpaApplication.QUERY_FIND_BY_GROUP_AND_APP_NAME);
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaApplication.QUERY_FIND_BY_GROUP_AND_APP_NAME),
+                APPLICATION_FETCH_GROUPS);
         q.setParameter(JpaApplication.GROUP_NAME_PARAM, groupName);
         q.setParameter(JpaApplication.APP_NAME_PARAM, appName);
         try {
@@ -348,7 +363,7 @@ public class ApplicationCrudServiceImpl extends AbstractCrudServiceImpl<JpaAppli
         final Application app = findApplication(groupName, appName);
         if (app != null) {
             final Query q = entityManager.createNamedQuery(JpaApplicationConfigTemplate.GET_APP_TEMPLATE_RESOURCE_NAME);
-            q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, appName);
+            q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
             q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, fileName);
             final List<String> result = q.getResultList();
             if (result != null && result.size() == 1) {
@@ -10,9 +10,12 @@ import com.cerner.jwala.common.request.group.CreateGroupRequest;
 import com.cerner.jwala.common.request.group.UpdateGroupRequest;
 import com.cerner.jwala.common.request.jvm.UploadJvmTemplateRequest;
 import com.cerner.jwala.common.request.webserver.UploadWebServerTemplateRequest;
+import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplication;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
+import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
 import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
+import com.cerner.jwala.persistence.jpa.domain.builder.JpaGroupBuilder;
 import com.cerner.jwala.persistence.jpa.domain.resource.config.template.ConfigTemplate;
 import com.cerner.jwala.persistence.jpa.domain.resource.config.template.JpaGroupAppConfigTemplate;
 import com.cerner.jwala.persistence.jpa.domain.resource.config.template.JpaGroupJvmConfigTemplate;
@@ -33,6 +36,17 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GroupCrudServiceImpl.class);
 
+    /**
+     * A {@link Group} is built with its JVMs and their groups, see {@link JpaGroupBuilder}
+     */
+    private static final String[] GROUP_FETCH_GROUPS = {JpaGroup.FETCH_GROUP_JVMS, JpaJvm.FETCH_GROUP_GROUPS};
+
+    /**
+     * A single group is also loaded with its web servers and their groups since they are often asked for
+     */
+    private static final String[] SINGLE_GROUP_FETCH_GROUPS = {JpaGroup.FETCH_GROUP_JVMS, JpaGroup.FETCH_GROUP_WEB_SERVERS,
+            JpaJvm.FETCH_GROUP_GROUPS};
+
     public GroupCrudServiceImpl() {
     }
 
@@ -68,14 +82,15 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
 
     @Override
     public JpaGroup getGroup(final Identifier<Group> aGroupId) throws NotFoundException {
-        return findById(aGroupId.getId());
+        return findById(aGroupId.getId(), SINGLE_GROUP_FETCH_GROUPS);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public JpaGroup getGroup(final String name) throws NotFoundException {
-        final Query query = entityManager.createQuery("SELECT g FROM JpaGroup g WHERE lower(g.name) = lower(:groupName)");
-        query.setParameter("groupName", name);
+        final Query query = withFetchGroups(entityManager.createQuery(
+                "SELECT g FROM JpaGroup g WHERE g.lowerName = :groupName"), SINGLE_GROUP_FETCH_GROUPS);
+        query.setParameter("groupName", AbstractEntity.toLowerName(name));
         List<JpaGroup> jpaGroups = query.getResultList();
         if (jpaGroups == null || jpaGroups.isEmpty()) {
             LOGGER.error("Error getting the group {}", name);
@@ -86,14 +101,23 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
 
     @Override
     public List<JpaGroup> getGroups() {
-        return findAll();
+        return getGroups(false);
+    }
+
+    @Override
+    public List<JpaGroup> getGroups(final boolean fetchWebServers) {
+        if (fetchWebServers) {
+            return findAll(JpaGroup.FETCH_GROUP_JVMS, JpaGroup.FETCH_GROUP_WEB_SERVERS, JpaJvm.FETCH_GROUP_GROUPS);
+        }
+        return findAll(GROUP_FETCH_GROUPS);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public List<JpaGroup> findGroups(final String aName) {
 
-        final Query query = entityManager.createQuery("SELECT g FROM JpaGroup g WHERE g.name=:groupName");
+        final Query query = withFetchGroups(entityManager.createQuery("SELECT g FROM JpaGroup g WHERE g.name=:groupName"),
+                GROUP_FETCH_GROUPS);
         query.setParameter("groupName", aName);
 
         return query.getResultList();
@@ -202,22 +226,22 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public List<String> getGroupJvmsResourceTemplateNames(final String groupName) {
         final Query query = entityManager.createNamedQuery(JpaGroupJvmConfigTemplate.GET_GROUP_JVM_TEMPLATE_RESOURCE_NAMES);
-        query.setParameter("grpName", groupName);
+        query.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         return query.getResultList();
     }
 
     @Override
     public List<String> getGroupWebServersResourceTemplateNames(final String groupName) {
         final Query query = entityManager.createNamedQuery(JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_RESOURCE_NAMES);
-        query.setParameter("grpName", groupName);
+        query.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         return query.getResultList();
     }
 
     @Override
     public void updateGroupAppResourceTemplate(String groupName, String appName, String resourceTemplateName, String content) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.UPDATE_GROUP_APP_TEMPLATE_CONTENT);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, appName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceTemplateName);
         q.setParameter("templateContent", content);
 
@@ -239,8 +263,8 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public void updateGroupAppResourceMetaData(String groupName, String webAppName, String resourceName, String metaData) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.UPDATE_GROUP_APP_TEMPLATE_META_DATA);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, webAppName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(webAppName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
         q.setParameter("metaData", metaData);
 
@@ -262,9 +286,9 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public String getGroupAppResourceTemplateMetaData(String groupName, String templateName, String appName) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_META_DATA);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", templateName);
-        q.setParameter("appName", appName);
+        q.setParameter("appName", AbstractEntity.toLowerName(appName));
         try {
             return (String) q.getSingleResult();
         } catch (RuntimeException re) {
@@ -276,8 +300,8 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public String getGroupAppResourceTemplate(String groupName, String appName, String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_CONTENT);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, appName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -290,22 +314,22 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public List<String> getGroupAppsResourceTemplateNames(String groupName) {
         final Query query = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_RESOURCE_NAMES);
-        query.setParameter("grpName", groupName);
+        query.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         return query.getResultList();
     }
 
     @Override
     public List<String> getGroupAppsResourceTemplateNames(String groupName, String appName) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.QUERY_APP_RESOURCE_NAMES);
-        q.setParameter("grpName", groupName);
-        q.setParameter("appName", appName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
+        q.setParameter("appName", AbstractEntity.toLowerName(appName));
         return q.getResultList();
     }
 
     @Override
     public void updateGroupJvmResourceTemplate(String groupName, String resourceTemplateName, String content) {
         final Query q = entityManager.createNamedQuery(JpaGroupJvmConfigTemplate.UPDATE_GROUP_JVM_TEMPLATE_CONTENT);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateContent", content);
 
@@ -327,7 +351,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public void updateGroupJvmResourceMetaData(String groupName, String resourceName, String metaData) {
         final Query q = entityManager.createNamedQuery(JpaGroupJvmConfigTemplate.UPDATE_GROUP_JVM_TEMPLATE_META_DATA);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceName);
         q.setParameter("metaData", metaData);
 
@@ -349,7 +373,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public String getGroupJvmResourceTemplate(String groupName, String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaGroupJvmConfigTemplate.GET_GROUP_JVM_TEMPLATE_CONTENT);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -362,7 +386,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public String getGroupJvmResourceTemplateMetaData(String groupName, String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaGroupJvmConfigTemplate.GET_GROUP_JVM_TEMPLATE_META_DATA);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -375,7 +399,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public void updateGroupWebServerResourceTemplate(String groupName, String resourceTemplateName, String content) {
         final Query q = entityManager.createNamedQuery(JpaGroupWebServerConfigTemplate.UPDATE_GROUP_WEBSERVER_TEMPLATE_CONTENT);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateContent", content);
 
@@ -397,7 +421,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public void updateGroupWebServerResourceMetaData(String groupName, String resourceName, String metaData) {
         final Query q = entityManager.createNamedQuery(JpaGroupWebServerConfigTemplate.UPDATE_GROUP_WEBSERVER_TEMPLATE_META_DATA);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceName);
         q.setParameter("metaData", metaData);
 
@@ -420,7 +444,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public String getGroupWebServerResourceTemplate(String groupName, String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_CONTENT);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -433,7 +457,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public String getGroupWebServerResourceTemplateMetaData(String groupName, String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_META_DATA);
-        q.setParameter("grpName", groupName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -483,7 +507,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public boolean checkGroupJvmResourceFileName(final String groupName, final String fileName) {
         final Query q = entityManager.createNamedQuery(JpaGroupJvmConfigTemplate.GET_GROUP_JVM_TEMPLATE_RESOURCE_NAME);
-        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, fileName);
         final List<String> result = q.getResultList();
         if (result != null && result.size() == 1) {
@@ -495,7 +519,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public boolean checkGroupWebServerResourceFileName(String groupName, String fileName) {
         final Query q = entityManager.createNamedQuery(JpaGroupWebServerConfigTemplate.GET_GROUP_WEBSERVER_TEMPLATE_RESOURCE_NAME);
-        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, fileName);
         final List<String> result = q.getResultList();
         if (result != null && result.size() == 1) {
@@ -507,7 +531,7 @@ public class GroupCrudServiceImpl extends AbstractCrudServiceImpl<JpaGroup> impl
     @Override
     public boolean checkGroupAppResourceFileName(String groupName, String fileName) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_RESOURCE_NAME);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, fileName);
         final List<String> result = q.getResultList();
         if (result != null && result.size() == 1) {
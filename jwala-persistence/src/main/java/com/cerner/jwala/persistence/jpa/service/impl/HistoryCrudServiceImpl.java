@@ -13,6 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 
 /**
@@ -24,6 +27,9 @@ public class HistoryCrudServiceImpl extends AbstractCrudServiceImpl<JpaHistory>
 
     private static final String PARAM_GROUP_NAME = "groupName";
     private static final String PARAM_SERVER_NAME = "serverName";
+    private static final String PARAM_CREATE_DATE = "createDate";
+    private static final String PARAM_ID = "id";
+    private static final String PARAM_IDS = "ids";
 
     private final static Logger LOGGER = LoggerFactory.getLogger(HistoryCrudServiceImpl.class);
 
@@ -40,10 +46,47 @@ public class HistoryCrudServiceImpl extends AbstractCrudServiceImpl<JpaHistory>
     }
 
     @Override
-    @SuppressWarnings("unchecked")
+    public List<JpaHistory> createHistory(final List<JpaHistory> histories) {
+        final List<JpaHistory> createdHistories = new ArrayList<>(histories.size());
+        for (final JpaHistory history : histories) {
+            if (history.getGroup() == null) {
+                LOGGER.warn("Attempting to insert a history row without an associated group.");
+                continue;
+            }
+            // the persistence context keeps the groups found so far so each group is only read once
+            history.setGroup(entityManager.find(JpaGroup.class, history.getGroup().getId()));
+            entityManager.persist(history);
+            createdHistories.add(history);
+        }
+        entityManager.flush();
+        return createdHistories;
+    }
+
+    @Override
     public List<JpaHistory> findHistory(final String groupName, final String serverName, final Integer numOfRec) {
-        final Query q = entityManager.createNamedQuery(StringUtils.isEmpty(serverName) ? JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME :
+        return findHistory(groupName, serverName, numOfRec, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JpaHistory> findHistory(final String groupName, final String serverName, final Integer numOfRec,
+                                        final Long beforeId) {
+        final Query q;
+        if (beforeId == null) {
+            q = entityManager.createNamedQuery(StringUtils.isEmpty(serverName) ? JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME :
                                             JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME_AND_SERVER_NAME);
+        } else {
+            // keyset paging, the page starts after the last record of the previous page instead of at an offset
+            final JpaHistory last = entityManager.find(JpaHistory.class, beforeId);
+            if (last == null) {
+                // purged, so is everything older than it
+                return new ArrayList<>();
+            }
+            q = entityManager.createNamedQuery(StringUtils.isEmpty(serverName) ? JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME_BEFORE :
+                                            JpaHistory.QRY_GET_HISTORY_BY_GROUP_NAME_AND_SERVER_NAME_BEFORE);
+            q.setParameter(PARAM_CREATE_DATE, last.getCreateDate());
+            q.setParameter(PARAM_ID, beforeId);
+        }
 
         q.setParameter(PARAM_GROUP_NAME, groupName);
 
@@ -60,4 +103,19 @@ public class HistoryCrudServiceImpl extends AbstractCrudServiceImpl<JpaHistory>
         return q.getResultList();
     }
 
+    @Override
+    public int purgeHistory(final Calendar createdBefore, final int batchSize) {
+        final TypedQuery<Long> idQuery = entityManager.createNamedQuery(JpaHistory.QRY_GET_HISTORY_IDS_CREATED_BEFORE, Long.class);
+        idQuery.setParameter(PARAM_CREATE_DATE, createdBefore);
+        idQuery.setMaxResults(batchSize);
+        final List<Long> ids = idQuery.getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        final Query deleteQuery = entityManager.createNamedQuery(JpaHistory.QRY_DELETE_HISTORY_BY_IDS);
+        deleteQuery.setParameter(PARAM_IDS, ids);
+        return deleteQuery.executeUpdate();
+    }
+
 }
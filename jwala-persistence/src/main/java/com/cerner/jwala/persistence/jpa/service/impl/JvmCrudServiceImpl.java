@@ -4,11 +4,13 @@ import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.common.domain.model.path.Path;
 import com.cerner.jwala.common.exception.BadRequestException;
 import com.cerner.jwala.common.exception.NotFoundException;
 import com.cerner.jwala.common.request.jvm.CreateJvmRequest;
 import com.cerner.jwala.common.request.jvm.UpdateJvmRequest;
 import com.cerner.jwala.common.request.jvm.UploadJvmTemplateRequest;
+import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
 import com.cerner.jwala.persistence.jpa.domain.JpaMedia;
 import com.cerner.jwala.persistence.jpa.domain.builder.JvmBuilder;
@@ -22,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.persistence.*;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 
 public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implements JvmCrudService {
@@ -92,7 +95,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
 
     @Override
     public JpaJvm getJvm(final Identifier<Jvm> aJvmId) throws NotFoundException {
-        final JpaJvm jvm = findById(aJvmId.getId());
+        final JpaJvm jvm = findById(aJvmId.getId(), JpaJvm.FETCH_GROUP_GROUPS);
 
         if (jvm == null) {
             LOGGER.error("Error getting JVM for ID {}", aJvmId);
@@ -106,7 +109,27 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     @SuppressWarnings("unchecked")
     public List<JpaJvm> getJvms() {
-        return findAll();
+        return findAll(JpaJvm.FETCH_GROUP_GROUPS);
+    }
+
+    @Override
+    public List<Jvm> getJvmsForStatePolling() {
+        final List<Object[]> rows = entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVMS_FOR_STATE_POLLING, Object[].class)
+                .getResultList();
+        final List<Jvm> jvms = new ArrayList<>(rows.size());
+        for (final Object[] row : rows) {
+            jvms.add(new com.cerner.jwala.common.domain.model.jvm.JvmBuilder()
+                    .setId(new Identifier<Jvm>((Long) row[0]))
+                    .setName((String) row[1])
+                    .setHostName((String) row[2])
+                    .setHttpPort((Integer) row[3])
+                    .setHttpsPort((Integer) row[4])
+                    .setStatusPath(new Path((String) row[5]))
+                    .setState((JvmState) row[6])
+                    .setLastUpdatedDate((Calendar) row[7])
+                    .build());
+        }
+        return jvms;
     }
 
     @Override
@@ -175,14 +198,14 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public List<String> getResourceTemplateNames(String jvmName) {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.GET_JVM_RESOURCE_TEMPLATE_NAMES);
-        q.setParameter("jvmName", jvmName);
+        q.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
         return q.getResultList();
     }
 
     @Override
     public String getResourceTemplate(final String jvmName, final String resourceTemplateName) throws NonRetrievableResourceTemplateContentException {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.GET_JVM_TEMPLATE_CONTENT);
-        q.setParameter("jvmName", jvmName);
+        q.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -195,7 +218,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public String getResourceTemplateMetaData(String jvmName, String fileName) {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.GET_JVM_TEMPLATE_META_DATA);
-        q.setParameter("jvmName", jvmName);
+        q.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
         q.setParameter("templateName", fileName);
         try {
             return (String) q.getSingleResult();
@@ -208,7 +231,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public void updateResourceTemplate(final String jvmName, final String resourceTemplateName, final String template) {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.UPDATE_JVM_TEMPLATE_CONTENT);
-        q.setParameter("jvmName", jvmName);
+        q.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateContent", template);
 
@@ -230,7 +253,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public void updateResourceMetaData(final String jvmName, final String resourceTemplateName, final String metaData) {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.UPDATE_JVM_TEMPLATE_META_DATA);
-        q.setParameter("jvmName", jvmName);
+        q.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("metaData", metaData);
 
@@ -257,9 +280,10 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public Jvm findJvm(final String jvmName, final String groupName) {
         Jvm jvm = null;
-        final Query q = entityManager.createNamedQuery(JpaJvm.QUERY_FIND_JVM_BY_GROUP_AND_JVM_NAME);
-        q.setParameter("jvmName", jvmName);
-        q.setParameter("groupName", groupName);
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaJvm.QUERY_FIND_JVM_BY_GROUP_AND_JVM_NAME),
+                JpaJvm.FETCH_GROUP_GROUPS);
+        q.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
+        q.setParameter("groupName", AbstractEntity.toLowerName(groupName));
         try {
             JpaJvm jpaJvm = (JpaJvm) q.getSingleResult();
             jvm = new JvmBuilder(jpaJvm).build();
@@ -271,8 +295,9 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
 
     @Override
     public Jvm findJvmByExactName(String jvmName) {
-        final Query query = entityManager.createQuery("SELECT j FROM JpaJvm j WHERE lower(j.name)=lower(:jvmName) ORDER BY j.name");
-        query.setParameter("jvmName", jvmName);
+        final Query query = withFetchGroups(entityManager.createQuery(
+                "SELECT j FROM JpaJvm j WHERE j.lowerName = :jvmName ORDER BY j.name"), JpaJvm.FETCH_GROUP_GROUPS);
+        query.setParameter("jvmName", AbstractEntity.toLowerName(jvmName));
         return new JvmBuilder((JpaJvm) query.getSingleResult()).build();
     }
 
@@ -280,7 +305,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     public Long getJvmStartedCount(final String groupName) {
         final Query query = entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVM_COUNT_BY_STATE_AND_GROUP_NAME);
         query.setParameter(JpaJvm.QUERY_PARAM_STATE, JvmState.JVM_STARTED);
-        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, groupName);
+        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (Long) query.getSingleResult();
     }
 
@@ -288,14 +313,14 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     public Long getJvmStoppedCount(final String groupName) {
         final Query query = entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVM_COUNT_BY_STATE_AND_GROUP_NAME);
         query.setParameter(JpaJvm.QUERY_PARAM_STATE, JvmState.JVM_STOPPED);
-        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, groupName);
+        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (Long) query.getSingleResult();
     }
 
     @Override
     public Long getJvmCount(final String groupName) {
         final Query query = entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVM_COUNT_BY_GROUP_NAME);
-        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, groupName);
+        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (Long) query.getSingleResult();
     }
 
@@ -330,7 +355,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     public Long getJvmForciblyStoppedCount(final String groupName) {
         final Query query = entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVM_COUNT_BY_STATE_AND_GROUP_NAME);
         query.setParameter(JpaJvm.QUERY_PARAM_STATE, JvmState.FORCED_STOPPED);
-        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, groupName);
+        query.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (Long) query.getSingleResult();
     }
 
@@ -344,7 +369,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public int removeTemplate(final String jvmName, final String templateName) {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.QUERY_DELETE_JVM_RESOURCE_BY_TEMPLATE_JVM_NAME);
-        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
         return q.executeUpdate();
     }
@@ -352,14 +377,15 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
     @Override
     public List<JpaJvmConfigTemplate> getConfigTemplates(final String jvmName) {
         final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.QUERY_GET_JVM_RESOURCE_TEMPLATES);
-        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         return q.getResultList();
     }
 
     @Override
     public List<Jvm> getJvmsByGroupName(String groupName) {
-        final Query q = entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVMS_BY_GROUP_NAME);
-        q.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, groupName);
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaJvm.QUERY_GET_JVMS_BY_GROUP_NAME),
+                JpaJvm.FETCH_GROUP_GROUPS);
+        q.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return buildJvms(q.getResultList());
     }
 
@@ -382,7 +408,7 @@ public class JvmCrudServiceImpl extends AbstractCrudServiceImpl<JpaJvm> implemen
         final Jvm jvm = findJvm(jvmName, groupName);
         if (jvm != null) {
             final Query q = entityManager.createNamedQuery(JpaJvmConfigTemplate.GET_JVM_TEMPLATE_RESOURCE_NAME);
-            q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+            q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
             q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, fileName);
             List<String> result = q.getResultList();
             if (result != null && result.size() == 1) {
@@ -0,0 +1,56 @@
+package com.cerner.jwala.persistence.jpa.service.impl;
+
+import com.cerner.jwala.persistence.jpa.domain.JpaApplication;
+import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
+import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
+import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
+import com.cerner.jwala.persistence.jpa.service.LowerNameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class LowerNameServiceImpl implements LowerNameService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LowerNameServiceImpl.class);
+
+    @PersistenceContext(unitName = "jwala-unit")
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int fillInLowerNames() {
+        // setName sets the lowerName from the name
+        final List<JpaGroup> groups = findWithoutLowerName(JpaGroup.class);
+        for (final JpaGroup group : groups) {
+            group.setName(group.getName());
+        }
+        final List<JpaJvm> jvms = findWithoutLowerName(JpaJvm.class);
+        for (final JpaJvm jvm : jvms) {
+            jvm.setName(jvm.getName());
+        }
+        final List<JpaWebServer> webServers = findWithoutLowerName(JpaWebServer.class);
+        for (final JpaWebServer webServer : webServers) {
+            webServer.setName(webServer.getName());
+        }
+        final List<JpaApplication> applications = findWithoutLowerName(JpaApplication.class);
+        for (final JpaApplication application : applications) {
+            application.setName(application.getName());
+        }
+
+        final int count = groups.size() + jvms.size() + webServers.size() + applications.size();
+        if (count > 0) {
+            LOGGER.info("Filled in the lower case name of {} groups, {} JVMs, {} web servers and {} applications",
+                    groups.size(), jvms.size(), webServers.size(), applications.size());
+        }
+        return count;
+    }
+
+    private <T> List<T> findWithoutLowerName(final Class<T> entityClass) {
+        return entityManager.createQuery("SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e.lowerName IS NULL",
+                entityClass).getResultList();
+    }
+}
@@ -5,6 +5,7 @@ import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.path.Path;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 import com.cerner.jwala.common.exception.BadRequestException;
@@ -34,6 +35,11 @@ import java.util.List;
 public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServer> implements WebServerCrudService {
     private static final Logger LOGGER = LoggerFactory.getLogger(WebServerCrudServiceImpl.class);
 
+    /**
+     * A {@link WebServer} is built with its groups and their JVMs, see {@link JpaWebServerBuilder}
+     */
+    private static final String[] WEB_SERVER_FETCH_GROUPS = {JpaWebServer.FETCH_GROUP_GROUPS, JpaGroup.FETCH_GROUP_JVMS};
+
     public WebServerCrudServiceImpl() {
     }
 
@@ -64,7 +70,7 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @Override
     public WebServer updateWebServer(final WebServer webServer, final String createdBy) {
         try {
-            final JpaWebServer jpaWebServer = findById(webServer.getId().getId());
+            final JpaWebServer jpaWebServer = findById(webServer.getId().getId(), WEB_SERVER_FETCH_GROUPS);
 
             jpaWebServer.setName(webServer.getName());
             jpaWebServer.setHost(webServer.getHost());
@@ -82,12 +88,24 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
 
     @Override
     public WebServer getWebServer(final Identifier<WebServer> aWebServerId) throws NotFoundException {
-        return webServerFrom(findById(aWebServerId.getId()));
+        return webServerFrom(findById(aWebServerId.getId(), WEB_SERVER_FETCH_GROUPS));
     }
 
     @Override
     public List<WebServer> getWebServers() {
-        return webServersFrom(findAll());
+        return webServersFrom(findAll(WEB_SERVER_FETCH_GROUPS));
+    }
+
+    @Override
+    public List<WebServer> getWebServersForStatePolling() {
+        final List<Object[]> rows = entityManager.createNamedQuery(JpaWebServer.QUERY_GET_WS_FOR_STATE_POLLING,
+                Object[].class).getResultList();
+        final List<WebServer> webServers = new ArrayList<>(rows.size());
+        for (final Object[] row : rows) {
+            webServers.add(new WebServer(new Identifier<WebServer>((Long) row[0]), (String) row[2], (String) row[1],
+                    (Integer) row[3], (Integer) row[4], new Path((String) row[5]), (WebServerReachableState) row[6], null));
+        }
+        return webServers;
     }
 
     @Override
@@ -126,7 +144,8 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @SuppressWarnings("unchecked")
     @Override
     public List<WebServer> findWebServersBelongingTo(final Identifier<Group> aGroup) {
-        final Query query = entityManager.createNamedQuery(JpaGroup.QUERY_GET_GROUP);
+        final Query query = withFetchGroups(entityManager.createNamedQuery(JpaGroup.QUERY_GET_GROUP),
+                WEB_SERVER_FETCH_GROUPS);
         query.setParameter("groupId", aGroup.getId());
         final JpaGroup group = (JpaGroup) query.getSingleResult();
         return webserversFrom(group.getWebServers());
@@ -154,8 +173,9 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
 
     @Override
     public List<Application> findApplications(final String aWebServerName) {
-        Query q = entityManager.createNamedQuery(JpaWebServer.FIND_WEB_SERVER_BY_QUERY);
-        q.setParameter(JpaApplication.WEB_SERVER_NAME_PARAM, aWebServerName.toLowerCase());
+        Query q = withFetchGroups(entityManager.createNamedQuery(JpaWebServer.FIND_WEB_SERVER_BY_QUERY),
+                JpaWebServer.FETCH_GROUP_GROUPS);
+        q.setParameter(JpaApplication.WEB_SERVER_NAME_PARAM, AbstractEntity.toLowerName(aWebServerName));
         final JpaWebServer webServer = (JpaWebServer) q.getSingleResult();
 
         q = entityManager.createNamedQuery(JpaApplication.QUERY_BY_WEB_SERVER_NAME);
@@ -170,18 +190,20 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
 
     @Override
     public WebServer findWebServerByName(final String aWebServerName) {
-        final Query q = entityManager.createNamedQuery(JpaWebServer.FIND_WEB_SERVER_BY_QUERY);
-        q.setParameter(JpaWebServer.WEB_SERVER_PARAM_NAME, aWebServerName.toLowerCase());
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaWebServer.FIND_WEB_SERVER_BY_QUERY),
+                WEB_SERVER_FETCH_GROUPS);
+        q.setParameter(JpaWebServer.WEB_SERVER_PARAM_NAME, AbstractEntity.toLowerName(aWebServerName));
 
         return webServerFrom((JpaWebServer) q.getSingleResult());
     }
 
     @Override
     public List<Jvm> findJvms(final String aWebServerName) {
-        Query q = entityManager.createNamedQuery(JpaWebServer.FIND_WEB_SERVER_BY_QUERY);
-        q.setParameter(JpaApplication.WEB_SERVER_NAME_PARAM, aWebServerName.toLowerCase());
+        Query q = withFetchGroups(entityManager.createNamedQuery(JpaWebServer.FIND_WEB_SERVER_BY_QUERY),
+                JpaWebServer.FETCH_GROUP_GROUPS);
+        q.setParameter(JpaApplication.WEB_SERVER_NAME_PARAM, AbstractEntity.toLowerName(aWebServerName));
         final JpaWebServer webServer = (JpaWebServer) q.getSingleResult();
-        q = entityManager.createNamedQuery(JpaWebServer.FIND_JVMS_QUERY);
+        q = withFetchGroups(entityManager.createNamedQuery(JpaWebServer.FIND_JVMS_QUERY), JpaJvm.FETCH_GROUP_GROUPS);
         q.setParameter("groups", webServer.getGroups());
 
         final List<Jvm> jvms = new ArrayList<>(q.getResultList().size());
@@ -194,14 +216,14 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @Override
     public List<String> getResourceTemplateNames(final String webServerName) {
         final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.GET_WEBSERVER_RESOURCE_TEMPLATE_NAMES);
-        q.setParameter("webServerName", webServerName);
+        q.setParameter("webServerName", AbstractEntity.toLowerName(webServerName));
         return q.getResultList();
     }
 
     @Override
     public String getResourceTemplate(final String webServerName, final String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.GET_WEBSERVER_TEMPLATE_CONTENT);
-        q.setParameter("webServerName", webServerName);
+        q.setParameter("webServerName", AbstractEntity.toLowerName(webServerName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -214,7 +236,7 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @Override
     public String getResourceTemplateMetaData(String webServerName, String resourceTemplateName) {
         final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.GET_WEBSERVER_TEMPLATE_METADATA);
-        q.setParameter("webServerName", webServerName);
+        q.setParameter("webServerName", AbstractEntity.toLowerName(webServerName));
         q.setParameter("templateName", resourceTemplateName);
         try {
             return (String) q.getSingleResult();
@@ -238,7 +260,7 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
 
         // get an instance and then do a create or update
         Query query = entityManager.createNamedQuery(JpaWebServerConfigTemplate.GET_WEBSERVER_TEMPLATE);
-        query.setParameter("webServerName", webServer.getName());
+        query.setParameter("webServerName", AbstractEntity.toLowerName(webServer.getName()));
         query.setParameter("templateName", request.getConfFileName());
         List<JpaWebServerConfigTemplate> templates = query.getResultList();
         JpaWebServerConfigTemplate jpaConfigTemplate;
@@ -270,7 +292,7 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @Override
     public void updateResourceTemplate(final String wsName, final String resourceTemplateName, final String template) {
         final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.UPDATE_WEBSERVER_TEMPLATE_CONTENT);
-        q.setParameter("webServerName", wsName);
+        q.setParameter("webServerName", AbstractEntity.toLowerName(wsName));
         q.setParameter("templateName", resourceTemplateName);
         q.setParameter("templateContent", template);
 
@@ -291,7 +313,7 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @Override
     public void updateResourceMetaData(String webServerName, String resourceName, String metaData) {
         final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.UPDATE_WEBSERVER_TEMPLATE_META_DATA);
-        q.setParameter("webServerName", webServerName);
+        q.setParameter("webServerName", AbstractEntity.toLowerName(webServerName));
         q.setParameter("templateName", resourceName);
         q.setParameter("metaData", metaData);
 
@@ -367,14 +389,15 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
     @Override
     public int removeTemplate(final String webServerName, final String templateName) {
         final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.QUERY_DELETE_WEBSERVER_RESOURCE_BY_TEMPLATE_WEBSERVER_NAME);
-        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, webServerName);
+        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, AbstractEntity.toLowerName(webServerName));
         q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
         return q.executeUpdate();
     }
 
     @Override
     public List<WebServer> getWebServersByGroupName(final String groupName) {
-        final Query q = entityManager.createNamedQuery(JpaWebServer.QUERY_GET_WS_BY_GROUP_NAME);
+        final Query q = withFetchGroups(entityManager.createNamedQuery(JpaWebServer.QUERY_GET_WS_BY_GROUP_NAME),
+                WEB_SERVER_FETCH_GROUPS);
         q.setParameter(JpaWebServer.QUERY_PARAM_GROUP_NAME, groupName);
         return buildWebServers(q.getResultList());
     }
@@ -412,7 +435,7 @@ public class WebServerCrudServiceImpl extends AbstractCrudServiceImpl<JpaWebServ
         final JpaWebServer jpaWebServer = findWebServer(groupName, webServerName);
         if (jpaWebServer != null) {
             final Query q = entityManager.createNamedQuery(JpaWebServerConfigTemplate.GET_WEBSERVER_TEMPLATE_RESOURCE_NAME);
-            q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, webServerName);
+            q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, AbstractEntity.toLowerName(webServerName));
             q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, fileName);
             final List<String> result = q.getResultList();
             if (result != null && result.size() == 1) {
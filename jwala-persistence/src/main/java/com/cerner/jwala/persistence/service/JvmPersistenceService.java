@@ -26,6 +26,11 @@ public interface JvmPersistenceService {
 
     List<Jvm> getJvms();
 
+    /**
+     * @return the JVMs with only the id, name, host name, ports, status path, state and last update date set
+     */
+    List<Jvm> getJvmsForStatePolling();
+
     void removeJvm(final Identifier<Jvm> aJvmId);
 
     Jvm removeJvmFromGroups(final Identifier<Jvm> aJvmId);
@@ -82,6 +87,12 @@ public interface JvmPersistenceService {
      */
     List<Jvm> getJvmsAndWebAppsByGroupName(String groupName);
 
+    /**
+     * Get all the JVMs and the applications under them, with one query for the JVMs and one for the applications.
+     * @return List of {@link Jvm} ordered by name
+     */
+    List<Jvm> getJvmsAndWebApps();
+
     /**
      * This method checks if a resource file exists for a jvm.
      * @param groupName This is the of the group under which the jvm should exist
@@ -28,6 +28,11 @@ public interface WebServerPersistenceService {
 
     List<WebServer> getWebServers();
 
+    /**
+     * @return the web servers with only the id, name, host, ports, status path and state set
+     */
+    List<WebServer> getWebServersForStatePolling();
+
     void removeWebServer(final Identifier<WebServer> aWebServerId);
 
     List<WebServer> findWebServersBelongingTo(Identifier<Group> aGroupId);
@@ -7,6 +7,7 @@ import com.cerner.jwala.common.domain.model.jvm.Jvm;
 import com.cerner.jwala.common.request.app.CreateApplicationRequest;
 import com.cerner.jwala.common.request.app.UpdateApplicationRequest;
 import com.cerner.jwala.common.request.app.UploadAppTemplateRequest;
+import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplication;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplicationConfigTemplate;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
@@ -96,8 +97,8 @@ public class JpaApplicationPersistenceServiceImpl implements ApplicationPersiste
     // get back to this when the persistence layer is refactored.
     private JpaJvm getJpaJvm(final String jvmName, final String groupName) {
         final Query q = em.createNamedQuery(JpaJvm.QUERY_FIND_JVM_BY_GROUP_AND_JVM_NAME);
-        q.setParameter(JpaJvm.QUERY_PARAM_JVM_NAME, jvmName);
-        q.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaJvm.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
+        q.setParameter(JpaJvm.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (JpaJvm) q.getSingleResult();
     }
 
@@ -94,13 +94,13 @@ public class JpaGroupPersistenceServiceImpl implements GroupPersistenceService {
 
     @Override
     public List<Group> getGroups() {
-        final List<JpaGroup> groups = groupCrudService.getGroups();
+        final List<JpaGroup> groups = groupCrudService.getGroups(false);
         return groupsFrom(groups, false);
     }
 
     @Override
     public List<Group> getGroups(boolean fetchWebServers) {
-        final List<JpaGroup> groups = groupCrudService.getGroups();
+        final List<JpaGroup> groups = groupCrudService.getGroups(fetchWebServers);
         return groupsFrom(groups, fetchWebServers);
     }
 
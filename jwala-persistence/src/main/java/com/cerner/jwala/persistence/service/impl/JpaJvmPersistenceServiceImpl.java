@@ -26,7 +26,10 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class JpaJvmPersistenceServiceImpl implements JvmPersistenceService {
 
@@ -92,12 +95,8 @@ public class JpaJvmPersistenceServiceImpl implements JvmPersistenceService {
 
     @Override
     public JpaJvm getJpaJvm(final Identifier<Jvm> aJvmId, final boolean fetchGroups) {
-        final JpaJvm jvm = jvmCrudService.getJvm(aJvmId);
-        if (fetchGroups) {
-            // groups are lazy loaded so we need this.
-            jvm.getGroups().size();
-        }
-        return jvm;
+        // the groups are only loaded with the JVM if they are asked for
+        return fetchGroups ? jvmCrudService.getJvm(aJvmId) : jvmCrudService.findById(aJvmId.getId());
     }
 
     @Override
@@ -105,6 +104,11 @@ public class JpaJvmPersistenceServiceImpl implements JvmPersistenceService {
         return jvmsFrom(jvmCrudService.getJvms());
     }
 
+    @Override
+    public List<Jvm> getJvmsForStatePolling() {
+        return jvmCrudService.getJvmsForStatePolling();
+    }
+
     @Override
     public void removeJvm(final Identifier<Jvm> aJvmId) {
         groupJvmRelationshipService.removeRelationshipsForJvm(aJvmId);
@@ -239,32 +243,69 @@ public class JpaJvmPersistenceServiceImpl implements JvmPersistenceService {
         final com.cerner.jwala.common.domain.model.jvm.JvmBuilder jvmBuilder = new com.cerner.jwala.common.domain.model.jvm.JvmBuilder();
         for (Jvm jvm : jvms) {
             final List<Application> webApps = applicationCrudService.findApplicationsBelongingToJvm(jvm.getId());
-            // TODO: Decide whether to use a builder or have a setter just to set the applications ?
-            final Jvm jvmWithWebApps = jvmBuilder.setId(jvm.getId())
-                                                 .setName(jvm.getJvmName())
-                                                 .setHostName(jvm.getHostName())
-                                                 .setStatusPath(jvm.getStatusPath())
-                                                 .setGroups(jvm.getGroups())
-                                                 .setHttpPort(jvm.getHttpPort())
-                                                 .setHttpsPort(jvm.getHttpsPort())
-                                                 .setRedirectPort(jvm.getRedirectPort())
-                                                 .setShutdownPort(jvm.getShutdownPort())
-                                                 .setAjpPort(jvm.getAjpPort())
-                                                 .setSystemProperties(jvm.getSystemProperties())
-                                                 .setState(jvm.getState())
-                                                 .setErrorStatus(jvm.getErrorStatus())
-                                                 .setUserName(jvm.getUserName())
-                                                 .setEncryptedPassword(jvm.getEncryptedPassword())
-                                                 .setWebApps(webApps)
-                                                 .setJavaHome(jvm.getJavaHome())
-                                                 .setTomcatMedia(jvm.getTomcatMedia())
-                                                 .setJdkMedia(jvm.getJdkMedia())
-                                                 .build();
-            jvmsWithWebApps.add(jvmWithWebApps);
+            jvmsWithWebApps.add(jvmWithWebApps(jvmBuilder, jvm, webApps));
+        }
+        return jvmsWithWebApps;
+    }
+
+    @Override
+    public List<Jvm> getJvmsAndWebApps() {
+        final Map<Identifier<Group>, List<Application>> webAppsByGroupId = new HashMap<>();
+        for (final Application webApp : applicationCrudService.getApplications()) {
+            if (webApp.getGroup() != null) {
+                List<Application> webApps = webAppsByGroupId.get(webApp.getGroup().getId());
+                if (webApps == null) {
+                    webApps = new ArrayList<>();
+                    webAppsByGroupId.put(webApp.getGroup().getId(), webApps);
+                }
+                webApps.add(webApp);
+            }
+        }
+
+        final List<Jvm> jvms = jvmsFrom(jvmCrudService.getJvms());
+        jvms.sort(Comparator.comparing(Jvm::getJvmName));
+        final List<Jvm> jvmsWithWebApps = new ArrayList<>(jvms.size());
+        final com.cerner.jwala.common.domain.model.jvm.JvmBuilder jvmBuilder = new com.cerner.jwala.common.domain.model.jvm.JvmBuilder();
+        for (final Jvm jvm : jvms) {
+            final List<Application> webApps = new ArrayList<>();
+            if (jvm.getGroups() != null) {
+                for (final Group group : jvm.getGroups()) {
+                    final List<Application> groupWebApps = webAppsByGroupId.get(group.getId());
+                    if (groupWebApps != null) {
+                        webApps.addAll(groupWebApps);
+                    }
+                }
+            }
+            jvmsWithWebApps.add(jvmWithWebApps(jvmBuilder, jvm, webApps));
         }
         return jvmsWithWebApps;
     }
 
+    private static Jvm jvmWithWebApps(final com.cerner.jwala.common.domain.model.jvm.JvmBuilder jvmBuilder, final Jvm jvm,
+                                      final List<Application> webApps) {
+        // TODO: Decide whether to use a builder or have a setter just to set the applications ?
+        return jvmBuilder.setId(jvm.getId())
+                .setName(jvm.getJvmName())
+                .setHostName(jvm.getHostName())
+                .setStatusPath(jvm.getStatusPath())
+                .setGroups(jvm.getGroups())
+                .setHttpPort(jvm.getHttpPort())
+                .setHttpsPort(jvm.getHttpsPort())
+                .setRedirectPort(jvm.getRedirectPort())
+                .setShutdownPort(jvm.getShutdownPort())
+                .setAjpPort(jvm.getAjpPort())
+                .setSystemProperties(jvm.getSystemProperties())
+                .setState(jvm.getState())
+                .setErrorStatus(jvm.getErrorStatus())
+                .setUserName(jvm.getUserName())
+                .setEncryptedPassword(jvm.getEncryptedPassword())
+                .setWebApps(webApps)
+                .setJavaHome(jvm.getJavaHome())
+                .setTomcatMedia(jvm.getTomcatMedia())
+                .setJdkMedia(jvm.getJdkMedia())
+                .build();
+    }
+
     @Override
     public boolean checkJvmResourceFileName(final String groupName, final String jvmName, final String fileName) {
         return jvmCrudService.checkJvmResourceFileName(groupName, jvmName, fileName);
@@ -1,5 +1,6 @@
 package com.cerner.jwala.persistence.service.impl;
 
+import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.domain.resource.config.template.JpaGroupAppConfigTemplate;
 import com.cerner.jwala.persistence.service.ResourcePersistenceService;
 
@@ -17,8 +18,8 @@ public class JpaResourcePersistenceServiceImpl implements ResourcePersistenceSer
     // NOTE: We're going to use the entity manager here since we are phasing out the CRUD layer soon.
     public List<String> getApplicationResourceNames(final String groupName, final String appName) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.QUERY_APP_RESOURCE_NAMES);
-        q.setParameter("grpName", groupName);
-        q.setParameter("appName", appName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
+        q.setParameter("appName", AbstractEntity.toLowerName(appName));
         return q.getResultList();
     }
 
@@ -26,8 +27,8 @@ public class JpaResourcePersistenceServiceImpl implements ResourcePersistenceSer
     @Override
     public String getAppTemplate(final String groupName, final String appName, final String templateName) {
         final Query q = entityManager.createNamedQuery(JpaGroupAppConfigTemplate.GET_GROUP_APP_TEMPLATE_CONTENT);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, appName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
         return (String) q.getSingleResult();
     }
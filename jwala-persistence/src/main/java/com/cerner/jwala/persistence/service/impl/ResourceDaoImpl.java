@@ -4,6 +4,7 @@ import com.cerner.jwala.common.domain.model.app.Application;
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.resource.EntityType;
 import com.cerner.jwala.common.domain.model.resource.ResourceIdentifier;
+import com.cerner.jwala.persistence.jpa.domain.AbstractEntity;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplication;
 import com.cerner.jwala.persistence.jpa.domain.JpaApplicationConfigTemplate;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
@@ -30,7 +31,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteWebServerResource(final String templateName, final String webServerName) {
         final Query q = em.createNamedQuery(JpaWebServerConfigTemplate.QUERY_DELETE_WEBSERVER_RESOURCE_BY_TEMPLATE_WEBSERVER_NAME);
         q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
-        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, webServerName);
+        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, AbstractEntity.toLowerName(webServerName));
         return q.executeUpdate();
     }
 
@@ -38,7 +39,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteGroupLevelWebServerResource(final String templateName, final String groupName) {
         final Query q = em.createNamedQuery(JpaGroupWebServerConfigTemplate.QUERY_DELETE_GROUP_LEVEL_WEBSERVER_RESOURCE_BY_TEMPLATE_GROUP_NAME);
         q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
-        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return q.executeUpdate();
     }
 
@@ -46,7 +47,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteJvmResource(final String templateName, final String jvmName) {
         final Query q = em.createNamedQuery(JpaJvmConfigTemplate.QUERY_DELETE_JVM_RESOURCE_BY_TEMPLATE_JVM_NAME);
         q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
-        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         return q.executeUpdate();
     }
 
@@ -54,7 +55,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteGroupLevelJvmResource(final String templateName, final String groupName) {
         final Query q = em.createNamedQuery(JpaGroupJvmConfigTemplate.QUERY_DELETE_GROUP_LEVEL_JVM_RESOURCE_BY_TEMPLATE_GROUP_NAME);
         q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
-        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return q.executeUpdate();
     }
 
@@ -62,16 +63,16 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteAppResource(final String templateName, final String appName, final String jvmName) {
         final Query q = em.createNamedQuery(JpaApplicationConfigTemplate.QUERY_DELETE_APP_RESOURCE_BY_TEMPLATE_APP_JVM_NAME);
         q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, appName);
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
         return q.executeUpdate();
     }
 
     @Override
     public int deleteGroupLevelAppResource(String appName, final String groupName, final String templateName) {
         final Query q = em.createNamedQuery(JpaGroupAppConfigTemplate.QUERY_DELETE_GROUP_LEVEL_APP_RESOURCE_BY_APP_GROUP_TEMPLATE_NAME);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, appName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, templateName);
         return q.executeUpdate();
     }
@@ -81,7 +82,7 @@ public class ResourceDaoImpl implements ResourceDao {
         final Query q = em.createNamedQuery(JpaWebServerConfigTemplate
                 .QUERY_DELETE_WEBSERVER_RESOURCES_BY_TEMPLATE_NAME_LIST_WEBSERVER_NAME);
         q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME_LIST, templateNameList);
-        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, webServerName);
+        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, AbstractEntity.toLowerName(webServerName));
         return q.executeUpdate();
     }
 
@@ -90,7 +91,7 @@ public class ResourceDaoImpl implements ResourceDao {
         final Query q = em.createNamedQuery(JpaGroupWebServerConfigTemplate
                 .QUERY_DELETE_GROUP_LEVEL_WEBSERVER_RESOURCES_BY_TEMPLATE_NAME_LIST_GROUP_NAME);
         q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME_LIST, templateNameList);
-        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return q.executeUpdate();
     }
 
@@ -98,7 +99,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteJvmResources(final List<String> templateNameList, final String jvmName) {
         final Query q = em.createNamedQuery(JpaJvmConfigTemplate.QUERY_DELETE_JVM_RESOURCES_BY_TEMPLATE_NAME_LIST_JVM_NAME);
         q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME_LIST, templateNameList);
-        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         return q.executeUpdate();
     }
 
@@ -106,7 +107,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteGroupLevelJvmResources(final List<String> templateNameList, final String groupName) {
         final Query q = em.createNamedQuery(JpaGroupJvmConfigTemplate.QUERY_DELETE_GROUP_LEVEL_JVM_RESOURCES_BY_TEMPLATE_NAME_LIST_GROUP_NAME);
         q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME_LIST, templateNameList);
-        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return q.executeUpdate();
     }
 
@@ -114,16 +115,16 @@ public class ResourceDaoImpl implements ResourceDao {
     public int deleteAppResources(final List<String> templateNameList, final String appName, final String jvmName) {
         final Query q = em.createNamedQuery(JpaApplicationConfigTemplate.QUERY_DELETE_APP_RESOURCES_BY_TEMPLATE_NAME_LIST_APP_JVM_NAME);
         q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_TEMPLATE_NAME_LIST, templateNameList);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, appName);
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
         return q.executeUpdate();
     }
 
     @Override
     public int deleteGroupLevelAppResources(final String appName, final String groupName, final List<String> templateNameList) {
         final Query q = em.createNamedQuery(JpaGroupAppConfigTemplate.QUERY_DELETE_GROUP_LEVEL_APP_RESOURCES_BY_APP_GROUP_NAME_TEMPLATE_NAME_LIST);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, appName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME_LIST, templateNameList);
         return q.executeUpdate();
     }
@@ -139,7 +140,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public JpaWebServerConfigTemplate getWebServerResource(final String resourceName, final String webServerName) {
         final Query q = em.createNamedQuery(JpaWebServerConfigTemplate.QUERY_GET_WEBSERVER_RESOURCE);
         q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
-        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, webServerName);
+        q.setParameter(JpaWebServerConfigTemplate.QUERY_PARAM_WEBSERVER_NAME, AbstractEntity.toLowerName(webServerName));
         return (JpaWebServerConfigTemplate) q.getSingleResult();
     }
 
@@ -147,7 +148,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public JpaJvmConfigTemplate getJvmResource(final String resourceName, final String jvmName) {
         final Query q = em.createNamedQuery(JpaJvmConfigTemplate.QUERY_GET_JVM_RESOURCE);
         q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
-        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaJvmConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         return (JpaJvmConfigTemplate) q.getSingleResult();
     }
 
@@ -155,8 +156,8 @@ public class ResourceDaoImpl implements ResourceDao {
     public JpaApplicationConfigTemplate getAppResource(final String resourceName, final String appName, final String jvmName) {
         final Query q = em.createNamedQuery(JpaApplicationConfigTemplate.QUERY_GET_APP_RESOURCE);
         q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, appName);
-        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, jvmName);
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
+        q.setParameter(JpaApplicationConfigTemplate.QUERY_PARAM_JVM_NAME, AbstractEntity.toLowerName(jvmName));
         return (JpaApplicationConfigTemplate) q.getSingleResult();
     }
 
@@ -164,7 +165,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public JpaGroupWebServerConfigTemplate getGroupLevelWebServerResource(final String resourceName, final String groupName) {
         final Query q = em.createNamedQuery(JpaGroupWebServerConfigTemplate.QUERY_GET_GROUP_LEVEL_WEBSERVER_RESOURCE);
         q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
-        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupWebServerConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (JpaGroupWebServerConfigTemplate) q.getSingleResult();
     }
 
@@ -172,7 +173,7 @@ public class ResourceDaoImpl implements ResourceDao {
     public JpaGroupJvmConfigTemplate getGroupLevelJvmResource(final String resourceName, final String groupName) {
         final Query q = em.createNamedQuery(JpaGroupJvmConfigTemplate.QUERY_GET_GROUP_LEVEL_JVM_RESOURCE);
         q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
-        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, groupName);
+        q.setParameter(JpaGroupJvmConfigTemplate.QUERY_PARAM_GROUP_NAME, AbstractEntity.toLowerName(groupName));
         return (JpaGroupJvmConfigTemplate) q.getSingleResult();
     }
 
@@ -180,16 +181,16 @@ public class ResourceDaoImpl implements ResourceDao {
     public JpaGroupAppConfigTemplate getGroupLevelAppResource(final String resourceName, final String appName, final String groupName) {
         final Query q = em.createNamedQuery(JpaGroupAppConfigTemplate.QUERY_GET_GROUP_LEVEL_APP_RESOURCE);
         q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_TEMPLATE_NAME, resourceName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, appName);
-        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, groupName);
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_APP_NAME, AbstractEntity.toLowerName(appName));
+        q.setParameter(JpaGroupAppConfigTemplate.QUERY_PARAM_GRP_NAME, AbstractEntity.toLowerName(groupName));
         return (JpaGroupAppConfigTemplate) q.getSingleResult();
     }
 
     @Override
     public List<String> getGroupLevelAppResourceNames(String groupName, String webAppName) {
         final Query q = em.createNamedQuery(JpaGroupAppConfigTemplate.QUERY_APP_RESOURCE_NAMES);
-        q.setParameter("grpName", groupName);
-        q.setParameter("appName", webAppName);
+        q.setParameter("grpName", AbstractEntity.toLowerName(groupName));
+        q.setParameter("appName", AbstractEntity.toLowerName(webAppName));
         return q.getResultList();
     }
 
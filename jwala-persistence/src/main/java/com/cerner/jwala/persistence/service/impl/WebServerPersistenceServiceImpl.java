@@ -56,6 +56,11 @@ public class WebServerPersistenceServiceImpl implements WebServerPersistenceServ
         return webServerCrudService.getWebServers();
     }
 
+    @Override
+    public List<WebServer> getWebServersForStatePolling() {
+        return webServerCrudService.getWebServersForStatePolling();
+    }
+
     @Override
     public void removeWebServer(final Identifier<WebServer> aWebServerId) {
         webServerCrudService.removeWebServer(aWebServerId);
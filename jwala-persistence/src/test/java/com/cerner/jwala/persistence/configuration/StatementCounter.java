@@ -0,0 +1,28 @@
+package com.cerner.jwala.persistence.configuration;
+
+import org.apache.openjpa.lib.jdbc.AbstractJDBCListener;
+import org.apache.openjpa.lib.jdbc.JDBCEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements that OpenJPA executes, it is registered as a JDBC listener by {@link TestJpaConfiguration}
+ * so that tests can check how many queries an operation takes
+ */
+public class StatementCounter extends AbstractJDBCListener {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public void beforeExecuteStatement(final JDBCEvent event) {
+        COUNT.incrementAndGet();
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int getCount() {
+        return COUNT.get();
+    }
+}
@@ -39,6 +39,7 @@ public class TestJpaConfiguration {
         properties.setProperty("openjpa.jdbc.SynchronizeMappings", "buildSchema(schemaAction='drop,add',ForeignKeys=true)");
         properties.setProperty("openjpa.Log", "DefaultLevel=INFO");
         properties.setProperty("openjpa.InitializeEagerly", "true");
+        properties.setProperty("openjpa.jdbc.JDBCListeners", StatementCounter.class.getName());
         return properties;
     }
 
@@ -24,6 +24,10 @@ import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.List;
 
 import static junit.framework.TestCase.assertEquals;
@@ -62,6 +66,9 @@ public class HistoryCrudServiceIntegrationTest {
     @Autowired
     private HistoryCrudService historyCrudService;
 
+    @PersistenceContext(unitName = "jwala-unit")
+    private EntityManager entityManager;
+
     @Test
     public void testWriteAndReadHistory() {
         final String SERVER_NAME = "zServerName";
@@ -81,4 +88,100 @@ public class HistoryCrudServiceIntegrationTest {
         assertEquals(1, jpaHistoryList.size());
     }
 
+    @Test
+    public void testCreateHistoryBatch() {
+        final JpaGroup jpaGroup = new JpaGroup();
+        jpaGroup.setName("zBatchGroup");
+        groupCrudService.create(jpaGroup);
+        final JpaGroup groupRef = new JpaGroup();
+        groupRef.setId(jpaGroup.getId());
+
+        final List<JpaHistory> created = historyCrudService.createHistory(Arrays.asList(
+                new JpaHistory("zServer1", groupRef, "first", EventType.SYSTEM_INFO, "any"),
+                new JpaHistory("zServer2", null, "no group", EventType.SYSTEM_INFO, "any"),
+                new JpaHistory("zServer1", groupRef, "second", EventType.SYSTEM_INFO, "any")));
+        assertEquals(2, created.size());
+        assertEquals("zBatchGroup", created.get(0).getGroup().getName());
+
+        final List<JpaHistory> jpaHistoryList = historyCrudService.findHistory(jpaGroup.getName(), "zServer1", null);
+        assertEquals(2, jpaHistoryList.size());
+        assertEquals("second", jpaHistoryList.get(0).getEvent());
+    }
+
+    @Test
+    public void testCreateHistoryBatchKeepsTheCreateDate() {
+        final JpaGroup jpaGroup = new JpaGroup();
+        jpaGroup.setName("zDatedGroup");
+        groupCrudService.create(jpaGroup);
+        final JpaGroup groupRef = new JpaGroup();
+        groupRef.setId(jpaGroup.getId());
+
+        final Calendar written = Calendar.getInstance();
+        written.add(Calendar.MINUTE, -5);
+        final JpaHistory history = new JpaHistory("zServer", groupRef, "queued", EventType.SYSTEM_INFO, "any");
+        history.setCreateDate(written);
+        historyCrudService.createHistory(Arrays.asList(history));
+
+        final List<JpaHistory> jpaHistoryList = historyCrudService.findHistory(jpaGroup.getName(), "zServer", null);
+        assertEquals(1, jpaHistoryList.size());
+        assertEquals(written.getTimeInMillis(), jpaHistoryList.get(0).getCreateDate().getTimeInMillis());
+    }
+
+    @Test
+    public void testFindHistoryPages() {
+        final JpaGroup jpaGroup = new JpaGroup();
+        jpaGroup.setName("zPagedGroup");
+        groupCrudService.create(jpaGroup);
+        final Group group = new Group(new Identifier<Group>(jpaGroup.getId()), "zPagedGroup");
+        for (int i = 0; i < 5; i++) {
+            historyCrudService.createHistory("zServer", group, "event" + i, EventType.SYSTEM_INFO, "any");
+        }
+
+        final List<JpaHistory> firstPage = historyCrudService.findHistory("zPagedGroup", null, 2, null);
+        assertEquals(2, firstPage.size());
+        assertEquals("event4", firstPage.get(0).getEvent());
+        assertEquals("event3", firstPage.get(1).getEvent());
+
+        final List<JpaHistory> secondPage = historyCrudService.findHistory("zPagedGroup", "zServer", 2, firstPage.get(1).getId());
+        assertEquals(2, secondPage.size());
+        assertEquals("event2", secondPage.get(0).getEvent());
+        assertEquals("event1", secondPage.get(1).getEvent());
+
+        final List<JpaHistory> lastPage = historyCrudService.findHistory("zPagedGroup", null, 2, secondPage.get(1).getId());
+        assertEquals(1, lastPage.size());
+        assertEquals("event0", lastPage.get(0).getEvent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSchemaHasTheHistoryIndexes() {
+        // the indexes declared on the entity, not only the ones in create.sql
+        assertEquals(Arrays.asList("GROUPID", "CREATEDATE"), entityManager.createNativeQuery(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_HISTORY_GROUP_CREATED' " +
+                "ORDER BY ORDINAL_POSITION").getResultList());
+        assertEquals(Arrays.asList("SERVERNAME", "CREATEDATE"), entityManager.createNativeQuery(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_HISTORY_SERVER_CREATED' " +
+                "ORDER BY ORDINAL_POSITION").getResultList());
+    }
+
+    @Test
+    public void testPurgeHistory() {
+        final JpaGroup jpaGroup = new JpaGroup();
+        jpaGroup.setName("zPurgedGroup");
+        groupCrudService.create(jpaGroup);
+        final Group group = new Group(new Identifier<Group>(jpaGroup.getId()), "zPurgedGroup");
+        for (int i = 0; i < 3; i++) {
+            historyCrudService.createHistory("zServer", group, "event" + i, EventType.SYSTEM_INFO, "any");
+        }
+
+        final Calendar yesterday = Calendar.getInstance();
+        yesterday.add(Calendar.DATE, -1);
+        final Calendar tomorrow = Calendar.getInstance();
+        tomorrow.add(Calendar.DATE, 1);
+        assertEquals(0, historyCrudService.purgeHistory(yesterday, 2));
+        assertEquals(2, historyCrudService.purgeHistory(tomorrow, 2));
+        assertEquals(1, historyCrudService.purgeHistory(tomorrow, 2));
+        assertEquals(0, historyCrudService.findHistory("zPurgedGroup", null, null).size());
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.cerner.jwala.persistence.jpa.domain.listener;
+
+import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link TopologyChangeListener}
+ */
+public class TopologyChangeListenerTest {
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testChangeOutsideOfATransaction() {
+        final long version = TopologyChangeListener.getVersion();
+        new TopologyChangeListener().onChange(new JpaGroup());
+        assertTrue(TopologyChangeListener.getVersion() > version);
+    }
+
+    @Test
+    public void testVersionChangesAgainAfterTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        final TopologyChangeListener listener = new TopologyChangeListener();
+        listener.onChange(new JpaGroup());
+        listener.onChange(new JpaGroup());
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+        final long version = TopologyChangeListener.getVersion();
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertTrue(TopologyChangeListener.getVersion() > version);
+    }
+}
@@ -0,0 +1,213 @@
+package com.cerner.jwala.persistence.jpa.service;
+
+import com.cerner.jwala.common.configuration.TestExecutionProfile;
+import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
+import com.cerner.jwala.persistence.configuration.StatementCounter;
+import com.cerner.jwala.persistence.configuration.TestJpaConfiguration;
+import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
+import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
+import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
+import com.cerner.jwala.persistence.jpa.domain.builder.JpaGroupBuilder;
+import com.cerner.jwala.persistence.jpa.domain.builder.JvmBuilder;
+import com.cerner.jwala.persistence.jpa.service.impl.GroupCrudServiceImpl;
+import com.cerner.jwala.persistence.jpa.service.impl.JvmCrudServiceImpl;
+import com.cerner.jwala.persistence.jpa.service.impl.WebServerCrudServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.IfProfileValue;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the groups of the JVMs and web servers are loaded by the fetch groups in a number of statements that
+ * doesn't grow with the number of JVMs and web servers, i.e. without a select per JVM or web server
+ */
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class,
+        classes = {GroupFetchPlanIntegrationTest.Config.class, TestJpaConfiguration.class})
+@IfProfileValue(name = TestExecutionProfile.RUN_TEST_TYPES, value = TestExecutionProfile.INTEGRATION)
+@RunWith(SpringJUnit4ClassRunner.class)
+@EnableTransactionManagement
+@Transactional
+public class GroupFetchPlanIntegrationTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupFetchPlanIntegrationTest.class);
+
+    private static final int GROUP_COUNT = 5;
+    private static final int JVM_COUNT = 100;
+    private static final int WEB_SERVER_COUNT = 20;
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        GroupCrudService getGroupCrudService() {
+            return new GroupCrudServiceImpl();
+        }
+
+        @Bean
+        JvmCrudService getJvmCrudService() {
+            return new JvmCrudServiceImpl();
+        }
+
+        @Bean
+        WebServerCrudService getWebServerCrudService() {
+            return new WebServerCrudServiceImpl();
+        }
+    }
+
+    @Autowired
+    private GroupCrudService groupCrudService;
+
+    @Autowired
+    private JvmCrudService jvmCrudService;
+
+    @Autowired
+    private WebServerCrudService webServerCrudService;
+
+    @PersistenceContext(unitName = "jwala-unit")
+    private EntityManager entityManager;
+
+    @Before
+    public void setUp() {
+        final List<JpaGroup> groups = new ArrayList<>();
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            final JpaGroup group = new JpaGroup();
+            group.setName("fetch-group-" + i);
+            entityManager.persist(group);
+            groups.add(group);
+        }
+        for (int i = 0; i < JVM_COUNT; i++) {
+            final JpaJvm jvm = new JpaJvm();
+            jvm.setName("fetch-jvm-" + i);
+            jvm.setHostName("fetch-host-" + i);
+            jvm.setHttpPort(8080);
+            jvm.setHttpsPort(8443);
+            jvm.setRedirectPort(8443);
+            jvm.setShutdownPort(8005);
+            jvm.setAjpPort(8009);
+            jvm.setStatusPath("/stp.png");
+            entityManager.persist(jvm);
+            groups.get(i % GROUP_COUNT).getJvms().add(jvm);
+            groups.get((i + 1) % GROUP_COUNT).getJvms().add(jvm);
+        }
+        for (int i = 0; i < WEB_SERVER_COUNT; i++) {
+            final JpaWebServer webServer = new JpaWebServer();
+            webServer.setName("fetch-web-server-" + i);
+            webServer.setHost("fetch-host-" + i);
+            webServer.setPort(80);
+            webServer.setHttpsPort(443);
+            webServer.setStatusPath("/apache_pb.png");
+            webServer.setState(WebServerReachableState.WS_NEW);
+            entityManager.persist(webServer);
+            groups.get(i % GROUP_COUNT).getWebServers().add(webServer);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    public void testGetJvms() {
+        start();
+        final List<Jvm> jvms = new ArrayList<>();
+        for (final JpaJvm jpaJvm : jvmCrudService.getJvms()) {
+            jvms.add(new JvmBuilder(jpaJvm).build());
+        }
+        assertTrue(stop("getJvms") <= 2);
+        assertEquals(JVM_COUNT, jvms.size());
+        for (final Jvm jvm : jvms) {
+            assertEquals(2, jvm.getGroups().size());
+        }
+    }
+
+    @Test
+    public void testGetWebServers() {
+        start();
+        final List<WebServer> webServers = webServerCrudService.getWebServers();
+        assertTrue(stop("getWebServers") < WEB_SERVER_COUNT);
+        assertEquals(WEB_SERVER_COUNT, webServers.size());
+        for (final WebServer webServer : webServers) {
+            assertEquals(1, webServer.getGroups().size());
+        }
+    }
+
+    @Test
+    public void testGetGroups() {
+        start();
+        final List<Group> groups = new ArrayList<>();
+        for (final JpaGroup jpaGroup : groupCrudService.getGroups(true)) {
+            groups.add(new JpaGroupBuilder(jpaGroup).setFetchWebServers(true).build());
+        }
+        assertTrue(stop("getGroups") < JVM_COUNT / 2);
+        assertEquals(GROUP_COUNT, groups.size());
+        for (final Group group : groups) {
+            assertEquals(JVM_COUNT * 2 / GROUP_COUNT, group.getJvms().size());
+            assertEquals(WEB_SERVER_COUNT / GROUP_COUNT, group.getWebServers().size());
+            for (final Jvm jvm : group.getJvms()) {
+                assertEquals(2, jvm.getGroups().size());
+            }
+        }
+    }
+
+    @Test
+    public void testDetachedJvmWithoutItsGroupsFailsWhenItsGroupsAreRead() {
+        final Long id = jvmCrudService.findAll().get(0).getId();
+        entityManager.clear();
+        final JpaJvm jpaJvm = jvmCrudService.findById(id);
+        entityManager.clear();
+        try {
+            new JvmBuilder(jpaJvm).build();
+            fail("The groups of a JVM that were not loaded should not be read as no groups");
+        } catch (final IllegalStateException e) {
+            LOGGER.info("Reading the unloaded groups of a detached JVM failed as expected", e);
+        }
+    }
+
+    @Test
+    public void testDetachedWebServerWithoutItsGroupsFailsWhenItsGroupsAreRead() {
+        final Long id = webServerCrudService.findAll().get(0).getId();
+        entityManager.clear();
+        final JpaWebServer jpaWebServer = webServerCrudService.findById(id);
+        entityManager.clear();
+        try {
+            jpaWebServer.getGroups();
+            fail("The groups of a web server that were not loaded should not be read as no groups");
+        } catch (final IllegalStateException e) {
+            LOGGER.info("Reading the unloaded groups of a detached web server failed as expected", e);
+        }
+    }
+
+    private long startNanos;
+
+    private void start() {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        StatementCounter.reset();
+        startNanos = System.nanoTime();
+    }
+
+    private int stop(final String operation) {
+        final int count = StatementCounter.getCount();
+        LOGGER.info("{} took {} statements and {} ms", operation, count, (System.nanoTime() - startNanos) / 1000000);
+        return count;
+    }
+}
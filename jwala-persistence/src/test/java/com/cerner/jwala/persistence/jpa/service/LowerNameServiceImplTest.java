@@ -0,0 +1,115 @@
+package com.cerner.jwala.persistence.jpa.service;
+
+import com.cerner.jwala.common.configuration.TestExecutionProfile;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
+import com.cerner.jwala.persistence.configuration.TestJpaConfiguration;
+import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
+import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
+import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
+import com.cerner.jwala.persistence.jpa.service.impl.GroupCrudServiceImpl;
+import com.cerner.jwala.persistence.jpa.service.impl.LowerNameServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.IfProfileValue;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Integration test for {@link LowerNameServiceImpl}
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@Transactional
+@EnableTransactionManagement
+@IfProfileValue(name = TestExecutionProfile.RUN_TEST_TYPES, value = TestExecutionProfile.INTEGRATION)
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class,
+        classes = {LowerNameServiceImplTest.Config.class, TestJpaConfiguration.class})
+public class LowerNameServiceImplTest {
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        LowerNameService getLowerNameService() {
+            return new LowerNameServiceImpl();
+        }
+
+        @Bean
+        GroupCrudService getGroupCrudService() {
+            return new GroupCrudServiceImpl();
+        }
+    }
+
+    @Autowired
+    private LowerNameService lowerNameService;
+
+    @Autowired
+    private GroupCrudService groupCrudService;
+
+    @PersistenceContext(unitName = "jwala-unit")
+    private EntityManager entityManager;
+
+    @Test
+    public void testFillInLowerNamesOfMigratedRowsWithATurkishDefaultLocale() {
+        final JpaGroup group = new JpaGroup();
+        group.setName("INFO-GROUP");
+        entityManager.persist(group);
+        final JpaGroup filledInGroup = new JpaGroup();
+        filledInGroup.setName("Filled-In-Group");
+        entityManager.persist(filledInGroup);
+        final JpaJvm jvm = new JpaJvm();
+        jvm.setName("JVM-LINUX");
+        jvm.setHostName("host");
+        jvm.setHttpPort(8080);
+        jvm.setHttpsPort(8443);
+        jvm.setRedirectPort(8443);
+        jvm.setShutdownPort(8005);
+        jvm.setAjpPort(8009);
+        jvm.setStatusPath("/stp.png");
+        entityManager.persist(jvm);
+        final JpaWebServer webServer = new JpaWebServer();
+        webServer.setName("WEB-SERVER-IIS");
+        webServer.setHost("host");
+        webServer.setPort(80);
+        webServer.setHttpsPort(443);
+        webServer.setStatusPath("/apache_pb.png");
+        webServer.setState(WebServerReachableState.WS_NEW);
+        entityManager.persist(webServer);
+        entityManager.flush();
+
+        // the rows of a database upgraded by update.sql have no lower case name
+        entityManager.createNativeQuery("UPDATE GRP SET lowerName = NULL WHERE name = 'INFO-GROUP'").executeUpdate();
+        entityManager.createNativeQuery("UPDATE JVM SET lowerName = NULL").executeUpdate();
+        entityManager.createNativeQuery("UPDATE WEBSERVER SET lowerName = NULL").executeUpdate();
+        entityManager.clear();
+
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals(3, lowerNameService.fillInLowerNames());
+            entityManager.flush();
+            entityManager.clear();
+            // the data cache only gets the filled in names when the transaction commits
+            entityManager.getEntityManagerFactory().getCache().evictAll();
+
+            assertEquals("info-group", groupCrudService.getGroup("Info-Group").getLowerName());
+            assertEquals("filled-in-group", groupCrudService.getGroup("FILLED-IN-GROUP").getLowerName());
+            assertEquals("jvm-linux", entityManager.find(JpaJvm.class, jvm.getId()).getLowerName());
+            assertEquals("web-server-iis", entityManager.find(JpaWebServer.class, webServer.getId()).getLowerName());
+            assertEquals(0, lowerNameService.fillInLowerNames());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
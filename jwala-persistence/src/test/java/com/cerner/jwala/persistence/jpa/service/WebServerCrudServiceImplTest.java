@@ -118,6 +118,24 @@ public class WebServerCrudServiceImplTest {
         assertEquals(0, webServerCrudService.getWebServers().size());
     }
 
+    @Test
+    public void testGetWebServersForStatePolling() {
+        final WebServer createdWebServer = webServerCrudService.createWebServer(new WebServer(null,
+                new ArrayList<Group>(), "zWebServer", "zHost", 8080, 443, new Path("/stp.png"),
+                WebServerReachableState.WS_REACHABLE, null), "me");
+
+        final List<WebServer> webServers = webServerCrudService.getWebServersForStatePolling();
+        assertEquals(1, webServers.size());
+        final WebServer webServer = webServers.get(0);
+        assertEquals(createdWebServer.getId(), webServer.getId());
+        assertEquals("zWebServer", webServer.getName());
+        assertEquals("zHost", webServer.getHost());
+        assertEquals(Integer.valueOf(8080), webServer.getPort());
+        assertEquals(Integer.valueOf(443), webServer.getHttpsPort());
+        assertEquals(WebServerReachableState.WS_REACHABLE, webServer.getState());
+        assertEquals(createdWebServer.getStatusUri(), webServer.getStatusUri());
+    }
+
     @Test
     public void removeWebServersBelongingToTest() {
         JpaGroup group = new JpaGroup();
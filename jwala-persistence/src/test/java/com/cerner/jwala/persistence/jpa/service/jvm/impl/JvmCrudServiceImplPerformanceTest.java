@@ -0,0 +1,105 @@
+package com.cerner.jwala.persistence.jpa.service.jvm.impl;
+
+import com.cerner.jwala.common.configuration.PerformanceTest;
+import com.cerner.jwala.common.configuration.TestExecutionProfile;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.media.MediaType;
+import com.cerner.jwala.common.domain.model.path.Path;
+import com.cerner.jwala.common.request.jvm.CreateJvmRequest;
+import com.cerner.jwala.dao.MediaDao;
+import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
+import com.cerner.jwala.persistence.jpa.domain.JpaMedia;
+import com.cerner.jwala.persistence.jpa.domain.builder.JvmBuilder;
+import com.cerner.jwala.persistence.jpa.service.impl.JvmCrudServiceImpl;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.IfProfileValue;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares reading JVMs for state polling through the projection of {@link JvmCrudServiceImpl} against loading and
+ * converting the entities, it only runs with the performance tests
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@Category(PerformanceTest.class)
+@Transactional
+@EnableTransactionManagement
+@IfProfileValue(name = TestExecutionProfile.RUN_TEST_TYPES, value = TestExecutionProfile.INTEGRATION)
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class,
+        classes = {JvmCrudServiceImplTest.Config.class
+        })
+public class JvmCrudServiceImplPerformanceTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JvmCrudServiceImplPerformanceTest.class);
+    private static final int JVM_COUNT = 1000;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private JvmCrudServiceImpl jvmCrudService;
+
+    @Autowired
+    private MediaDao mediaDao;
+
+    @PersistenceContext(unitName = "jwala-unit")
+    private EntityManager entityManager;
+
+    @Test
+    public void testStatePollingProjectionAgainstEntities() {
+        final JpaMedia media = new JpaMedia();
+        media.setName("perf-media");
+        media.setType(MediaType.JDK);
+        media.setLocalPath(new File("d:/not/a/real/path.zip").toPath());
+        media.setRemoteDir(new File("d:/fake/remote/path").toPath());
+        media.setRootDir(new File("perf-media").toPath());
+        final JpaMedia jpaMedia = mediaDao.create(media);
+        for (int i = 0; i < JVM_COUNT; i++) {
+            jvmCrudService.createJvm(new CreateJvmRequest("perf-jvm-" + i, "perf-host-" + i, 10000 + i, 20000 + i, 0,
+                    0, 0, new Path("/stp.png"), StringUtils.EMPTY, null, null, null, null), jpaMedia, jpaMedia);
+        }
+        entityManager.flush();
+
+        long entityNanos = 0, projectionNanos = 0;
+        for (int run = -1; run < RUNS; run++) {
+            // the first run warms up both
+            entityManager.clear();
+            long start = System.nanoTime();
+            final List<Jvm> entityJvms = new ArrayList<>();
+            for (final JpaJvm jpaJvm : jvmCrudService.getJvms()) {
+                entityJvms.add(new JvmBuilder(jpaJvm).build());
+            }
+            if (run >= 0) {
+                entityNanos += System.nanoTime() - start;
+            }
+
+            entityManager.clear();
+            start = System.nanoTime();
+            final List<Jvm> projectionJvms = jvmCrudService.getJvmsForStatePolling();
+            if (run >= 0) {
+                projectionNanos += System.nanoTime() - start;
+            }
+
+            assertEquals(JVM_COUNT, entityJvms.size());
+            assertEquals(JVM_COUNT, projectionJvms.size());
+        }
+
+        LOGGER.info("Reading {} JVMs for state polling, entities: {} ms, projection: {} ms", JVM_COUNT,
+                entityNanos / RUNS / 1000000, projectionNanos / RUNS / 1000000);
+    }
+}
@@ -15,6 +15,7 @@ import com.cerner.jwala.dao.impl.MediaDaoImpl;
 import com.cerner.jwala.persistence.configuration.TestJpaConfiguration;
 import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
 import com.cerner.jwala.persistence.jpa.domain.JpaMedia;
+import com.cerner.jwala.persistence.jpa.domain.builder.JvmBuilder;
 import com.cerner.jwala.persistence.jpa.domain.resource.config.template.JpaJvmConfigTemplate;
 import com.cerner.jwala.persistence.jpa.service.impl.JvmCrudServiceImpl;
 import org.apache.commons.lang3.StringUtils;
@@ -32,10 +33,15 @@ import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
 
 import static org.junit.Assert.*;
@@ -57,6 +63,9 @@ public class JvmCrudServiceImplTest {
     @Autowired
     private MediaDao mediaDao;
 
+    @PersistenceContext(unitName = "jwala-unit")
+    private EntityManager entityManager;
+
     private User user;
     private Jvm jvm;
     private JpaMedia jpaMedia;
@@ -134,6 +143,39 @@ public class JvmCrudServiceImplTest {
         assertEquals(jvmOneOne.getName(), foundJvm.getJvmName());
     }
 
+    @Test
+    public void testFindJvmByExactNameIgnoresCase() {
+        CreateJvmRequest createJvmRequest = new CreateJvmRequest("Mixed-Case-JVM", "testHost", 9121, 9122, 9123, -1,
+                9124, new Path("./"), "", null, null, null, null);
+        JpaJvm jpaJvm = jvmCrudService.createJvm(createJvmRequest, jpaMedia, jpaMedia);
+        assertEquals("mixed-case-jvm", jpaJvm.getLowerName());
+        assertEquals("Mixed-Case-JVM", jvmCrudService.findJvmByExactName("MIXED-case-jvm").getJvmName());
+
+        jpaJvm.setName("Renamed-JVM");
+        entityManager.flush();
+        assertEquals("Renamed-JVM", jvmCrudService.findJvmByExactName("renamed-jvm").getJvmName());
+
+        // the lookup goes through the index on the lower case name
+        final Object plan = entityManager.createNativeQuery("EXPLAIN SELECT id FROM jvm WHERE lowerName = 'renamed-jvm'")
+                .getSingleResult();
+        assertTrue(plan.toString().contains("IDX_JVM_LOWER_NAME"));
+    }
+
+    @Test
+    public void testFindJvmByExactNameWithTurkishDefaultLocale() {
+        CreateJvmRequest createJvmRequest = new CreateJvmRequest("INSTANCE-1", "testHost", 9121, 9122, 9123, -1,
+                9124, new Path("./"), "", null, null, null, null);
+        jvmCrudService.createJvm(createJvmRequest, jpaMedia, jpaMedia);
+
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("INSTANCE-1", jvmCrudService.findJvmByExactName("INSTANCE-1").getJvmName());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
     @Test
     public void testUpdateState() throws InterruptedException {
         final CreateJvmRequest createJvmRequest = new CreateJvmRequest("jvmName", "hostName", 0, 0, 0, 0, 0,
@@ -161,6 +203,49 @@ public class JvmCrudServiceImplTest {
         assertEquals(1, jvmCrudService.updateState(jpaJvmId, JvmState.JVM_FAILED, "error!"));
     }
 
+    @Test
+    public void testGetJvmsForStatePolling() {
+        final List<Jvm> jvms = jvmCrudService.getJvmsForStatePolling();
+        assertEquals(1, jvms.size());
+        final Jvm polledJvm = jvms.get(0);
+        assertEquals(jvm.getId(), polledJvm.getId());
+        assertEquals("testJvmName", polledJvm.getJvmName());
+        assertEquals("testHostName", polledJvm.getHostName());
+        assertEquals(Integer.valueOf(100), polledJvm.getHttpPort());
+        assertEquals(Integer.valueOf(101), polledJvm.getHttpsPort());
+        assertEquals(new Path("./jwala.png"), polledJvm.getStatusPath());
+        assertEquals(JvmState.JVM_NEW, polledJvm.getState());
+        assertNotNull(polledJvm.getLastUpdatedDate());
+    }
+
+    @Test
+    public void testStatePollingProjectionMatchesTheEntities() {
+        jvmCrudService.createJvm(new CreateJvmRequest("other-jvm", "other-host", 200, 201, 0, 0, 0,
+                new Path("/stp.png"), StringUtils.EMPTY, null, null, null, null), jpaMedia, jpaMedia);
+        entityManager.flush();
+        entityManager.clear();
+
+        final Map<Identifier<Jvm>, Jvm> entityJvms = new HashMap<>();
+        for (final JpaJvm jpaJvm : jvmCrudService.getJvms()) {
+            final Jvm entityJvm = new JvmBuilder(jpaJvm).build();
+            entityJvms.put(entityJvm.getId(), entityJvm);
+        }
+        final List<Jvm> projectionJvms = jvmCrudService.getJvmsForStatePolling();
+        assertEquals(2, projectionJvms.size());
+        assertEquals(entityJvms.keySet().size(), projectionJvms.size());
+        for (final Jvm projectionJvm : projectionJvms) {
+            final Jvm entityJvm = entityJvms.get(projectionJvm.getId());
+            assertNotNull(entityJvm);
+            assertEquals(entityJvm.getJvmName(), projectionJvm.getJvmName());
+            assertEquals(entityJvm.getHostName(), projectionJvm.getHostName());
+            assertEquals(entityJvm.getHttpPort(), projectionJvm.getHttpPort());
+            assertEquals(entityJvm.getHttpsPort(), projectionJvm.getHttpsPort());
+            assertEquals(entityJvm.getStatusPath(), projectionJvm.getStatusPath());
+            assertEquals(entityJvm.getState(), projectionJvm.getState());
+            assertEquals(entityJvm.getLastUpdatedDate(), projectionJvm.getLastUpdatedDate());
+        }
+    }
+
     @Configuration
     @Import(TestJpaConfiguration.class)
     static class Config {
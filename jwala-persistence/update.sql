@@ -143,3 +143,23 @@ ALTER TABLE media ADD CONSTRAINT uq_media UNIQUE(NAME, TYPE);
 -- =================================================== --
 -- === END : UPGRADE FROM Jwala 0.0.38 to Jwala 0.0.216 === --
 -- =================================================== --
+
+-- =================================================== --
+-- === BEGIN: UPGRADE FROM Jwala 0.0.216 to Jwala 0.0.245 === --
+-- =================================================== --
+CREATE INDEX IF NOT EXISTS IDX_HISTORY_GROUP_CREATED ON history (groupId, createDate);
+CREATE INDEX IF NOT EXISTS IDX_HISTORY_SERVER_CREATED ON history (serverName, createDate);
+
+-- Add the lower case names that the case insensitive lookups by name use. Jwala fills them in when it starts, in
+-- Java, since LOWER depends on the locale of the database, e.g. it lower cases I to a dotless i in Turkish
+ALTER TABLE GRP ADD COLUMN IF NOT EXISTS lowerName VARCHAR(255);
+ALTER TABLE JVM ADD COLUMN IF NOT EXISTS lowerName VARCHAR(255);
+ALTER TABLE WEBSERVER ADD COLUMN IF NOT EXISTS lowerName VARCHAR(255);
+ALTER TABLE APP ADD COLUMN IF NOT EXISTS lowerName VARCHAR(255);
+CREATE INDEX IF NOT EXISTS IDX_GRP_LOWER_NAME ON GRP (lowerName);
+CREATE INDEX IF NOT EXISTS IDX_JVM_LOWER_NAME ON JVM (lowerName);
+CREATE INDEX IF NOT EXISTS IDX_WEBSERVER_LOWER_NAME ON WEBSERVER (lowerName);
+CREATE INDEX IF NOT EXISTS IDX_APP_LOWER_NAME ON APP (lowerName);
+-- =================================================== --
+-- === END : UPGRADE FROM Jwala 0.0.216 to Jwala 0.0.245 === --
+-- =================================================== --
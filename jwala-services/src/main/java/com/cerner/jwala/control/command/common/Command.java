@@ -8,7 +8,9 @@ public enum Command {
     CHECK_FILE_EXISTS("test -e %s"),
     CREATE_DIR("if [ ! -e \"%s\" ]; then mkdir -p %s; fi;"),
     MOVE("mv %s %s"),
-    SCP("scp");
+    SCP("scp"),
+    SCP_BATCH("tar"),
+    SCP_AND_PLACE("tar");
 
     public String cmd;
 
@@ -0,0 +1,200 @@
+package com.cerner.jwala.control.command.common;
+
+import com.cerner.jwala.common.FileUtility;
+import com.cerner.jwala.common.FileUtilityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which control scripts were verified to be present on a remote host so that control operations
+ * don't have to check for the script on every invocation.
+ * <p>
+ * An entry records the SHA-256 checksum of the local script that was found or copied to the remote host and when that
+ * was verified. It stays valid until its time to live has elapsed, the local script changes or the entry is
+ * invalidated after a failed command.
+ */
+@Component
+public class RemoteScriptCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteScriptCache.class);
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long timeToLiveMillis;
+
+    /**
+     * @param timeToLiveMillis how long a verified script is trusted to be present, a value less than or equal to 0
+     *                         disables the cache
+     */
+    @Autowired
+    public RemoteScriptCache(@Value("${remote.script.cache.ttl.millis:600000}") final long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    public enum Status {
+        /**
+         * The script was verified to be present on the remote host and the local script has not changed since
+         */
+        VERIFIED,
+        /**
+         * Nothing is known about the script, its presence has to be checked
+         */
+        UNKNOWN,
+        /**
+         * The script was verified to be present on the remote host but the local script has changed since
+         */
+        CHANGED
+    }
+
+    /**
+     * Get what is known about a remote script
+     *
+     * @param host       the remote host
+     * @param remotePath the absolute path of the script on the remote host
+     * @param localPath  the path of the script that gets copied to the remote host
+     * @return the status of the remote script
+     */
+    public Status getStatus(final String host, final String remotePath, final String localPath) {
+        final Key key = new Key(host, remotePath);
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return Status.UNKNOWN;
+        }
+
+        if (System.currentTimeMillis() - entry.verifiedAt > timeToLiveMillis) {
+            entries.remove(key, entry);
+            return Status.UNKNOWN;
+        }
+
+        final File localFile = new File(localPath);
+        if (localFile.lastModified() == entry.lastModified && localFile.length() == entry.length) {
+            return Status.VERIFIED;
+        }
+
+        final String checksum = getCheckSum(localPath);
+        if (checksum == null) {
+            entries.remove(key, entry);
+            return Status.UNKNOWN;
+        }
+
+        if (checksum.equals(entry.checksum)) {
+            entries.replace(key, entry, new Entry(checksum, localFile.lastModified(), localFile.length(), entry.verifiedAt));
+            return Status.VERIFIED;
+        }
+
+        LOGGER.info("{} has changed since it was verified on {}:{}", localPath, host, remotePath);
+        entries.remove(key, entry);
+        return Status.CHANGED;
+    }
+
+    /**
+     * Record that the local script is present on the remote host
+     *
+     * @param host       the remote host
+     * @param remotePath the absolute path of the script on the remote host
+     * @param localPath  the path of the script that was copied to the remote host
+     */
+    public void put(final String host, final String remotePath, final String localPath) {
+        if (timeToLiveMillis <= 0) {
+            return;
+        }
+
+        final File localFile = new File(localPath);
+        final long lastModified = localFile.lastModified();
+        final long length = localFile.length();
+        final String checksum = getCheckSum(localPath);
+        if (checksum != null) {
+            entries.put(new Key(host, remotePath), new Entry(checksum, lastModified, length, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Forget what is known about a remote script e.g. after a command that uses it has failed
+     *
+     * @param host       the remote host
+     * @param remotePath the absolute path of the script on the remote host
+     */
+    public void invalidate(final String host, final String remotePath) {
+        if (entries.remove(new Key(host, remotePath)) != null) {
+            LOGGER.debug("Invalidated the cached presence of {}:{}", host, remotePath);
+        }
+    }
+
+    /**
+     * Forget everything known about the scripts of a remote host
+     *
+     * @param host the remote host
+     */
+    public void invalidateHost(final String host) {
+        entries.keySet().removeIf(key -> Objects.equals(key.host, host));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String getCheckSum(final String localPath) {
+        if (!new File(localPath).isFile()) {
+            LOGGER.debug("Cannot cache the presence of a remote script without the local script {}", localPath);
+            return null;
+        }
+        try {
+            return FileUtility.getCheckSum(localPath);
+        } catch (final FileUtilityException e) {
+            LOGGER.warn("Cannot cache the presence of a remote script without the checksum of {}: {}", localPath, e.getMessage());
+            return null;
+        }
+    }
+
+    private static class Key {
+        private final String host;
+        private final String remotePath;
+
+        Key(final String host, final String remotePath) {
+            this.host = host;
+            this.remotePath = remotePath;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return Objects.equals(host, key.host) && Objects.equals(remotePath, key.remotePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, remotePath);
+        }
+    }
+
+    private static class Entry {
+        private final String checksum;
+        private final long lastModified;
+        private final long length;
+        private final long verifiedAt;
+
+        Entry(final String checksum, final long lastModified, final long length, final long verifiedAt) {
+            this.checksum = checksum;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.verifiedAt = verifiedAt;
+        }
+    }
+}
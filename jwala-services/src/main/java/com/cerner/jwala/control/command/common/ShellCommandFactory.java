@@ -5,10 +5,14 @@ package com.cerner.jwala.control.command.common;
  */
 
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl;
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
 import com.cerner.jwala.commandprocessor.impl.jsch.JschScpCommandProcessorImpl;
 import com.cerner.jwala.common.exception.ApplicationException;
 import com.cerner.jwala.common.exec.*;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
+import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.common.properties.PropertyKeys;
 import com.cerner.jwala.control.configuration.SshConfig;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
 import com.cerner.jwala.service.exception.ApplicationServiceException;
@@ -20,6 +24,8 @@ import org.springframework.stereotype.Component;
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -65,6 +71,9 @@ public class ShellCommandFactory {
                 -> remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(host),new ExecCommand(String.format(Command.MOVE.get(), params[0], params[1])))));
         commands.put(Command.SCP.name(), (String host, String... params)
                 -> executeSCP(host, params[0], params[1]));
+        commands.put(Command.SCP_BATCH.name(), this::executeBatchSCP);
+        commands.put(Command.SCP_AND_PLACE.name(), (String host, String... params)
+                -> executeSCPAndPlace(host, params[0], params[1], Boolean.parseBoolean(params[2]), params[3]));
 
     }
 
@@ -89,4 +98,74 @@ public class ShellCommandFactory {
             throw new ApplicationException(ex);
         }
     }
+
+    /**
+     * Copies several files to a host in one go
+     *
+     * @param hostname the host where the files are copied to
+     * @param sourceAndDestinationPairs source and destination path pairs e.g. source1, destination1, source2, destination2
+     * @return the overall result, the standard output lists the result of each file
+     */
+    private RemoteCommandReturnInfo executeBatchSCP(String hostname, String... sourceAndDestinationPairs) {
+        try {
+            RemoteExecCommand command = new RemoteExecCommand(getConnection(hostname),
+                    new ExecCommand(concatArray(Command.SCP_BATCH.get(), sourceAndDestinationPairs)));
+            final JschScpBatchCommandProcessorImpl batchCommandProcessor = new JschScpBatchCommandProcessorImpl(
+                    sshConfig.getJschBuilder().build(), command,
+                    ApplicationProperties.getAsBoolean(PropertyKeys.JSCH_SCP_BATCH_COMPRESS.getPropertyName()));
+            batchCommandProcessor.processCommand();
+
+            final String fileReport = createFileReport(batchCommandProcessor.getSources(),
+                    batchCommandProcessor.getDestinations(), batchCommandProcessor.getFileResults());
+            LOGGER.debug("Batch scp to {} returned {}", hostname, fileReport);
+            return new RemoteCommandReturnInfo(batchCommandProcessor.getExecutionReturnCode().getReturnCode(),
+                    fileReport, batchCommandProcessor.getErrorOutputStr());
+        } catch (Exception ex) {
+            throw new ApplicationException(ex);
+        }
+    }
+
+    /**
+     * Lists the result of the copy of each file, the results are looked up by destination so that a source is never
+     * reported with the result of another file
+     *
+     * @param sources the source files
+     * @param destinations the destination of each source
+     * @param fileResults the results keyed by destination
+     * @return a line per file
+     */
+    static String createFileReport(List<String> sources, List<String> destinations, Map<String, FileResult> fileResults) {
+        final StringBuilder fileReport = new StringBuilder();
+        for (int i = 0; i < sources.size(); i++) {
+            final FileResult fileResult = fileResults.get(destinations.get(i));
+            if (fileResult == null) {
+                fileReport.append("No result for the copy of ");
+            } else {
+                fileReport.append(fileResult == FileResult.COPIED ? "Copied " : "Failed to copy ");
+            }
+            fileReport.append(sources.get(i)).append(" to ").append(destinations.get(i)).append('\n');
+        }
+        return fileReport.toString();
+    }
+
+    /**
+     * Copies a file to a host and places it at its destination in one remote invocation i.e. the parent directory is
+     * created, an existing destination is skipped or backed up and the copy is renamed over the destination
+     *
+     * @param hostname the host where the file is copied to
+     * @param source the local file
+     * @param destination the remote path
+     * @param overwrite if false, an existing destination is left as is
+     * @param backupSuffix the suffix appended to the path of the backup of an existing destination, empty for no backup
+     * @return the result where the standard output is the name of the {@link FileResult}
+     */
+    private RemoteCommandReturnInfo executeSCPAndPlace(String hostname, String source, String destination,
+                                                       boolean overwrite, String backupSuffix) {
+        try {
+            return JschScpBatchCommandProcessorImpl.copyAndPlace(sshConfig.getJschBuilder().build(),
+                    getConnection(hostname), source, destination, overwrite, backupSuffix.isEmpty() ? null : backupSuffix);
+        } catch (Exception ex) {
+            throw new ApplicationException(ex);
+        }
+    }
 }
@@ -13,6 +13,7 @@ import com.cerner.jwala.common.exec.*;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.properties.PropertyKeys;
+import com.cerner.jwala.control.command.common.RemoteScriptCache;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionControlService;
 import com.cerner.jwala.service.exception.ApplicationServiceException;
@@ -53,6 +54,9 @@ public class JvmCommandFactory {
     @Autowired
     private BinaryDistributionControlService binaryDistributionControlService;
 
+    @Autowired
+    private RemoteScriptCache remoteScriptCache;
+
     /**
      * @param jvm
      * @param operation
@@ -73,54 +77,84 @@ public class JvmCommandFactory {
         commands.put(JvmControlOperation.START.getExternalValue(), jvm -> {
             final String startScriptName = START_SCRIPT_NAME.getValue();
             checkExistsAndCopy(jvm, startScriptName);
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getShellCommand(startScriptName, jvm)));
+            return executeScript(jvm, startScriptName, getShellCommand(startScriptName, jvm));
         });
         commands.put(JvmControlOperation.STOP.getExternalValue(), jvm -> {
             checkExistsAndCopy(jvm, STOP_SCRIPT_NAME.getValue());
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getShellCommandForStopService(jvm)));
+            return executeScript(jvm, STOP_SCRIPT_NAME.getValue(), getShellCommandForStopService(jvm));
         });
         commands.put(JvmControlOperation.THREAD_DUMP.getExternalValue(), jvm -> {
             final String threadDumpScriptName = THREAD_DUMP_SCRIPT_NAME.getValue();
             checkExistsAndCopy(jvm, threadDumpScriptName);
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getExecCommandForThreadDump(threadDumpScriptName, jvm)));
+            return executeScript(jvm, threadDumpScriptName, getExecCommandForThreadDump(threadDumpScriptName, jvm));
         });
         commands.put(JvmControlOperation.HEAP_DUMP.getExternalValue(), jvm -> {
             final String heapDumpScriptName = HEAP_DUMP_SCRIPT_NAME.getValue();
             checkExistsAndCopy(jvm, heapDumpScriptName);
 
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getExecCommandForHeapDump(heapDumpScriptName, jvm)));
+            return executeScript(jvm, heapDumpScriptName, getExecCommandForHeapDump(heapDumpScriptName, jvm));
         });
         commands.put(JvmControlOperation.DEPLOY_JVM_ARCHIVE.getExternalValue(), jvm -> {
             checkExistsAndCopy(jvm, DEPLOY_CONFIG_ARCHIVE_SCRIPT_NAME.getValue());
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getExecCommandForDeploy(jvm)));
+            return executeScript(jvm, DEPLOY_CONFIG_ARCHIVE_SCRIPT_NAME.getValue(), getExecCommandForDeploy(jvm));
         });
         commands.put(JvmControlOperation.INSTALL_SERVICE.getExternalValue(), jvm -> {
             checkExistsAndCopy(jvm, INSTALL_SERVICE_SCRIPT_NAME.getValue());
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getExecCommandForInstallService(jvm)));
+            return executeScript(jvm, INSTALL_SERVICE_SCRIPT_NAME.getValue(), getExecCommandForInstallService(jvm));
         });
         commands.put(JvmControlOperation.DELETE_SERVICE.getExternalValue(), jvm -> {
             checkExistsAndCopy(jvm, DELETE_SERVICE_SCRIPT_NAME.getValue());
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getExecCommandForDeleteService(jvm)));
+            return executeScript(jvm, DELETE_SERVICE_SCRIPT_NAME.getValue(), getExecCommandForDeleteService(jvm));
         });
         commands.put(JvmControlOperation.CHECK_SERVICE_STATUS.getExternalValue(), jvm -> {
             checkExistsAndCopy(jvm, SERVICE_STATUS_SCRIPT_NAME.getValue());
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), getExecCommandForCheckServiceStatus(jvm)));
+            return executeScript(jvm, SERVICE_STATUS_SCRIPT_NAME.getValue(), getExecCommandForCheckServiceStatus(jvm));
         });
 
     }
 
+    /**
+     * Execute a command that runs a script which was checked with {@link #checkExistsAndCopy(Jvm, String)}. The
+     * cached presence of the script is invalidated if the command fails.
+     */
+    private RemoteCommandReturnInfo executeScript(Jvm jvm, String scriptName, ExecCommand execCommand) {
+        final String destAbsolutePath = getFullPathScript(jvm, scriptName);
+        final RemoteCommandReturnInfo returnInfo;
+        try {
+            returnInfo = remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(jvm), execCommand));
+        } catch (RuntimeException e) {
+            remoteScriptCache.invalidate(jvm.getHostName(), destAbsolutePath);
+            throw e;
+        }
+        if (returnInfo == null || returnInfo.retCode != 0) {
+            remoteScriptCache.invalidate(jvm.getHostName(), destAbsolutePath);
+        }
+        return returnInfo;
+    }
+
     private void checkExistsAndCopy(Jvm jvm, String scriptName) {
         final String destAbsolutePath = getFullPathScript(jvm, scriptName);
-        CommandOutput fileExistsResult = binaryDistributionControlService.checkFileExists(jvm.getHostName(), destAbsolutePath);
-        if (!fileExistsResult.getReturnCode().wasSuccessful()) {
-            copyScriptToRemoteDestination(jvm, scriptName, destAbsolutePath);
-        } else {
-            LOGGER.info("{} already exists. Continue with script execution", scriptName);
+        final String sourcePath = ApplicationProperties.getRequired("commands.scripts-path") + "/" + scriptName;
+        switch (remoteScriptCache.getStatus(jvm.getHostName(), destAbsolutePath, sourcePath)) {
+            case VERIFIED:
+                LOGGER.debug("{} was recently verified on {}. Continue with script execution", scriptName, jvm.getHostName());
+                return;
+            case CHANGED:
+                copyScriptToRemoteDestination(jvm, scriptName, destAbsolutePath);
+                break;
+            default:
+                CommandOutput fileExistsResult = binaryDistributionControlService.checkFileExists(jvm.getHostName(), destAbsolutePath);
+                if (!fileExistsResult.getReturnCode().wasSuccessful()) {
+                    copyScriptToRemoteDestination(jvm, scriptName, destAbsolutePath);
+                } else {
+                    LOGGER.info("{} already exists. Continue with script execution", scriptName);
+                }
         }
+        remoteScriptCache.put(jvm.getHostName(), destAbsolutePath, sourcePath);
     }
 
     private void copyScriptToRemoteDestination(Jvm jvm, String scriptName, String destAbsolutePath) {
-        LOGGER.info("{} does not exist at remote location. Performing secure copy.", scriptName);
+        LOGGER.info("{} does not exist at remote location or is out of date. Performing secure copy.", scriptName);
 
         // Don't use java.io.File here to get the parent directory from getFullPathScript - we need to use the
         // path derived from the method in order to support deploying JVMs across platforms (i.e. from a
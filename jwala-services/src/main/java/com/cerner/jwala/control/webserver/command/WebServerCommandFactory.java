@@ -15,6 +15,7 @@ import com.cerner.jwala.common.exec.*;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.properties.PropertyKeys;
+import com.cerner.jwala.control.command.common.RemoteScriptCache;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionControlService;
 import com.cerner.jwala.service.exception.ApplicationServiceException;
@@ -59,6 +60,10 @@ public class WebServerCommandFactory {
 
     @Autowired
     private ResourceContentGeneratorService resourceContentGeneratorService;
+
+    @Autowired
+    private RemoteScriptCache remoteScriptCache;
+
     /**
      * @param webserver the web server target for the command
      * @param operation the operation to be executed
@@ -79,28 +84,25 @@ public class WebServerCommandFactory {
         commands.put(WebServerControlOperation.START.getExternalValue(), webServer -> {
             final String startScriptName = START_SCRIPT_NAME.getValue();
             checkExistsAndCopy(webServer, startScriptName);
-            return remoteCommandExecutorService.executeCommand(
-                    new RemoteExecCommand(getConnection(webServer), getShellCommand(startScriptName,
-                            webServer,
-                            webServer.getName())));
+            return executeScript(webServer, startScriptName, getShellCommand(startScriptName,
+                    webServer,
+                    webServer.getName()));
         });
 
 
         commands.put(WebServerControlOperation.STOP.getExternalValue(), webServer -> {
             final String stopScriptName = STOP_SCRIPT_NAME.getValue();
             checkExistsAndCopy(webServer, stopScriptName);
-            return remoteCommandExecutorService.executeCommand(
-                    new RemoteExecCommand(getConnection(webServer), getShellCommand(stopScriptName,
-                            webServer,
-                            webServer.getName())));
+            return executeScript(webServer, stopScriptName, getShellCommand(stopScriptName,
+                    webServer,
+                    webServer.getName()));
         });
 
         commands.put(WebServerControlOperation.DELETE_SERVICE.getExternalValue(), webServer -> {
             final String deleteServiceScriptName = DELETE_SERVICE_SCRIPT_NAME.getValue();
             checkExistsAndCopy(webServer, deleteServiceScriptName);
-            return remoteCommandExecutorService.executeCommand(
-                    new RemoteExecCommand(getConnection(webServer), getExecCommand(deleteServiceScriptName,
-                            webServer)));
+            return executeScript(webServer, deleteServiceScriptName, getExecCommand(deleteServiceScriptName,
+                    webServer));
         });
 
         commands.put(WebServerControlOperation.INSTALL_SERVICE.getExternalValue(), webServer -> {
@@ -109,8 +111,8 @@ public class WebServerCommandFactory {
 
             final String apacheHttpdDir = webServer.getApacheHttpdMedia().getRemoteDir().toString() + "/" + webServer.getApacheHttpdMedia().getRootDir().normalize().toString();
 
-            return remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(webServer),
-                    getShellCommand(installServiceWsScriptName, webServer, getHttpdConfPath(webServer), apacheHttpdDir)));
+            return executeScript(webServer, installServiceWsScriptName,
+                    getShellCommand(installServiceWsScriptName, webServer, getHttpdConfPath(webServer), apacheHttpdDir));
         });
 
         commands.put(WebServerControlOperation.VIEW_HTTP_CONFIG_FILE.getExternalValue(), (WebServer webServer)
@@ -149,18 +151,52 @@ public class WebServerCommandFactory {
     }
 
     /**
-     * Check to see if the script exists and copy it to the remote server if it doesn't
+     * Check to see if the script exists and copy it to the remote server if it doesn't. The check is skipped while the
+     * script is known to be present and up to date on the remote server.
      * @param webserver the target web server of the script execution
      * @param scriptName the name of the script to be executed
      */
     private void checkExistsAndCopy(WebServer webserver, String scriptName) {
         final String destAbsolutePath = getFullPathScript(scriptName, webserver.getName());
-        final CommandOutput fileExistsResult = binaryDistributionControlService.checkFileExists(webserver.getHost(), destAbsolutePath);
-        if (!fileExistsResult.getReturnCode().wasSuccessful()) {
-            copyScriptToRemoteDestination(webserver, scriptName, destAbsolutePath);
-        } else {
-            LOGGER.info("{} already exists. Continue with script execution", scriptName);
+        final String sourcePath = ApplicationProperties.getRequired("commands.scripts-path") + "/" + scriptName;
+        switch (remoteScriptCache.getStatus(webserver.getHost(), destAbsolutePath, sourcePath)) {
+            case VERIFIED:
+                LOGGER.debug("{} was recently verified on {}. Continue with script execution", scriptName, webserver.getHost());
+                return;
+            case CHANGED:
+                copyScriptToRemoteDestination(webserver, scriptName, destAbsolutePath);
+                break;
+            default:
+                final CommandOutput fileExistsResult = binaryDistributionControlService.checkFileExists(webserver.getHost(), destAbsolutePath);
+                if (!fileExistsResult.getReturnCode().wasSuccessful()) {
+                    copyScriptToRemoteDestination(webserver, scriptName, destAbsolutePath);
+                } else {
+                    LOGGER.info("{} already exists. Continue with script execution", scriptName);
+                }
+        }
+        remoteScriptCache.put(webserver.getHost(), destAbsolutePath, sourcePath);
+    }
+
+    /**
+     * Execute a command that runs a script which was checked with {@link #checkExistsAndCopy(WebServer, String)}
+     * @param webserver the target web server of the script execution
+     * @param scriptName the name of the script to be executed
+     * @param execCommand the command that runs the script
+     * @return the result of the executed command, the cached presence of the script is invalidated if it failed
+     */
+    private RemoteCommandReturnInfo executeScript(WebServer webserver, String scriptName, ExecCommand execCommand) {
+        final String destAbsolutePath = getFullPathScript(scriptName, webserver.getName());
+        final RemoteCommandReturnInfo returnInfo;
+        try {
+            returnInfo = remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(webserver), execCommand));
+        } catch (RuntimeException e) {
+            remoteScriptCache.invalidate(webserver.getHost(), destAbsolutePath);
+            throw e;
+        }
+        if (returnInfo == null || returnInfo.retCode != 0) {
+            remoteScriptCache.invalidate(webserver.getHost(), destAbsolutePath);
         }
+        return returnInfo;
     }
 
     /**
@@ -172,7 +208,7 @@ public class WebServerCommandFactory {
      * @param destAbsolutePath the destination of the script on the remote server
      */
     private void copyScriptToRemoteDestination(WebServer webserver, String scriptName, String destAbsolutePath) {
-        LOGGER.info("{} does not exist at remote location. Performing secure copy.", scriptName);
+        LOGGER.info("{} does not exist at remote location or is out of date. Performing secure copy.", scriptName);
 
         // Don't use java.io.File here to get the parent directory from getFullPathScript - we need to use the
         // path derived from the method in order to support deploying Web Servers across platforms (i.e. from a
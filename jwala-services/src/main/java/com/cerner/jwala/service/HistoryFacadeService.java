@@ -5,6 +5,7 @@ import com.cerner.jwala.persistence.jpa.type.EventType;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Brings history and messaging functionalities together
@@ -37,4 +38,9 @@ public interface HistoryFacadeService {
      * @param user the user
      */
     void write(String serverName, Group group, String event, EventType eventType, String user);
+
+    /**
+     * @return the metrics of the history written so far, e.g. the number of rows written and that failed to be written
+     */
+    Map<String, Object> getMetrics();
 }
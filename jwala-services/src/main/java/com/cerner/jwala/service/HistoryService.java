@@ -5,6 +5,7 @@ import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
 import com.cerner.jwala.persistence.jpa.domain.JpaHistory;
 import com.cerner.jwala.persistence.jpa.type.EventType;
 
+import java.util.Calendar;
 import java.util.List;
 
 /**
@@ -24,6 +25,13 @@ public interface HistoryService {
      */
     List<JpaHistory> createHistory(String serverName, List<Group> groups, String event, EventType eventType, String user);
 
+    /**
+     * Create several history rows at once.
+     * @param histories the rows to create, only the id of their group has to be set
+     * @return the created rows
+     */
+    List<JpaHistory> createHistory(List<JpaHistory> histories);
+
     /**
      * Retrieve history data.
      * @param groupName the group name
@@ -33,4 +41,22 @@ public interface HistoryService {
      */
     List<JpaHistory> findHistory(String groupName, String serverName, Integer numOfRec);
 
+    /**
+     * Retrieve a page of history data, newest first.
+     * @param groupName the group name
+     * @param serverName The server name, if null the history of all the servers belonging to the group will be queried.
+     * @param numOfRec The Number of records to fetch.
+     * @param beforeId the id of the last record of the previous page, if null the first page is retrieved
+     * @return a list of {@link JpaHistory}
+     */
+    List<JpaHistory> findHistory(String groupName, String serverName, Integer numOfRec, Long beforeId);
+
+    /**
+     * Delete a batch of history data in its own transaction.
+     * @param createdBefore the history created before this is deleted
+     * @param batchSize the maximum number of records to delete
+     * @return the number of deleted records
+     */
+    int purgeHistory(Calendar createdBefore, int batchSize);
+
 }
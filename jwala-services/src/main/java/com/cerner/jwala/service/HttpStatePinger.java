@@ -0,0 +1,31 @@
+package com.cerner.jwala.service;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the HTTP GET requests used to find out whether a JVM or a web server is up without holding a thread for each
+ * request in flight.
+ */
+public interface HttpStatePinger {
+
+    /**
+     * Send a GET request to a status URI
+     *
+     * @param uri                  the status URI
+     * @param connectTimeoutMillis the time allowed to connect to the host
+     * @param readTimeoutMillis    the time allowed for the response once the connection is established
+     * @return a {@link CompletableFuture} completed with the HTTP status code of the response or completed exceptionally
+     * with an {@link java.io.IOException} if the request failed or timed out. Dependent actions run in a callback
+     * thread, never in the I/O thread.
+     */
+    CompletableFuture<Integer> ping(URI uri, int connectTimeoutMillis, int readTimeoutMillis);
+
+    /**
+     * @return the number of requests in flight, completed, failed and timed out and the number of connections opened
+     * and reused
+     */
+    Map<String, Object> getMetrics();
+
+}
@@ -25,6 +25,6 @@ public class Message<B> {
 
     // Create additional types if needed
     public enum Type {
-        HISTORY, STATE
+        HISTORY, STATE, BATCH
     }
 }
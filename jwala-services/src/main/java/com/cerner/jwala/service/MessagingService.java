@@ -1,5 +1,9 @@
 package com.cerner.jwala.service;
 
+import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.state.StateType;
+
 /**
  * Defines a contract for a messaging service.
  *
@@ -9,4 +13,27 @@ public interface MessagingService {
 
     void send(Object payLoad);
 
+    /**
+     * Send a payload that is about a group, e.g. a history event, to the topic of the group as well
+     *
+     * @param payLoad the payload
+     * @param groupId the id of the group
+     */
+    void send(Object payLoad, Identifier<Group> groupId);
+
+    /**
+     * @param destination the destination the client subscribed to
+     * @return the full last sent state of every server and group sent to the destination with the sequence of the
+     * last batch sent to it, for clients that missed a batch
+     */
+    StateBatch getStateSnapshot(String destination);
+
+    /**
+     * Forget the state of a server that was deleted so that it is no longer part of the snapshots
+     *
+     * @param type the type of the state
+     * @param id the id of the server
+     */
+    void removeState(StateType type, Identifier<?> id);
+
 }
@@ -0,0 +1,44 @@
+package com.cerner.jwala.service;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Runs operations against remote hosts (control, generate and deploy operations) while limiting how many of them run
+ * at the same time overall and on each host.
+ * <p>
+ * Waiting operations are taken by priority and, within a priority, round robin across their queues (e.g. their group)
+ * so that a large group can't starve the others.
+ */
+public interface RemoteOperationScheduler {
+
+    enum Priority {
+        /**
+         * Start, stop and other control operations, these run ahead of deploy operations
+         */
+        CONTROL,
+        /**
+         * Generate and deploy operations
+         */
+        DEPLOY
+    }
+
+    /**
+     * Schedule an operation
+     *
+     * @param host      the host the operation runs against, null if the operation is not limited by a host
+     * @param queue     the queue of the operation e.g. the name of the group the operation was requested for
+     * @param priority  the {@link Priority} of the operation
+     * @param operation the operation
+     * @param <T>       the result type of the operation
+     * @return the {@link Future} of the operation
+     */
+    <T> Future<T> submit(String host, String queue, Priority priority, Callable<T> operation);
+
+    /**
+     * @return the limits, queue depths, running counts and wait times of the scheduler
+     */
+    Map<String, Object> getMetrics();
+
+}
@@ -0,0 +1,32 @@
+package com.cerner.jwala.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of a {@link Message.Type#BATCH} message: the state changes coalesced by {@link MessagingService} since the
+ * previous batch. Each update carries the type and id of the server or group and only the fields that changed since
+ * the last update that was sent for it.
+ */
+public class StateBatch {
+
+    private final long sequence;
+    private final List<Map<String, Object>> updates;
+
+    public StateBatch(final long sequence, final List<Map<String, Object>> updates) {
+        this.sequence = sequence;
+        this.updates = updates;
+    }
+
+    /**
+     * @return the number of the batch, incremented by one for each batch so that clients can detect a missed batch
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<Map<String, Object>> getUpdates() {
+        return updates;
+    }
+
+}
@@ -28,6 +28,7 @@ import com.cerner.jwala.persistence.service.GroupPersistenceService;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
 import com.cerner.jwala.persistence.service.ResourceDao;
 import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.app.ApplicationService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionControlService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager;
@@ -60,7 +61,7 @@ import java.util.concurrent.*;
 public class ApplicationServiceImpl implements ApplicationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationServiceImpl.class);
 
-    private final ExecutorService executorService;
+    private final RemoteOperationScheduler remoteOperationScheduler;
 
     @Autowired
     private ApplicationPersistenceService applicationPersistenceService;
@@ -92,7 +93,8 @@ public class ApplicationServiceImpl implements ApplicationService {
                                   final ResourceService resourceService,
                                   final BinaryDistributionService binaryDistributionService,
                                   final HistoryFacadeService historyFacadeService,
-                                  final BinaryDistributionLockManager binaryDistributionLockManager) {
+                                  final BinaryDistributionLockManager binaryDistributionLockManager,
+                                  final RemoteOperationScheduler remoteOperationScheduler) {
         this.applicationPersistenceService = applicationPersistenceService;
         this.jvmPersistenceService = jvmPersistenceService;
         this.groupPersistenceService = groupPersistenceService;
@@ -100,7 +102,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         this.resourceService = resourceService;
         this.binaryDistributionService = binaryDistributionService;
         this.binaryDistributionLockManager = binaryDistributionLockManager;
-        executorService = Executors.newFixedThreadPool(Integer.parseInt(ApplicationProperties.get("resources.thread-task-executor.pool.size", "25")));
+        this.remoteOperationScheduler = remoteOperationScheduler;
     }
 
 
@@ -416,7 +418,8 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     protected Future<CommandOutput> executeCopyCommand(final Application application, final File tempWarFile, final String destPath, final Jvm jvm, final String host) {
         final String name = application.getName();
-        Future<CommandOutput> commandOutputFuture = executorService.submit(new Callable<CommandOutput>() {
+        final String groupName = application.getGroup() == null ? null : application.getGroup().getName();
+        Future<CommandOutput> commandOutputFuture = remoteOperationScheduler.submit(host, groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<CommandOutput>() {
             @Override
             public CommandOutput call() throws Exception {
                 final String parentDir = destPath;
@@ -607,8 +610,8 @@ public class ApplicationServiceImpl implements ApplicationService {
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         final Map<String, Future<Set<CommandOutput>>> futures = new HashMap<>();
         for (final String host : hostNames) {
-            Future<Set<CommandOutput>> commandOutputFutureSet = executorService.submit
-                    (new Callable<Set<CommandOutput>>() {
+            Future<Set<CommandOutput>> commandOutputFutureSet = remoteOperationScheduler.submit
+                    (host, group.getName(), RemoteOperationScheduler.Priority.DEPLOY, new Callable<Set<CommandOutput>>() {
                          @Override
                          public Set<CommandOutput> call() throws Exception {
                              SecurityContext context = SecurityContextHolder.createEmptyContext();
@@ -3,6 +3,8 @@ package com.cerner.jwala.service.binarydistribution;
 import com.cerner.jwala.common.exec.CommandOutput;
 import com.cerner.jwala.exception.CommandFailureException;
 
+import java.util.List;
+
 /**
  * Created by Arvindo Kinny on 10/11/2016.
  */
@@ -83,4 +85,28 @@ public interface BinaryDistributionControlService {
      * @throws CommandFailureException exception thrown when the command fails
      */
     CommandOutput backupFileWithMove(final String hostname, final String remotePath) throws CommandFailureException;
+
+    /**
+     * Copies a file to a remote host with a single remote invocation which also creates the parent directory of the
+     * destination and backs up the destination if it already exists
+     *
+     * @param hostname Name of the host
+     * @param source the local file
+     * @param destination the remote path
+     * @return the output, the standard output is the name of the
+     * {@link com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult}
+     * @throws CommandFailureException exception thrown when the command fails
+     */
+    CommandOutput secureCopyAndPlaceFile(final String hostname, final String source, final String destination) throws CommandFailureException;
+
+    /**
+     * Computes the SHA-256 checksums of remote files with a single remote invocation
+     *
+     * @param hostname Name of the host
+     * @param remotePaths the remote files
+     * @return the output, the standard output has one line per remote path in the given order which is either the
+     * sha256sum output of the file or "-" if the file does not exist
+     * @throws CommandFailureException exception thrown when the command fails
+     */
+    CommandOutput checksumFiles(final String hostname, final List<String> remotePaths) throws CommandFailureException;
 }
@@ -1,5 +1,8 @@
 package com.cerner.jwala.service.binarydistribution;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Created by Arvindo Kinny on 1/17/2017.
  */
@@ -38,6 +41,15 @@ public interface DistributionService {
      */
     public void remoteSecureCopyFile(final String hostname, final String source, final String destination);
 
+    /**
+     * scp file to remote host, the parent directory of the destination is created and an existing destination is backed
+     * up with post fix UTC time stamp by the same remote invocation
+     * @param hostname
+     * @param source
+     * @param destination
+     */
+    public void remoteSecureCopyAndPlaceFile(final String hostname, final String source, final String destination);
+
     /**
      * Create remote directory, idempotent
      * @param hostname
@@ -60,4 +72,12 @@ public interface DistributionService {
      * @param remoteFilePath
      */
     public void backupFile(final String hostname, final String remoteFilePath) ;
+
+    /**
+     * Get the SHA-256 checksums of remote files with a single remote invocation
+     * @param hostname
+     * @param remoteFilePaths
+     * @return the checksums of the remote files that exist keyed by their path
+     */
+    public Map<String, String> remoteChecksums(final String hostname, final List<String> remoteFilePaths);
 }
@@ -1,5 +1,6 @@
 package com.cerner.jwala.service.binarydistribution.impl;
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl;
 import com.cerner.jwala.commandprocessor.impl.jsch.JschScpCommandProcessorImpl;
 import com.cerner.jwala.common.domain.model.ssh.SshConfiguration;
 import com.cerner.jwala.common.exception.ApplicationException;
@@ -17,7 +18,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import static com.cerner.jwala.control.AemControl.Properties.UNZIP_SCRIPT_NAME;
 
@@ -43,6 +47,7 @@ public class BinaryDistributionControlServiceImpl implements BinaryDistributionC
     private static String CHMOD = "chmod";
     private static String MOVE = "mv";
     private static String COPY = "cp";
+    private static String CHECKSUM = "do sha256sum \"$f\" 2>/dev/null || echo -; done";
 
     @Override
     public CommandOutput secureCopyFile(final String hostname, final String source, final String destination) throws CommandFailureException  {
@@ -58,6 +63,19 @@ public class BinaryDistributionControlServiceImpl implements BinaryDistributionC
         }
     }
 
+    @Override
+    public CommandOutput secureCopyAndPlaceFile(final String hostname, final String source, final String destination) throws CommandFailureException {
+        final String backupSuffix = "." + new SimpleDateFormat("yyyyMMdd_HHmmss").format(Date.from(Instant.now()));
+        try {
+            final RemoteCommandReturnInfo remoteCommandReturnInfo = JschScpBatchCommandProcessorImpl.copyAndPlace(
+                    sshConfig.getJschBuilder().build(), getConnection(hostname), source, destination, true, backupSuffix);
+            return new CommandOutput(new ExecReturnCode(remoteCommandReturnInfo.retCode),
+                    remoteCommandReturnInfo.standardOuput, remoteCommandReturnInfo.errorOupout);
+        } catch (Exception ex) {
+            throw new ApplicationException(ex);
+        }
+    }
+
     @Override
     public CommandOutput createDirectory(final String hostname, final String destination) throws CommandFailureException {
         ExecCommand command = new ExecCommand(String.format(CREATE_DIR, destination, destination));
@@ -121,6 +139,23 @@ public class BinaryDistributionControlServiceImpl implements BinaryDistributionC
         return commandOutput;
     }
 
+    @Override
+    public CommandOutput checksumFiles(final String hostname, final List<String> remotePaths) throws CommandFailureException {
+        // the paths are quoted so that each of them is one word whatever it contains, they are not passed through the
+        // backslash replacement of ExecCommand since it would break the quoting
+        final List<String> quotedPaths = new ArrayList<>();
+        for (final String remotePath : remotePaths) {
+            quotedPaths.add(JschScpBatchCommandProcessorImpl.quote(remotePath.replace("\\", "/")));
+        }
+        quotedPaths.add(";");
+        quotedPaths.add(CHECKSUM);
+        RemoteCommandReturnInfo remoteCommandReturnInfo = remoteCommandExecutorService.executeCommand(new RemoteExecCommand(getConnection(hostname),
+                new ExecCommand(Collections.singletonList("for f in"), quotedPaths)));
+        CommandOutput commandOutput = new CommandOutput(new ExecReturnCode(remoteCommandReturnInfo.retCode),
+                remoteCommandReturnInfo.standardOuput, remoteCommandReturnInfo.errorOupout);
+        return commandOutput;
+    }
+
     /**
      *
      * @param host
@@ -1,11 +1,13 @@
 package com.cerner.jwala.service.binarydistribution.impl;
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
 import com.cerner.jwala.common.JwalaUtils;
 import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.media.Media;
 import com.cerner.jwala.common.domain.model.ssh.SshConfiguration;
 import com.cerner.jwala.common.exception.InternalErrorException;
+import com.cerner.jwala.common.exec.CommandOutput;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.properties.PropertyKeys;
 import com.cerner.jwala.exception.CommandFailureException;
@@ -25,6 +27,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.cerner.jwala.control.AemControl.Properties.UNZIP_SCRIPT_NAME;
 
@@ -155,6 +160,37 @@ public class BinaryDistributionServiceImpl implements BinaryDistributionService
         }
     }
 
+    @Override
+    public void remoteSecureCopyAndPlaceFile(final String hostname, final String source, final String destination) {
+        try {
+            final CommandOutput commandOutput = binaryDistributionControlService.secureCopyAndPlaceFile(hostname, source, destination);
+            final FileResult fileResult = FileResult.valueOf(commandOutput.getStandardOutput());
+            if (fileResult == FileResult.COPIED) {
+                LOGGER.info("successfully copied {} over to {}", source, destination);
+                return;
+            }
+
+            final String message;
+            if (fileResult == FileResult.CREATE_DIR_FAILED) {
+                message = "User does not have permission to create the parent directory of " + destination;
+            } else if (fileResult == FileResult.BACKUP_FAILED) {
+                message = "Failed to back up " + destination + " on host " + hostname;
+            } else if (StringUtils.isNotEmpty(commandOutput.getStandardError())) {
+                message = "error with scp of " + source + " to destination " + destination + ": " +
+                        commandOutput.getStandardError();
+            } else {
+                message = "error with scp of " + source + " to destination " + destination;
+            }
+            LOGGER.error("{} :: ERROR: {}", message, commandOutput.getStandardError());
+            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, message);
+        } catch (CommandFailureException e) {
+            final String message = "Error issuing SCP to host " + hostname + " using source " + source +
+                    " and destination " + destination + ". Exception is " + e.getMessage();
+            LOGGER.error(message, e);
+            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, message, e);
+        }
+    }
+
     @Override
     public void remoteCreateDirectory(final String hostname, final String remoteDir) {
         LOGGER.debug("Attempting to create directory {} on host {}", remoteDir, hostname);
@@ -221,6 +257,39 @@ public class BinaryDistributionServiceImpl implements BinaryDistributionService
         binaryDistributionControlService.backupFileWithMove(hostname, remoteFilePath);
     }
 
+    @Override
+    public Map<String, String> remoteChecksums(final String hostname, final List<String> remoteFilePaths) {
+        final Map<String, String> checksums = new HashMap<>();
+        if (remoteFilePaths.isEmpty()) {
+            return checksums;
+        }
+
+        LOGGER.info("Getting the checksums of {} remote files on host {}", remoteFilePaths.size(), hostname);
+        final CommandOutput commandOutput;
+        try {
+            commandOutput = binaryDistributionControlService.checksumFiles(hostname, remoteFilePaths);
+        } catch (CommandFailureException e) {
+            final String message = "Error in getting the checksums of remote files at host: " + hostname;
+            LOGGER.error(message, e);
+            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, message, e);
+        }
+
+        final String[] lines = StringUtils.defaultString(commandOutput.getStandardOutput()).trim().split("\\r?\\n");
+        if (!commandOutput.getReturnCode().wasSuccessful() || lines.length != remoteFilePaths.size()) {
+            final String message = "Failed to get the checksums of remote files at host: " + hostname;
+            LOGGER.error("{} :: ERROR: {}", message, commandOutput.standardErrorOrStandardOut());
+            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, message);
+        }
+
+        for (int i = 0; i < lines.length; i++) {
+            final String checksum = StringUtils.substringBefore(lines[i].trim(), " ");
+            if (checksum.matches("[0-9a-fA-F]{64}")) {
+                checksums.put(remoteFilePaths.get(i), checksum.toLowerCase());
+            }
+        }
+        return checksums;
+    }
+
     /**
      * Checks if the binary media directories already exists
      *
@@ -1,6 +1,9 @@
 package com.cerner.jwala.service.configuration;
 
+import com.cerner.jwala.service.impl.spring.component.StompSessionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.AbstractWebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -19,6 +22,9 @@ public class WebSocketConfig extends AbstractWebSocketMessageBrokerConfigurer {
     public static final String TOPIC_BROKER = "/topic/";
     public static final String APP_DEST_PREFIX = "/app";
 
+    @Autowired
+    private StompSessionRegistry stompSessionRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker(TOPIC_BROKER);
@@ -30,4 +36,14 @@ public class WebSocketConfig extends AbstractWebSocketMessageBrokerConfigurer {
         registry.addEndpoint(END_POINT).withSockJS();
     }
 
-}
\ No newline at end of file
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.setInterceptors(stompSessionRegistry.getInboundInterceptor());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.setInterceptors(stompSessionRegistry.getOutboundInterceptor());
+    }
+
+}
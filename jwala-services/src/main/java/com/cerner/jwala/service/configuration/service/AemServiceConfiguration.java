@@ -2,6 +2,8 @@ package com.cerner.jwala.service.configuration.service;
 
 import com.cerner.jwala.commandprocessor.impl.jsch.JschBuilder;
 import com.cerner.jwala.commandprocessor.jsch.impl.ChannelSessionKey;
+import com.cerner.jwala.commandprocessor.jsch.impl.JschChannelPool;
+import com.cerner.jwala.commandprocessor.jsch.impl.JschSessionCache;
 import com.cerner.jwala.commandprocessor.jsch.impl.KeyedPooledJschChannelFactory;
 import com.cerner.jwala.common.FileUtility;
 import com.cerner.jwala.common.domain.model.id.Identifier;
@@ -23,7 +25,10 @@ import com.cerner.jwala.persistence.service.impl.JpaJvmPersistenceServiceImpl;
 import com.cerner.jwala.persistence.service.impl.ResourceDaoImpl;
 import com.cerner.jwala.service.HistoryFacadeService;
 import com.cerner.jwala.service.HistoryService;
+import com.cerner.jwala.service.HttpStatePinger;
+import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.app.ApplicationCommandService;
 import com.cerner.jwala.service.app.ApplicationService;
 import com.cerner.jwala.service.app.impl.ApplicationCommandServiceImpl;
@@ -46,8 +51,11 @@ import com.cerner.jwala.service.group.impl.GroupJvmControlServiceImpl;
 import com.cerner.jwala.service.group.impl.GroupServiceImpl;
 import com.cerner.jwala.service.group.impl.GroupWebServerControlServiceImpl;
 import com.cerner.jwala.service.impl.HistoryServiceImpl;
+import com.cerner.jwala.service.impl.NioHttpStatePingerImpl;
+import com.cerner.jwala.service.impl.RemoteOperationSchedulerImpl;
 import com.cerner.jwala.service.initializer.JGroupsClusterInitializer;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmService;
 import com.cerner.jwala.service.jvm.JvmStateService;
 import com.cerner.jwala.service.jvm.impl.JvmControlServiceImpl;
@@ -55,10 +63,13 @@ import com.cerner.jwala.service.jvm.impl.JvmServiceImpl;
 import com.cerner.jwala.service.jvm.state.JvmStateReceiverAdapter;
 import com.cerner.jwala.service.repository.RepositoryService;
 import com.cerner.jwala.service.resource.ResourceContentGeneratorService;
+import com.cerner.jwala.service.resource.ResourceGroupSnapshotService;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.resource.impl.ResourceServiceImpl;
 import com.cerner.jwala.service.resource.impl.handler.WebServerResourceHandler;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
+import com.cerner.jwala.service.state.impl.AdaptivePollScheduleImpl;
 import com.cerner.jwala.service.state.impl.InMemoryStateManagerServiceImpl;
 import com.cerner.jwala.service.webserver.WebServerCommandService;
 import com.cerner.jwala.service.webserver.WebServerControlService;
@@ -85,7 +96,6 @@ import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
@@ -127,9 +137,6 @@ public class AemServiceConfiguration {
     @Autowired
     private SshConfig sshConfig;
 
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-
     @Autowired
     private GenericKeyedObjectPool<ChannelSessionKey, Channel> channelPool;
 
@@ -167,13 +174,13 @@ public class AemServiceConfiguration {
     public JvmService getJvmService(final GroupPersistenceService groupPersistenceService,
                                     final ApplicationService applicationService,
                                     final ResourceService resourceService, final ClientFactoryHelper clientFactoryHelper,
-                                    @Value("${spring.messaging.topic.serverStates:/topic/server-states}") final String topicServerStates,
+                                    final MessagingService messagingService,
                                     final JvmControlService jvmControlService, final HistoryFacadeService historyFacadeService,
                                     final FileUtility fileUtility) {
         final JvmPersistenceService jvmPersistenceService = aemPersistenceServiceConfiguration.getJvmPersistenceService();
         return new JvmServiceImpl(jvmPersistenceService, groupPersistenceService, applicationService,
-                messagingTemplate, groupStateNotificationService, resourceService,
-                clientFactoryHelper, topicServerStates, jvmControlService, binaryDistributionService, binaryDistributionLockManager,
+                messagingService, groupStateNotificationService, resourceService,
+                clientFactoryHelper, jvmControlService, binaryDistributionService, binaryDistributionLockManager,
                 historyFacadeService, fileUtility);
     }
 
@@ -223,11 +230,12 @@ public class AemServiceConfiguration {
 
     @Bean
     public ApplicationService getApplicationService(final JvmPersistenceService jvmPersistenceService, final GroupPersistenceService groupPersistenceService,
-                                                    final ResourceService resourceService, final HistoryFacadeService historyFacadeService, BinaryDistributionLockManager lockManager) {
+                                                    final ResourceService resourceService, final HistoryFacadeService historyFacadeService, BinaryDistributionLockManager lockManager,
+                                                    final RemoteOperationScheduler remoteOperationScheduler) {
         return new ApplicationServiceImpl(aemPersistenceServiceConfiguration.getApplicationPersistenceService(),
                 jvmPersistenceService, groupPersistenceService,
                 resourceService,
-                binaryDistributionService, historyFacadeService, lockManager);
+                binaryDistributionService, historyFacadeService, lockManager, remoteOperationScheduler);
     }
 
     @Bean(name = "jvmControlService")
@@ -247,13 +255,25 @@ public class AemServiceConfiguration {
     }
 
     @Bean(name = "groupJvmControlService")
-    public GroupJvmControlService getGroupJvmControlService(final GroupService groupService, final JvmControlService jvmControlService) {
-        return new GroupJvmControlServiceImpl(groupService, jvmControlService);
+    public GroupJvmControlService getGroupJvmControlService(final GroupService groupService, final JvmControlService jvmControlService,
+                                                            final RemoteOperationScheduler remoteOperationScheduler) {
+        return new GroupJvmControlServiceImpl(groupService, jvmControlService, remoteOperationScheduler);
     }
 
     @Bean(name = "groupWebServerControlService")
-    public GroupWebServerControlService getGroupWebServerControlService(final GroupService groupService, final WebServerControlService webServerControlService) {
-        return new GroupWebServerControlServiceImpl(groupService, webServerControlService);
+    public GroupWebServerControlService getGroupWebServerControlService(final GroupService groupService, final WebServerControlService webServerControlService,
+                                                                        final RemoteOperationScheduler remoteOperationScheduler) {
+        return new GroupWebServerControlServiceImpl(groupService, webServerControlService, remoteOperationScheduler);
+    }
+
+    /**
+     * The scheduler that runs the group control, generate and deploy operations. The per host limit keeps the number of
+     * SSH sessions opened on a host below what its sshd accepts (MaxSessions/MaxStartups).
+     */
+    @Bean(name = "remoteOperationScheduler", destroyMethod = "shutdown")
+    public RemoteOperationScheduler getRemoteOperationScheduler(@Value("${remote.operation.max.concurrent:50}") final int maxConcurrent,
+                                                                @Value("${remote.operation.max.concurrent.per.host:10}") final int maxConcurrentPerHost) {
+        return new RemoteOperationSchedulerImpl(maxConcurrent, maxConcurrentPerHost);
     }
 
     @Bean(name = "webServerControlService")
@@ -288,11 +308,13 @@ public class AemServiceConfiguration {
                                               final WebServerResourceHandler webServerResourceHandler,
                                               final ResourceContentGeneratorService resourceContentGeneratorService,
                                               @Qualifier("resourceRepositoryService")
-                                              final RepositoryService repositoryService) {
+                                              final RepositoryService repositoryService,
+                                              final ResourceGroupSnapshotService resourceGroupSnapshotService) {
         return new ResourceServiceImpl(aemPersistenceServiceConfiguration.getResourcePersistenceService(),
                 aemPersistenceServiceConfiguration.getGroupPersistenceService(), applicationPersistenceService,
                 jvmPersistenceService, webServerPersistenceService, resourceDao, webServerResourceHandler,
-                resourceContentGeneratorService, binaryDistributionService, new Tika(), repositoryService);
+                resourceContentGeneratorService, binaryDistributionService, new Tika(), repositoryService,
+                resourceGroupSnapshotService);
     }
 
     @Bean
@@ -310,6 +332,45 @@ public class AemServiceConfiguration {
         return httpRequestFactory;
     }
 
+    /**
+     * The pinger that checks the JVM and web server states, it keeps all the requests in flight on one I/O thread
+     */
+    @Bean(name = "httpStatePinger", destroyMethod = "shutdown")
+    public HttpStatePinger getHttpStatePinger(@Qualifier("pollingThreadFactory") final ThreadFactory threadFactory,
+                                              @Value("${ping.http.keepAlive.millis:60000}") final long keepAliveMillis,
+                                              @Value("${ping.http.maxIdleConnectionsPerHost:2}") final int maxIdleConnectionsPerHost,
+                                              @Value("${ping.http.callback.pool.size:8}") final int callbackPoolSize) {
+        return new NioHttpStatePingerImpl(keepAliveMillis, maxIdleConnectionsPerHost, callbackPoolSize, threadFactory);
+    }
+
+    /**
+     * Decides when each JVM is pinged, a JVM that is stopping is pinged on every run
+     */
+    @Bean(name = "jvmPollSchedule")
+    public AdaptivePollSchedule<Identifier<Jvm>> getJvmPollSchedule(
+            @Value("${ping.jvm.transition.interval.millis:5000}") final long transitionIntervalMillis,
+            @Value("${ping.jvm.stable.interval.millis:60000}") final long stableIntervalMillis,
+            @Value("${ping.jvm.backoff.initial.millis:10000}") final long backoffInitialMillis,
+            @Value("${ping.jvm.backoff.max.millis:600000}") final long backoffMaxMillis,
+            @Value("${ping.jvm.jitter:0.2}") final double jitter) {
+        return new AdaptivePollScheduleImpl<>(transitionIntervalMillis, stableIntervalMillis, backoffInitialMillis,
+                backoffMaxMillis, jitter);
+    }
+
+    /**
+     * Decides when each web server is pinged, a web server that is not reachable is pinged less and less often
+     */
+    @Bean(name = "webServerPollSchedule")
+    public AdaptivePollSchedule<Identifier<WebServer>> getWebServerPollSchedule(
+            @Value("${ping.webServer.transition.interval.millis:5000}") final long transitionIntervalMillis,
+            @Value("${ping.webServer.stable.interval.millis:60000}") final long stableIntervalMillis,
+            @Value("${ping.webServer.backoff.initial.millis:10000}") final long backoffInitialMillis,
+            @Value("${ping.webServer.backoff.max.millis:600000}") final long backoffMaxMillis,
+            @Value("${ping.webServer.jitter:0.2}") final double jitter) {
+        return new AdaptivePollScheduleImpl<>(transitionIntervalMillis, stableIntervalMillis, backoffInitialMillis,
+                backoffMaxMillis, jitter);
+    }
+
     @Bean(name = "webServerStateRetrievalScheduledTaskHandler")
     public WebServerStateRetrievalScheduledTaskHandler getWebServerStateRetrievalScheduledTaskHandler(
             final WebServerService webServerService, final WebServerStateSetterWorker webServerStateSetterWorker) {
@@ -348,23 +409,72 @@ public class AemServiceConfiguration {
         return threadPoolTaskExecutor;
     }
 
+    /**
+     * Runs the independent stages of JVM generations concurrently. A stage never waits for another stage in this pool
+     * which is why the queue is unbounded.
+     */
+    @Bean(name = "jvmGenerationStageExecutor")
+    public TaskExecutor getJvmGenerationStageExecutor(@Value("${jvm.generation.stage.pool.size:25}") final int poolSize) {
+        final ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setAllowCoreThreadTimeOut(true);
+        threadPoolTaskExecutor.setThreadNamePrefix("jvm-generation-stage-");
+        return threadPoolTaskExecutor;
+    }
+
     @Bean
     public HistoryService getHistoryService(final HistoryCrudService historyCrudService) {
         return new HistoryServiceImpl(historyCrudService);
     }
 
     @Bean
-    public GenericKeyedObjectPool<ChannelSessionKey, Channel> getChannelPool(final SshConfig sshConfig) throws JSchException {
+    public JschChannelPool getChannelPool(final SshConfig sshConfig,
+                                          @Value("${jsch.channel.pool.max.total:-1}") final int maxTotal,
+                                          @Value("${jsch.channel.pool.max.total.per.key:10}") final int maxTotalPerKey,
+                                          @Value("${jsch.channel.pool.max.idle.per.key:10}") final int maxIdlePerKey,
+                                          @Value("${jsch.channel.pool.max.wait.millis:180000}") final long maxWaitMillis,
+                                          @Value("${jsch.channel.pool.test.on.borrow:true}") final boolean testOnBorrow,
+                                          @Value("${jsch.channel.pool.eviction.period.millis:60000}") final long evictionPeriod,
+                                          @Value("${jsch.channel.pool.min.evictable.idle.millis:300000}") final long minEvictableIdleTime)
+            throws JSchException {
         final GenericKeyedObjectPoolConfig genericKeyedObjectPoolConfig = new GenericKeyedObjectPoolConfig();
-        genericKeyedObjectPoolConfig.setMaxTotalPerKey(10);
+        genericKeyedObjectPoolConfig.setMaxTotal(maxTotal);
+        genericKeyedObjectPoolConfig.setMaxTotalPerKey(maxTotalPerKey);
+        genericKeyedObjectPoolConfig.setMaxIdlePerKey(maxIdlePerKey);
         genericKeyedObjectPoolConfig.setBlockWhenExhausted(true);
-        return new GenericKeyedObjectPool(new KeyedPooledJschChannelFactory(sshConfig.getJschBuilder().build()));
+        genericKeyedObjectPoolConfig.setMaxWaitMillis(maxWaitMillis);
+        genericKeyedObjectPoolConfig.setTestOnBorrow(testOnBorrow);
+        genericKeyedObjectPoolConfig.setTestWhileIdle(true);
+        genericKeyedObjectPoolConfig.setTimeBetweenEvictionRunsMillis(evictionPeriod);
+        genericKeyedObjectPoolConfig.setMinEvictableIdleTimeMillis(minEvictableIdleTime);
+        return new JschChannelPool(new KeyedPooledJschChannelFactory(sshConfig.getJschBuilder().build()),
+                genericKeyedObjectPoolConfig);
     }
 
     @Bean
+    public JschSessionCache getJschSessionCache(final JSch jsch,
+                                                @Value("${jsch.exec.session.max.channels:10}") final int maxChannelsPerSession,
+                                                @Value("${jsch.exec.session.idle.timeout.millis:300000}") final long idleTimeout,
+                                                @Value("${jsch.exec.session.borrow.timeout.millis:180000}") final long borrowTimeout) {
+        return new JschSessionCache(jsch, maxChannelsPerSession, idleTimeout, borrowTimeout);
+    }
+
+    /**
+     * The receiver of the JVM heartbeats, a worker takes the heartbeats from a bounded queue and updates the states
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
     public JvmStateReceiverAdapter getJvmReceiverAdapter(final JvmStateService jvmStateService,
-                                                         final JvmPersistenceService jvmPersistenceService) {
-        return new JvmStateReceiverAdapter(jvmStateService, jvmPersistenceService);
+                                                         final JvmPersistenceService jvmPersistenceService,
+                                                         final JvmMetricsService jvmMetricsService,
+                                                         @Qualifier("jvmInMemoryStateManagerService")
+                                                         final InMemoryStateManagerService<Identifier<Jvm>, CurrentState<Jvm, JvmState>> inMemoryStateManagerService,
+                                                         @Qualifier("pollingThreadFactory") final ThreadFactory threadFactory,
+                                                         @Value("${jvm.heartbeat.queue.capacity:10000}") final int queueCapacity,
+                                                         @Value("${jvm.heartbeat.batch.size:500}") final int batchSize,
+                                                         @Value("${jvm.heartbeat.refresh.millis:30000}") final long refreshMillis) {
+        return new JvmStateReceiverAdapter(jvmStateService, jvmPersistenceService, jvmMetricsService, inMemoryStateManagerService,
+                queueCapacity, batchSize, refreshMillis, threadFactory);
     }
 
     @Bean
@@ -2,9 +2,14 @@ package com.cerner.jwala.service.group;
 
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.jvm.JvmState;
 import com.cerner.jwala.common.domain.model.state.CurrentState;
 import com.cerner.jwala.common.domain.model.state.OperationalState;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -16,11 +21,24 @@ import java.util.Map;
 public interface GroupStateNotificationService {
 
     /**
-     * Retrieve the group state and send it to a topic.
-     * @param id the id
-     * @param aClass the class where the state belongs to.
+     * Update the counts of the groups a JVM belongs to and send their states to a topic.
+     * @param id the JVM id
+     * @param state the new state of the JVM
      */
-    void retrieveStateAndSend(Identifier id, Class aClass);
+    void jvmStateChanged(Identifier<Jvm> id, JvmState state);
+
+    /**
+     * Update the counts of the groups a web server belongs to and send their states to a topic.
+     * @param id the web server id
+     * @param state the new state of the web server
+     */
+    void webServerStateChanged(Identifier<WebServer> id, WebServerReachableState state);
+
+    /**
+     * Recount the JVMs and web servers of all the groups from the persistence context and send the states of the
+     * groups whose counts were out of date.
+     */
+    void reconcile();
 
     /**
      * Gets a group's state
@@ -34,4 +52,16 @@ public interface GroupStateNotificationService {
      */
     Map<String, CurrentState<Group, OperationalState>> getGroupStates();
 
+    /**
+     * @param id the JVM id
+     * @return the ids of the groups the JVM belongs to
+     */
+    List<Identifier<Group>> getJvmGroupIds(Identifier<Jvm> id);
+
+    /**
+     * @param id the web server id
+     * @return the ids of the groups the web server belongs to
+     */
+    List<Identifier<Group>> getWebServerGroupIds(Identifier<WebServer> id);
+
 }
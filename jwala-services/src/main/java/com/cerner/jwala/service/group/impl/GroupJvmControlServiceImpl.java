@@ -6,9 +6,9 @@ import com.cerner.jwala.common.domain.model.jvm.JvmControlOperation;
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
 import com.cerner.jwala.common.domain.model.user.User;
 import com.cerner.jwala.common.exec.CommandOutput;
-import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.request.group.ControlGroupJvmRequest;
 import com.cerner.jwala.common.request.jvm.ControlJvmRequest;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.group.GroupJvmControlService;
 import com.cerner.jwala.service.group.GroupService;
 import com.cerner.jwala.service.jvm.JvmControlService;
@@ -18,20 +18,19 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class GroupJvmControlServiceImpl implements GroupJvmControlService {
 
     private final GroupService groupService;
     private final JvmControlService jvmControlService;
-    private final ExecutorService executorService;
+    private final RemoteOperationScheduler remoteOperationScheduler;
     private final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(GroupJvmControlServiceImpl.class);
 
-    public GroupJvmControlServiceImpl(final GroupService theGroupService, final JvmControlService theJvmControlService) {
+    public GroupJvmControlServiceImpl(final GroupService theGroupService, final JvmControlService theJvmControlService,
+                                      final RemoteOperationScheduler theRemoteOperationScheduler) {
         groupService = theGroupService;
         jvmControlService = theJvmControlService;
-        executorService = Executors.newFixedThreadPool(Integer.parseInt(ApplicationProperties.get("thread-task-executor.group-control.pool.size", "25")));
+        remoteOperationScheduler = theRemoteOperationScheduler;
     }
 
     @Transactional
@@ -44,27 +43,33 @@ public class GroupJvmControlServiceImpl implements GroupJvmControlService {
 
         final Set<Jvm> jvms = group.getJvms();
         if (jvms != null) {
-            controlJvms(controlGroupJvmRequest, aUser, jvms);
+            controlJvms(controlGroupJvmRequest, aUser, group.getName(), jvms);
         }
     }
 
     @Override
     public void controlAllJvms(final ControlGroupJvmRequest controlGroupJvmRequest, final User user) {
-        Set<Jvm> jvms = new HashSet<>();
+        // a JVM that belongs to several groups is controlled once, in the queue of the first of its groups
+        final Set<Jvm> allJvms = new HashSet<>();
         for (Group group : groupService.getGroups()) {
             Set<Jvm> groupsJvms = group.getJvms();
             if (groupsJvms != null && !groupsJvms.isEmpty()) {
-                jvms.addAll(groupsJvms);
+                final Set<Jvm> jvms = new HashSet<>();
+                for (final Jvm jvm : groupsJvms) {
+                    if (allJvms.add(jvm)) {
+                        jvms.add(jvm);
+                    }
+                }
+                controlJvms(controlGroupJvmRequest, user, group.getName(), jvms);
             }
         }
-        LOGGER.info("jvm size to perform ControlJvms: " + jvms.size());
-        controlJvms(controlGroupJvmRequest, user, jvms);
+        LOGGER.info("jvm size to perform ControlJvms: " + allJvms.size());
     }
 
-    private void controlJvms(final ControlGroupJvmRequest controlGroupJvmRequest, final User user, Set<Jvm> jvms) {
+    private void controlJvms(final ControlGroupJvmRequest controlGroupJvmRequest, final User user, final String groupName, Set<Jvm> jvms) {
         for (final Jvm jvm : jvms) {
             if (!checkSameState(controlGroupJvmRequest.getControlOperation(), jvm.getState())) {
-                executorService.submit(new Callable<CommandOutput>() {
+                remoteOperationScheduler.submit(jvm.getHostName(), groupName, RemoteOperationScheduler.Priority.CONTROL, new Callable<CommandOutput>() {
                     @Override
                     public CommandOutput call() throws Exception {
                         ControlJvmRequest controlJvmRequest = new ControlJvmRequest(jvm.getId(), controlGroupJvmRequest.getControlOperation());
@@ -6,9 +6,9 @@ import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.domain.model.webserver.WebServerControlOperation;
 import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 import com.cerner.jwala.common.exec.CommandOutput;
-import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.request.webserver.ControlGroupWebServerRequest;
 import com.cerner.jwala.common.request.webserver.ControlWebServerRequest;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.group.GroupService;
 import com.cerner.jwala.service.group.GroupWebServerControlService;
 import com.cerner.jwala.service.webserver.WebServerControlService;
@@ -17,19 +17,18 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class GroupWebServerControlServiceImpl implements GroupWebServerControlService {
 
     private final GroupService groupService;
     private final WebServerControlService webServerControlService;
-    private final ExecutorService executorService;
+    private final RemoteOperationScheduler remoteOperationScheduler;
 
-    public GroupWebServerControlServiceImpl(final GroupService theGroupService, WebServerControlService theWebServerControlService) {
+    public GroupWebServerControlServiceImpl(final GroupService theGroupService, WebServerControlService theWebServerControlService,
+                                            final RemoteOperationScheduler theRemoteOperationScheduler) {
         groupService = theGroupService;
         webServerControlService = theWebServerControlService;
-        executorService = Executors.newFixedThreadPool(Integer.parseInt(ApplicationProperties.get("thread-task-executor.group-control.pool.size", "25")));
+        remoteOperationScheduler = theRemoteOperationScheduler;
     }
 
     @Transactional
@@ -42,26 +41,33 @@ public class GroupWebServerControlServiceImpl implements GroupWebServerControlSe
 
         final Set<WebServer> webServers = group.getWebServers();
         if (webServers != null) {
-            controlWebServers(controlGroupWebServerRequest, aUser, webServers);
+            controlWebServers(controlGroupWebServerRequest, aUser, group.getName(), webServers);
         }
     }
 
     @Override
     public void controlAllWebSevers(final ControlGroupWebServerRequest controlGroupWebServerRequest, final User user) {
-        Set<WebServer> webServers = new HashSet<>();
+        // a web server that belongs to several groups is controlled once, in the queue of the first of its groups
+        final Set<WebServer> allWebServers = new HashSet<>();
         for (Group group : groupService.getGroups()) {
             final Set<WebServer> groupWebServers = groupService.getGroupWithWebServers(group.getId()).getWebServers();
             if (groupWebServers != null && !groupWebServers.isEmpty()) {
-                webServers.addAll(groupWebServers);
+                final Set<WebServer> webServers = new HashSet<>();
+                for (final WebServer webServer : groupWebServers) {
+                    if (allWebServers.add(webServer)) {
+                        webServers.add(webServer);
+                    }
+                }
+                controlWebServers(controlGroupWebServerRequest, user, group.getName(), webServers);
             }
         }
-        controlWebServers(controlGroupWebServerRequest, user, webServers);
     }
 
-    private void controlWebServers(final ControlGroupWebServerRequest controlGroupWebServerRequest, final User user, Set<WebServer> webServers) {
+    private void controlWebServers(final ControlGroupWebServerRequest controlGroupWebServerRequest, final User user,
+                                   final String groupName, Set<WebServer> webServers) {
         for (final WebServer webServer : webServers) {
             if (!checkSameState(controlGroupWebServerRequest.getControlOperation(), webServer.getStateLabel().toString())) {
-                executorService.submit(new Callable<CommandOutput>() {
+                remoteOperationScheduler.submit(webServer.getHost(), groupName, RemoteOperationScheduler.Priority.CONTROL, new Callable<CommandOutput>() {
                     @Override
                     public CommandOutput call() throws Exception {
                         final ControlWebServerRequest controlWebServerRequest = new ControlWebServerRequest(webServer.getId(), controlGroupWebServerRequest.getControlOperation());
@@ -3,31 +3,45 @@ package com.cerner.jwala.service.group.impl.spring.component;
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.jvm.JvmState;
 import com.cerner.jwala.common.domain.model.state.CurrentState;
 import com.cerner.jwala.common.domain.model.state.OperationalState;
 import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
 import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
 import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
 import com.cerner.jwala.persistence.jpa.service.GroupCrudService;
 import com.cerner.jwala.persistence.jpa.service.JvmCrudService;
 import com.cerner.jwala.persistence.jpa.service.WebServerCrudService;
 import com.cerner.jwala.service.MessagingService;
-import com.cerner.jwala.service.exception.GroupStateNotificationServiceException;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * {@link GroupStateNotificationService} implementation.
+ * <p>
+ * The JVM and web server counts of each group are kept in memory. A state change moves the server from one counter to
+ * another in each of its groups and sends the new counts, no query is run and only the changed server is locked.
+ * The counts are rebuilt from the database when the service starts, when the topology kept by
+ * {@link TopologyChangeListener} changes (e.g. a JVM was added to a group) and periodically to catch state changes
+ * that were not reported.
  *
  * Created by Jedd Cuison on 3/14/2016.
  */
@@ -44,87 +58,317 @@ public class GroupStateNotificationServiceImpl implements GroupStateNotification
 
     private final MessagingService messagingService;
 
-    private Object lockObject = new Object();
+    private final LongSupplier topologyVersion;
 
-    private Map<String, CurrentState<Group, OperationalState>> groupStateMap = new HashMap<>();
+    private volatile Topology topology;
 
+    @Autowired
     public GroupStateNotificationServiceImpl(final GroupCrudService groupCrudService, JvmCrudService jvmCrudService,
                                              final WebServerCrudService webServerCrudService, final MessagingService messagingService) {
+        this(groupCrudService, jvmCrudService, webServerCrudService, messagingService, TopologyChangeListener::getVersion);
+    }
+
+    /**
+     * @param topologyVersion supplies the version of the topology, the counts are rebuilt when it changes
+     */
+    public GroupStateNotificationServiceImpl(final GroupCrudService groupCrudService, JvmCrudService jvmCrudService,
+                                             final WebServerCrudService webServerCrudService, final MessagingService messagingService,
+                                             final LongSupplier topologyVersion) {
         this.groupCrudService = groupCrudService;
         this.jvmCrudService = jvmCrudService;
         this.webServerCrudService = webServerCrudService;
         this.messagingService = messagingService;
-        fetchStates(groupCrudService.getGroups(), false);
+        this.topologyVersion = topologyVersion;
+        topology = buildTopology(topologyVersion.getAsLong());
     }
 
     @Override
-    @Async
-    @SuppressWarnings("unchecked")
-    public void retrieveStateAndSend(final Identifier id, final Class aClass) {
-        LOGGER.debug("Synchronizing on {} and {}...", id, aClass);
-        synchronized (lockObject) {
-            LOGGER.debug("Thread locked on {} and {}...!", id, aClass);
-            final List<JpaGroup> groups;
-            if (Jvm.class.getName().equals(aClass.getName())) {
-                final JpaJvm jvm = jvmCrudService.getJvm(id);
-                groups = jvm.getGroups();
-            } else if (WebServer.class.getName().equals(aClass.getName())) {
-                final JpaWebServer webServer = webServerCrudService.getWebServerAndItsGroups(id.getId());
-                groups = webServer.getGroups();
-            } else {
-                final String errMsg = "Invalid class parameter: " + aClass.getName() + "!";
-                LOGGER.error(errMsg);
-                throw new GroupStateNotificationServiceException(errMsg);
+    public void jvmStateChanged(final Identifier<Jvm> id, final JvmState state) {
+        final Member<JvmState> jvm = getTopology().jvms.get(id.getId());
+        if (jvm == null) {
+            LOGGER.debug("JVM {} does not belong to a group", id);
+            return;
+        }
+
+        synchronized (jvm) {
+            if (jvm.state == state) {
+                return;
+            }
+            for (final GroupCounters group : jvm.groups) {
+                group.moveJvm(jvm.state, state);
             }
-            fetchStates(groups, true);
+            jvm.state = state;
         }
-        LOGGER.debug("Thread locked on {} and {} released!", id, aClass);
+        send(jvm.groups);
     }
 
-    /**
-     * Fetch the jvm and web server states for a list of groups and save them in a map
-     * @param groups the groups whose jvm and web server states are to be retrieved
-     * @param send if true, the map is sent to a topic so a client process it
-     */
-    private void fetchStates(final List<JpaGroup> groups, boolean send) {
-        for (final JpaGroup group: groups) {
-            final Long jvmStartedCount = jvmCrudService.getJvmStartedCount(group.getName());
-            final Long jvmStoppedCount = jvmCrudService.getJvmStoppedCount(group.getName());
-            final Long jvmForciblyStoppedCount = jvmCrudService.getJvmForciblyStoppedCount(group.getName());
-            final Long jvmCount = jvmCrudService.getJvmCount(group.getName());
-            final Long webServerStartedCount = webServerCrudService.getWebServerStartedCount(group.getName());
-            final Long webServerStoppedCount = webServerCrudService.getWebServerStoppedCount(group.getName());
-            final Long webServerForciblyStoppedCount = webServerCrudService.getWebServerForciblyStoppedCount(group.getName());
-            final Long webServerCount = webServerCrudService.getWebServerCount(group.getName());
-            final CurrentState<Group, OperationalState> groupState = new CurrentState<>(new Identifier<>(group.getId()),
-                    null, DateTime.now(), StateType.GROUP, webServerCount, webServerStartedCount,
-                    webServerStoppedCount, webServerForciblyStoppedCount, jvmCount, jvmStartedCount, jvmStoppedCount,
-                    jvmForciblyStoppedCount);
-
-            if (send) {
-                messagingService.send(groupState);
+    @Override
+    public void webServerStateChanged(final Identifier<WebServer> id, final WebServerReachableState state) {
+        final Member<WebServerReachableState> webServer = getTopology().webServers.get(id.getId());
+        if (webServer == null) {
+            LOGGER.debug("Web server {} does not belong to a group", id);
+            return;
+        }
+
+        synchronized (webServer) {
+            if (webServer.state == state) {
+                return;
+            }
+            for (final GroupCounters group : webServer.groups) {
+                group.moveWebServer(webServer.state, state);
             }
+            webServer.state = state;
+        }
+        send(webServer.groups);
+    }
 
-            groupStateMap.put(group.getName(), groupState);
+    @Override
+    @Scheduled(fixedDelayString = "${group.state.reconcile.period.millis:600000}")
+    public void reconcile() {
+        final Topology previous = topology;
+        final Topology current;
+        synchronized (this) {
+            current = buildTopology(topologyVersion.getAsLong());
+            topology = current;
+        }
 
-            try {
-                Thread.sleep(100);
-            } catch (final InterruptedException e) {
-                LOGGER.error("Sleep interrupted while fetching state information for group {}", group.getName(), e);              
+        final List<GroupCounters> changedGroups = new ArrayList<>();
+        for (final GroupCounters group : current.groupsByName.values()) {
+            final GroupCounters previousGroup = previous.groupsByName.get(group.name);
+            if (previousGroup == null || !previousGroup.hasSameCounts(group)) {
+                changedGroups.add(group);
             }
-
-            groupStateMap.put(group.getName(), groupState);
         }
+        LOGGER.debug("Reconciled the group states, {} group(s) changed", changedGroups.size());
+        send(changedGroups);
     }
 
     @Override
     public CurrentState<Group, OperationalState> getGroupState(final String groupName) {
-        return groupStateMap.get(groupName);
+        final GroupCounters group = getTopology().groupsByName.get(groupName);
+        return group == null ? null : group.toCurrentState();
     }
 
     @Override
     public Map<String, CurrentState<Group, OperationalState>> getGroupStates() {
-        return groupStateMap;
+        final Map<String, CurrentState<Group, OperationalState>> groupStates = new LinkedHashMap<>();
+        for (final GroupCounters group : getTopology().groupsByName.values()) {
+            groupStates.put(group.name, group.toCurrentState());
+        }
+        return groupStates;
+    }
+
+    @Override
+    public List<Identifier<Group>> getJvmGroupIds(final Identifier<Jvm> id) {
+        return getGroupIds(getTopology().jvms.get(id.getId()));
+    }
+
+    @Override
+    public List<Identifier<Group>> getWebServerGroupIds(final Identifier<WebServer> id) {
+        return getGroupIds(getTopology().webServers.get(id.getId()));
+    }
+
+    private static List<Identifier<Group>> getGroupIds(final Member<?> member) {
+        if (member == null) {
+            return Collections.emptyList();
+        }
+        final List<Identifier<Group>> groupIds = new ArrayList<>(member.groups.size());
+        for (final GroupCounters group : member.groups) {
+            groupIds.add(group.id);
+        }
+        return groupIds;
+    }
+
+    private void send(final List<GroupCounters> groups) {
+        for (final GroupCounters group : groups) {
+            messagingService.send(group.toCurrentState());
+        }
+    }
+
+    /**
+     * @return the counts of the current topology, rebuilt from the database if the topology has changed
+     */
+    private Topology getTopology() {
+        // the version is read before building so that a change made while building leaves an outdated version
+        final long version = topologyVersion.getAsLong();
+        Topology current = topology;
+        if (current.version == version) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = topology;
+            if (current.version != version) {
+                current = buildTopology(version);
+                topology = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Count the JVMs and web servers of every group with one query each for the groups, JVMs and web servers, the
+     * groups of the JVMs and web servers are loaded with them through their fetch group
+     */
+    private Topology buildTopology(final long version) {
+        final long startTime = System.currentTimeMillis();
+        final Map<String, GroupCounters> groupsByName = new LinkedHashMap<>();
+        for (final JpaGroup group : groupCrudService.getGroups()) {
+            groupsByName.put(group.getName(), new GroupCounters(new Identifier<Group>(group.getId()), group.getName()));
+        }
+
+        final Map<Long, Member<JvmState>> jvms = new HashMap<>();
+        for (final JpaJvm jpaJvm : jvmCrudService.getJvms()) {
+            final List<GroupCounters> groups = getGroupCounters(groupsByName, jpaJvm.getGroups());
+            for (final GroupCounters group : groups) {
+                group.jvmCount.incrementAndGet();
+                group.moveJvm(null, jpaJvm.getState());
+            }
+            jvms.put(jpaJvm.getId(), new Member<>(groups, jpaJvm.getState()));
+        }
+
+        final Map<Long, Member<WebServerReachableState>> webServers = new HashMap<>();
+        for (final JpaWebServer jpaWebServer : webServerCrudService.findAll(JpaWebServer.FETCH_GROUP_GROUPS)) {
+            final List<GroupCounters> groups = getGroupCounters(groupsByName, jpaWebServer.getGroups());
+            for (final GroupCounters group : groups) {
+                group.webServerCount.incrementAndGet();
+                group.moveWebServer(null, jpaWebServer.getState());
+            }
+            webServers.put(jpaWebServer.getId(), new Member<>(groups, jpaWebServer.getState()));
+        }
+
+        LOGGER.debug("Counted the JVMs and web servers of {} group(s) for topology version {} in {} ms", groupsByName.size(),
+                version, System.currentTimeMillis() - startTime);
+        return new Topology(version, Collections.unmodifiableMap(groupsByName), Collections.unmodifiableMap(jvms),
+                Collections.unmodifiableMap(webServers));
+    }
+
+    private static List<GroupCounters> getGroupCounters(final Map<String, GroupCounters> groupsByName,
+                                                        final List<JpaGroup> jpaGroups) {
+        final List<GroupCounters> groups = new ArrayList<>();
+        if (jpaGroups != null) {
+            for (final JpaGroup jpaGroup : jpaGroups) {
+                final GroupCounters group = groupsByName.get(jpaGroup.getName());
+                if (group != null) {
+                    groups.add(group);
+                }
+            }
+        }
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * The counts of every group and the groups and last known state of every JVM and web server
+     */
+    private static class Topology {
+        private final long version;
+        private final Map<String, GroupCounters> groupsByName;
+        private final Map<Long, Member<JvmState>> jvms;
+        private final Map<Long, Member<WebServerReachableState>> webServers;
+
+        private Topology(final long version, final Map<String, GroupCounters> groupsByName,
+                         final Map<Long, Member<JvmState>> jvms, final Map<Long, Member<WebServerReachableState>> webServers) {
+            this.version = version;
+            this.groupsByName = groupsByName;
+            this.jvms = jvms;
+            this.webServers = webServers;
+        }
+    }
+
+    /**
+     * A JVM or web server, its state is guarded by the member itself
+     */
+    private static class Member<S> {
+        private final List<GroupCounters> groups;
+        private S state;
+
+        private Member(final List<GroupCounters> groups, final S state) {
+            this.groups = groups;
+            this.state = state;
+        }
+    }
+
+    private static class GroupCounters {
+        private final Identifier<Group> id;
+        private final String name;
+        private final AtomicLong jvmCount = new AtomicLong();
+        private final AtomicLong jvmStartedCount = new AtomicLong();
+        private final AtomicLong jvmStoppedCount = new AtomicLong();
+        private final AtomicLong jvmForciblyStoppedCount = new AtomicLong();
+        private final AtomicLong webServerCount = new AtomicLong();
+        private final AtomicLong webServerStartedCount = new AtomicLong();
+        private final AtomicLong webServerStoppedCount = new AtomicLong();
+        private final AtomicLong webServerForciblyStoppedCount = new AtomicLong();
+
+        private GroupCounters(final Identifier<Group> id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        private void moveJvm(final JvmState from, final JvmState to) {
+            move(getJvmCounter(from), getJvmCounter(to));
+        }
+
+        private void moveWebServer(final WebServerReachableState from, final WebServerReachableState to) {
+            move(getWebServerCounter(from), getWebServerCounter(to));
+        }
+
+        private static void move(final AtomicLong from, final AtomicLong to) {
+            if (from != null) {
+                from.decrementAndGet();
+            }
+            if (to != null) {
+                to.incrementAndGet();
+            }
+        }
+
+        private AtomicLong getJvmCounter(final JvmState state) {
+            if (state == null) {
+                return null;
+            }
+            switch (state) {
+                case JVM_STARTED:
+                    return jvmStartedCount;
+                case JVM_STOPPED:
+                    return jvmStoppedCount;
+                case FORCED_STOPPED:
+                    return jvmForciblyStoppedCount;
+                default:
+                    return null;
+            }
+        }
+
+        private AtomicLong getWebServerCounter(final WebServerReachableState state) {
+            if (state == null) {
+                return null;
+            }
+            switch (state) {
+                case WS_REACHABLE:
+                    return webServerStartedCount;
+                case WS_UNREACHABLE:
+                    return webServerStoppedCount;
+                case FORCED_STOPPED:
+                    return webServerForciblyStoppedCount;
+                default:
+                    return null;
+            }
+        }
+
+        private boolean hasSameCounts(final GroupCounters other) {
+            return jvmCount.get() == other.jvmCount.get() && jvmStartedCount.get() == other.jvmStartedCount.get() &&
+                    jvmStoppedCount.get() == other.jvmStoppedCount.get() &&
+                    jvmForciblyStoppedCount.get() == other.jvmForciblyStoppedCount.get() &&
+                    webServerCount.get() == other.webServerCount.get() &&
+                    webServerStartedCount.get() == other.webServerStartedCount.get() &&
+                    webServerStoppedCount.get() == other.webServerStoppedCount.get() &&
+                    webServerForciblyStoppedCount.get() == other.webServerForciblyStoppedCount.get();
+        }
+
+        private CurrentState<Group, OperationalState> toCurrentState() {
+            return new CurrentState<>(id, null, DateTime.now(), StateType.GROUP, webServerCount.get(),
+                    webServerStartedCount.get(), webServerStoppedCount.get(), webServerForciblyStoppedCount.get(),
+                    jvmCount.get(), jvmStartedCount.get(), jvmStoppedCount.get(), jvmForciblyStoppedCount.get());
+        }
     }
 
 }
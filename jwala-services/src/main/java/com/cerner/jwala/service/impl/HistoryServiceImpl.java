@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 
 /**
@@ -40,10 +41,29 @@ public class HistoryServiceImpl implements HistoryService {
         return jpaHistoryList;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<JpaHistory> createHistory(final List<JpaHistory> histories) {
+        return historyCrudService.createHistory(histories);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<JpaHistory> findHistory(final String groupName, final String serverName, final Integer numOfRec) {
         return historyCrudService.findHistory(groupName, serverName, numOfRec);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<JpaHistory> findHistory(final String groupName, final String serverName, final Integer numOfRec,
+                                        final Long beforeId) {
+        return historyCrudService.findHistory(groupName, serverName, numOfRec, beforeId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW) // Short transactions so that the purge doesn't hold locks.
+    public int purgeHistory(final Calendar createdBefore, final int batchSize) {
+        return historyCrudService.purgeHistory(createdBefore, batchSize);
+    }
+
 }
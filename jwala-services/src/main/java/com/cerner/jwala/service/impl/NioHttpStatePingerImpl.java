@@ -0,0 +1,704 @@
+package com.cerner.jwala.service.impl;
+
+import com.cerner.jwala.common.exception.ApplicationException;
+import com.cerner.jwala.service.HttpStatePinger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link HttpStatePinger} implementation that multiplexes all http requests on one non-blocking I/O thread.
+ * <p>
+ * Each request has its own connect and read deadline, which the I/O thread checks every
+ * {@value #DEADLINE_CHECK_PERIOD_MILLIS} ms. Connections are kept alive and reused for the next request to the same
+ * host and port. A request that fails on a reused connection before any byte of the response was read is retried once
+ * on a new connection since the host may have closed the idle connection in the meantime.
+ * <p>
+ * Futures are completed in a small callback pool so that the state updates chained to them never run in the I/O
+ * thread. Host names are resolved in the callback pool as well so that a slow lookup never blocks the caller. Https
+ * requests are not multiplexed, they are sent with a blocking {@link HttpURLConnection} from the callback pool.
+ */
+public class NioHttpStatePingerImpl implements HttpStatePinger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NioHttpStatePingerImpl.class);
+    private static final long DEADLINE_CHECK_PERIOD_MILLIS = 50;
+    private static final int DEFAULT_HTTP_PORT = 80;
+    private static final String HTTP = "http";
+
+    private final long keepAliveMillis;
+    private final int maxIdleConnectionsPerHost;
+    private final Selector selector;
+    private final Thread ioThread;
+    private final ThreadPoolExecutor callbackExecutor;
+    private final Queue<Request> pendingRequests = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    // only used by the I/O thread
+    private final Set<Connection> connections = new HashSet<>();
+    private final Map<String, ArrayDeque<Connection>> idleConnections = new HashMap<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+    private int idleConnectionCount;
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong connectionOpenedCount = new AtomicLong();
+    private final AtomicLong connectionReusedCount = new AtomicLong();
+    private volatile int openConnectionCountSnapshot;
+    private volatile int idleConnectionCountSnapshot;
+
+    /**
+     * @param keepAliveMillis           how long an idle connection is kept for the next request to the same host
+     * @param maxIdleConnectionsPerHost the maximum number of idle connections kept for a host
+     * @param callbackPoolSize          the number of threads that complete the futures
+     * @param threadFactory             creates the I/O thread and the callback threads
+     */
+    public NioHttpStatePingerImpl(final long keepAliveMillis, final int maxIdleConnectionsPerHost, final int callbackPoolSize,
+                                  final ThreadFactory threadFactory) {
+        this.keepAliveMillis = keepAliveMillis;
+        this.maxIdleConnectionsPerHost = maxIdleConnectionsPerHost;
+        try {
+            selector = Selector.open();
+        } catch (final IOException e) {
+            throw new ApplicationException("Failed to open the selector of the HTTP state pinger", e);
+        }
+        callbackExecutor = new ThreadPoolExecutor(callbackPoolSize, callbackPoolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), threadFactory);
+        ioThread = threadFactory.newThread(this::run);
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    @Override
+    public CompletableFuture<Integer> ping(final URI uri, final int connectTimeoutMillis, final int readTimeoutMillis) {
+        submittedCount.incrementAndGet();
+        final Request request = new Request(uri, connectTimeoutMillis, readTimeoutMillis);
+        if (!running) {
+            reject(request, new IOException("The HTTP state pinger is shut down"));
+            return request.future;
+        }
+
+        final boolean http = HTTP.equalsIgnoreCase(uri.getScheme());
+        if (http && uri.getHost() == null) {
+            reject(request, new UnknownHostException("No host in " + uri));
+            return request.future;
+        }
+
+        inFlightCount.incrementAndGet();
+        // the host name lookup may block, it must not hold back the caller (the state poll scheduler)
+        dispatch(http ? () -> resolve(request) : () -> pingBlocking(request));
+        return request.future;
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", inFlightCount.get());
+        metrics.put("submitted", submittedCount.get());
+        metrics.put("completed", completedCount.get());
+        metrics.put("failed", failedCount.get());
+        metrics.put("timedOut", timedOutCount.get());
+        metrics.put("openConnections", openConnectionCountSnapshot);
+        metrics.put("idleConnections", idleConnectionCountSnapshot);
+        metrics.put("connectionsOpened", connectionOpenedCount.get());
+        metrics.put("connectionsReused", connectionReusedCount.get());
+        return metrics;
+    }
+
+    /**
+     * Stop the I/O thread, requests still in flight fail
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callbackExecutor.shutdown();
+    }
+
+    private void run() {
+        long nextDeadlineCheck = 0;
+        while (running) {
+            try {
+                selector.select(DEADLINE_CHECK_PERIOD_MILLIS);
+                startPendingRequests();
+
+                final Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    final SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    handle((Connection) key.attachment(), key);
+                }
+
+                final long now = System.currentTimeMillis();
+                if (now >= nextDeadlineCheck) {
+                    checkDeadlines(now);
+                    nextDeadlineCheck = now + DEADLINE_CHECK_PERIOD_MILLIS;
+                }
+                openConnectionCountSnapshot = connections.size();
+                idleConnectionCountSnapshot = idleConnectionCount;
+            } catch (final IOException | RuntimeException e) {
+                LOGGER.error("Unexpected error in the I/O loop of the HTTP state pinger", e);
+            }
+        }
+        closeAll();
+    }
+
+    private void startPendingRequests() {
+        Request request;
+        while ((request = pendingRequests.poll()) != null) {
+            start(request);
+        }
+    }
+
+    private void start(final Request request) {
+        final Connection idleConnection = takeIdleConnection(request.hostKey);
+        if (idleConnection != null) {
+            connectionReusedCount.incrementAndGet();
+            idleConnection.reused = true;
+            idleConnection.assign(request, request.readTimeoutMillis);
+            idleConnection.key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            final Connection connection = new Connection(channel, request.hostKey);
+            connectionOpenedCount.incrementAndGet();
+            if (channel.connect(request.address)) {
+                connection.assign(request, request.readTimeoutMillis);
+                connection.key = channel.register(selector, SelectionKey.OP_WRITE, connection);
+            } else {
+                connection.assign(request, request.connectTimeoutMillis);
+                connection.key = channel.register(selector, SelectionKey.OP_CONNECT, connection);
+            }
+            connections.add(connection);
+        } catch (final IOException e) {
+            closeQuietly(channel);
+            fail(request, e, false);
+        }
+    }
+
+    private void handle(final Connection connection, final SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isConnectable()) {
+                connection.channel.finishConnect();
+                connection.deadline = System.currentTimeMillis() + connection.request.readTimeoutMillis;
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (key.isWritable()) {
+                connection.channel.write(connection.out);
+                if (!connection.out.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            } else if (key.isReadable()) {
+                read(connection);
+            }
+        } catch (final IOException e) {
+            failConnection(connection, e);
+        }
+    }
+
+    private void read(final Connection connection) throws IOException {
+        readBuffer.clear();
+        final int count = connection.channel.read(readBuffer);
+        final Request request = connection.request;
+        if (request == null) {
+            // the host closed an idle connection or sent something it should not have
+            close(connection);
+            return;
+        }
+
+        if (count < 0) {
+            if (!connection.parser.endOfStream()) {
+                throw new EOFException("Connection to " + connection.hostKey + " closed before the response was complete");
+            }
+        } else if (count > 0) {
+            connection.responseStarted = true;
+            readBuffer.flip();
+            connection.parser.parse(readBuffer);
+        }
+
+        if (connection.parser.hasStatus() && !request.completed) {
+            complete(request, connection.parser.getStatusCode());
+        }
+        if (connection.parser.isDone()) {
+            release(connection, count >= 0 && connection.parser.isKeepAlive());
+        }
+    }
+
+    private void release(final Connection connection, final boolean reusable) {
+        connection.request = null;
+        connection.parser = null;
+        if (!reusable || !running) {
+            close(connection);
+            return;
+        }
+
+        ArrayDeque<Connection> idle = idleConnections.get(connection.hostKey);
+        if (idle == null) {
+            idle = new ArrayDeque<>();
+            idleConnections.put(connection.hostKey, idle);
+        }
+        if (idle.size() >= maxIdleConnectionsPerHost) {
+            close(connection);
+            return;
+        }
+        connection.idleSince = System.currentTimeMillis();
+        connection.key.interestOps(SelectionKey.OP_READ);
+        idle.push(connection);
+        idleConnectionCount++;
+    }
+
+    private Connection takeIdleConnection(final String hostKey) {
+        final ArrayDeque<Connection> idle = idleConnections.get(hostKey);
+        if (idle == null) {
+            return null;
+        }
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            idleConnectionCount--;
+            if (connection.channel.isOpen() && connection.key.isValid()) {
+                break;
+            }
+            close(connection);
+        }
+        if (idle.isEmpty()) {
+            idleConnections.remove(hostKey);
+        }
+        return connection;
+    }
+
+    private void checkDeadlines(final long now) {
+        for (final Connection connection : new ArrayList<>(connections)) {
+            final Request request = connection.request;
+            if (request != null && now >= connection.deadline) {
+                final boolean connected = connection.channel.isConnected();
+                close(connection);
+                if (!request.completed) {
+                    fail(request, new SocketTimeoutException((connected ? "Read" : "Connect") + " timed out requesting " +
+                            request.uri), true);
+                }
+            } else if (request == null && now - connection.idleSince >= keepAliveMillis) {
+                close(connection);
+            }
+        }
+    }
+
+    private void failConnection(final Connection connection, final IOException e) {
+        final Request request = connection.request;
+        close(connection);
+        if (request == null || request.completed) {
+            return;
+        }
+
+        if (connection.reused && !connection.responseStarted && !request.retried) {
+            LOGGER.debug("Reused connection to {} failed, retrying on a new connection", connection.hostKey, e);
+            request.retried = true;
+            start(request);
+            return;
+        }
+        fail(request, e, false);
+    }
+
+    private void close(final Connection connection) {
+        if (connections.remove(connection) && connection.request == null) {
+            final ArrayDeque<Connection> idle = idleConnections.get(connection.hostKey);
+            if (idle != null && idle.remove(connection)) {
+                idleConnectionCount--;
+                if (idle.isEmpty()) {
+                    idleConnections.remove(connection.hostKey);
+                }
+            }
+        }
+        if (connection.key != null) {
+            connection.key.cancel();
+        }
+        closeQuietly(connection.channel);
+    }
+
+    private void closeAll() {
+        for (final Connection connection : new ArrayList<>(connections)) {
+            final Request request = connection.request;
+            close(connection);
+            if (request != null && !request.completed) {
+                fail(request, new IOException("The HTTP state pinger is shut down"), false);
+            }
+        }
+        Request request;
+        while ((request = pendingRequests.poll()) != null) {
+            fail(request, new IOException("The HTTP state pinger is shut down"), false);
+        }
+        try {
+            selector.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close the selector of the HTTP state pinger", e);
+        }
+    }
+
+    /**
+     * Resolve the host of a request in the callback pool and hand the request over to the I/O thread
+     */
+    private void resolve(final Request request) {
+        final String host = request.uri.getHost();
+        final int port = request.uri.getPort() == -1 ? DEFAULT_HTTP_PORT : request.uri.getPort();
+        final InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            fail(request, new UnknownHostException(host), false);
+            return;
+        }
+        request.address = address;
+        request.hostKey = host + ":" + port;
+        pendingRequests.add(request);
+        if (!running && pendingRequests.remove(request)) {
+            // the I/O thread already failed the pending requests on shutdown
+            fail(request, new IOException("The HTTP state pinger is shut down"), false);
+            return;
+        }
+        selector.wakeup();
+    }
+
+    private void pingBlocking(final Request request) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) request.uri.toURL().openConnection();
+            connection.setConnectTimeout(request.connectTimeoutMillis);
+            connection.setReadTimeout(request.readTimeoutMillis);
+            final int statusCode = connection.getResponseCode();
+            // read the body to the end so that the connection can be kept alive
+            final InputStream body = statusCode >= HttpURLConnection.HTTP_BAD_REQUEST ? connection.getErrorStream() :
+                    connection.getInputStream();
+            if (body != null) {
+                final byte[] buffer = new byte[1024];
+                while (body.read(buffer) != -1) {
+                    // discard
+                }
+                body.close();
+            }
+            complete(request, statusCode);
+        } catch (final SocketTimeoutException e) {
+            fail(request, e, true);
+        } catch (final IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            fail(request, e, false);
+        }
+    }
+
+    private void complete(final Request request, final int statusCode) {
+        request.completed = true;
+        inFlightCount.decrementAndGet();
+        completedCount.incrementAndGet();
+        dispatch(() -> request.future.complete(statusCode));
+    }
+
+    private void fail(final Request request, final IOException e, final boolean timedOut) {
+        inFlightCount.decrementAndGet();
+        if (timedOut) {
+            timedOutCount.incrementAndGet();
+        }
+        reject(request, e);
+    }
+
+    /**
+     * Fail a request that was never in flight
+     */
+    private void reject(final Request request, final IOException e) {
+        request.completed = true;
+        failedCount.incrementAndGet();
+        LOGGER.debug("Request to {} failed", request.uri, e);
+        dispatch(() -> request.future.completeExceptionally(e));
+    }
+
+    private void dispatch(final Runnable callback) {
+        try {
+            callbackExecutor.execute(callback);
+        } catch (final RejectedExecutionException e) {
+            callback.run();
+        }
+    }
+
+    private static void closeQuietly(final SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                LOGGER.debug("Failed to close a connection", e);
+            }
+        }
+    }
+
+    private static final class Request {
+        private final URI uri;
+        private final int connectTimeoutMillis;
+        private final int readTimeoutMillis;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+        private InetSocketAddress address;
+        private String hostKey;
+        private boolean retried;
+        private volatile boolean completed;
+
+        private Request(final URI uri, final int connectTimeoutMillis, final int readTimeoutMillis) {
+            this.uri = uri;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.readTimeoutMillis = readTimeoutMillis;
+        }
+
+        private ByteBuffer toByteBuffer() {
+            final String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            final String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+            final String host = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+            final String request = "GET " + path + query + " HTTP/1.1\r\n" +
+                    "Host: " + host + "\r\n" +
+                    "User-Agent: jwala\r\n" +
+                    "Accept: */*\r\n" +
+                    "Connection: keep-alive\r\n\r\n";
+            return ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final String hostKey;
+        private SelectionKey key;
+        private Request request;
+        private ByteBuffer out;
+        private ResponseParser parser;
+        private long deadline;
+        private long idleSince;
+        private boolean reused;
+        private boolean responseStarted;
+
+        private Connection(final SocketChannel channel, final String hostKey) {
+            this.channel = channel;
+            this.hostKey = hostKey;
+        }
+
+        private void assign(final Request request, final int timeoutMillis) {
+            this.request = request;
+            out = request.toByteBuffer();
+            parser = new ResponseParser();
+            responseStarted = false;
+            deadline = System.currentTimeMillis() + timeoutMillis;
+        }
+    }
+
+    /**
+     * Reads the status line and headers of a response and skips its body, which is delimited by a content length, by
+     * chunks or by the end of the stream
+     */
+    static final class ResponseParser {
+        private static final int MAX_LINE_LENGTH = 8192;
+
+        private enum State {STATUS_LINE, HEADERS, BODY, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, UNTIL_CLOSED, DONE}
+
+        private final StringBuilder line = new StringBuilder();
+        private State state = State.STATUS_LINE;
+        private int statusCode = -1;
+        private long remaining = -1;
+        private boolean chunked;
+        private boolean keepAlive = true;
+
+        void parse(final ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining() && state != State.DONE) {
+                switch (state) {
+                    case BODY:
+                    case CHUNK_DATA:
+                        final int skipped = (int) Math.min(remaining, buffer.remaining());
+                        buffer.position(buffer.position() + skipped);
+                        remaining -= skipped;
+                        if (remaining == 0) {
+                            state = state == State.BODY ? State.DONE : State.CHUNK_END;
+                        }
+                        break;
+                    case UNTIL_CLOSED:
+                        buffer.position(buffer.limit());
+                        break;
+                    default:
+                        if (readLine(buffer)) {
+                            onLine(line.toString());
+                            line.setLength(0);
+                        }
+                }
+            }
+        }
+
+        /**
+         * @return true if the end of the stream is the end of the response
+         */
+        boolean endOfStream() {
+            if (state == State.UNTIL_CLOSED) {
+                state = State.DONE;
+            }
+            keepAlive = false;
+            return state == State.DONE;
+        }
+
+        boolean hasStatus() {
+            return state != State.STATUS_LINE && state != State.HEADERS;
+        }
+
+        boolean isDone() {
+            return state == State.DONE;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        boolean isKeepAlive() {
+            return keepAlive;
+        }
+
+        private boolean readLine(final ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                final char c = (char) (buffer.get() & 0xFF);
+                if (c == '\n') {
+                    if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                        line.setLength(line.length() - 1);
+                    }
+                    return true;
+                }
+                if (line.length() >= MAX_LINE_LENGTH) {
+                    throw new IOException("Response line longer than " + MAX_LINE_LENGTH + " characters");
+                }
+                line.append(c);
+            }
+            return false;
+        }
+
+        private void onLine(final String text) throws IOException {
+            switch (state) {
+                case STATUS_LINE:
+                    onStatusLine(text);
+                    break;
+                case HEADERS:
+                    if (text.isEmpty()) {
+                        onHeadersEnd();
+                    } else {
+                        onHeader(text);
+                    }
+                    break;
+                case CHUNK_SIZE:
+                    final int extension = text.indexOf(';');
+                    try {
+                        remaining = Long.parseLong((extension == -1 ? text : text.substring(0, extension)).trim(), 16);
+                    } catch (final NumberFormatException e) {
+                        throw new IOException("Invalid chunk size " + text, e);
+                    }
+                    state = remaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+                    break;
+                case CHUNK_END:
+                    state = State.CHUNK_SIZE;
+                    break;
+                case TRAILERS:
+                    if (text.isEmpty()) {
+                        state = State.DONE;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected line in state " + state);
+            }
+        }
+
+        private void onStatusLine(final String text) throws IOException {
+            final String[] parts = text.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+                throw new IOException("Invalid status line " + text);
+            }
+            try {
+                statusCode = Integer.parseInt(parts[1]);
+            } catch (final NumberFormatException e) {
+                throw new IOException("Invalid status line " + text, e);
+            }
+            keepAlive = !"HTTP/1.0".equals(parts[0]);
+            remaining = -1;
+            chunked = false;
+            state = State.HEADERS;
+        }
+
+        private void onHeader(final String text) throws IOException {
+            final int colon = text.indexOf(':');
+            if (colon < 1) {
+                throw new IOException("Invalid header " + text);
+            }
+            final String name = text.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            final String value = text.substring(colon + 1).trim().toLowerCase(Locale.ROOT);
+            if ("content-length".equals(name)) {
+                try {
+                    remaining = Long.parseLong(value);
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Invalid content length " + value, e);
+                }
+            } else if ("transfer-encoding".equals(name)) {
+                chunked = value.contains("chunked");
+            } else if ("connection".equals(name)) {
+                if (value.contains("close")) {
+                    keepAlive = false;
+                } else if (value.contains("keep-alive")) {
+                    keepAlive = true;
+                }
+            }
+        }
+
+        private void onHeadersEnd() {
+            if (statusCode >= 100 && statusCode < 200) {
+                // an interim response, the final one follows
+                state = State.STATUS_LINE;
+            } else if (statusCode == 204 || statusCode == 304) {
+                state = State.DONE;
+            } else if (chunked) {
+                state = State.CHUNK_SIZE;
+            } else if (remaining >= 0) {
+                state = remaining == 0 ? State.DONE : State.BODY;
+            } else {
+                keepAlive = false;
+                state = State.UNTIL_CLOSED;
+            }
+        }
+    }
+}
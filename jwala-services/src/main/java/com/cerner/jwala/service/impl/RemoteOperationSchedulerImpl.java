@@ -0,0 +1,230 @@
+package com.cerner.jwala.service.impl;
+
+import com.cerner.jwala.service.RemoteOperationScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RemoteOperationScheduler} implementation.
+ * <p>
+ * Operations wait in per priority, per queue FIFO lists until a worker is free and their host is below its limit. An
+ * operation submitted from an operation that is already running is run right away in the calling thread, waiting for
+ * a worker there could deadlock the scheduler.
+ */
+public class RemoteOperationSchedulerImpl implements RemoteOperationScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteOperationSchedulerImpl.class);
+    private static final String DEFAULT_QUEUE = "";
+
+    private final int maxConcurrent;
+    private final int maxConcurrentPerHost;
+    private final ThreadPoolExecutor workers;
+    private final ThreadLocal<Boolean> worker = new ThreadLocal<>();
+
+    private final Object lock = new Object();
+    private final Map<Priority, LinkedHashMap<String, LinkedList<ScheduledOperation<?>>>> waiting = new EnumMap<>(Priority.class);
+    private final Map<String, Integer> runningPerHost = new HashMap<>();
+    private int running;
+    private int queued;
+    private long submittedCount;
+    private long startedCount;
+    private long completedCount;
+    private long inlineCount;
+    private long totalWaitTimeMillis;
+    private long maxWaitTimeMillis;
+
+    /**
+     * @param maxConcurrent        the maximum number of operations that run at the same time
+     * @param maxConcurrentPerHost the maximum number of operations that run at the same time against a host
+     */
+    public RemoteOperationSchedulerImpl(final int maxConcurrent, final int maxConcurrentPerHost) {
+        if (maxConcurrent < 1 || maxConcurrentPerHost < 1) {
+            throw new IllegalArgumentException("The concurrency limits of the remote operation scheduler must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        for (final Priority priority : Priority.values()) {
+            waiting.put(priority, new LinkedHashMap<String, LinkedList<ScheduledOperation<?>>>());
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        workers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "remote-operation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public <T> Future<T> submit(final String host, final String queue, final Priority priority, final Callable<T> operation) {
+        if (Boolean.TRUE.equals(worker.get())) {
+            LOGGER.debug("Running the operation for host {} submitted by a running operation in the calling thread", host);
+            final FutureTask<T> futureTask = new FutureTask<>(operation);
+            synchronized (lock) {
+                submittedCount++;
+                inlineCount++;
+            }
+            futureTask.run();
+            return futureTask;
+        }
+
+        final ScheduledOperation<T> scheduledOperation = new ScheduledOperation<>(host, operation);
+        synchronized (lock) {
+            final String queueName = queue == null ? DEFAULT_QUEUE : queue;
+            LinkedList<ScheduledOperation<?>> operations = waiting.get(priority).get(queueName);
+            if (operations == null) {
+                operations = new LinkedList<>();
+                waiting.get(priority).put(queueName, operations);
+            }
+            operations.add(scheduledOperation);
+            queued++;
+            submittedCount++;
+        }
+        dispatch();
+        return scheduledOperation;
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (lock) {
+            final Map<String, Integer> queuedPerPriority = new LinkedHashMap<>();
+            for (final Map.Entry<Priority, LinkedHashMap<String, LinkedList<ScheduledOperation<?>>>> entry : waiting.entrySet()) {
+                int count = 0;
+                for (final LinkedList<ScheduledOperation<?>> operations : entry.getValue().values()) {
+                    count += operations.size();
+                }
+                queuedPerPriority.put(entry.getKey().name(), count);
+            }
+            metrics.put("maxConcurrent", maxConcurrent);
+            metrics.put("maxConcurrentPerHost", maxConcurrentPerHost);
+            metrics.put("running", running);
+            metrics.put("queued", queued);
+            metrics.put("queuedPerPriority", queuedPerPriority);
+            metrics.put("runningPerHost", new HashMap<>(runningPerHost));
+            metrics.put("submittedCount", submittedCount);
+            metrics.put("completedCount", completedCount);
+            metrics.put("inlineCount", inlineCount);
+            metrics.put("meanWaitTimeMillis", startedCount == 0 ? 0 : totalWaitTimeMillis / startedCount);
+            metrics.put("maxWaitTimeMillis", maxWaitTimeMillis);
+        }
+        return metrics;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Start the waiting operations that can run
+     */
+    private void dispatch() {
+        final List<ScheduledOperation<?>> startable = new ArrayList<>();
+        synchronized (lock) {
+            ScheduledOperation<?> next;
+            while (running < maxConcurrent && (next = takeNext()) != null) {
+                running++;
+                if (next.host != null) {
+                    runningPerHost.put(next.host, getRunningCount(next.host) + 1);
+                }
+                final long waitTimeMillis = System.currentTimeMillis() - next.submittedAt;
+                startedCount++;
+                totalWaitTimeMillis += waitTimeMillis;
+                maxWaitTimeMillis = Math.max(maxWaitTimeMillis, waitTimeMillis);
+                startable.add(next);
+            }
+        }
+
+        for (final ScheduledOperation<?> scheduledOperation : startable) {
+            workers.execute(() -> run(scheduledOperation));
+        }
+    }
+
+    /**
+     * Take the first operation whose host is below its limit, the queue it was taken from goes to the back of the line
+     * of its priority
+     */
+    private ScheduledOperation<?> takeNext() {
+        for (final LinkedHashMap<String, LinkedList<ScheduledOperation<?>>> queues : waiting.values()) {
+            final Iterator<Map.Entry<String, LinkedList<ScheduledOperation<?>>>> queueIterator = queues.entrySet().iterator();
+            while (queueIterator.hasNext()) {
+                final Map.Entry<String, LinkedList<ScheduledOperation<?>>> queue = queueIterator.next();
+                final Iterator<ScheduledOperation<?>> operationIterator = queue.getValue().iterator();
+                while (operationIterator.hasNext()) {
+                    final ScheduledOperation<?> scheduledOperation = operationIterator.next();
+                    if (scheduledOperation.isCancelled()) {
+                        operationIterator.remove();
+                        queued--;
+                    } else if (scheduledOperation.host == null || getRunningCount(scheduledOperation.host) < maxConcurrentPerHost) {
+                        operationIterator.remove();
+                        queued--;
+                        queueIterator.remove();
+                        if (!queue.getValue().isEmpty()) {
+                            queues.put(queue.getKey(), queue.getValue());
+                        }
+                        return scheduledOperation;
+                    }
+                }
+                if (queue.getValue().isEmpty()) {
+                    queueIterator.remove();
+                }
+            }
+        }
+        return null;
+    }
+
+    private int getRunningCount(final String host) {
+        final Integer count = runningPerHost.get(host);
+        return count == null ? 0 : count;
+    }
+
+    private void run(final ScheduledOperation<?> scheduledOperation) {
+        worker.set(Boolean.TRUE);
+        try {
+            scheduledOperation.run();
+        } finally {
+            worker.remove();
+            synchronized (lock) {
+                running--;
+                completedCount++;
+                if (scheduledOperation.host != null) {
+                    final int count = getRunningCount(scheduledOperation.host) - 1;
+                    if (count > 0) {
+                        runningPerHost.put(scheduledOperation.host, count);
+                    } else {
+                        runningPerHost.remove(scheduledOperation.host);
+                    }
+                }
+            }
+            dispatch();
+        }
+    }
+
+    private static class ScheduledOperation<T> extends FutureTask<T> {
+        private final String host;
+        private final long submittedAt = System.currentTimeMillis();
+
+        ScheduledOperation(final String host, final Callable<T> operation) {
+            super(operation);
+            this.host = host;
+        }
+    }
+}
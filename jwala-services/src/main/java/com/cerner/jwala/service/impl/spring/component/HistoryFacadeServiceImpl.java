@@ -1,41 +1,166 @@
 package com.cerner.jwala.service.impl.spring.component;
 
 import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
 import com.cerner.jwala.persistence.jpa.domain.JpaHistory;
 import com.cerner.jwala.persistence.jpa.type.EventType;
 import com.cerner.jwala.service.HistoryFacadeService;
 import com.cerner.jwala.service.HistoryService;
 import com.cerner.jwala.service.Message;
 import com.cerner.jwala.service.MessagingService;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implements {@link HistoryFacadeService}
  *
+ * History is not written on the caller's thread. The rows are put in a bounded journal that a worker flushes every
+ * flush interval, a flush inserts up to a batch of rows at once and then sends them to the web socket. The journal
+ * is first in first out with a single writer so the history of a server stays in order. The event types listed in
+ * history.journal.sync.event.types are written right away as before, after the rows of the same server queued
+ * before them. When the journal is full the row is written right away too. The journal is flushed on shutdown. When
+ * a batch cannot be written its rows are written one at a time so that only the rows that fail on their own are lost.
+ *
  * Created by Jedd Cuison on 11/9/2016
  */
 @Service
 public class HistoryFacadeServiceImpl implements HistoryFacadeService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryFacadeServiceImpl.class);
+
     private final HistoryService historyService;
     private final MessagingService messagingService;
+    private final BlockingQueue<JpaHistory> journal;
+    private final int batchSize;
+    private final long flushMillis;
+    private final Set<EventType> syncEventTypes;
+    private final ThreadFactory threadFactory;
+
+    private volatile Thread worker;
+    private volatile boolean shutdown;
 
-    public HistoryFacadeServiceImpl(final HistoryService historyService, final MessagingService messagingService) {
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong journalFullCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /**
+     * @param capacity       the number of history rows that can wait to be written
+     * @param batchSize      the maximum number of rows written at once
+     * @param flushMillis    how long rows wait before they are written
+     * @param syncEventTypes the comma separated event types that are written right away, e.g. SYSTEM_ERROR
+     * @param threadFactory  creates the worker thread
+     */
+    @Autowired
+    public HistoryFacadeServiceImpl(final HistoryService historyService, final MessagingService messagingService,
+                                    @Value("${history.journal.capacity:10000}") final int capacity,
+                                    @Value("${history.journal.batch.size:200}") final int batchSize,
+                                    @Value("${history.journal.flush.millis:200}") final long flushMillis,
+                                    @Value("${history.journal.sync.event.types:}") final String syncEventTypes,
+                                    @Qualifier("pollingThreadFactory") final ThreadFactory threadFactory) {
         this.historyService = historyService;
         this.messagingService = messagingService;
+        this.journal = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushMillis = flushMillis;
+        this.syncEventTypes = toEventTypes(syncEventTypes);
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Start the worker that flushes the journal
+     */
+    @PostConstruct
+    public void start() {
+        worker = threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Thread.sleep(flushMillis);
+                        flush();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (final RuntimeException e) {
+                        LOGGER.error("Failed to flush the history journal", e);
+                    }
+                }
+            }
+        });
+        worker.start();
+    }
+
+    /**
+     * Stop the worker and write what is left in the journal, history written after this is written right away
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        final Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
     }
 
     @Override
     public void write(final String serverName, final Collection<Group> groups, final String historyMessage, final EventType eventType,
                       final String user) {
-        final List<JpaHistory> jpaHistoryList = historyService.createHistory(serverName, new ArrayList<>(groups), historyMessage, eventType, user);
-        for (JpaHistory jpaHistory : jpaHistoryList) {
-            messagingService.send(new Message<>(Message.Type.HISTORY, jpaHistory));
+        // the rows keep the time of the event, not the time the journal writes them
+        final Calendar now = Calendar.getInstance();
+        final List<JpaHistory> histories = new ArrayList<>();
+        for (final Group group : groups) {
+            final JpaHistory history = new JpaHistory(serverName, toJpaGroup(group), historyMessage, eventType, user);
+            history.setCreateDate(now);
+            histories.add(history);
+        }
+
+        if (shutdown || syncEventTypes.contains(eventType)) {
+            syncCount.addAndGet(histories.size());
+            writeNow(histories);
+            return;
+        }
+
+        for (final JpaHistory history : histories) {
+            if (journal.offer(history)) {
+                queuedCount.incrementAndGet();
+            } else {
+                journalFullCount.incrementAndGet();
+                LOGGER.debug("The history journal is full, writing the history of {} right away", serverName);
+                writeNow(Collections.singletonList(history));
+            }
         }
     }
 
@@ -46,4 +171,105 @@ public class HistoryFacadeServiceImpl implements HistoryFacadeService {
         write(serverName, Arrays.asList(group), event, eventType, user);
     }
 
+    /**
+     * Write the history in the journal, in batches
+     */
+    public synchronized void flush() {
+        List<JpaHistory> batch = new ArrayList<>(batchSize);
+        while (journal.drainTo(batch, batchSize) > 0) {
+            batchCount.incrementAndGet();
+            writeBatch(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * @return the number of history rows queued in the journal, written right away because of their event type and
+     * because the journal was full, written and that failed to be written, the number of batches, the number of rows
+     * in the journal and its capacity
+     */
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queued", queuedCount.get());
+        metrics.put("sync", syncCount.get());
+        metrics.put("journalFull", journalFullCount.get());
+        metrics.put("written", writtenCount.get());
+        metrics.put("failed", failedCount.get());
+        metrics.put("batches", batchCount.get());
+        metrics.put("backlog", journal.size());
+        metrics.put("capacity", journal.size() + journal.remainingCapacity());
+        return metrics;
+    }
+
+    /**
+     * Write history after the rows of the same server that are in the journal so that the history of a server stays
+     * in order, the rows of the other servers are left to the worker
+     */
+    private synchronized void writeNow(final List<JpaHistory> histories) {
+        final String serverName = histories.isEmpty() ? null : histories.get(0).getServerName();
+        final List<JpaHistory> serverBacklog = new ArrayList<>();
+        for (final Iterator<JpaHistory> iterator = journal.iterator(); iterator.hasNext(); ) {
+            final JpaHistory history = iterator.next();
+            if (StringUtils.equals(serverName, history.getServerName())) {
+                serverBacklog.add(history);
+                iterator.remove();
+            }
+        }
+        if (!serverBacklog.isEmpty()) {
+            writeBatch(serverBacklog);
+        }
+        send(historyService.createHistory(histories));
+    }
+
+    /**
+     * Write a batch at once, or one row at a time if the batch fails, and count the rows that could not be written
+     */
+    private void writeBatch(final List<JpaHistory> batch) {
+        try {
+            send(historyService.createHistory(batch));
+            return;
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to write {} history rows at once, writing them one at a time", batch.size(), e);
+        }
+
+        for (final JpaHistory history : batch) {
+            // the failed batch may have left an id on the row
+            history.setId(null);
+            try {
+                send(historyService.createHistory(Collections.singletonList(history)));
+            } catch (final RuntimeException e) {
+                failedCount.incrementAndGet();
+                LOGGER.error("Failed to write the history row of {}: {}", history.getServerName(), history.getEvent(), e);
+            }
+        }
+    }
+
+    private void send(final List<JpaHistory> jpaHistoryList) {
+        writtenCount.addAndGet(jpaHistoryList.size());
+        for (final JpaHistory jpaHistory : jpaHistoryList) {
+            final Identifier<Group> groupId = jpaHistory.getGroup() == null ? null :
+                    new Identifier<Group>(jpaHistory.getGroup().getId());
+            messagingService.send(new Message<>(Message.Type.HISTORY, jpaHistory), groupId);
+        }
+    }
+
+    private static JpaGroup toJpaGroup(final Group group) {
+        if (group == null || group.getId() == null) {
+            return null;
+        }
+        final JpaGroup jpaGroup = new JpaGroup();
+        jpaGroup.setId(group.getId().getId());
+        jpaGroup.setName(group.getName());
+        return jpaGroup;
+    }
+
+    private static Set<EventType> toEventTypes(final String eventTypes) {
+        final Set<EventType> types = EnumSet.noneOf(EventType.class);
+        for (final String eventType : StringUtils.split(StringUtils.defaultString(eventTypes), ", ")) {
+            types.add(EventType.valueOf(eventType.trim()));
+        }
+        return types;
+    }
+
 }
@@ -0,0 +1,67 @@
+package com.cerner.jwala.service.impl.spring.component;
+
+import com.cerner.jwala.service.HistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Calendar;
+
+/**
+ * Periodically deletes the history that is older than the retention period
+ *
+ * The history is deleted in small batches, each in its own transaction, so that the history table is never locked
+ * for long while history is being written. A run deletes at most a number of batches, what is left is deleted by the
+ * next runs. History is kept forever if the retention period is 0.
+ */
+@Component
+public class HistoryPurgeScheduledTaskHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryPurgeScheduledTaskHandler.class);
+
+    private final HistoryService historyService;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatches;
+
+    /**
+     * @param retentionDays the number of days history is kept, 0 to keep it forever
+     * @param batchSize     the maximum number of history rows deleted in a transaction
+     * @param maxBatches    the maximum number of batches deleted in a run
+     */
+    @Autowired
+    public HistoryPurgeScheduledTaskHandler(final HistoryService historyService,
+                                            @Value("${history.retention.days:365}") final int retentionDays,
+                                            @Value("${history.purge.batch.size:1000}") final int batchSize,
+                                            @Value("${history.purge.max.batches:100}") final int maxBatches) {
+        this.historyService = historyService;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${history.purge.period.millis:3600000}")
+    public void execute() {
+        if (retentionDays <= 0) {
+            return;
+        }
+
+        final Calendar createdBefore = Calendar.getInstance();
+        createdBefore.add(Calendar.DATE, -retentionDays);
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            final int count = historyService.purgeHistory(createdBefore, batchSize);
+            purged += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            LOGGER.info("Purged {} history rows created before {}", purged, createdBefore.getTime());
+        }
+    }
+
+}
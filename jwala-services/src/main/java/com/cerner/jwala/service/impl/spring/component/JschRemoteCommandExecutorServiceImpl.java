@@ -6,6 +6,7 @@ import com.cerner.jwala.common.exec.RemoteExecCommand;
 import com.cerner.jwala.common.jsch.JschService;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.common.properties.PropertyKeys;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,27 +19,40 @@ import org.springframework.stereotype.Service;
 @Service
 public class JschRemoteCommandExecutorServiceImpl implements RemoteCommandExecutorService {
 
-    private static final String DEFAULT_READ_REMOTE_OUTPUT_TIMEOUT = "180000";
+    private static final int DEFAULT_READ_REMOTE_OUTPUT_TIMEOUT = 180000;
 
     private final JschService jschService;
 
+    private volatile int shellReadRemoteOutputTimeout;
+    private volatile int execReadRemoteOutputTimeout;
+
     @Autowired
     public JschRemoteCommandExecutorServiceImpl(final JschService jschService) {
         this.jschService = jschService;
+        loadTimeouts();
+        ApplicationProperties.addChangeListener(changedKeys -> {
+            if (changedKeys.contains(JSCH_SHELL_READ_REMOTE_OUTPUT_TIMEOUT.getPropertyName()) ||
+                    changedKeys.contains(JSCH_EXEC_READ_REMOTE_OUTPUT_TIMEOUT.getPropertyName())) {
+                loadTimeouts();
+            }
+        });
+    }
+
+    private void loadTimeouts() {
+        shellReadRemoteOutputTimeout = getTimeout(JSCH_SHELL_READ_REMOTE_OUTPUT_TIMEOUT);
+        execReadRemoteOutputTimeout = getTimeout(JSCH_EXEC_READ_REMOTE_OUTPUT_TIMEOUT);
+    }
+
+    private static int getTimeout(final PropertyKeys key) {
+        return ApplicationProperties.getAsInteger(key, DEFAULT_READ_REMOTE_OUTPUT_TIMEOUT);
     }
 
     @Override
     public RemoteCommandReturnInfo executeCommand(final RemoteExecCommand remoteExecCommand) {
         if (remoteExecCommand.getCommand().getRunInShell()) {
-            final int shellReadRemoteOutputTimeout =
-                    Integer.parseInt(ApplicationProperties.get(JSCH_SHELL_READ_REMOTE_OUTPUT_TIMEOUT.getPropertyName(),
-                            DEFAULT_READ_REMOTE_OUTPUT_TIMEOUT));
             return jschService.runShellCommand(remoteExecCommand.getRemoteSystemConnection(),
                     remoteExecCommand.getCommand().toCommandString(), shellReadRemoteOutputTimeout);
         }
-        final int execReadRemoteOutputTimeout =
-                Integer.parseInt(ApplicationProperties.get(JSCH_EXEC_READ_REMOTE_OUTPUT_TIMEOUT.getPropertyName(),
-                        DEFAULT_READ_REMOTE_OUTPUT_TIMEOUT));
         return jschService.runExecCommand(remoteExecCommand.getRemoteSystemConnection(),
                 remoteExecCommand.getCommand().toCommandString(), execReadRemoteOutputTimeout);
     }
@@ -1,34 +1,236 @@
 package com.cerner.jwala.service.impl.spring.component;
 
+import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.state.CurrentState;
+import com.cerner.jwala.common.domain.model.state.StateType;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.service.Message;
+import com.cerner.jwala.service.MessagingService;
+import com.cerner.jwala.service.StateBatch;
+import com.cerner.jwala.service.group.GroupStateNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import com.cerner.jwala.service.MessagingService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link MessagingService} implementation using Spring's SimpMessagingTemplate.
  *
+ * State changes are not sent right away. Only the latest state of each server or group is kept until the next
+ * {@link #flush()}, which sends all of them as one {@link StateBatch} holding only the fields that changed since the
+ * previous batch. Other payloads (e.g. history) are sent as they come.
+ *
+ * Besides the topic that gets everything, states are sent to the topics below so that a client only receives what
+ * it shows. Nothing is sent to a topic no session subscribed to.
+ * <ul>
+ *     <li>{topic}/groups - the states of all the groups</li>
+ *     <li>{topic}/groups/{id} - the state of the group, of its JVMs and web servers and its history</li>
+ *     <li>{topic}/jvms/{id} and {topic}/web-servers/{id} - the state of the server</li>
+ * </ul>
+ * Each topic has its own batch sequence.
+ *
  * Created by Jedd Cuison on 3/23/2016.
  */
 @Service
 public class SimpMessagingServiceImpl implements MessagingService {
 
+    private static final String ID = "id";
+    private static final String TYPE = "type";
+    private static final String GROUPS = "/groups";
+    private static final String JVMS = "/jvms/";
+    private static final String WEB_SERVERS = "/web-servers/";
+
     private SimpMessagingTemplate messagingTemplate;
+    private final GroupStateNotificationService groupStateNotificationService;
+    private final StompSessionRegistry stompSessionRegistry;
     private final String topic;
 
+    private final ConcurrentHashMap<String, CurrentState<?, ?>> pendingStates = new ConcurrentHashMap<>();
+
+    // guarded by this, written by flush only
+    private final Map<String, Map<String, Object>> sentStates = new HashMap<>();
+    private final Map<String, Long> sequences = new HashMap<>();
+
+    /**
+     * @param groupStateNotificationService finds the groups of a server, lazy since it sends group states through
+     *                                      this service
+     */
     @Autowired
     public SimpMessagingServiceImpl(final SimpMessagingTemplate messagingTemplate,
+                                    @Lazy final GroupStateNotificationService groupStateNotificationService,
+                                    final StompSessionRegistry stompSessionRegistry,
                                     @Value("${spring.messaging.topic.serverStates:/topic/server-states}")
                                     final String topic) {
         this.messagingTemplate = messagingTemplate;
+        this.groupStateNotificationService = groupStateNotificationService;
+        this.stompSessionRegistry = stompSessionRegistry;
         this.topic = topic;
     }
 
     @Override
-    public synchronized void send(final Object payLoad) {
-        messagingTemplate.convertAndSend(topic, payLoad);
+    public void send(final Object payLoad) {
+        if (payLoad instanceof CurrentState) {
+            final CurrentState<?, ?> state = (CurrentState<?, ?>) payLoad;
+            pendingStates.put(getKey(state.getType(), state.getId()), state);
+        } else {
+            sendIfSubscribed(topic, payLoad);
+        }
+    }
+
+    @Override
+    public void send(final Object payLoad, final Identifier<Group> groupId) {
+        // states find their groups when they are flushed
+        if (payLoad instanceof CurrentState || groupId == null) {
+            send(payLoad);
+            return;
+        }
+        sendIfSubscribed(topic, payLoad);
+        sendIfSubscribed(topic + GROUPS + "/" + groupId.getId(), payLoad);
+    }
+
+    @Override
+    public synchronized StateBatch getStateSnapshot(final String destination) {
+        final String snapshotDestination = destination == null ? topic : destination;
+        final List<Map<String, Object>> states = new ArrayList<>();
+        for (final Map<String, Object> fields : sentStates.values()) {
+            if (getDestinations(fields).contains(snapshotDestination)) {
+                states.add(fields);
+            }
+        }
+        final Long sequence = sequences.get(snapshotDestination);
+        return new StateBatch(sequence == null ? 0 : sequence, states);
+    }
+
+    @Override
+    public synchronized void removeState(final StateType type, final Identifier<?> id) {
+        final String key = getKey(type, id);
+        pendingStates.remove(key);
+        sentStates.remove(key);
+    }
+
+    /**
+     * Send the states that changed since the last flush as one batch per destination
+     */
+    @Scheduled(fixedDelayString = "${spring.messaging.coalesce.window.millis:250}")
+    public synchronized void flush() {
+        final Map<String, List<Map<String, Object>>> updatesByDestination = new LinkedHashMap<>();
+        for (final String key : pendingStates.keySet()) {
+            final Map<String, Object> fields = toFields(pendingStates.remove(key));
+            final Map<String, Object> sentFields = sentStates.put(key, fields);
+            final Map<String, Object> update = getChangedFields(fields,
+                    sentFields == null ? Collections.<String, Object>emptyMap() : sentFields);
+            if (update.size() > 2) {
+                for (final String destination : getDestinations(fields)) {
+                    if (stompSessionRegistry.hasSubscribers(destination)) {
+                        List<Map<String, Object>> updates = updatesByDestination.get(destination);
+                        if (updates == null) {
+                            updates = new ArrayList<>();
+                            updatesByDestination.put(destination, updates);
+                        }
+                        updates.add(update);
+                    }
+                }
+            }
+        }
+
+        for (final Map.Entry<String, List<Map<String, Object>>> entry : updatesByDestination.entrySet()) {
+            final Long sequence = sequences.get(entry.getKey());
+            final long nextSequence = sequence == null ? 1 : sequence + 1;
+            sequences.put(entry.getKey(), nextSequence);
+            messagingTemplate.convertAndSend(entry.getKey(),
+                    new Message<>(Message.Type.BATCH, new StateBatch(nextSequence, entry.getValue())));
+        }
+    }
+
+    private void sendIfSubscribed(final String destination, final Object payLoad) {
+        if (stompSessionRegistry.hasSubscribers(destination)) {
+            messagingTemplate.convertAndSend(destination, payLoad);
+        }
+    }
+
+    private static String getKey(final StateType type, final Identifier<?> id) {
+        return type + "/" + id.getId();
+    }
+
+    /**
+     * @return the topics a state goes to
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> getDestinations(final Map<String, Object> fields) {
+        final Identifier<?> id = (Identifier<?>) fields.get(ID);
+        final List<String> destinations = new ArrayList<>();
+        destinations.add(topic);
+        final List<Identifier<Group>> groupIds;
+        switch ((StateType) fields.get(TYPE)) {
+            case GROUP:
+                destinations.add(topic + GROUPS);
+                groupIds = Collections.singletonList((Identifier<Group>) id);
+                break;
+            case JVM:
+                destinations.add(topic + JVMS + id.getId());
+                groupIds = groupStateNotificationService.getJvmGroupIds((Identifier<Jvm>) id);
+                break;
+            case WEB_SERVER:
+                destinations.add(topic + WEB_SERVERS + id.getId());
+                groupIds = groupStateNotificationService.getWebServerGroupIds((Identifier<WebServer>) id);
+                break;
+            default:
+                groupIds = Collections.emptyList();
+        }
+        for (final Identifier<Group> groupId : groupIds) {
+            destinations.add(topic + GROUPS + "/" + groupId.getId());
+        }
+        return destinations;
+    }
+
+    /**
+     * @return the id, the type and the fields whose value is not the same as the sent value
+     */
+    private static Map<String, Object> getChangedFields(final Map<String, Object> fields, final Map<String, Object> sentFields) {
+        final Map<String, Object> changedFields = new LinkedHashMap<>();
+        changedFields.put(ID, fields.get(ID));
+        changedFields.put(TYPE, fields.get(TYPE));
+        for (final Map.Entry<String, Object> field : fields.entrySet()) {
+            if (!Objects.equals(field.getValue(), sentFields.get(field.getKey()))) {
+                changedFields.put(field.getKey(), field.getValue());
+            }
+        }
+        return changedFields;
+    }
+
+    /**
+     * @return the properties that are serialized when a {@link CurrentState} is sent as is
+     */
+    private static Map<String, Object> toFields(final CurrentState<?, ?> state) {
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(ID, state.getId());
+        fields.put(TYPE, state.getType());
+        fields.put("state", state.getState());
+        fields.put("stateString", state.getStateString());
+        fields.put("asOf", state.getAsOf());
+        fields.put("message", state.getMessage());
+        fields.put("webServerCount", state.getWebServerCount());
+        fields.put("webServerStartedCount", state.getWebServerStartedCount());
+        fields.put("webServerStoppedCount", state.getWebServerStoppedCount());
+        fields.put("webServerForciblyStoppedCount", state.getWebServerForciblyStoppedCount());
+        fields.put("jvmCount", state.getJvmCount());
+        fields.put("jvmStartedCount", state.getJvmStartedCount());
+        fields.put("jvmStoppedCount", state.getJvmStoppedCount());
+        fields.put("jvmForciblyStoppedCount", state.getJvmForciblyStoppedCount());
+        return fields;
     }
 
 }
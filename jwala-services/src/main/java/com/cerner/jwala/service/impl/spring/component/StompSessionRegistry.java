@@ -0,0 +1,195 @@
+package com.cerner.jwala.service.impl.spring.component;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ChannelInterceptorAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the STOMP sessions, the destinations they subscribed to and the number of messages delivered to
+ * each of them. The inbound interceptor has to be registered on the client inbound channel and the outbound
+ * interceptor on the client outbound channel.
+ */
+@Component
+public class StompSessionRegistry {
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final ChannelInterceptor inboundInterceptor = new ChannelInterceptorAdapter() {
+        @Override
+        public Message<?> preSend(final Message<?> message, final MessageChannel channel) {
+            final MessageHeaders headers = message.getHeaders();
+            final String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+            final SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+            if (sessionId == null || messageType == null) {
+                return message;
+            }
+            switch (messageType) {
+                case CONNECT:
+                    connected(sessionId, SimpMessageHeaderAccessor.getUser(headers));
+                    break;
+                case SUBSCRIBE:
+                    subscribed(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(headers),
+                            SimpMessageHeaderAccessor.getDestination(headers));
+                    break;
+                case UNSUBSCRIBE:
+                    unsubscribed(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(headers));
+                    break;
+                case DISCONNECT:
+                    disconnected(sessionId);
+                    break;
+                default:
+                    break;
+            }
+            return message;
+        }
+    };
+
+    private final ChannelInterceptor outboundInterceptor = new ChannelInterceptorAdapter() {
+        @Override
+        public Message<?> preSend(final Message<?> message, final MessageChannel channel) {
+            final MessageHeaders headers = message.getHeaders();
+            if (SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE) {
+                final String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+                final Session session = sessionId == null ? null : sessions.get(sessionId);
+                if (session != null) {
+                    session.deliveredCount.incrementAndGet();
+                    deliveredCount.incrementAndGet();
+                }
+            }
+            return message;
+        }
+    };
+
+    public ChannelInterceptor getInboundInterceptor() {
+        return inboundInterceptor;
+    }
+
+    public ChannelInterceptor getOutboundInterceptor() {
+        return outboundInterceptor;
+    }
+
+    /**
+     * @param destination a destination e.g. /topic/server-states/groups/1
+     * @return true if a session subscribed to the destination or to a pattern that matches it
+     */
+    public boolean hasSubscribers(final String destination) {
+        if (subscriberCounts.containsKey(destination)) {
+            return true;
+        }
+        for (final String subscribedDestination : subscriberCounts.keySet()) {
+            if (pathMatcher.isPattern(subscribedDestination) && pathMatcher.match(subscribedDestination, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of sessions and subscriptions, the number of messages delivered to all sessions and the
+     * subscriptions and number of messages delivered per session
+     */
+    public Map<String, Object> getMetrics() {
+        final List<Map<String, Object>> sessionMetrics = new ArrayList<>();
+        int subscriptionCount = 0;
+        for (final Map.Entry<String, Session> entry : sessions.entrySet()) {
+            final Session session = entry.getValue();
+            final Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("id", entry.getKey());
+            metrics.put("user", session.user);
+            synchronized (session) {
+                metrics.put("destinations", new ArrayList<>(session.subscriptions.values()));
+                subscriptionCount += session.subscriptions.size();
+            }
+            metrics.put("delivered", session.deliveredCount.get());
+            sessionMetrics.add(metrics);
+        }
+
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sessions", sessionMetrics.size());
+        metrics.put("subscriptions", subscriptionCount);
+        metrics.put("delivered", deliveredCount.get());
+        metrics.put("sessionDetails", sessionMetrics);
+        return metrics;
+    }
+
+    private void connected(final String sessionId, final Principal user) {
+        sessions.putIfAbsent(sessionId, new Session(user == null ? null : user.getName()));
+    }
+
+    private void subscribed(final String sessionId, final String subscriptionId, final String destination) {
+        final Session session = sessions.get(sessionId);
+        if (session == null || subscriptionId == null || destination == null) {
+            return;
+        }
+        synchronized (session) {
+            final String previousDestination = session.subscriptions.put(subscriptionId, destination);
+            if (previousDestination != null) {
+                removeSubscriber(previousDestination);
+            }
+            subscriberCounts.merge(destination, 1, Integer::sum);
+        }
+    }
+
+    private void unsubscribed(final String sessionId, final String subscriptionId) {
+        final Session session = sessions.get(sessionId);
+        if (session == null || subscriptionId == null) {
+            return;
+        }
+        synchronized (session) {
+            final String destination = session.subscriptions.remove(subscriptionId);
+            if (destination != null) {
+                removeSubscriber(destination);
+            }
+        }
+    }
+
+    private void disconnected(final String sessionId) {
+        final Session session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            for (final String destination : session.subscriptions.values()) {
+                removeSubscriber(destination);
+            }
+            session.subscriptions.clear();
+        }
+    }
+
+    private void removeSubscriber(final String destination) {
+        subscriberCounts.computeIfPresent(destination, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * A STOMP session, its subscriptions are guarded by the session itself
+     */
+    private static class Session {
+        private final String user;
+        private final Map<String, String> subscriptions = new HashMap<>();
+        private final AtomicLong deliveredCount = new AtomicLong();
+
+        private Session(final String user) {
+            this.user = user;
+        }
+    }
+
+}
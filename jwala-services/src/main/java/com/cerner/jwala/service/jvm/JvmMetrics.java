@@ -0,0 +1,44 @@
+package com.cerner.jwala.service.jvm;
+
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+
+import java.util.Map;
+
+/**
+ * The latest runtime metrics a JVM sent with its heartbeat e.g. heap used, GC count and connector busy threads
+ */
+public class JvmMetrics {
+
+    private final Identifier<Jvm> jvmId;
+    private final String jvmName;
+    private final long asOf;
+    private final Map<String, Long> metrics;
+
+    public JvmMetrics(final Identifier<Jvm> jvmId, final String jvmName, final long asOf, final Map<String, Long> metrics) {
+        this.jvmId = jvmId;
+        this.jvmName = jvmName;
+        this.asOf = asOf;
+        this.metrics = metrics;
+    }
+
+    public Identifier<Jvm> getJvmId() {
+        return jvmId;
+    }
+
+    public String getJvmName() {
+        return jvmName;
+    }
+
+    /**
+     * @return when the JVM collected the metrics, in epoch millis
+     */
+    public long getAsOf() {
+        return asOf;
+    }
+
+    public Map<String, Long> getMetrics() {
+        return metrics;
+    }
+
+}
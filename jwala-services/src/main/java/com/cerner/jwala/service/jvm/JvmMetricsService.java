@@ -0,0 +1,40 @@
+package com.cerner.jwala.service.jvm;
+
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the latest runtime metrics the JVMs sent with their heartbeats in memory
+ */
+public interface JvmMetricsService {
+
+    /**
+     * Replace the metrics of a JVM unless they are older than the metrics already kept
+     * @param jvm the {@link Jvm} that sent the metrics
+     * @param asOf when the JVM collected the metrics, in epoch millis
+     * @param metrics the metrics by name
+     */
+    void update(Jvm jvm, long asOf, Map<String, Long> metrics);
+
+    /**
+     * @param id the JVM id
+     * @return the latest metrics of the JVM
+     * @throws com.cerner.jwala.common.exception.NotFoundException if the JVM hasn't sent any metrics
+     */
+    JvmMetrics getMetrics(Identifier<Jvm> id);
+
+    /**
+     * @return the latest metrics of all the JVMs that sent metrics
+     */
+    List<JvmMetrics> getMetrics();
+
+    /**
+     * Forget the metrics of a JVM that was deleted
+     * @param id the JVM id
+     */
+    void remove(Identifier<Jvm> id);
+
+}
@@ -25,6 +25,12 @@ public interface JvmStateService {
      */
     void updateNotInMemOrStaleState(final Jvm jvm, final JvmState state, final String errMsg);
 
+    /**
+     * Ping the JVM on the next run instead of waiting for its poll interval or backoff to pass.
+     * @param jvm the {@link Jvm} a user is controlling.
+     */
+    void resetPollSchedule(Jvm jvm);
+
     /**
      * Retrieve the status of a JVM which is running as a window's service.
      * @param jvm {@link Jvm}
@@ -0,0 +1,147 @@
+package com.cerner.jwala.service.jvm.impl;
+
+import com.cerner.jwala.exception.CommandFailureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The stages of a generation and the stages each of them depends on.
+ * <p>
+ * A stage starts as soon as all of its dependencies have completed, so stages that don't depend on each other run
+ * concurrently. Once a stage fails the stages that have not started yet are skipped, and after the running stages have
+ * completed the failure of the first failed stage in declaration order is rethrown.
+ */
+public class GenerationStages {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationStages.class);
+
+    public interface Stage {
+        void execute() throws CommandFailureException, IOException;
+    }
+
+    private final Map<String, StageDefinition> stages = new LinkedHashMap<>();
+
+    /**
+     * Add a stage
+     *
+     * @param name         the name of the stage
+     * @param stage        the work of the stage
+     * @param dependencies the names of the previously added stages that have to complete before this stage starts
+     * @return this
+     */
+    public GenerationStages add(final String name, final Stage stage, final String... dependencies) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Stage " + name + " was already added");
+        }
+        for (final String dependency : dependencies) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException("Stage " + name + " depends on " + dependency + " which has not been added");
+            }
+        }
+        stages.put(name, new StageDefinition(stage, dependencies));
+        return this;
+    }
+
+    /**
+     * Execute the stages and wait for them to complete
+     *
+     * @param executor runs the stages, the stages are run one after the other in the calling thread if null
+     * @return the time in milliseconds that each completed stage took, in declaration order
+     * @throws CommandFailureException if the first failed stage failed with this exception
+     * @throws IOException             if the first failed stage failed with this exception
+     */
+    public Map<String, Long> execute(final Executor executor) throws CommandFailureException, IOException {
+        final Executor stageExecutor = executor == null ? Runnable::run : executor;
+        final Map<String, Long> durations = new ConcurrentHashMap<>();
+        final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        final Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+        for (final Map.Entry<String, StageDefinition> entry : stages.entrySet()) {
+            final String name = entry.getKey();
+            final StageDefinition definition = entry.getValue();
+            final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[definition.dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = futures.get(definition.dependencies[i]);
+            }
+            futures.put(name, CompletableFuture.allOf(dependencies).thenRunAsync(
+                    () -> run(name, definition.stage, durations, failures), stageExecutor));
+        }
+
+        for (final CompletableFuture<Void> future : futures.values()) {
+            try {
+                future.join();
+            } catch (final CompletionException | CancellationException e) {
+                // the failure was recorded by the stage, dependent stages are skipped
+            }
+        }
+
+        for (final String name : stages.keySet()) {
+            final Throwable failure = failures.get(name);
+            if (failure != null) {
+                rethrow(failure);
+            }
+        }
+
+        final Map<String, Long> orderedDurations = new LinkedHashMap<>();
+        for (final String name : stages.keySet()) {
+            if (durations.containsKey(name)) {
+                orderedDurations.put(name, durations.get(name));
+            }
+        }
+        return Collections.unmodifiableMap(orderedDurations);
+    }
+
+    private static void run(final String name, final Stage stage, final Map<String, Long> durations,
+                            final Map<String, Throwable> failures) {
+        if (!failures.isEmpty()) {
+            LOGGER.info("Skipping stage {} since stage(s) {} failed", name, failures.keySet());
+            throw new CancellationException("Skipped stage " + name);
+        }
+
+        final long startTime = System.currentTimeMillis();
+        LOGGER.debug("Start stage {}", name);
+        try {
+            stage.execute();
+        } catch (final Exception | Error e) {
+            LOGGER.debug("Stage {} failed after {} ms", name, System.currentTimeMillis() - startTime, e);
+            failures.put(name, e);
+            throw new CompletionException(e);
+        }
+        final long duration = System.currentTimeMillis() - startTime;
+        durations.put(name, duration);
+        LOGGER.debug("End stage {}, timetaken {} ms", name, duration);
+    }
+
+    private static void rethrow(final Throwable failure) throws CommandFailureException, IOException {
+        if (failure instanceof CommandFailureException) {
+            throw (CommandFailureException) failure;
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        throw (Error) failure;
+    }
+
+    private static class StageDefinition {
+        private final Stage stage;
+        private final String[] dependencies;
+
+        StageDefinition(final Stage stage, final String[] dependencies) {
+            this.stage = stage;
+            this.dependencies = dependencies;
+        }
+    }
+}
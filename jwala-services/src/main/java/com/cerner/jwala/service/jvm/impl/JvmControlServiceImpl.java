@@ -1,5 +1,6 @@
 package com.cerner.jwala.service.jvm.impl;
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
 import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
@@ -32,7 +33,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
-import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -78,6 +78,7 @@ public class JvmControlServiceImpl implements JvmControlService {
                     controlJvmRequest.getMessage();
 
             historyFacadeService.write(getServerName(jvm), new ArrayList<>(jvm.getGroups()), historyMessage, EventType.USER_ACTION_INFO, aUser.getId());
+            jvmStateService.resetPollSchedule(jvm);
 
             RemoteCommandReturnInfo remoteCommandReturnInfo = jvmCommandFactory.executeCommand(jvm, controlJvmRequest.getControlOperation());
             CommandOutput commandOutput = new CommandOutput(new ExecReturnCode(remoteCommandReturnInfo.retCode),
@@ -249,39 +250,21 @@ public class JvmControlServiceImpl implements JvmControlService {
         final String fileName = destPath.substring(beginIndex + 1, destPath.length());
         final String name = jvm.getJvmName();
         final String hostName = jvm.getHostName();
-        final String parentDir;
-
-        //TODOhandle ~
-        if (destPath.startsWith("~")) {
-            parentDir = destPath.substring(0, destPath.lastIndexOf("/"));
-        } else {
-            //derive parentDir
-            parentDir = Paths.get(destPath).getParent().toString().replaceAll("\\\\", "/");
-        }
-        CommandOutput commandOutput = executeCreateDirectoryCommand(jvm, parentDir);
 
-        if (commandOutput.getReturnCode().wasSuccessful()) {
-            LOGGER.info("Successfully created parent dir {} on host {}", parentDir, hostName);
-        } else {
-            final String standardError = commandOutput.getStandardError().isEmpty() ? commandOutput.getStandardOutput() : commandOutput.getStandardError();
-            LOGGER.error("create command failed with error trying to create parent directory {} on {} :: ERROR: {}", parentDir, hostName, standardError);
-            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, standardError.isEmpty() ? CommandOutputReturnCode.fromReturnCode(commandOutput.getReturnCode().getReturnCode()).getDesc() : standardError);
+        // the parent dir creation, the back up or the skipping of an existing file and the copy itself are all done by
+        // a single remote invocation
+        final String backupSuffix = overwrite ? new SimpleDateFormat(".yyyyMMdd_HHmmss").format(Date.from(Instant.now())) : "";
+        final RemoteCommandReturnInfo remoteCommandReturnInfo = shellCommandFactory.executeRemoteCommand(hostName,
+                Command.SCP_AND_PLACE, sourcePath, destPath, Boolean.toString(overwrite), backupSuffix);
+        final FileResult fileResult = FileResult.valueOf(remoteCommandReturnInfo.standardOuput);
+
+        if (fileResult == FileResult.CREATE_DIR_FAILED) {
+            final String standardError = remoteCommandReturnInfo.errorOupout;
+            LOGGER.error("create command failed with error trying to create parent directory of {} on {} :: ERROR: {}", destPath, hostName, standardError);
+            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, standardError.isEmpty() ? CommandOutputReturnCode.fromReturnCode(remoteCommandReturnInfo.retCode).getDesc() : standardError);
         }
-        commandOutput = executeCheckFileExistsCommand(jvm, destPath);
-
-        final boolean fileExists = commandOutput.getReturnCode().wasSuccessful();
-        if (fileExists && overwrite) {
-            commandOutput = executeBackUpCommand(jvm, destPath);
 
-            if (!commandOutput.getReturnCode().wasSuccessful()) {
-                final String standardError = "Failed to back up the " + destPath + " for " + name + ".";
-                LOGGER.error(standardError);
-                throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, standardError);
-            } else {
-                LOGGER.info("Successfully backed up " + destPath + " at " + hostName);
-            }
-
-        } else if (fileExists) {
+        if (fileResult == FileResult.SKIPPED) {
             // exit without deploying since the file exists and overwrite is false
             String message = MessageFormat.format("Skipping scp of file: {0} already exists and overwrite is set to false.", destPath);
             LOGGER.info(message);
@@ -289,6 +272,12 @@ public class JvmControlServiceImpl implements JvmControlService {
             return new CommandOutput(new ExecReturnCode(0), message, "");
         }
 
+        if (fileResult == FileResult.BACKUP_FAILED) {
+            final String standardError = "Failed to back up the " + destPath + " for " + name + ".";
+            LOGGER.error(standardError);
+            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, standardError);
+        }
+
         // don't add any usage of the jwala user internal directory to the history
         if (!ApplicationProperties.get("remote.commands.user-scripts").endsWith(fileName)) {
             final String eventDescription = event + " sending file " + fileName + " to remote path " + destPath + " on host " + jvm.getHostName();
@@ -296,8 +285,6 @@ public class JvmControlServiceImpl implements JvmControlService {
                     EventType.USER_ACTION_INFO, userId);
         }
 
-        RemoteCommandReturnInfo remoteCommandReturnInfo = shellCommandFactory.executeRemoteCommand(jvm.getHostName(),
-                Command.SCP, sourcePath, destPath);
         return new CommandOutput(new ExecReturnCode(remoteCommandReturnInfo.retCode),
                 remoteCommandReturnInfo.standardOuput, remoteCommandReturnInfo.errorOupout);
     }
@@ -16,6 +16,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,13 +33,17 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
 import com.cerner.jwala.common.FileUtility;
+import com.cerner.jwala.common.FileUtilityException;
 import com.cerner.jwala.common.JwalaUtils;
 import com.cerner.jwala.common.domain.model.app.Application;
 import com.cerner.jwala.common.domain.model.fault.FaultType;
@@ -47,6 +52,7 @@ import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
 import com.cerner.jwala.common.domain.model.jvm.JvmControlOperation;
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.common.domain.model.resource.ResourceDeployReport;
 import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
 import com.cerner.jwala.common.domain.model.resource.ResourceIdentifier;
 import com.cerner.jwala.common.domain.model.resource.ResourceTemplateMetaData;
@@ -75,16 +81,19 @@ import com.cerner.jwala.persistence.service.GroupPersistenceService;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
 import com.cerner.jwala.persistence.service.WebServerPersistenceService;
 import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.app.ApplicationService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionService;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmService;
 import com.cerner.jwala.service.jvm.JvmStateService;
 import com.cerner.jwala.service.jvm.exception.JvmServiceException;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.resource.impl.ResourceGeneratorType;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.webserver.component.ClientFactoryHelper;
 
 public class JvmServiceImpl implements JvmService {
@@ -92,12 +101,22 @@ public class JvmServiceImpl implements JvmService {
     private static final String MEDIA_TYPE_TEXT = "text";
     private static final String RESOURCE_FILE_SETENV_WINDOWS = "setenv.bat";
     private static final String RESOURCE_FILE_SETENV_LINUX = "setenv.sh";
+    private static final String STAGE_VALIDATE = "validate";
+    private static final String STAGE_DISTRIBUTE_BINARIES = "distributeBinaries";
+    private static final String STAGE_CREATE_SCRIPTS_DIR = "createScriptsDirectory";
+    private static final String STAGE_DEPLOY_SCRIPTS = "deployScripts";
+    private static final String STAGE_DELETE_SERVICE = "deleteService";
+    private static final String STAGE_GENERATE_CONFIG_JAR = "generateConfigJar";
+    private static final String STAGE_COPY_CONFIG_JAR = "copyConfigJar";
+    private static final String STAGE_DEPLOY_CONFIG_JAR = "deployConfigJar";
+    private static final String STAGE_DEPLOY_RESOURCES = "deployResourceFiles";
+    private static final String STAGE_DEPLOY_APP_CONTEXTS = "deployApplicationContexts";
+    private static final String STAGE_INSTALL_SERVICE = "installService";
     private final BinaryDistributionLockManager binaryDistributionLockManager;
-    private final String topicServerStates;
     private final JvmPersistenceService jvmPersistenceService;
     private final GroupPersistenceService groupPersistenceService;
     private final ApplicationService applicationService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final MessagingService messagingService;
     private final GroupStateNotificationService groupStateNotificationService;
     private final ResourceService resourceService;
     private final ClientFactoryHelper clientFactoryHelper;
@@ -115,14 +134,24 @@ public class JvmServiceImpl implements JvmService {
     @Autowired
     private ObjectStoreService objectStoreService;
 
+    @Autowired
+    private JvmMetricsService jvmMetricsService;
+
+    @Autowired
+    @Qualifier("jvmPollSchedule")
+    private AdaptivePollSchedule<Identifier<Jvm>> jvmPollSchedule;
+
+    @Autowired(required = false)
+    @Qualifier("jvmGenerationStageExecutor")
+    private TaskExecutor generationStageExecutor;
+
     public JvmServiceImpl(final JvmPersistenceService jvmPersistenceService,
                           final GroupPersistenceService groupPersistenceService,
                           final ApplicationService applicationService,
-                          final SimpMessagingTemplate messagingTemplate,
+                          final MessagingService messagingService,
                           final GroupStateNotificationService groupStateNotificationService,
                           final ResourceService resourceService,
                           final ClientFactoryHelper clientFactoryHelper,
-                          final String topicServerStates,
                           final JvmControlService jvmControlService,
                           final BinaryDistributionService binaryDistributionService,
                           final BinaryDistributionLockManager binaryDistributionLockManager,
@@ -131,12 +160,11 @@ public class JvmServiceImpl implements JvmService {
         this.jvmPersistenceService = jvmPersistenceService;
         this.groupPersistenceService = groupPersistenceService;
         this.applicationService = applicationService;
-        this.messagingTemplate = messagingTemplate;
+        this.messagingService = messagingService;
         this.groupStateNotificationService = groupStateNotificationService;
         this.resourceService = resourceService;
         this.clientFactoryHelper = clientFactoryHelper;
         this.jvmControlService = jvmControlService;
-        this.topicServerStates = topicServerStates;
         this.binaryDistributionService = binaryDistributionService;
         this.binaryDistributionLockManager = binaryDistributionLockManager;
         this.historyFacadeService = historyFacadeService;
@@ -388,6 +416,9 @@ public class JvmServiceImpl implements JvmService {
         }
 
         jvmPersistenceService.removeJvm(id);
+        jvmPollSchedule.remove(id);
+        messagingService.removeState(StateType.JVM, id);
+        jvmMetricsService.remove(id);
 
         if (StringUtils.isNotEmpty(jvm.getEncryptedPassword())) {
             objectStoreService.remove(jvm.getEncryptedPassword());
@@ -439,6 +470,8 @@ public class JvmServiceImpl implements JvmService {
         //add write lock for multiple write
         binaryDistributionLockManager.writeLock(jvmName + "-" + jvm.getId().toString());
 
+        final long startTime = System.currentTimeMillis();
+        Map<String, Long> stageDurations = null;
         try {
             if (jvm.getState().isStartedState()) {
                 final String errorMessage = "The remote JVM " + jvm.getJvmName() + " must be stopped before attempting to generate the JVM";
@@ -446,40 +479,37 @@ public class JvmServiceImpl implements JvmService {
                 throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, errorMessage);
             }
 
-            validateJvmAndAppResources(jvm);
-
-            checkForJvmBinaries(jvm);
-
-            distributeBinaries(jvm);
-
-            // create the scripts directory if it doesn't exist
-            createScriptsDirectory(jvm);
-
-            // copy the install and deploy scripts
-            deployScriptsToUserJwalaScriptsDir(jvm, user);
-
-            // delete the service
-            deleteJvmService(jvm, user);
-
-            // create the jar file
-            //
-            final String jvmConfigJar = generateJvmConfigJar(jvm);
-
-            // copy the jar file to the staging area
-            secureCopyJvmConfigJar(jvm, jvmConfigJar, user);
-
-            // call script to backup and tar the current directory and
-            // then untar the new tar, needs jar
-            deployJvmConfigJar(jvm, user, jvmConfigJar);
-
-            // copy the individual jvm templates to the destination
-            deployJvmResourceFiles(jvm, user);
-
-            // deploy any application context xml's in the group
-            deployApplicationContextXMLs(jvm, user);
-
-            // re-install the service
-            installJvmWindowsService(jvm, user);
+            final String[] jvmConfigJar = new String[1];
+            final GenerationStages stages = new GenerationStages()
+                    .add(STAGE_VALIDATE, () -> {
+                        validateJvmAndAppResources(jvm);
+                        checkForJvmBinaries(jvm);
+                    })
+                    .add(STAGE_DISTRIBUTE_BINARIES, () -> distributeBinaries(jvm), STAGE_VALIDATE)
+                    // create the scripts directory if it doesn't exist
+                    .add(STAGE_CREATE_SCRIPTS_DIR, () -> createScriptsDirectory(jvm), STAGE_VALIDATE)
+                    // copy the install and deploy scripts
+                    .add(STAGE_DEPLOY_SCRIPTS, () -> deployScriptsToUserJwalaScriptsDir(jvm, user), STAGE_CREATE_SCRIPTS_DIR)
+                    // delete the service, needs the delete service script
+                    .add(STAGE_DELETE_SERVICE, () -> deleteJvmService(jvm, user), STAGE_DEPLOY_SCRIPTS)
+                    // create the jar file, this is done locally
+                    .add(STAGE_GENERATE_CONFIG_JAR, () -> jvmConfigJar[0] = generateJvmConfigJar(jvm), STAGE_VALIDATE)
+                    // copy the jar file to the staging area
+                    .add(STAGE_COPY_CONFIG_JAR, () -> secureCopyJvmConfigJar(jvm, jvmConfigJar[0], user),
+                            STAGE_GENERATE_CONFIG_JAR, STAGE_CREATE_SCRIPTS_DIR)
+                    // call script to backup and tar the current directory and then untar the new tar, needs jar
+                    .add(STAGE_DEPLOY_CONFIG_JAR, () -> deployJvmConfigJar(jvm, user, jvmConfigJar[0]),
+                            STAGE_COPY_CONFIG_JAR, STAGE_DEPLOY_SCRIPTS, STAGE_DELETE_SERVICE, STAGE_DISTRIBUTE_BINARIES)
+                    // copy the individual jvm templates to the destination
+                    .add(STAGE_DEPLOY_RESOURCES, () -> deployJvmResourceFiles(jvm, user), STAGE_DEPLOY_CONFIG_JAR)
+                    // deploy any application context xml's in the group
+                    .add(STAGE_DEPLOY_APP_CONTEXTS, () -> deployApplicationContextXMLs(jvm, user), STAGE_DEPLOY_CONFIG_JAR)
+                    // re-install the service
+                    .add(STAGE_INSTALL_SERVICE, () -> installJvmWindowsService(jvm, user),
+                            STAGE_DEPLOY_RESOURCES, STAGE_DEPLOY_APP_CONTEXTS);
+
+            stageDurations = stages.execute(generationStageExecutor == null ? null :
+                    new DelegatingSecurityContextExecutor(generationStageExecutor));
 
             // set the state to stopped
             updateState(jvm.getId(), JvmState.JVM_STOPPED);
@@ -496,6 +526,10 @@ public class JvmServiceImpl implements JvmService {
 
             String historyMessage = didSucceed ? "Remote generation of jvm " + jvm.getJvmName() + " to host " + jvm.getHostName() + " succeeded" :
                     "Remote generation of jvm " + jvm.getJvmName() + " to host " + jvm.getHostName() + " failed";
+            if (stageDurations != null) {
+                historyMessage += " in " + (System.currentTimeMillis() - startTime) + " ms, stage timings (ms): " + stageDurations;
+                LOGGER.info("Generated JVM {} in {} ms, stage timings (ms): {}", jvmName, System.currentTimeMillis() - startTime, stageDurations);
+            }
 
             historyFacadeService.write(jvm.getHostName(), jvm.getGroups(), historyMessage, eventType, user.getId());
         }
@@ -611,7 +645,7 @@ public class JvmServiceImpl implements JvmService {
 
         final String stagingArea = scriptsDir + '/' + jvmName;
 
-        createParentDir(jvm, stagingArea);
+        // the staging area is created by the secure copy of the first script
         final String failedToCopyMessage = "Failed to secure copy ";
         final String duringCreationMessage = " during the creation of ";
 
@@ -810,17 +844,6 @@ public class JvmServiceImpl implements JvmService {
         return managedJvmBuilder.getStagingDir().getAbsolutePath();
     }
 
-    private void createParentDir(final Jvm jvm, final String parentDir) throws CommandFailureException {
-        final CommandOutput commandOutput = jvmControlService.executeCreateDirectoryCommand(jvm, parentDir);
-        if (commandOutput.getReturnCode().wasSuccessful()) {
-            LOGGER.info("created {} directory successfully", parentDir);
-        } else {
-            final String standardError = commandOutput.getStandardError().isEmpty() ? commandOutput.getStandardOutput() : commandOutput.getStandardError();
-            LOGGER.error("create command failed with error trying to create parent directory {} on {} :: ERROR: {}", parentDir, jvm.getHostName(), standardError);
-            throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, standardError.isEmpty() ? CommandOutputReturnCode.fromReturnCode(commandOutput.getReturnCode().getReturnCode()).getDesc() : standardError);
-        }
-    }
-
     private void secureCopyJvmConfigJar(Jvm jvm, String jvmConfigJar, User user) throws CommandFailureException {
         long startTime = System.currentTimeMillis();
         String configTarName = jvm.getJvmName() + ".jar";
@@ -868,10 +891,68 @@ public class JvmServiceImpl implements JvmService {
     private void deployJvmResourceFiles(Jvm jvm, User user) throws IOException, CommandFailureException {
         final Map<String, ScpDestination> generatedFiles = generateResourceFiles(jvm.getJvmName());
         if (generatedFiles != null) {
+            final boolean deltaDeploy = ApplicationProperties.getAsBoolean(PropertyKeys.RESOURCES_DEPLOY_DELTA.getPropertyName());
+            final Map<String, String> remoteChecksums = deltaDeploy ? getRemoteChecksums(jvm, generatedFiles.values()) : new HashMap<>();
+            final ResourceDeployReport report = new ResourceDeployReport();
+            InternalErrorException firstFailure = null;
             for (Map.Entry<String, ScpDestination> entry : generatedFiles.entrySet()) {
                 final ScpDestination scpDestination = entry.getValue();
-                secureCopyFileToJvm(jvm, entry.getKey(), scpDestination.destPath, user, scpDestination.overwrite);
+                final String remoteChecksum = remoteChecksums.get(scpDestination.destPath);
+                if (remoteChecksum != null && remoteChecksum.equals(getLocalChecksum(entry.getKey()))) {
+                    LOGGER.info("Skipping the copy of {} to {} on {}, the content is unchanged", entry.getKey(), scpDestination.destPath, jvm.getHostName());
+                    report.add(scpDestination.destPath, ResourceDeployReport.Status.UNCHANGED);
+                    continue;
+                }
+                try {
+                    final CommandOutput commandOutput = secureCopyFileToJvm(jvm, entry.getKey(), scpDestination.destPath,
+                            user, scpDestination.overwrite);
+                    // when overwrite is false the copy succeeds without copying anything if the file already exists
+                    report.add(scpDestination.destPath, scpDestination.overwrite ||
+                            FileResult.COPIED.name().equals(commandOutput.getStandardOutput()) ?
+                            ResourceDeployReport.Status.CHANGED : ResourceDeployReport.Status.SKIPPED);
+                } catch (InternalErrorException e) {
+                    report.add(scpDestination.destPath, ResourceDeployReport.Status.FAILED);
+                    if (firstFailure == null) {
+                        firstFailure = e;
+                    }
+                }
             }
+
+            LOGGER.info("Deployed the resource files of JVM {}: {}", jvm.getJvmName(), report);
+            if (deltaDeploy) {
+                historyFacadeService.write(jvm.getHostName(), jvm.getGroups(), "Deployed the resource files of JVM " +
+                        jvm.getJvmName() + ": " + report.getSummary(), report.hasFailures() ? EventType.SYSTEM_ERROR :
+                        EventType.SYSTEM_INFO, user.getId());
+            }
+            if (firstFailure != null) {
+                throw firstFailure;
+            }
+        }
+    }
+
+    /**
+     * Get the checksums of the deployed resource files with a single remote invocation. An empty map is returned if
+     * they can't be retrieved so that all the files get deployed.
+     */
+    private Map<String, String> getRemoteChecksums(Jvm jvm, Collection<ScpDestination> scpDestinations) {
+        final List<String> destPaths = new ArrayList<>();
+        for (ScpDestination scpDestination : scpDestinations) {
+            destPaths.add(scpDestination.destPath);
+        }
+        try {
+            return binaryDistributionService.remoteChecksums(jvm.getHostName(), destPaths);
+        } catch (InternalErrorException e) {
+            LOGGER.warn("Failed to get the checksums of the resource files of JVM {}, deploying all the files", jvm.getJvmName(), e);
+            return new HashMap<>();
+        }
+    }
+
+    private static String getLocalChecksum(String path) {
+        try {
+            return FileUtility.getCheckSum(path);
+        } catch (FileUtilityException e) {
+            LOGGER.warn("Failed to get the checksum of {}", path, e);
+            return null;
         }
     }
 
@@ -897,16 +978,11 @@ public class JvmServiceImpl implements JvmService {
      * @param sourceFile      The source file, which needs to be copied.
      * @param destinationFile The destination file, where the source file should be copied.
      * @param user
+     * @return the output of the copy
      * @throws CommandFailureException If the command fails, this exception contains the details of the failure.
      */
-    private void secureCopyFileToJvm(final Jvm jvm, final String sourceFile, final String destinationFile, User user, boolean overwrite) throws CommandFailureException {
-        final String parentDir;
-        if (destinationFile.startsWith("~")) {
-            parentDir = destinationFile.substring(0, destinationFile.lastIndexOf('/'));
-        } else {
-            parentDir = new File(destinationFile).getParentFile().getAbsolutePath().replaceAll("\\\\", "/");
-        }
-        createParentDir(jvm, parentDir);
+    private CommandOutput secureCopyFileToJvm(final Jvm jvm, final String sourceFile, final String destinationFile, User user, boolean overwrite) throws CommandFailureException {
+        // the parent dir of the destination is created by the secure copy
         final ControlJvmRequest controlJvmRequest = new ControlJvmRequest(jvm.getId(), JvmControlOperation.SCP);
         final CommandOutput commandOutput = jvmControlService.secureCopyFile(controlJvmRequest, sourceFile, destinationFile, user.getId(), overwrite);
         if (commandOutput.getReturnCode().wasSuccessful()) {
@@ -916,6 +992,7 @@ public class JvmServiceImpl implements JvmService {
             LOGGER.error("Copy command failed with error trying to copy file {} to {} :: ERROR: {}", sourceFile, jvm.getHostName(), standardError);
             throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, standardError.isEmpty() ? CommandOutputReturnCode.fromReturnCode(commandOutput.getReturnCode().getReturnCode()).getDesc() : standardError);
         }
+        return commandOutput;
     }
 
     @Override
@@ -984,8 +1061,8 @@ public class JvmServiceImpl implements JvmService {
                           final JvmState state,
                           final String msg) {
         jvmPersistenceService.updateState(jvm.getId(), state, msg);
-        messagingTemplate.convertAndSend(topicServerStates, new CurrentState<>(jvm.getId(), state, DateTime.now(), StateType.JVM));
-        groupStateNotificationService.retrieveStateAndSend(jvm.getId(), Jvm.class);
+        messagingService.send(new CurrentState<>(jvm.getId(), state, DateTime.now(), StateType.JVM));
+        groupStateNotificationService.jvmStateChanged(jvm.getId(), state);
     }
 
     @Override
@@ -1028,7 +1105,8 @@ public class JvmServiceImpl implements JvmService {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void updateState(final Identifier<Jvm> id, final JvmState state) {
         jvmPersistenceService.updateState(id, state, "");
-        messagingTemplate.convertAndSend(topicServerStates, new CurrentState<>(id, state, DateTime.now(), StateType.JVM));
+        messagingService.send(new CurrentState<>(id, state, DateTime.now(), StateType.JVM));
+        groupStateNotificationService.jvmStateChanged(id, state);
     }
 
     @Override
@@ -1168,6 +1246,9 @@ public class JvmServiceImpl implements JvmService {
                 deleteJvmService(jvm, new User(userName));
             }
             jvmPersistenceService.removeJvm(jvm.getId());
+            jvmPollSchedule.remove(jvm.getId());
+            messagingService.removeState(StateType.JVM, jvm.getId());
+            jvmMetricsService.remove(jvm.getId());
         } else {
             LOGGER.error("The target JVM {} must be stopped before attempting to delete it", jvm.getJvmName());
             throw new JvmServiceException("The target JVM must be stopped before attempting to delete it");
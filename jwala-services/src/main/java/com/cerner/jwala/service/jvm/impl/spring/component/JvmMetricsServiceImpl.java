@@ -0,0 +1,52 @@
+package com.cerner.jwala.service.jvm.impl.spring.component;
+
+import com.cerner.jwala.common.domain.model.fault.FaultType;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.exception.NotFoundException;
+import com.cerner.jwala.service.jvm.JvmMetrics;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link JvmMetricsService} that keeps the metrics in a map
+ */
+@Service
+public class JvmMetricsServiceImpl implements JvmMetricsService {
+
+    private final ConcurrentHashMap<Identifier<Jvm>, JvmMetrics> metricsMap = new ConcurrentHashMap<>();
+
+    @Override
+    public void update(final Jvm jvm, final long asOf, final Map<String, Long> metrics) {
+        final JvmMetrics jvmMetrics = new JvmMetrics(jvm.getId(), jvm.getJvmName(), asOf,
+                Collections.unmodifiableMap(metrics));
+        metricsMap.merge(jvm.getId(), jvmMetrics,
+                (previous, latest) -> latest.getAsOf() < previous.getAsOf() ? previous : latest);
+    }
+
+    @Override
+    public JvmMetrics getMetrics(final Identifier<Jvm> id) {
+        final JvmMetrics jvmMetrics = metricsMap.get(id);
+        if (jvmMetrics == null) {
+            throw new NotFoundException(FaultType.JVM_NOT_FOUND, "JVM " + id.getId() + " hasn't sent any metrics");
+        }
+        return jvmMetrics;
+    }
+
+    @Override
+    public List<JvmMetrics> getMetrics() {
+        return new ArrayList<>(metricsMap.values());
+    }
+
+    @Override
+    public void remove(final Identifier<Jvm> id) {
+        metricsMap.remove(id);
+    }
+
+}
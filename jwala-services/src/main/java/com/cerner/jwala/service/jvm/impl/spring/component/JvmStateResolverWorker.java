@@ -6,27 +6,25 @@ import com.cerner.jwala.common.domain.model.state.CurrentState;
 import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.persistence.jpa.type.EventType;
 import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.HttpStatePinger;
 import com.cerner.jwala.service.jvm.JvmStateService;
-import com.cerner.jwala.service.webserver.component.ClientFactoryHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 
 /**
  * Resolves a JVM's state.
- * NOTE: For @Async to work, the worker must be in its own class separate from the caller the reason for this
- *       class' existence.
+ * The JVM is pinged by the {@link HttpStatePinger} so no thread waits for the response, the state is updated in
+ * the pinger's callback thread once the response arrives or the request fails.
  *
  * Created by Jedd Cuison on 3/24/2016.
  */
@@ -36,45 +34,59 @@ public class JvmStateResolverWorker {
     private static final Logger LOGGER = LoggerFactory.getLogger(JvmStateResolverWorker.class);
 
     @Autowired
-    private ClientFactoryHelper clientFactoryHelper;
+    private HttpStatePinger httpStatePinger;
 
     @Autowired
     private HistoryFacadeService historyFacadeService;
 
-    @Async("jvmTaskExecutor")
+    @Value("${ping.jvm.connectTimeout:500}")
+    private int connectTimeout;
+
+    @Value("${ping.jvm.readTimeout:1000}")
+    private int readTimeout;
+
     public Future<CurrentState<Jvm, JvmState>> pingAndUpdateJvmState(final Jvm jvm, final JvmStateService jvmStateService) {
         LOGGER.debug("The reverse heartbeat has kicked in! This means that we're not receiving any states from Jvm {}@{}.",
                 jvm.getJvmName(), jvm.getHostName());
-        LOGGER.debug("+++ pingAndUpdateJvmState");
-        ClientHttpResponse response = null;
-        CurrentState<Jvm, JvmState> currentState = null;
 
         // if the jvm was just created do not check its state
         if (jvm.getState().equals(JvmState.JVM_NEW)){
-            return new AsyncResult<>(new CurrentState<>(jvm.getId(), jvm.getState(), DateTime.now(), StateType.JVM));
+            return CompletableFuture.completedFuture(new CurrentState<>(jvm.getId(), jvm.getState(), DateTime.now(), StateType.JVM));
         }
 
         try {
-            response = clientFactoryHelper.requestGet(jvm.getStatusUri());
-            LOGGER.debug("Response = {} from JVM {}", response.getStatusCode(), jvm.getJvmName());
-            jvmStateService.updateNotInMemOrStaleState(jvm, JvmState.JVM_STARTED, StringUtils.EMPTY);
-            currentState = new CurrentState<>(jvm.getId(), JvmState.JVM_STARTED, DateTime.now(), StateType.JVM);
-        } catch (final IOException ioe) {
-            LOGGER.warn("{} {} {}", jvm.getJvmName(), ioe.getMessage(), "Setting JVM state to STOPPED.", ioe);
-            jvmStateService.updateNotInMemOrStaleState(jvm, JvmState.JVM_STOPPED, StringUtils.EMPTY);
-            currentState = new CurrentState<>(jvm.getId(), JvmState.JVM_STOPPED, DateTime.now(), StateType.JVM);
+            return httpStatePinger.ping(jvm.getStatusUri(), connectTimeout, readTimeout)
+                    .handle((statusCode, throwable) -> updateJvmState(jvm, jvmStateService, statusCode, throwable));
         } catch (final RuntimeException rte) {
-            // This method is executed asynchronously and we do not want to interrupt the thread's lifecycle so we
-            // just catch and log runtime exceptions instead of rethrowing it
             LOGGER.error(rte.getMessage(), rte);
-        } finally {
-            if (response != null) {
-                response.close();
-                LOGGER.debug("response closed");
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private CurrentState<Jvm, JvmState> updateJvmState(final Jvm jvm, final JvmStateService jvmStateService,
+                                                       final Integer statusCode, final Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
+        try {
+            if (cause == null) {
+                LOGGER.debug("Response = {} from JVM {}", statusCode, jvm.getJvmName());
+                jvmStateService.updateNotInMemOrStaleState(jvm, JvmState.JVM_STARTED, StringUtils.EMPTY);
+                return new CurrentState<>(jvm.getId(), JvmState.JVM_STARTED, DateTime.now(), StateType.JVM);
             }
-            LOGGER.debug("--- pingAndUpdateJvmState");
+
+            if (cause instanceof IOException) {
+                LOGGER.warn("{} {} {}", jvm.getJvmName(), cause.getMessage(), "Setting JVM state to STOPPED.", cause);
+                jvmStateService.updateNotInMemOrStaleState(jvm, JvmState.JVM_STOPPED, StringUtils.EMPTY);
+                return new CurrentState<>(jvm.getId(), JvmState.JVM_STOPPED, DateTime.now(), StateType.JVM);
+            }
+
+            LOGGER.error(cause.getMessage(), cause);
+        } catch (final RuntimeException rte) {
+            // This runs in the pinger's callback thread and we do not want to interrupt the thread's lifecycle so we
+            // just catch and log runtime exceptions instead of rethrowing it
+            LOGGER.error(rte.getMessage(), rte);
         }
-        return new AsyncResult<>(currentState);
+        return null;
     }
 
 }
@@ -8,11 +8,15 @@ import com.cerner.jwala.common.domain.model.ssh.SshConfiguration;
 import com.cerner.jwala.common.domain.model.state.CurrentState;
 import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
+import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.common.properties.PropertyKeys;
 import com.cerner.jwala.control.jvm.command.JvmCommandFactory;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
 import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
 import com.cerner.jwala.service.jvm.JvmStateService;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
+import com.cerner.jwala.service.state.AdaptivePollSchedule.Activity;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import de.jkeylockmanager.manager.KeyLockManager;
 import de.jkeylockmanager.manager.LockCallback;
@@ -50,12 +54,13 @@ public class JvmStateServiceImpl implements JvmStateService {
     private final JvmPersistenceService jvmPersistenceService;
     private final InMemoryStateManagerService<Identifier<Jvm>, CurrentState<Jvm, JvmState>> inMemoryStateManagerService;
     private final JvmStateResolverWorker jvmStateResolverWorker;
-    private final long jvmStateUpdateInterval;
+    private volatile long jvmStateUpdateInterval;
     private final MessagingService messagingService;
     private final GroupStateNotificationService groupStateNotificationService;
     private final JvmCommandFactory jvmCommandFactory;
     private final SshConfiguration sshConfig;
     private final KeyLockManager lockManager;
+    private final AdaptivePollSchedule<Identifier<Jvm>> pollSchedule;
 
     @Autowired
     public JvmStateServiceImpl(final JvmPersistenceService jvmPersistenceService,
@@ -71,7 +76,9 @@ public class JvmStateServiceImpl implements JvmStateService {
                                @Value("${jvm.state.key.lock.timeout.millis:600000}")
                                final long lockTimeout,
                                @Value("${jvm.state.key.lock.stripe.count:120}")
-                               final int keyLockStripeCount) {
+                               final int keyLockStripeCount,
+                               @Qualifier("jvmPollSchedule")
+                               final AdaptivePollSchedule<Identifier<Jvm>> pollSchedule) {
         this.jvmPersistenceService = jvmPersistenceService;
         this.inMemoryStateManagerService = inMemoryStateManagerService;
         this.jvmStateResolverWorker = jvmStateResolverWorker;
@@ -81,29 +88,42 @@ public class JvmStateServiceImpl implements JvmStateService {
         this.jvmCommandFactory = jvmCommandFactory;
         this.sshConfig = sshConfig;
         lockManager = new StripedKeyLockManager(lockTimeout, TimeUnit.MILLISECONDS, keyLockStripeCount);
+        this.pollSchedule = pollSchedule;
+
+        ApplicationProperties.addChangeListener(changedKeys -> {
+            if (changedKeys.contains(PropertyKeys.JVM_STATE_UPDATE_INTERVAL.getPropertyName())) {
+                this.jvmStateUpdateInterval = ApplicationProperties.getAsLong(PropertyKeys.JVM_STATE_UPDATE_INTERVAL,
+                        jvmStateUpdateInterval);
+                LOGGER.info("JVM state update interval changed to {} ms", this.jvmStateUpdateInterval);
+            }
+        });
 
         initInMemoryStateService();
     }
 
     private void initInMemoryStateService() {
-        for (Jvm jvm : jvmPersistenceService.getJvms()) {
-            final Date lastUpdateDate = jvmPersistenceService.getJpaJvm(jvm.getId(), false).getLastUpdateDate().getTime();
+        for (Jvm jvm : jvmPersistenceService.getJvmsForStatePolling()) {
+            final Date lastUpdateDate = jvm.getLastUpdatedDate().getTime();
             inMemoryStateManagerService.put(jvm.getId(), new CurrentState<>(jvm.getId(), jvm.getState(), new DateTime(lastUpdateDate), StateType.JVM));
         }
     }
 
+    /**
+     * Only reads what pinging needs from the JVMs, see {@link JvmPersistenceService#getJvmsForStatePolling()}
+     */
     @Override
     @Scheduled(fixedDelayString = "${ping.jvm.period.millis}")
     public void verifyAndUpdateJvmStates() {
-        final List<Jvm> jvms = jvmPersistenceService.getJvms();
+        final List<Jvm> jvms = jvmPersistenceService.getJvmsForStatePolling();
         if (CollectionUtils.isEmpty(jvms)) {
             LOGGER.warn("No JVMs found to ping.");
             return;
         }
 
         for (final Jvm jvm : jvms) {
-            if (stateNotInMemory(jvm) || isValidState(jvm) && isFutureNilOrDone(jvm) && isStale(jvm)) {
+            if (stateNotInMemory(jvm) || isFutureNilOrDone(jvm) && isPingDue(jvm)) {
                 LOGGER.debug("Pinging JVM {} ...", jvm.getJvmName());
+                pollSchedule.polled(jvm.getId(), isStopping(jvm) ? Activity.TRANSITION : Activity.STABLE);
                 PING_FUTURE_MAP.put(jvm.getId(), jvmStateResolverWorker.pingAndUpdateJvmState(jvm, this));
                 LOGGER.debug("Pinged JVM {}", jvm.getJvmName());
             }
@@ -115,8 +135,15 @@ public class JvmStateServiceImpl implements JvmStateService {
         return pingFuture==null || pingFuture.isDone();
     }
 
-    private boolean isValidState(Jvm jvm) {
-        return isStarted(jvm) || isStopping(jvm);
+    /**
+     * A stopping JVM is pinged at the transition interval of the poll schedule, a started JVM is pinged when its state
+     * is stale and its poll interval has passed. Other JVMs report their state through the heartbeat.
+     *
+     * @param jvm {@link Jvm}
+     * @return true if the JVM should be pinged now
+     */
+    private boolean isPingDue(final Jvm jvm) {
+        return (isStopping(jvm) || isStarted(jvm) && isStale(jvm)) && pollSchedule.isDue(jvm.getId());
     }
 
     /**
@@ -170,6 +197,14 @@ public class JvmStateServiceImpl implements JvmStateService {
 
     @Override
     public void updateNotInMemOrStaleState(final Jvm jvm, final JvmState state, final String errMsg) {
+        if (JvmState.JVM_STOPPED.equals(state)) {
+            pollSchedule.polled(jvm.getId(), Activity.UNREACHABLE);
+        } else if (isStopping(jvm) && !isStale(jvm)) {
+            // A stopping JVM is pinged often and may still answer until its connector is closed
+            LOGGER.debug("Ignoring {} state since JVM {} is stopping", state, jvm.getJvmName());
+            return;
+        }
+
         // Check again before updating to make sure that nothing has change after pinging the JVM.
         if (!stateNotInMemory(jvm) || isStarted(jvm) || isStopping(jvm) && isStale(jvm)) {
             LOGGER.debug("Updating state of JVM {} ...", jvm.getJvmName());
@@ -188,6 +223,11 @@ public class JvmStateServiceImpl implements JvmStateService {
         return !inMemoryStateManagerService.containsKey(jvm.getId());
     }
 
+    @Override
+    public void resetPollSchedule(final Jvm jvm) {
+        pollSchedule.reset(jvm.getId());
+    }
+
     @Override
     public RemoteCommandReturnInfo getServiceStatus(final Jvm jvm) {
         return jvmCommandFactory.executeCommand(jvm, JvmControlOperation.CHECK_SERVICE_STATUS);
@@ -219,7 +259,7 @@ public class JvmStateServiceImpl implements JvmStateService {
                     LOGGER.debug("Updating Jvm {} state with state = {}, msg = {}.", jvm.getJvmName(), state, errMsg);
                     jvmPersistenceService.updateState(id, state, errMsg);
                     messagingService.send(jvmCurrentState);
-                    groupStateNotificationService.retrieveStateAndSend(id, Jvm.class);
+                    groupStateNotificationService.jvmStateChanged(id, state);
                 }
 
                 inMemoryStateManagerService.put(id, jvmCurrentState);
@@ -3,8 +3,12 @@ package com.cerner.jwala.service.jvm.state;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.common.domain.model.state.CurrentState;
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmStateService;
+import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import org.apache.catalina.LifecycleState;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -12,17 +16,43 @@ import org.apache.commons.lang3.math.NumberUtils;
 import org.jgroups.Message;
 import org.jgroups.ReceiverAdapter;
 import org.jgroups.View;
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.persistence.NoResultException;
 import java.lang.reflect.Field;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * The listener for JGroup messages
+ *
+ * The agent sends compact binary heartbeats, which are read without Java serialization (see
+ * com.cerner.jwala.tomcat.listener.messaging.jgroups.JGroupsServerInfoMessageBuilder in jwala-tomcat-agent for the
+ * format). Older agents send a serialized map which is still accepted. The runtime metrics an agent may send with its
+ * heartbeats are handed to the {@link JvmMetricsService}, even when the state didn't change.
+ *
+ * Heartbeats are not processed on the JGroups thread. They are put in a bounded queue, heartbeats that don't fit are
+ * dropped since the JVM sends another one soon. A worker drains the queue in batches and only keeps the last heartbeat
+ * of each JVM in a batch. The JVMs are looked up in a cache by id or name, the cache is cleared when a JVM is created,
+ * updated or removed. A heartbeat with the state the JVM is already in is dropped unless the in-memory state is older
+ * than the refresh interval, which keeps the state from going stale without writing it on every heartbeat.
  */
 public class JvmStateReceiverAdapter extends ReceiverAdapter {
 
@@ -31,8 +61,38 @@ public class JvmStateReceiverAdapter extends ReceiverAdapter {
     static final String NAME_KEY = "NAME";
     private static final String ID_KEY = "ID";
 
+    static final byte[] HEARTBEAT_MAGIC = {'J', 'H'};
+    static final byte HEARTBEAT_VERSION = 1;
+    // the states by their index in the heartbeat, the same list as the agent's
+    static final List<String> HEARTBEAT_STATES = Arrays.asList("NEW", "INITIALIZING", "INITIALIZED", "STARTING_PREP",
+            "STARTING", "STARTED", "STOPPING_PREP", "STOPPING", "STOPPED", "DESTROYING", "DESTROYED", "FAILED",
+            "MUST_STOP", "MUST_DESTROY");
+    // the metrics by their index in the heartbeat, the same list as the agent's
+    static final List<String> HEARTBEAT_METRICS = Arrays.asList("heapUsed", "heapCommitted", "gcCount", "gcTime",
+            "threadCount", "connectorBusyThreads", "connectorRequestCount");
+    private static final long UNKNOWN_ID = -1;
+
     private final JvmStateService jvmStateService;
     private final JvmPersistenceService jvmPersistenceService;
+    private final JvmMetricsService jvmMetricsService;
+    private final InMemoryStateManagerService<Identifier<Jvm>, CurrentState<Jvm, JvmState>> inMemoryStateManagerService;
+    private final BlockingQueue<Heartbeat> queue;
+    private final int batchSize;
+    private final long refreshMillis;
+    private final ThreadFactory threadFactory;
+    private final LongSupplier topologyVersion;
+
+    private final ConcurrentHashMap<String, Jvm> jvmCache = new ConcurrentHashMap<>();
+    private volatile long jvmCacheVersion;
+    private volatile Thread worker;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private final AtomicLong updatedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong jvmCacheMissCount = new AtomicLong();
 
     private final static Map<LifecycleState, JvmState> LIFECYCLE_JWALA_JVM_STATE_REF_MAP = new HashMap<>();
 
@@ -53,22 +113,287 @@ public class JvmStateReceiverAdapter extends ReceiverAdapter {
         LIFECYCLE_JWALA_JVM_STATE_REF_MAP.put(LifecycleState.STOPPING_PREP, JvmState.JVM_STOPPING);
     }
 
-    public JvmStateReceiverAdapter(final JvmStateService jvmStateService, final JvmPersistenceService jvmPersistenceService) {
+    /**
+     * @param queueCapacity the number of heartbeats that can wait for the worker
+     * @param batchSize     the maximum number of heartbeats the worker takes from the queue at once
+     * @param refreshMillis how old the in-memory state can get before a heartbeat with the same state refreshes it
+     * @param threadFactory creates the worker thread
+     */
+    public JvmStateReceiverAdapter(final JvmStateService jvmStateService,
+                                   final JvmPersistenceService jvmPersistenceService,
+                                   final JvmMetricsService jvmMetricsService,
+                                   final InMemoryStateManagerService<Identifier<Jvm>, CurrentState<Jvm, JvmState>> inMemoryStateManagerService,
+                                   final int queueCapacity,
+                                   final int batchSize,
+                                   final long refreshMillis,
+                                   final ThreadFactory threadFactory) {
+        this(jvmStateService, jvmPersistenceService, jvmMetricsService, inMemoryStateManagerService, queueCapacity, batchSize,
+                refreshMillis, threadFactory, TopologyChangeListener::getVersion);
+    }
+
+    /**
+     * @param topologyVersion supplies the version of the topology, the JVM cache is cleared when it changes
+     */
+    JvmStateReceiverAdapter(final JvmStateService jvmStateService,
+                            final JvmPersistenceService jvmPersistenceService,
+                            final JvmMetricsService jvmMetricsService,
+                            final InMemoryStateManagerService<Identifier<Jvm>, CurrentState<Jvm, JvmState>> inMemoryStateManagerService,
+                            final int queueCapacity,
+                            final int batchSize,
+                            final long refreshMillis,
+                            final ThreadFactory threadFactory,
+                            final LongSupplier topologyVersion) {
         this.jvmStateService = jvmStateService;
         this.jvmPersistenceService = jvmPersistenceService;
+        this.jvmMetricsService = jvmMetricsService;
+        this.inMemoryStateManagerService = inMemoryStateManagerService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.refreshMillis = refreshMillis;
+        this.threadFactory = threadFactory;
+        this.topologyVersion = topologyVersion;
+        this.jvmCacheVersion = topologyVersion.getAsLong();
+    }
+
+    /**
+     * Start the worker that processes the queued heartbeats
+     */
+    public void start() {
+        worker = threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                final List<Heartbeat> batch = new ArrayList<>(batchSize);
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        batch.add(queue.take());
+                        queue.drainTo(batch, batchSize - 1);
+                        process(batch);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (final RuntimeException e) {
+                        LOGGER.error("Failed to process a batch of {} JVM heartbeats", batch.size(), e);
+                    } finally {
+                        batch.clear();
+                    }
+                }
+            }
+        });
+        worker.start();
+    }
+
+    /**
+     * Stop the worker, the heartbeats still in the queue are dropped
+     */
+    public void shutdown() {
+        final Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     @Override
     public void receive(final Message jGroupMsg) {
-        final Map serverInfoMap = (Map) jGroupMsg.getObject();
-        final Jvm jvm = getJvm(serverInfoMap);
-        final JvmState jvmState = getJvmState(serverInfoMap);
+        receivedCount.incrementAndGet();
+        final Heartbeat heartbeat;
+        if (isBinaryHeartbeat(jGroupMsg)) {
+            heartbeat = decodeHeartbeat(jGroupMsg);
+            if (heartbeat == null) {
+                return;
+            }
+        } else {
+            heartbeat = fromServerInfoMap((Map) jGroupMsg.getObject());
+        }
+        if (!queue.offer(heartbeat)) {
+            droppedCount.incrementAndGet();
+            LOGGER.debug("The JVM heartbeat queue is full, dropped {}", heartbeat);
+        }
+    }
+
+    private static boolean isBinaryHeartbeat(final Message jGroupMsg) {
+        final byte[] buffer = jGroupMsg.getRawBuffer();
+        final int offset = jGroupMsg.getOffset();
+        return buffer != null && jGroupMsg.getLength() > HEARTBEAT_MAGIC.length &&
+                buffer[offset] == HEARTBEAT_MAGIC[0] && buffer[offset + 1] == HEARTBEAT_MAGIC[1];
+    }
+
+    /**
+     * @return the heartbeat or null if its version is not supported, its state is unknown or it's malformed
+     */
+    private static Heartbeat decodeHeartbeat(final Message jGroupMsg) {
+        final ByteBuffer buffer = ByteBuffer.wrap(jGroupMsg.getRawBuffer(), jGroupMsg.getOffset(), jGroupMsg.getLength());
+        buffer.position(buffer.position() + HEARTBEAT_MAGIC.length);
+        try {
+            final byte version = buffer.get();
+            if (version != HEARTBEAT_VERSION) {
+                LOGGER.error("Heartbeat version {} from {} is not supported", version, jGroupMsg.getSrc());
+                return null;
+            }
+            final long id = buffer.getLong();
+            final int stateIndex = buffer.get();
+            if (stateIndex < 0 || stateIndex >= HEARTBEAT_STATES.size()) {
+                LOGGER.error("Heartbeat state {} from {} is not supported", stateIndex, jGroupMsg.getSrc());
+                return null;
+            }
+            final long asOf = buffer.getLong();
+            final long sequence = buffer.getLong();
+            String name = null;
+            if (id == UNKNOWN_ID) {
+                final byte[] nameBytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(nameBytes);
+                // modified UTF-8 only differs from UTF-8 for characters that aren't in JVM names
+                name = new String(nameBytes, StandardCharsets.UTF_8);
+            }
+            final JvmState state = LIFECYCLE_JWALA_JVM_STATE_REF_MAP.get(LifecycleState.valueOf(HEARTBEAT_STATES.get(stateIndex)));
+            final Heartbeat heartbeat = new Heartbeat(id == UNKNOWN_ID ? null : Long.toString(id), name, state, asOf,
+                    sequence, null);
+            if (buffer.hasRemaining()) {
+                heartbeat.metrics = decodeMetrics(buffer);
+            }
+            return heartbeat;
+        } catch (final BufferUnderflowException e) {
+            LOGGER.error("Received a malformed heartbeat from {}", jGroupMsg.getSrc(), e);
+            return null;
+        }
+    }
+
+    private static Map<String, Long> decodeMetrics(final ByteBuffer buffer) {
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        final int count = buffer.get() & 0xFF;
+        for (int i = 0; i < count; i++) {
+            final int index = buffer.get();
+            final long value = buffer.getLong();
+            // a metric added to a newer agent is skipped
+            if (index >= 0 && index < HEARTBEAT_METRICS.size()) {
+                metrics.put(HEARTBEAT_METRICS.get(index), value);
+            }
+        }
+        return metrics;
+    }
+
+    private Heartbeat fromServerInfoMap(final Map serverInfoMap) {
+        final String jvmId = getStringFromMessageMap(serverInfoMap, ID_KEY);
+        if (jvmId != null && NumberUtils.isNumber(jvmId)) {
+            return new Heartbeat(jvmId, null, getJvmState(serverInfoMap), 0, -1, serverInfoMap);
+        }
+        // get the JVM by name instead
+        return new Heartbeat(null, getStringFromMessageMap(serverInfoMap, NAME_KEY), getJvmState(serverInfoMap), 0, -1,
+                serverInfoMap);
+    }
+
+    /**
+     * Process the heartbeats in the queue on the calling thread
+     */
+    void processQueuedHeartbeats() {
+        final List<Heartbeat> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return the number of heartbeats received, dropped since the queue was full, replaced by a later heartbeat of the
+     * same JVM in a batch, dropped since the state didn't change and that updated the state, the number of batches,
+     * the queue size and the JVM cache size and misses
+     */
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("received", receivedCount.get());
+        metrics.put("dropped", droppedCount.get());
+        metrics.put("coalesced", coalescedCount.get());
+        metrics.put("unchanged", unchangedCount.get());
+        metrics.put("updated", updatedCount.get());
+        metrics.put("batches", batchCount.get());
+        metrics.put("queued", queue.size());
+        metrics.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        metrics.put("jvmCacheSize", jvmCache.size());
+        metrics.put("jvmCacheMisses", jvmCacheMissCount.get());
+        return metrics;
+    }
+
+    private void process(final List<Heartbeat> batch) {
+        batchCount.incrementAndGet();
+
+        // only the last heartbeat of a JVM matters
+        final Map<String, Heartbeat> lastHeartbeats = new LinkedHashMap<>();
+        for (final Heartbeat heartbeat : batch) {
+            final Heartbeat previous = lastHeartbeats.get(heartbeat.getKey());
+            if (previous == null || heartbeat.isAfter(previous)) {
+                lastHeartbeats.put(heartbeat.getKey(), heartbeat);
+            }
+            if (previous != null) {
+                coalescedCount.incrementAndGet();
+            }
+        }
+
+        for (final Heartbeat heartbeat : lastHeartbeats.values()) {
+            try {
+                process(heartbeat);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Failed to update the state with the following details: {}", heartbeat, e);
+            }
+        }
+    }
+
+    private void process(final Heartbeat heartbeat) {
+        final Jvm jvm = getJvm(heartbeat);
+        final JvmState jvmState = heartbeat.state;
+
+        if (jvm != null && heartbeat.metrics != null) {
+            jvmMetricsService.update(jvm, heartbeat.asOf, heartbeat.metrics);
+        }
 
         if (jvm != null && !JvmState.JVM_STOPPED.equals(jvmState)) {
+            if (isUnchanged(jvm, jvmState)) {
+                unchangedCount.incrementAndGet();
+                return;
+            }
             jvmStateService.updateState(jvm, jvmState, StringUtils.EMPTY);
+            updatedCount.incrementAndGet();
         } else if (jvm == null) {
-            LOGGER.error("Cannot update the state since no JVM was found with the following details: {}", serverInfoMap);
+            LOGGER.error("Cannot update the state since no JVM was found with the following details: {}", heartbeat);
+        }
+    }
+
+    /**
+     * @return true if the JVM is already in the state, without an error message, and the state is not older than the
+     * refresh interval
+     */
+    private boolean isUnchanged(final Jvm jvm, final JvmState jvmState) {
+        final CurrentState<Jvm, JvmState> currentState = inMemoryStateManagerService.get(jvm.getId());
+        return currentState != null && jvmState != null && jvmState.equals(currentState.getState()) &&
+                StringUtils.isEmpty(currentState.getMessage()) && currentState.getAsOf() != null &&
+                DateTime.now().getMillis() - currentState.getAsOf().getMillis() < refreshMillis;
+    }
+
+    /**
+     * Get the JVM from the cache or, if it's not there, from the persistence service
+     * @param heartbeat the heartbeat with the JVM id or name
+     * @return {@link Jvm}
+     */
+    private Jvm getJvm(final Heartbeat heartbeat) {
+        final long version = topologyVersion.getAsLong();
+        if (version != jvmCacheVersion) {
+            jvmCache.clear();
+            jvmCacheVersion = version;
+        }
+
+        final String key = heartbeat.getKey();
+        Jvm jvm = jvmCache.get(key);
+        if (jvm == null) {
+            jvmCacheMissCount.incrementAndGet();
+            jvm = heartbeat.id != null ? getJvmById(Long.parseLong(heartbeat.id)) : getJvmByName(heartbeat.name);
+            // a JVM changed while it was read is left out since the cache may have been cleared before it was put
+            if (jvm != null && version == topologyVersion.getAsLong()) {
+                jvmCache.put(key, jvm);
+            }
         }
+        return jvm;
     }
 
     private JvmState getJvmState(final Map serverInfoMap) {
@@ -101,20 +426,6 @@ public class JvmStateReceiverAdapter extends ReceiverAdapter {
 
     }
 
-    /**
-     * Get the JVM with parameters provided in a map
-     * @param serverInfoMap the map that contains the JVM id or name
-     * @return {@link Jvm}
-     */
-    private Jvm getJvm(final Map serverInfoMap) {
-        final String id = getStringFromMessageMap(serverInfoMap, ID_KEY);
-        if (id != null && NumberUtils.isNumber(id)) {
-            return getJvmById(Long.parseLong(id));
-        }
-        // try to get the JVM by name instead
-        return getJvmByName(getStringFromMessageMap(serverInfoMap, NAME_KEY));
-    }
-
     private String getStringFromMessageMap(final Map serverInfoMap, final String key) {
 
         // check for a String key first to support the latest version
@@ -127,6 +438,11 @@ public class JvmStateReceiverAdapter extends ReceiverAdapter {
             return (String) serverInfoMap.get(key);
         }
 
+        if (keys.iterator().next() instanceof String) {
+            // the latest version just didn't send the key
+            return null;
+        }
+
         // assume the message is from the initial version of the JVM state reporter
         try {
             final Object initialKey = keys.iterator().next();
@@ -172,4 +488,55 @@ public class JvmStateReceiverAdapter extends ReceiverAdapter {
     public void viewAccepted(View view) {
         LOGGER.debug("JGroups coordinator cluster VIEW: {}", view.toString());
     }
+
+    /**
+     * A heartbeat waiting in the queue, the id, name and state are read from the message before it's queued
+     */
+    private static class Heartbeat {
+        private final String id;
+        private final String name;
+        private final JvmState state;
+        private final long asOf;
+        private final long sequence;
+        private final Map serverInfoMap;
+        private Map<String, Long> metrics;
+
+        /**
+         * @param sequence      the sequence of the server's messages, -1 if the message has none
+         * @param serverInfoMap the map sent by older agents, null for binary heartbeats
+         */
+        private Heartbeat(final String id, final String name, final JvmState state, final long asOf,
+                          final long sequence, final Map serverInfoMap) {
+            this.id = id;
+            this.name = name;
+            this.state = state;
+            this.asOf = asOf;
+            this.sequence = sequence;
+            this.serverInfoMap = serverInfoMap;
+        }
+
+        private String getKey() {
+            return id != null ? ID_KEY + "/" + id : NAME_KEY + "/" + name;
+        }
+
+        /**
+         * @return true if the server sent this heartbeat after the other one, heartbeats without a sequence are taken
+         * in the order they're received
+         */
+        private boolean isAfter(final Heartbeat other) {
+            if (sequence < 0 || other.sequence < 0) {
+                return true;
+            }
+            // the sequence starts over when the server restarts
+            return asOf != other.asOf ? asOf > other.asOf : sequence > other.sequence;
+        }
+
+        @Override
+        public String toString() {
+            if (serverInfoMap != null) {
+                return serverInfoMap.toString();
+            }
+            return "{ID=" + id + ", NAME=" + name + ", STATE=" + state + ", AS_OF=" + asOf + ", SEQUENCE=" + sequence + "}";
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.cerner.jwala.service.resource;
+
+import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
+
+/**
+ * Contract for a service that provides the {@link ResourceGroup} that resource templates are generated with
+ */
+public interface ResourceGroupSnapshotService {
+
+    /**
+     * Get the groups with their JVMs (and the applications under them), web servers and applications. The returned
+     * snapshot is shared and must not be modified, it is rebuilt once a group, JVM, web server, application or media
+     * has been created, updated or removed.
+     *
+     * @return the {@link ResourceGroup} snapshot
+     */
+    ResourceGroup getResourceGroup();
+
+}
@@ -6,12 +6,9 @@ import com.cerner.jwala.common.domain.model.jvm.Jvm;
 import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.persistence.jpa.type.EventType;
-import com.cerner.jwala.persistence.service.ApplicationPersistenceService;
-import com.cerner.jwala.persistence.service.GroupPersistenceService;
-import com.cerner.jwala.persistence.service.JvmPersistenceService;
-import com.cerner.jwala.persistence.service.WebServerPersistenceService;
 import com.cerner.jwala.service.HistoryFacadeService;
 import com.cerner.jwala.service.resource.ResourceContentGeneratorService;
+import com.cerner.jwala.service.resource.ResourceGroupSnapshotService;
 import com.cerner.jwala.template.ResourceFileGenerator;
 import com.cerner.jwala.template.exception.ResourceFileGeneratorException;
 import org.slf4j.Logger;
@@ -21,8 +18,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
-import java.util.List;
 
 /**
  * Implement {@link ResourceContentGeneratorService}
@@ -33,29 +28,20 @@ import java.util.List;
 public class ResourceContentGeneratorServiceImpl implements ResourceContentGeneratorService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceContentGeneratorServiceImpl.class);
-    private final GroupPersistenceService groupPersistenceService;
-    private final WebServerPersistenceService webServerPersistenceService;
-    private final JvmPersistenceService jvmPersistenceService;
-    private final ApplicationPersistenceService applicationPersistenceService;
+    private final ResourceGroupSnapshotService resourceGroupSnapshotService;
     private final HistoryFacadeService historyFacadeService;
 
     @Autowired
-    public ResourceContentGeneratorServiceImpl(final GroupPersistenceService groupPersistenceService,
-                                               final WebServerPersistenceService webServerPersistenceService,
-                                               final JvmPersistenceService jvmPersistenceService,
-                                               final ApplicationPersistenceService applicationPersistenceService,
+    public ResourceContentGeneratorServiceImpl(final ResourceGroupSnapshotService resourceGroupSnapshotService,
                                                final HistoryFacadeService historyFacadeService) {
-        this.groupPersistenceService = groupPersistenceService;
-        this.webServerPersistenceService = webServerPersistenceService;
-        this.jvmPersistenceService = jvmPersistenceService;
-        this.applicationPersistenceService = applicationPersistenceService;
+        this.resourceGroupSnapshotService = resourceGroupSnapshotService;
         this.historyFacadeService = historyFacadeService;
     }
 
     @Override
     public <T> String generateContent(final String fileName, final String template, final ResourceGroup resourceGroup, final T entity, ResourceGeneratorType resourceGeneratorType) {
         try {
-            return ResourceFileGenerator.generateResourceConfig(fileName, template, null == resourceGroup ? generateResourceGroup() : resourceGroup, entity);
+            return ResourceFileGenerator.generateResourceConfig(fileName, template, null == resourceGroup ? resourceGroupSnapshotService.getResourceGroup() : resourceGroup, entity);
         } catch (ResourceFileGeneratorException e) {
             final String logMessage = resourceGeneratorType.name() + ": " + e.getMessage();
             LOGGER.error(logMessage, e);
@@ -77,30 +63,4 @@ public class ResourceContentGeneratorServiceImpl implements ResourceContentGener
             throw new ResourceFileGeneratorException(logMessage, e);
         }
     }
-
-    /**
-     * Create pertinent data to pass to the template generator engine
-     *
-     * @return {@link ResourceGroup}
-     */
-    private ResourceGroup generateResourceGroup() {
-        final List<Group> groups = groupPersistenceService.getGroups();
-        List<Group> groupsToBeAdded = null;
-
-        for (Group group : groups) {
-            if (groupsToBeAdded == null) {
-                groupsToBeAdded = new ArrayList<>(groups.size());
-            }
-            final List<Jvm> jvms = jvmPersistenceService.getJvmsByGroupName(group.getName());
-            final List<WebServer> webServers = webServerPersistenceService.getWebServersByGroupName(group.getName());
-            final List<Application> applications = applicationPersistenceService.findApplicationsBelongingTo(group.getName());
-            groupsToBeAdded.add(new Group(group.getId(),
-                    group.getName(),
-                    null != jvms ? new LinkedHashSet<>(jvms) : new LinkedHashSet<Jvm>(),
-                    null != webServers ? new LinkedHashSet<>(webServers) : new LinkedHashSet<WebServer>(),
-                    group.getHistory(),
-                    null != applications ? new LinkedHashSet<>(applications) : new LinkedHashSet<Application>()));
-        }
-        return new ResourceGroup(groupsToBeAdded);
-    }
 }
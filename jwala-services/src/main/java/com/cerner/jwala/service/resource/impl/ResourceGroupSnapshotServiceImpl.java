@@ -0,0 +1,153 @@
+package com.cerner.jwala.service.resource.impl;
+
+import com.cerner.jwala.common.domain.model.app.Application;
+import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.persistence.jpa.domain.listener.TopologyChangeListener;
+import com.cerner.jwala.persistence.service.ApplicationPersistenceService;
+import com.cerner.jwala.persistence.service.GroupPersistenceService;
+import com.cerner.jwala.persistence.service.JvmPersistenceService;
+import com.cerner.jwala.persistence.service.WebServerPersistenceService;
+import com.cerner.jwala.service.resource.ResourceGroupSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Implement {@link ResourceGroupSnapshotService}
+ * <p>
+ * The snapshot is built with one query each for the groups, JVMs, web servers and applications instead of three
+ * queries per group, and it is kept until the version of the topology kept by {@link TopologyChangeListener} changes.
+ */
+@Service
+public class ResourceGroupSnapshotServiceImpl implements ResourceGroupSnapshotService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceGroupSnapshotServiceImpl.class);
+
+    private final GroupPersistenceService groupPersistenceService;
+    private final JvmPersistenceService jvmPersistenceService;
+    private final WebServerPersistenceService webServerPersistenceService;
+    private final ApplicationPersistenceService applicationPersistenceService;
+    private final LongSupplier topologyVersion;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ResourceGroupSnapshotServiceImpl(final GroupPersistenceService groupPersistenceService,
+                                            final JvmPersistenceService jvmPersistenceService,
+                                            final WebServerPersistenceService webServerPersistenceService,
+                                            final ApplicationPersistenceService applicationPersistenceService) {
+        this(groupPersistenceService, jvmPersistenceService, webServerPersistenceService, applicationPersistenceService,
+                TopologyChangeListener::getVersion);
+    }
+
+    /**
+     * @param topologyVersion supplies the version of the topology, the snapshot is rebuilt when it changes
+     */
+    public ResourceGroupSnapshotServiceImpl(final GroupPersistenceService groupPersistenceService,
+                                            final JvmPersistenceService jvmPersistenceService,
+                                            final WebServerPersistenceService webServerPersistenceService,
+                                            final ApplicationPersistenceService applicationPersistenceService,
+                                            final LongSupplier topologyVersion) {
+        this.groupPersistenceService = groupPersistenceService;
+        this.jvmPersistenceService = jvmPersistenceService;
+        this.webServerPersistenceService = webServerPersistenceService;
+        this.applicationPersistenceService = applicationPersistenceService;
+        this.topologyVersion = topologyVersion;
+    }
+
+    @Override
+    public ResourceGroup getResourceGroup() {
+        // the version is read before building so that a change made while building leaves an outdated version
+        final long version = topologyVersion.getAsLong();
+        Snapshot current = snapshot;
+        if (current != null && current.version == version) {
+            return current.resourceGroup;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.version != version) {
+                final long startTime = System.currentTimeMillis();
+                current = new Snapshot(version, buildResourceGroup());
+                snapshot = current;
+                LOGGER.debug("Built the resource group snapshot version {} in {} ms", version, System.currentTimeMillis() - startTime);
+            }
+            return current.resourceGroup;
+        }
+    }
+
+    private ResourceGroup buildResourceGroup() {
+        final List<Group> groups = groupPersistenceService.getGroups();
+
+        final Map<Identifier<Group>, Set<Jvm>> jvmsByGroupId = new HashMap<>();
+        for (final Jvm jvm : jvmPersistenceService.getJvmsAndWebApps()) {
+            if (jvm.getGroups() != null) {
+                for (final Group group : jvm.getGroups()) {
+                    getMembers(jvmsByGroupId, group.getId()).add(jvm);
+                }
+            }
+        }
+
+        final Map<Identifier<Group>, Set<WebServer>> webServersByGroupId = new HashMap<>();
+        for (final WebServer webServer : webServerPersistenceService.getWebServers()) {
+            final Collection<Group> webServerGroups = webServer.getGroups();
+            if (webServerGroups != null) {
+                for (final Group group : webServerGroups) {
+                    getMembers(webServersByGroupId, group.getId()).add(webServer);
+                }
+            }
+        }
+
+        final Map<Identifier<Group>, Set<Application>> applicationsByGroupId = new HashMap<>();
+        for (final Application application : applicationPersistenceService.getApplications()) {
+            if (application.getGroup() != null) {
+                getMembers(applicationsByGroupId, application.getGroup().getId()).add(application);
+            }
+        }
+
+        final List<Group> resourceGroups = new ArrayList<>(groups.size());
+        for (final Group group : groups) {
+            resourceGroups.add(new Group(group.getId(),
+                    group.getName(),
+                    Collections.unmodifiableSet(getMembers(jvmsByGroupId, group.getId())),
+                    Collections.unmodifiableSet(getMembers(webServersByGroupId, group.getId())),
+                    group.getHistory(),
+                    Collections.unmodifiableSet(getMembers(applicationsByGroupId, group.getId()))));
+        }
+        return new ResourceGroup(Collections.unmodifiableList(resourceGroups));
+    }
+
+    private static <T> Set<T> getMembers(final Map<Identifier<Group>, Set<T>> membersByGroupId, final Identifier<Group> groupId) {
+        Set<T> members = membersByGroupId.get(groupId);
+        if (members == null) {
+            members = new LinkedHashSet<>();
+            membersByGroupId.put(groupId, members);
+        }
+        return members;
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final ResourceGroup resourceGroup;
+
+        Snapshot(final long version, final ResourceGroup resourceGroup) {
+            this.version = version;
+            this.resourceGroup = resourceGroup;
+        }
+    }
+}
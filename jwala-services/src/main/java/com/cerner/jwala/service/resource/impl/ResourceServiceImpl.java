@@ -1,5 +1,7 @@
 package com.cerner.jwala.service.resource.impl;
 
+import com.cerner.jwala.common.FileUtility;
+import com.cerner.jwala.common.FileUtilityException;
 import com.cerner.jwala.common.JwalaUtils;
 import com.cerner.jwala.common.domain.model.app.Application;
 import com.cerner.jwala.common.domain.model.fault.FaultType;
@@ -34,6 +36,7 @@ import com.cerner.jwala.service.exception.ResourceServiceException;
 import com.cerner.jwala.service.repository.RepositoryService;
 import com.cerner.jwala.service.repository.RepositoryServiceException;
 import com.cerner.jwala.service.resource.ResourceContentGeneratorService;
+import com.cerner.jwala.service.resource.ResourceGroupSnapshotService;
 import com.cerner.jwala.service.resource.ResourceHandler;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.template.exception.ResourceFileGeneratorException;
@@ -102,6 +105,8 @@ public class ResourceServiceImpl implements ResourceService {
 
     private final RepositoryService repositoryService;
 
+    private final ResourceGroupSnapshotService resourceGroupSnapshotService;
+
     public ResourceServiceImpl(final ResourcePersistenceService resourcePersistenceService,
                                final GroupPersistenceService groupPersistenceService,
                                final ApplicationPersistenceService applicationPersistenceService,
@@ -112,7 +117,8 @@ public class ResourceServiceImpl implements ResourceService {
                                final ResourceContentGeneratorService resourceContentGeneratorService,
                                final BinaryDistributionService binaryDistributionService,
                                final Tika fileTypeDetector,
-                               final RepositoryService repositoryService) {
+                               final RepositoryService repositoryService,
+                               final ResourceGroupSnapshotService resourceGroupSnapshotService) {
         this.resourcePersistenceService = resourcePersistenceService;
         this.groupPersistenceService = groupPersistenceService;
         this.applicationPersistenceService = applicationPersistenceService;
@@ -124,6 +130,7 @@ public class ResourceServiceImpl implements ResourceService {
         this.binaryDistributionService = binaryDistributionService;
         this.fileTypeDetector = fileTypeDetector;
         this.repositoryService = repositoryService;
+        this.resourceGroupSnapshotService = resourceGroupSnapshotService;
     }
 
     @Override
@@ -216,20 +223,7 @@ public class ResourceServiceImpl implements ResourceService {
 
     @Override
     public ResourceGroup generateResourceGroup() {
-        List<Group> groups = groupPersistenceService.getGroups();
-        List<Group> groupsToBeAdded = new ArrayList<>(groups.size());
-        for (Group group : groups) {
-            List<Jvm> jvms = jvmPersistenceService.getJvmsAndWebAppsByGroupName(group.getName());
-            List<WebServer> webServers = webServerPersistenceService.getWebServersByGroupName(group.getName());
-            List<Application> applications = applicationPersistenceService.findApplicationsBelongingTo(group.getName());
-            groupsToBeAdded.add(new Group(group.getId(),
-                    group.getName(),
-                    null != jvms ? new LinkedHashSet<>(jvms) : new LinkedHashSet<Jvm>(),
-                    null != webServers ? new LinkedHashSet<>(webServers) : new LinkedHashSet<WebServer>(),
-                    group.getHistory(),
-                    null != applications ? new LinkedHashSet<>(applications) : new LinkedHashSet<Application>()));
-        }
-        return new ResourceGroup(groupsToBeAdded);
+        return resourceGroupSnapshotService.getResourceGroup();
     }
 
     @Override
@@ -914,6 +908,13 @@ public class ResourceServiceImpl implements ResourceService {
                     resourceStagingPath = generateTemplateForNonTextResource(selectedValue, fileName);
                 }
 
+                if (!resourceTemplateMetaData.isUnpack() && isDeployedFileUnchanged(hostName, resourceStagingPath, resourceDestPath)) {
+                    final String message = MessageFormat.format("Skipping deploy of {0} to {1} on host {2}, the content is unchanged", fileName, resourceDestPath, hostName);
+                    LOGGER.info(message);
+                    historyFacadeService.write(hostName, getGroupsFromSelectedResource(selectedValue), message, EventType.SYSTEM_INFO, getUserFromSecurityContext());
+                    return new CommandOutput(new ExecReturnCode(0), message, "");
+                }
+
                 LOGGER.info("Deploy resource from {} to {} on host {}", resourceStagingPath, resourceDestPath, hostName);
                 commandOutput = distributionControlService.createDirectory(hostName, deployPath);
                 if (commandFailed(commandOutput)) {
@@ -942,6 +943,27 @@ public class ResourceServiceImpl implements ResourceService {
         return commandOutput;
     }
 
+    /**
+     * Check if the deployed file has the same content as the generated file when delta deployment is enabled
+     *
+     * @param hostName     the host the file is deployed to
+     * @param stagingPath  the generated file
+     * @param destPath     the deployed file
+     * @return true if the file doesn't need to be deployed again
+     */
+    private boolean isDeployedFileUnchanged(final String hostName, final String stagingPath, final String destPath) {
+        if (!ApplicationProperties.getAsBoolean(PropertyKeys.RESOURCES_DEPLOY_DELTA.getPropertyName())) {
+            return false;
+        }
+        try {
+            final String remoteChecksum = distributionService.remoteChecksums(hostName, Collections.singletonList(destPath)).get(destPath);
+            return remoteChecksum != null && remoteChecksum.equals(FileUtility.getCheckSum(stagingPath));
+        } catch (InternalErrorException | FileUtilityException e) {
+            LOGGER.warn("Failed to compare {} with {} on host {}, deploying the file", stagingPath, destPath, hostName, e);
+            return false;
+        }
+    }
+
     private boolean commandFailed(CommandOutput commandOutput) {
         return !commandOutput.getReturnCode().wasSuccessful();
     }
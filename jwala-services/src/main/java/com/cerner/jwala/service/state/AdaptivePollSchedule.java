@@ -0,0 +1,62 @@
+package com.cerner.jwala.service.state;
+
+import java.util.Map;
+
+/**
+ * Decides when a server's state should be polled again. A server in transition is polled often, a stable one is
+ * polled at a long interval and an unreachable one is polled less and less often.
+ */
+public interface AdaptivePollSchedule<K> {
+
+    /**
+     * What the last poll found out about a server
+     */
+    enum Activity {
+        /**
+         * The server is starting or stopping
+         */
+        TRANSITION,
+        /**
+         * The server is up or down as expected
+         */
+        STABLE,
+        /**
+         * The server could not be reached
+         */
+        UNREACHABLE
+    }
+
+    /**
+     * @param key the server
+     * @return true if the server was never polled, was reset or its next poll time has passed
+     */
+    boolean isDue(K key);
+
+    /**
+     * Record a poll and schedule the next one
+     *
+     * @param key      the server
+     * @param activity what the poll found out
+     */
+    void polled(K key, Activity activity);
+
+    /**
+     * Poll the server on the next run, e.g. after a user started or stopped it
+     *
+     * @param key the server
+     */
+    void reset(K key);
+
+    /**
+     * Forget the server
+     *
+     * @param key the server
+     */
+    void remove(K key);
+
+    /**
+     * @return the number of servers scheduled per activity and the number of resets
+     */
+    Map<String, Object> getMetrics();
+
+}
@@ -0,0 +1,157 @@
+package com.cerner.jwala.service.state.impl;
+
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link AdaptivePollSchedule} implementation.
+ * <p>
+ * The delay after consecutive unreachable polls doubles from the initial backoff up to the maximum backoff. Stable and
+ * backoff delays are spread by +/- the jitter fraction so that servers that went down together are not polled together.
+ */
+public class AdaptivePollScheduleImpl<K> implements AdaptivePollSchedule<K> {
+
+    private final long transitionIntervalMillis;
+    private final long stableIntervalMillis;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final double jitter;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    private final ConcurrentHashMap<K, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong resetCount = new AtomicLong();
+
+    /**
+     * @param transitionIntervalMillis the delay between polls of a server that is starting or stopping
+     * @param stableIntervalMillis     the delay between polls of a server that is up or down as expected
+     * @param backoffInitialMillis     the delay after the first unreachable poll
+     * @param backoffMaxMillis         the longest delay between polls of an unreachable server
+     * @param jitter                   the fraction of the stable and backoff delays added or removed at random
+     */
+    public AdaptivePollScheduleImpl(final long transitionIntervalMillis, final long stableIntervalMillis,
+                                    final long backoffInitialMillis, final long backoffMaxMillis, final double jitter) {
+        this(transitionIntervalMillis, stableIntervalMillis, backoffInitialMillis, backoffMaxMillis, jitter,
+                System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AdaptivePollScheduleImpl(final long transitionIntervalMillis, final long stableIntervalMillis,
+                             final long backoffInitialMillis, final long backoffMaxMillis, final double jitter,
+                             final LongSupplier clock, final DoubleSupplier random) {
+        if (transitionIntervalMillis < 0 || stableIntervalMillis < 0 || backoffInitialMillis < 0 ||
+                backoffMaxMillis < backoffInitialMillis) {
+            throw new IllegalArgumentException("The poll intervals must not be negative and the maximum backoff must not be " +
+                    "less than the initial backoff");
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("The poll jitter must be at least 0 and less than 1");
+        }
+        this.transitionIntervalMillis = transitionIntervalMillis;
+        this.stableIntervalMillis = stableIntervalMillis;
+        this.backoffInitialMillis = backoffInitialMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.jitter = jitter;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    @Override
+    public boolean isDue(final K key) {
+        final Entry entry = entries.get(key);
+        return entry == null || clock.getAsLong() >= entry.nextPollTime;
+    }
+
+    @Override
+    public void polled(final K key, final Activity activity) {
+        final long now = clock.getAsLong();
+        entries.compute(key, (k, previous) -> {
+            final int unreachableCount = activity == Activity.UNREACHABLE ?
+                    (previous == null ? 0 : previous.unreachableCount) + 1 : 0;
+            return new Entry(activity, unreachableCount, now + getDelay(activity, unreachableCount));
+        });
+    }
+
+    @Override
+    public void reset(final K key) {
+        if (entries.remove(key) != null) {
+            resetCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final long now = clock.getAsLong();
+        final Map<Activity, Integer> scheduled = new EnumMap<>(Activity.class);
+        for (final Activity activity : Activity.values()) {
+            scheduled.put(activity, 0);
+        }
+        int due = 0;
+        long longestBackoff = 0;
+        for (final Entry entry : entries.values()) {
+            scheduled.put(entry.activity, scheduled.get(entry.activity) + 1);
+            if (now >= entry.nextPollTime) {
+                due++;
+            }
+            if (entry.activity == Activity.UNREACHABLE) {
+                longestBackoff = Math.max(longestBackoff, entry.nextPollTime - now);
+            }
+        }
+
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("transitionIntervalMillis", transitionIntervalMillis);
+        metrics.put("stableIntervalMillis", stableIntervalMillis);
+        metrics.put("backoffInitialMillis", backoffInitialMillis);
+        metrics.put("backoffMaxMillis", backoffMaxMillis);
+        metrics.put("scheduled", entries.size());
+        metrics.put("due", due);
+        metrics.put("transition", scheduled.get(Activity.TRANSITION));
+        metrics.put("stable", scheduled.get(Activity.STABLE));
+        metrics.put("unreachable", scheduled.get(Activity.UNREACHABLE));
+        metrics.put("longestBackoffMillis", longestBackoff);
+        metrics.put("resets", resetCount.get());
+        return metrics;
+    }
+
+    private long getDelay(final Activity activity, final int unreachableCount) {
+        switch (activity) {
+            case TRANSITION:
+                return transitionIntervalMillis;
+            case STABLE:
+                return withJitter(stableIntervalMillis);
+            default:
+                // cap the shift so that a server that has been down for days does not overflow the delay
+                final long backoff = backoffInitialMillis << Math.min(unreachableCount - 1, 30);
+                return withJitter(backoff < backoffInitialMillis ? backoffMaxMillis : Math.min(backoff, backoffMaxMillis));
+        }
+    }
+
+    private long withJitter(final long delay) {
+        return Math.round(delay * (1 + jitter * (2 * random.getAsDouble() - 1)));
+    }
+
+    private static class Entry {
+        private final Activity activity;
+        private final int unreachableCount;
+        private final long nextPollTime;
+
+        private Entry(final Activity activity, final int unreachableCount, final long nextPollTime) {
+            this.activity = activity;
+            this.unreachableCount = unreachableCount;
+            this.nextPollTime = nextPollTime;
+        }
+    }
+
+}
@@ -49,6 +49,14 @@ public interface WebServerService {
 
     List<WebServer> getWebServersPropagationNew();
 
+    /**
+     * Get the web servers in a new transaction with only what pinging them needs: the id, name, host, ports,
+     * status path and state
+     *
+     * @return the web servers
+     */
+    List<WebServer> getWebServersForStatePolling();
+
     Long getWebServerStoppedCount(String groupName);
 
     String getResourceTemplateMetaData(String aWebServerName, String resourceTemplateName);
@@ -36,7 +36,7 @@ public class WebServerStateRetrievalScheduledTaskHandler {
 
     @Scheduled(fixedDelayString = "${ping.webServer.period.millis}")
     public void execute() {
-        final List<WebServer> webServers = webServerService.getWebServersPropagationNew();
+        final List<WebServer> webServers = webServerService.getWebServersForStatePolling();
         LOGGER.debug("# of web servers to ping = {}", webServers.size());
         for (final WebServer webServer : webServers) {
             webServerStateSetterWorker.pingWebServer(webServer);
@@ -4,8 +4,11 @@ import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 import com.cerner.jwala.common.domain.model.webserver.WebServerState;
+import com.cerner.jwala.service.HttpStatePinger;
 import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
+import com.cerner.jwala.service.state.AdaptivePollSchedule.Activity;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import com.cerner.jwala.service.webserver.WebServerService;
 import org.apache.commons.lang3.StringUtils;
@@ -13,24 +16,21 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.client.ClientHttpRequest;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * Sets a web server's state. This class is meant to be a spring bean wherein its "work" method pingWebServer
- * is ran asynchronously as a spun up thread.
+ * sends the request through the {@link HttpStatePinger} and sets the state in the pinger's callback thread.
  * <p>
  * Note!!! This class has be given its own package named "component" to denote it as a Spring component
  * that is subject to component scanning. In addition, this was also done to avoid the problem of it's unit test
@@ -49,9 +49,10 @@ public class WebServerStateSetterWorker {
     private final WebServerService webServerService;
     private final MessagingService messagingService;
     private final GroupStateNotificationService groupStateNotificationService;
-
-    private HttpComponentsClientHttpRequestFactory httpRequestFactory = new HttpComponentsClientHttpRequestFactory();
-
+    private final HttpStatePinger httpStatePinger;
+    private final AdaptivePollSchedule<Identifier<WebServer>> pollSchedule;
+    private final int connectTimeout;
+    private final int readTimeout;
 
     private final Map<Identifier<WebServer>, WebServerReachableState> webServerLastPersistedStateMap = new ConcurrentHashMap<>();
     private final Map<Identifier<WebServer>, String> webServerLastPersistedErrorStatusMap = new ConcurrentHashMap<>();
@@ -63,24 +64,30 @@ public class WebServerStateSetterWorker {
                                       final WebServerService webServerService,
                                       final MessagingService messagingService,
                                       final GroupStateNotificationService groupStateNotificationService,
-                                      @Qualifier("httpRequestFactory")
-                                      final HttpComponentsClientHttpRequestFactory httpRequestFactory) {
+                                      final HttpStatePinger httpStatePinger,
+                                      @Qualifier("webServerPollSchedule")
+                                      final AdaptivePollSchedule<Identifier<WebServer>> pollSchedule,
+                                      @Value("${ping.webServer.connectTimeout:250}") final int connectTimeout,
+                                      @Value("${ping.webServer.readTimeout:1000}") final int readTimeout) {
         this.inMemoryStateManagerService = inMemoryStateManagerService;
         this.webServerService = webServerService;
         this.messagingService = messagingService;
         this.groupStateNotificationService = groupStateNotificationService;
-        this.httpRequestFactory = httpRequestFactory;
+        this.httpStatePinger = httpStatePinger;
+        this.pollSchedule = pollSchedule;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
     }
 
     /**
-     * Ping the web server via http get.
+     * Ping the web server via http get if its poll schedule says it is due. This returns as soon as the request is
+     * sent, the state is set once the response arrives or the request fails.
      *
      * @param webServer the web server to ping.
      */
-    @Async("webServerTaskExecutor")
     public void pingWebServer(final WebServer webServer) {
 
-        if (!webServerCanBePinged(webServer)) {
+        if (!webServerCanBePinged(webServer) || !pollSchedule.isDue(webServer.getId())) {
             return;
         }
 
@@ -95,31 +102,66 @@ public class WebServerStateSetterWorker {
         }
 
         LOGGER.debug("Requesting {} for web server {}", webServer.getStatusUri(), webServer.getName());
-        ClientHttpResponse response = null;
         try {
-            final ClientHttpRequest request;
-            request = httpRequestFactory.createRequest(webServer.getStatusUri(), HttpMethod.GET);
-            response = request.execute();
-            LOGGER.debug("Web server {} status code = {}", webServer.getName(), response.getStatusCode());
+            httpStatePinger.ping(webServer.getStatusUri(), connectTimeout, readTimeout).whenComplete((statusCode, throwable) -> {
+                try {
+                    pollSchedule.polled(webServer.getId(), getActivity(webServer, statusCode));
+                    setState(webServer, statusCode, throwable);
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Failed to set the state of web server {}", webServer.getName(), e);
+                } finally {
+                    webServersToPing.remove(webServer.getId());
+                }
+            });
+        } catch (final RuntimeException e) {
+            webServersToPing.remove(webServer.getId());
+            throw e;
+        }
+    }
 
-            if (HttpStatus.OK.equals(response.getStatusCode())) {
+    /**
+     * Only a web server that is expected to be up counts as unreachable when it does not answer, a web server that is
+     * stopped or is being started or stopped is not expected to answer
+     *
+     * @param webServer the web server that was pinged
+     * @param statusCode the status code of the response, null if the ping failed
+     * @return the {@link Activity} the poll schedule records
+     */
+    private Activity getActivity(final WebServer webServer, final Integer statusCode) {
+        if (statusCode != null && HttpStatus.OK.value() == statusCode) {
+            return Activity.STABLE;
+        }
+
+        final WebServerReachableState inMemoryState = inMemoryStateManagerService.get(webServer.getId());
+        final WebServerReachableState webServerState = inMemoryState == null ? webServer.getState() : inMemoryState;
+        if (webServerState == WebServerReachableState.WS_START_SENT || webServerState == WebServerReachableState.WS_STOP_SENT) {
+            return Activity.TRANSITION;
+        }
+        if (webServerState == WebServerReachableState.WS_UNREACHABLE || webServerState == WebServerReachableState.FORCED_STOPPED) {
+            return Activity.STABLE;
+        }
+        return Activity.UNREACHABLE;
+    }
+
+    private void setState(final WebServer webServer, final Integer statusCode, final Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
+        if (cause == null) {
+            LOGGER.debug("Web server {} status code = {}", webServer.getName(), statusCode);
+            if (HttpStatus.OK.value() == statusCode) {
                 setState(webServer, WebServerReachableState.WS_REACHABLE, StringUtils.EMPTY);
             } else {
                 setState(webServer, WebServerReachableState.WS_UNREACHABLE,
-                        MessageFormat.format(RESPONSE_NOT_OK_MSG, webServer.getStatusUri(), response.getStatusCode()));
+                        MessageFormat.format(RESPONSE_NOT_OK_MSG, webServer.getStatusUri(), String.valueOf(statusCode)));
             }
-        } catch (final IOException e) {
+        } else if (cause instanceof IOException) {
             if (!WebServerReachableState.WS_UNREACHABLE.equals(webServer.getState())) {
-                LOGGER.warn("Failed to ping {}!", webServer.getName(), e);
+                LOGGER.warn("Failed to ping {}!", webServer.getName(), cause);
                 setState(webServer, WebServerReachableState.WS_UNREACHABLE, StringUtils.EMPTY);
             }
-        } finally {
-            if (response != null) {
-                response.close();
-            }
-            webServersToPing.remove(webServer.getId());
+        } else {
+            LOGGER.error("Failed to ping {}!", webServer.getName(), cause);
         }
-
     }
 
     /**
@@ -134,6 +176,7 @@ public class WebServerStateSetterWorker {
 
         if (isWebServerBusy(webServer)) {
             LOGGER.debug("Cannot ping web server {} since it is busy. Details: {}", webServer.getName(), webServer);
+            pollSchedule.polled(webServer.getId(), Activity.TRANSITION);
             return false;
         }
         return true;
@@ -161,7 +204,7 @@ public class WebServerStateSetterWorker {
         if (!isWebServerBusy(webServer) && checkStateChangedAndOrMsgNotEmpty(webServer, webServerReachableState, msg)) {
             webServerService.updateState(webServer.getId(), webServerReachableState, msg);
             messagingService.send(new WebServerState(webServer.getId(), webServerReachableState, DateTime.now()));
-            groupStateNotificationService.retrieveStateAndSend(webServer.getId(), WebServer.class);
+            groupStateNotificationService.webServerStateChanged(webServer.getId(), webServerReachableState);
         }
     }
 
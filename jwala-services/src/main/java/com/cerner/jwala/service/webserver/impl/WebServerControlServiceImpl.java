@@ -1,6 +1,7 @@
 package com.cerner.jwala.service.webserver.impl;
 
 import com.cerner.jwala.common.domain.model.fault.FaultType;
+import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.ssh.SshConfiguration;
 import com.cerner.jwala.common.domain.model.user.User;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
@@ -18,6 +19,7 @@ import com.cerner.jwala.persistence.jpa.type.EventType;
 import com.cerner.jwala.service.HistoryFacadeService;
 import com.cerner.jwala.service.binarydistribution.DistributionService;
 import com.cerner.jwala.service.exception.RemoteCommandExecutorServiceException;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.webserver.WebServerControlService;
 import com.cerner.jwala.service.webserver.WebServerService;
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +27,7 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.io.File;
@@ -60,6 +63,10 @@ public class WebServerControlServiceImpl implements WebServerControlService {
     @Autowired
     private SshConfiguration sshConfig;
 
+    @Autowired
+    @Qualifier("webServerPollSchedule")
+    private AdaptivePollSchedule<Identifier<WebServer>> webServerPollSchedule;
+
 
     @Override
     public CommandOutput controlWebServer(final ControlWebServerRequest controlWebServerRequest, final User aUser) {
@@ -70,6 +77,7 @@ public class WebServerControlServiceImpl implements WebServerControlService {
                     controlOperation.name() : controlOperation.getOperationState().toStateLabel();
 
             historyFacadeService.write(getServerName(webServer), new ArrayList<>(webServer.getGroups()), event, EventType.USER_ACTION_INFO, aUser.getId());
+            webServerPollSchedule.reset(webServer.getId());
             RemoteCommandReturnInfo remoteCommandReturnInfo = webServerCommandFactory.executeCommand(webServer, controlOperation);
 
             CommandOutput commandOutput = new CommandOutput(new ExecReturnCode(remoteCommandReturnInfo.retCode),
@@ -169,11 +177,8 @@ public class WebServerControlServiceImpl implements WebServerControlService {
             historyFacadeService.write(getServerName(aWebServer), new ArrayList<>(aWebServer.getGroups()),
                     WebServerControlOperation.SCP.name() + " " + fileName, EventType.USER_ACTION_INFO, userId);
         }
-        if(distributionService.remoteFileCheck(aWebServer.getHost(),destPath)){
-            LOGGER.info("Found the file {}", destPath);
-            distributionService.backupFile(aWebServer.getHost(),destPath);
-        }
-        distributionService.remoteSecureCopyFile(aWebServer.getHost(), sourcePath,destPath);
+        // the existing file is backed up by the same remote invocation that copies the file
+        distributionService.remoteSecureCopyAndPlaceFile(aWebServer.getHost(), sourcePath, destPath);
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
 import com.cerner.jwala.common.domain.model.resource.ResourceIdentifier;
 import com.cerner.jwala.common.domain.model.resource.ResourceTemplateMetaData;
+import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.common.domain.model.user.User;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.domain.model.webserver.WebServerControlOperation;
@@ -24,10 +25,12 @@ import com.cerner.jwala.persistence.jpa.service.exception.ResourceTemplateUpdate
 import com.cerner.jwala.persistence.service.GroupPersistenceService;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
 import com.cerner.jwala.persistence.service.WebServerPersistenceService;
+import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager;
 import com.cerner.jwala.service.media.MediaService;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.resource.impl.ResourceGeneratorType;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import com.cerner.jwala.service.webserver.WebServerControlService;
 import com.cerner.jwala.service.webserver.WebServerService;
@@ -77,6 +80,13 @@ public class WebServerServiceImpl implements WebServerService {
     @Autowired
     private GroupPersistenceService groupPersistenceService;
 
+    @Autowired
+    private MessagingService messagingService;
+
+    @Autowired
+    @Qualifier("webServerPollSchedule")
+    private AdaptivePollSchedule<Identifier<WebServer>> webServerPollSchedule;
+
     private final ModelMapper modelMapper = new ModelMapper();
 
     public WebServerServiceImpl(final WebServerPersistenceService webServerPersistenceService,
@@ -183,6 +193,12 @@ public class WebServerServiceImpl implements WebServerService {
         return webServerPersistenceService.getWebServers();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<WebServer> getWebServersForStatePolling() {
+        return webServerPersistenceService.getWebServersForStatePolling();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<WebServer> findWebServers(final Identifier<Group> aGroupId) {
@@ -323,6 +339,8 @@ public class WebServerServiceImpl implements WebServerService {
 
         webServerPersistenceService.removeWebServer(id);
         inMemoryStateManagerService.remove(id);
+        webServerPollSchedule.remove(id);
+        messagingService.removeState(StateType.WEB_SERVER, id);
     }
 
     @Override
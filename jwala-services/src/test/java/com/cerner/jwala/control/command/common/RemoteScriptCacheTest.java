@@ -0,0 +1,99 @@
+package com.cerner.jwala.control.command.common;
+
+import com.cerner.jwala.control.command.common.RemoteScriptCache.Status;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link RemoteScriptCache}
+ */
+public class RemoteScriptCacheTest {
+
+    private static final String HOST = "host";
+    private static final String REMOTE_PATH = "~/.jwala/jvm-1/start-service.sh";
+
+    private File script;
+    private RemoteScriptCache cache;
+
+    @Before
+    public void setup() throws IOException {
+        script = Files.createTempFile("start-service", ".sh").toFile();
+        FileUtils.writeStringToFile(script, "echo start", StandardCharsets.UTF_8);
+        cache = new RemoteScriptCache(600000);
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(script);
+    }
+
+    @Test
+    public void testVerifiedScript() {
+        assertEquals(Status.UNKNOWN, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+        cache.put(HOST, REMOTE_PATH, script.getPath());
+        assertEquals(Status.VERIFIED, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+        assertEquals(Status.UNKNOWN, cache.getStatus("other-host", REMOTE_PATH, script.getPath()));
+    }
+
+    @Test
+    public void testChangedScript() throws IOException {
+        cache.put(HOST, REMOTE_PATH, script.getPath());
+        FileUtils.writeStringToFile(script, "echo start again", StandardCharsets.UTF_8);
+        assertEquals(Status.CHANGED, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+        assertEquals(Status.UNKNOWN, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+    }
+
+    @Test
+    public void testTouchedScriptWithTheSameContents() throws IOException {
+        cache.put(HOST, REMOTE_PATH, script.getPath());
+        script.setLastModified(script.lastModified() - 60000);
+        assertEquals(Status.VERIFIED, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put(HOST, REMOTE_PATH, script.getPath());
+        cache.put(HOST, "~/.jwala/jvm-1/stop-service.sh", script.getPath());
+        cache.put("other-host", REMOTE_PATH, script.getPath());
+
+        cache.invalidate(HOST, REMOTE_PATH);
+        assertEquals(Status.UNKNOWN, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+        assertEquals(2, cache.size());
+
+        cache.invalidateHost(HOST);
+        assertEquals(1, cache.size());
+        assertEquals(Status.VERIFIED, cache.getStatus("other-host", REMOTE_PATH, script.getPath()));
+    }
+
+    @Test
+    public void testExpiredEntry() throws InterruptedException {
+        cache = new RemoteScriptCache(1);
+        cache.put(HOST, REMOTE_PATH, script.getPath());
+        Thread.sleep(10);
+        assertEquals(Status.UNKNOWN, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledCache() {
+        cache = new RemoteScriptCache(0);
+        cache.put(HOST, REMOTE_PATH, script.getPath());
+        assertEquals(Status.UNKNOWN, cache.getStatus(HOST, REMOTE_PATH, script.getPath()));
+    }
+
+    @Test
+    public void testMissingLocalScriptIsNotCached() {
+        cache.put(HOST, REMOTE_PATH, script.getPath() + ".missing");
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.cerner.jwala.control.command.common;
+
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link ShellCommandFactory}
+ */
+public class ShellCommandFactoryTest {
+
+    @Test
+    public void testFileReportLooksUpResultsByDestination() {
+        final Map<String, FileResult> fileResults = new LinkedHashMap<>();
+        fileResults.put("/dest/b", FileResult.CREATE_DIR_FAILED);
+        fileResults.put("/dest/a", FileResult.COPIED);
+
+        assertEquals("Copied a to /dest/a\nFailed to copy b to /dest/b\nNo result for the copy of c to /dest/c\n",
+                ShellCommandFactory.createFileReport(Arrays.asList("a", "b", "c"),
+                        Arrays.asList("/dest/a", "/dest/b", "/dest/c"), fileResults));
+    }
+
+    @Test
+    public void testFileReportWithDuplicateDestinations() {
+        final Map<String, FileResult> fileResults = new LinkedHashMap<>();
+        fileResults.put("/dest/a", FileResult.COPIED);
+        fileResults.put("/dest/b", FileResult.COPIED);
+
+        assertEquals("Copied a1 to /dest/a\nCopied a2 to /dest/a\nCopied b to /dest/b\n",
+                ShellCommandFactory.createFileReport(Arrays.asList("a1", "a2", "b"),
+                        Arrays.asList("/dest/a", "/dest/a", "/dest/b"), fileResults));
+    }
+}
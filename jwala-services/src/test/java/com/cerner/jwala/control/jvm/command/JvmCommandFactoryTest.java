@@ -10,6 +10,7 @@ import com.cerner.jwala.common.exec.ExecReturnCode;
 import com.cerner.jwala.common.exec.RemoteExecCommand;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.control.command.common.RemoteScriptCache;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionControlService;
 import com.cerner.jwala.service.exception.ApplicationServiceException;
@@ -45,6 +46,9 @@ public class JvmCommandFactoryTest {
     @Autowired
     JvmCommandFactory jvmCommandFactory;
 
+    @Autowired
+    RemoteScriptCache remoteScriptCache;
+
     @Before
     public void setup() {
         System.setProperty(ApplicationProperties.PROPERTIES_ROOT_PATH, new File(".").getAbsolutePath() + "/src/test/resources");
@@ -53,6 +57,7 @@ public class JvmCommandFactoryTest {
                 Config.mockBinaryDistributionControlService,
                 Config.mockRemoteCommandExecutorService
         );
+        remoteScriptCache.clear();
     }
 
     @Test(expected = ApplicationServiceException.class)
@@ -77,6 +82,44 @@ public class JvmCommandFactoryTest {
         verify(Config.mockSshConfig, times(1)).getUserName();
     }
 
+    @Test
+    public void testStartJvmSkipsCheckOfVerifiedScript() {
+        Jvm mockJvm = mock(Jvm.class);
+        when(mockJvm.getJvmName()).thenReturn("test-jvm-command-factory");
+        when(mockJvm.getHostName()).thenReturn("test-host");
+
+        when(Config.mockRemoteCommandExecutorService.executeCommand(any(RemoteExecCommand.class))).thenReturn(SUCCESS_REMOTE_COMMAND_INFO);
+
+        when(Config.mockBinaryDistributionControlService.checkFileExists(anyString(), anyString())).thenReturn(new CommandOutput(new ExecReturnCode(0), "File exists", ""));
+
+        jvmCommandFactory.executeCommand(mockJvm, JvmControlOperation.START);
+        RemoteCommandReturnInfo commandReturnInfo = jvmCommandFactory.executeCommand(mockJvm, JvmControlOperation.START);
+
+        assertEquals(SUCCESS_REMOTE_COMMAND_INFO, commandReturnInfo);
+        verify(Config.mockBinaryDistributionControlService, times(1)).checkFileExists(eq("test-host"), anyString());
+        verify(Config.mockRemoteCommandExecutorService, times(2)).executeCommand(any(RemoteExecCommand.class));
+    }
+
+    @Test
+    public void testFailedStartJvmInvalidatesVerifiedScript() {
+        Jvm mockJvm = mock(Jvm.class);
+        when(mockJvm.getJvmName()).thenReturn("test-jvm-command-factory");
+        when(mockJvm.getHostName()).thenReturn("test-host");
+
+        when(Config.mockRemoteCommandExecutorService.executeCommand(any(RemoteExecCommand.class)))
+                .thenReturn(new RemoteCommandReturnInfo(1, "", "start-service.sh: not found"), SUCCESS_REMOTE_COMMAND_INFO);
+
+        when(Config.mockBinaryDistributionControlService.checkFileExists(anyString(), anyString())).thenReturn(new CommandOutput(new ExecReturnCode(0), "File exists", ""));
+
+        jvmCommandFactory.executeCommand(mockJvm, JvmControlOperation.START);
+        assertEquals(0, remoteScriptCache.size());
+        RemoteCommandReturnInfo commandReturnInfo = jvmCommandFactory.executeCommand(mockJvm, JvmControlOperation.START);
+
+        assertEquals(SUCCESS_REMOTE_COMMAND_INFO, commandReturnInfo);
+        verify(Config.mockBinaryDistributionControlService, times(2)).checkFileExists(eq("test-host"), anyString());
+        assertEquals(1, remoteScriptCache.size());
+    }
+
     @Test
     public void testStopJvm() {
         Jvm mockJvm = mock(Jvm.class);
@@ -301,6 +344,11 @@ public class JvmCommandFactoryTest {
             return mockBinaryDistributionControlService;
         }
 
+        @Bean
+        public RemoteScriptCache getRemoteScriptCache() {
+            return new RemoteScriptCache(600000);
+        }
+
         @Bean
         public JvmCommandFactory getJvmCommandFactory() {
             return new JvmCommandFactory();
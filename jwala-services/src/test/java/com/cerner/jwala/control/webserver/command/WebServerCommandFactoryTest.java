@@ -14,6 +14,7 @@ import com.cerner.jwala.common.exec.ExecReturnCode;
 import com.cerner.jwala.common.exec.RemoteExecCommand;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
+import com.cerner.jwala.control.command.common.RemoteScriptCache;
 import com.cerner.jwala.service.RemoteCommandExecutorService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionControlService;
 import com.cerner.jwala.service.resource.ResourceContentGeneratorService;
@@ -48,6 +49,9 @@ public class WebServerCommandFactoryTest {
     @Autowired
     WebServerCommandFactory webServerCommandFactory;
 
+    @Autowired
+    RemoteScriptCache remoteScriptCache;
+
     @Before
     public void setUp() {
         System.setProperty(ApplicationProperties.PROPERTIES_ROOT_PATH, new File(".").getAbsolutePath() + "/src/test/resources");
@@ -57,6 +61,7 @@ public class WebServerCommandFactoryTest {
                 Config.mockSshConfig,
                 Config.mockResourceService
         );
+        remoteScriptCache.clear();
     }
 
     @Test
@@ -77,6 +82,28 @@ public class WebServerCommandFactoryTest {
         assertEquals(0, startResult.retCode);
     }
 
+    @Test
+    public void testExecuteStartScriptSkipsCheckOfCopiedScript() {
+        WebServer mockWebServer = mock(WebServer.class);
+        when(mockWebServer.getName()).thenReturn("web-server-name");
+        when(mockWebServer.getHost()).thenReturn("web-server-host");
+
+        when(Config.mockBinaryDistributionControlService.checkFileExists(anyString(), anyString())).thenReturn(new CommandOutput(new ExecReturnCode(1), "File does not exist to force mkdir and scp", ""));
+        when(Config.mockBinaryDistributionControlService.createDirectory(anyString(), anyString())).thenReturn(new CommandOutput(new ExecReturnCode(0), "Successfully created directory", ""));
+        when(Config.mockBinaryDistributionControlService.secureCopyFile(anyString(), anyString(), anyString())).thenReturn(new CommandOutput(new ExecReturnCode(0), "Successfully copied script", ""));
+        when(Config.mockBinaryDistributionControlService.changeFileMode(anyString(), anyString(), anyString(), anyString())).thenReturn(new CommandOutput(new ExecReturnCode(0), "Successfully changed the file mode", ""));
+
+        when(Config.mockRemoteCommandExecutorService.executeCommand(any(RemoteExecCommand.class))).thenReturn(new RemoteCommandReturnInfo(0, "Start command succeeded", ""));
+
+        webServerCommandFactory.executeCommand(mockWebServer, WebServerControlOperation.START);
+        RemoteCommandReturnInfo startResult = webServerCommandFactory.executeCommand(mockWebServer, WebServerControlOperation.START);
+
+        assertEquals(0, startResult.retCode);
+        verify(Config.mockBinaryDistributionControlService, times(1)).checkFileExists(anyString(), anyString());
+        verify(Config.mockBinaryDistributionControlService, times(1)).secureCopyFile(anyString(), anyString(), anyString());
+        verify(Config.mockRemoteCommandExecutorService, times(2)).executeCommand(any(RemoteExecCommand.class));
+    }
+
     @Test
     public void testExecuteStopScript() {
         WebServer mockWebServer = mock(WebServer.class);
@@ -287,6 +314,11 @@ public class WebServerCommandFactoryTest {
             return mockBinaryDistributionControlService;
         }
 
+        @Bean
+        public RemoteScriptCache getRemoteScriptCache() {
+            return new RemoteScriptCache(600000);
+        }
+
         @Bean
         public WebServerCommandFactory getWebServerCommandFactory() {
             return new WebServerCommandFactory();
@@ -29,6 +29,7 @@ import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionService;
 import com.cerner.jwala.service.binarydistribution.impl.BinaryDistributionLockManagerImpl;
 import com.cerner.jwala.service.configuration.TestJpaConfiguration;
+import com.cerner.jwala.service.impl.RemoteOperationSchedulerImpl;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.webserver.component.ClientFactoryHelper;
 import org.junit.After;
@@ -168,7 +169,8 @@ public class ApplicationServiceImplIntegrationTest {
                 mockResourceService,
                 binaryDistributionService,
                 mockHistoryFacadeService,
-                binaryDistributionLockManager
+                binaryDistributionLockManager,
+                new RemoteOperationSchedulerImpl(25, 25)
         );
     }
 
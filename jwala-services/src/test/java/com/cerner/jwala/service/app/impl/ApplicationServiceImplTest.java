@@ -33,6 +33,7 @@ import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionService;
 import com.cerner.jwala.service.binarydistribution.impl.BinaryDistributionLockManagerImpl;
 import com.cerner.jwala.service.exception.ApplicationServiceException;
+import com.cerner.jwala.service.impl.RemoteOperationSchedulerImpl;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.resource.impl.ResourceGeneratorType;
 import org.apache.tika.mime.MediaType;
@@ -788,7 +789,8 @@ public class ApplicationServiceImplTest {
                     mockResourceService,
                     binaryDistributionService,
                     mockHistoryFacadeService,
-                    new BinaryDistributionLockManagerImpl());
+                    new BinaryDistributionLockManagerImpl(),
+                    new RemoteOperationSchedulerImpl(25, 25));
         }
     }
 }
@@ -17,6 +17,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -31,6 +32,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
@@ -79,7 +81,7 @@ public class BinaryDistributionControlServiceImplTest {
         final String source = BinaryDistributionControlServiceImplTest.class.getClassLoader().getResource("binarydistribution/copy.txt").getPath();
         binaryDistributionControlService.secureCopyFile("someHost", source, "./build/tmp");
         verify(Config.mockSshConfig).getJschBuilder();
-        assertEquals("C0644 12 copy.txt\nsome content\0", out.toString(StandardCharsets.UTF_8));
+        assertEquals("C0644 12 copy.txt\nsome content\0", new String(out.toByteArray(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -110,6 +112,18 @@ public class BinaryDistributionControlServiceImplTest {
         verify(Config.mockRemoteCommandExecutorService).executeCommand(any(RemoteExecCommand.class));
     }
 
+    @Test
+    public void testChecksumFilesQuotesThePaths() {
+        when(Config.mockRemoteCommandExecutorService.executeCommand(any(RemoteExecCommand.class))).thenReturn(mock(RemoteCommandReturnInfo.class));
+        binaryDistributionControlService.checksumFiles("localhost",
+                Arrays.asList("./conf/server.xml", "./my conf/*.xml", "~/it's.txt", "d:\\jwala\\setenv.bat"));
+        final ArgumentCaptor<RemoteExecCommand> commandCaptor = ArgumentCaptor.forClass(RemoteExecCommand.class);
+        verify(Config.mockRemoteCommandExecutorService).executeCommand(commandCaptor.capture());
+        assertEquals("for f in './conf/server.xml' './my conf/*.xml' ~/'it'\\''s.txt' 'd:/jwala/setenv.bat' ; " +
+                        "do sha256sum \"$f\" 2>/dev/null || echo -; done ",
+                commandCaptor.getValue().getCommand().toCommandString());
+    }
+
     @Configuration
     static class Config {
 
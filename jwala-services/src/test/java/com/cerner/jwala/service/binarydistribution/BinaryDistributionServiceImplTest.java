@@ -1,5 +1,6 @@
 package com.cerner.jwala.service.binarydistribution;
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.media.Media;
 import com.cerner.jwala.common.domain.model.media.MediaType;
@@ -34,8 +35,14 @@ import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static com.cerner.jwala.control.AemControl.Properties.UNZIP_SCRIPT_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -139,6 +146,64 @@ public class BinaryDistributionServiceImplTest {
         binaryDistributionService.remoteSecureCopyFile(hostname, source, destination);
     }
 
+    @Test
+    public void testRemoteSecureCopyAndPlaceFile() throws CommandFailureException {
+        final String hostname = "localhost";
+        final String source = "testSource";
+        final String destination = "testDest";
+        when(Config.mockBinaryDistributionControlService.secureCopyAndPlaceFile(eq(hostname), eq(source), eq(destination)))
+                .thenReturn(new CommandOutput(new ExecReturnCode(0), FileResult.COPIED.name(), ""));
+        binaryDistributionService.remoteSecureCopyAndPlaceFile(hostname, source, destination);
+    }
+
+    @Test(expected = InternalErrorException.class)
+    public void testRemoteSecureCopyAndPlaceFileFailsBackup() throws CommandFailureException {
+        final String hostname = "localhost";
+        final String source = "testSource";
+        final String destination = "testDest";
+        when(Config.mockBinaryDistributionControlService.secureCopyAndPlaceFile(eq(hostname), eq(source), eq(destination)))
+                .thenReturn(new CommandOutput(new ExecReturnCode(1), FileResult.BACKUP_FAILED.name(), "Permission denied"));
+        binaryDistributionService.remoteSecureCopyAndPlaceFile(hostname, source, destination);
+    }
+
+    @Test
+    public void testRemoteSecureCopyAndPlaceFileNotCopiedReportsTheError() throws CommandFailureException {
+        final String hostname = "localhost";
+        final String source = "testSource";
+        final String destination = "testDest";
+        when(Config.mockBinaryDistributionControlService.secureCopyAndPlaceFile(eq(hostname), eq(source), eq(destination)))
+                .thenReturn(new CommandOutput(new ExecReturnCode(127), FileResult.NOT_COPIED.name(), "tar: command not found"));
+        try {
+            binaryDistributionService.remoteSecureCopyAndPlaceFile(hostname, source, destination);
+            fail("Expecting an InternalErrorException");
+        } catch (final InternalErrorException e) {
+            assertTrue(e.getMessage().contains("tar: command not found"));
+        }
+    }
+
+    @Test
+    public void testRemoteChecksums() throws CommandFailureException {
+        final String hostname = "localhost";
+        final String checksum = "0b4a6b3ae6ec4c6d1b6a1e9b2e4e0ef1b8a5e1f6d7c9e0a1b2c3d4e5f6a7b8c9";
+        final List<String> remotePaths = Arrays.asList("./conf/server.xml", "./conf/missing.xml", "./bin/setenv.bat");
+        when(Config.mockBinaryDistributionControlService.checksumFiles(eq(hostname), eq(remotePaths)))
+                .thenReturn(new CommandOutput(new ExecReturnCode(0), checksum + "  ./conf/server.xml\n-\n" +
+                        checksum.toUpperCase() + " *./bin/setenv.bat\n", ""));
+        final Map<String, String> checksums = binaryDistributionService.remoteChecksums(hostname, remotePaths);
+        assertEquals(2, checksums.size());
+        assertEquals(checksum, checksums.get("./conf/server.xml"));
+        assertEquals(checksum, checksums.get("./bin/setenv.bat"));
+    }
+
+    @Test(expected = InternalErrorException.class)
+    public void testRemoteChecksumsFailsOnIncompleteOutput() throws CommandFailureException {
+        final String hostname = "localhost";
+        final List<String> remotePaths = Arrays.asList("./conf/server.xml", "./conf/context.xml");
+        when(Config.mockBinaryDistributionControlService.checksumFiles(eq(hostname), eq(remotePaths)))
+                .thenReturn(new CommandOutput(new ExecReturnCode(0), "-\n", ""));
+        binaryDistributionService.remoteChecksums(hostname, remotePaths);
+    }
+
     @Test
     public void testRemoteUnzipBinary() throws CommandFailureException {
         final String hostname = "localhost";
@@ -64,7 +64,7 @@ public class ResourceHandlerConfigurationTest {
     private RepositoryService mockRepositoryService;
 
     private ResourceService resourceService = new ResourceServiceImpl(null, null, null, null, null, null,
-            null, null, null, new Tika(), mockRepositoryService);
+            null, null, null, new Tika(), mockRepositoryService, null);
 
     @BeforeClass
     public static void init() {
@@ -10,6 +10,7 @@ import com.cerner.jwala.common.exec.ExecReturnCode;
 import com.cerner.jwala.common.request.group.ControlGroupJvmRequest;
 import com.cerner.jwala.common.request.jvm.ControlJvmRequest;
 import com.cerner.jwala.service.group.GroupService;
+import com.cerner.jwala.service.impl.RemoteOperationSchedulerImpl;
 import com.cerner.jwala.service.jvm.JvmControlService;
 import org.junit.Before;
 import org.junit.Test;
@@ -37,7 +38,7 @@ public class GroupJvmControlServiceImplTest {
         mockGroupService = mock(GroupService.class);
         mockJvmControlService = mock(JvmControlService.class);
 
-        cut = new GroupJvmControlServiceImpl(mockGroupService, mockJvmControlService);
+        cut = new GroupJvmControlServiceImpl(mockGroupService, mockJvmControlService, new RemoteOperationSchedulerImpl(25, 25));
 
         mockGroup = mock(Group.class);
         controlGroupJvmRequest = new ControlGroupJvmRequest(groupId, JvmControlOperation.START);
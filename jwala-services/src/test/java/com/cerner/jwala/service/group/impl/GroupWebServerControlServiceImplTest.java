@@ -12,6 +12,7 @@ import com.cerner.jwala.common.exec.ExecReturnCode;
 import com.cerner.jwala.common.request.webserver.ControlGroupWebServerRequest;
 import com.cerner.jwala.common.request.webserver.ControlWebServerRequest;
 import com.cerner.jwala.service.group.GroupService;
+import com.cerner.jwala.service.impl.RemoteOperationSchedulerImpl;
 import com.cerner.jwala.service.webserver.WebServerControlService;
 import org.junit.Before;
 import org.junit.Test;
@@ -41,7 +42,7 @@ public class GroupWebServerControlServiceImplTest {
         mockGroupService = mock(GroupService.class);
         mockWebServerControlService = mock(WebServerControlService.class);
 
-        cut = new GroupWebServerControlServiceImpl(mockGroupService, mockWebServerControlService);
+        cut = new GroupWebServerControlServiceImpl(mockGroupService, mockWebServerControlService, new RemoteOperationSchedulerImpl(25, 25));
 
         mockGroup = mock(Group.class);
         mockWebServer = mock(WebServer.class);
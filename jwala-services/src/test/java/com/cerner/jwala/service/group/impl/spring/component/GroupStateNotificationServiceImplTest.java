@@ -3,26 +3,38 @@ package com.cerner.jwala.service.group.impl.spring.component;
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.jvm.JvmState;
 import com.cerner.jwala.common.domain.model.state.CurrentState;
 import com.cerner.jwala.common.domain.model.state.OperationalState;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
 import com.cerner.jwala.persistence.jpa.domain.JpaJvm;
+import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
 import com.cerner.jwala.persistence.jpa.service.GroupCrudService;
 import com.cerner.jwala.persistence.jpa.service.JvmCrudService;
 import com.cerner.jwala.persistence.jpa.service.WebServerCrudService;
 import com.cerner.jwala.service.MessagingService;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -43,53 +55,170 @@ public class GroupStateNotificationServiceImplTest {
     @Mock
     private WebServerCrudService mockWebServerCrudService;
 
-    private static String [] groupStateArray = new String[2];
-    private static int groupStateArrayCount = 0;
+    @Mock
+    private MessagingService mockMessagingService;
+
+    private long topologyVersion;
+
+    private List<JpaJvm> jpaJvms;
+
+    private List<JpaWebServer> jpaWebServers;
+
+    private JpaGroup group1;
+
+    private JpaGroup group2;
 
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
+        group1 = mockJpaGroup(1L, "group1");
+        group2 = mockJpaGroup(2L, "group2");
+        when(mockGroupCrudService.getGroups()).thenReturn(Arrays.asList(group1, group2));
+
+        jpaJvms = new ArrayList<>();
+        jpaJvms.add(mockJpaJvm(1L, JvmState.JVM_STARTED, group1, group2));
+        jpaJvms.add(mockJpaJvm(2L, JvmState.JVM_STOPPED, group1));
+        jpaJvms.add(mockJpaJvm(3L, JvmState.FORCED_STOPPED, group2));
+        jpaJvms.add(mockJpaJvm(4L, JvmState.JVM_STARTING, group2));
+        when(mockJvmCrudService.getJvms()).thenReturn(jpaJvms);
+
+        jpaWebServers = new ArrayList<>();
+        jpaWebServers.add(mockJpaWebServer(1L, WebServerReachableState.WS_REACHABLE, group1));
+        jpaWebServers.add(mockJpaWebServer(2L, WebServerReachableState.WS_UNREACHABLE, group1));
+        when(mockWebServerCrudService.findAll(JpaWebServer.FETCH_GROUP_GROUPS)).thenReturn(jpaWebServers);
+
         groupStateNotificationServiceImpl = new GroupStateNotificationServiceImpl(mockGroupCrudService, mockJvmCrudService,
-                mockWebServerCrudService, new TesterMessagingService());
+                mockWebServerCrudService, mockMessagingService, () -> topologyVersion);
+    }
+
+    @Test
+    public void testCountsAreBuiltAtStartup() {
+        assertCounts(groupStateNotificationServiceImpl.getGroupState("group1"), 2, 1, 1, 0, 2, 1, 1, 0);
+        assertCounts(groupStateNotificationServiceImpl.getGroupState("group2"), 3, 1, 0, 1, 0, 0, 0, 0);
+
+        final Map<String, CurrentState<Group, OperationalState>> groupStates = groupStateNotificationServiceImpl.getGroupStates();
+        assertEquals(Arrays.asList("group1", "group2"), new ArrayList<>(groupStates.keySet()));
+        assertEquals(new Identifier<Group>(2L), groupStates.get("group2").getId());
+    }
+
+    @Test
+    public void testJvmStateChangedUpdatesTheCountsOfItsGroupsWithoutQueries() {
+        groupStateNotificationServiceImpl.jvmStateChanged(new Identifier<Jvm>(1L), JvmState.JVM_STOPPED);
+
+        final List<CurrentState<Group, OperationalState>> sentStates = captureSentStates(2);
+        assertCounts(sentStates.get(0), 2, 0, 2, 0, 2, 1, 1, 0);
+        assertCounts(sentStates.get(1), 3, 0, 1, 1, 0, 0, 0, 0);
+        verify(mockJvmCrudService, times(1)).getJvms();
+
+        // a state that is not counted only takes the JVM out of the previous counter
+        groupStateNotificationServiceImpl.jvmStateChanged(new Identifier<Jvm>(2L), JvmState.JVM_STARTING);
+        assertCounts(groupStateNotificationServiceImpl.getGroupState("group1"), 2, 0, 1, 0, 2, 1, 1, 0);
+        groupStateNotificationServiceImpl.jvmStateChanged(new Identifier<Jvm>(2L), JvmState.JVM_STARTED);
+        assertCounts(groupStateNotificationServiceImpl.getGroupState("group1"), 2, 1, 1, 0, 2, 1, 1, 0);
+    }
+
+    @Test
+    public void testWebServerStateChanged() {
+        groupStateNotificationServiceImpl.webServerStateChanged(new Identifier<WebServer>(2L), WebServerReachableState.FORCED_STOPPED);
+
+        final List<CurrentState<Group, OperationalState>> sentStates = captureSentStates(1);
+        assertCounts(sentStates.get(0), 2, 1, 1, 0, 2, 1, 0, 1);
     }
 
     @Test
-    public void testRetrieveStateAndSendToATopic() {
-        final JpaJvm mockJpaJvm = mock(JpaJvm.class);
-        final List<JpaGroup> jpaGroupList = new ArrayList<>();
-        jpaGroupList.add(mock(JpaGroup.class));
-        jpaGroupList.add(mock(JpaGroup.class));
-        when(jpaGroupList.get(0).getId()).thenReturn(1L);
-        when(jpaGroupList.get(1).getId()).thenReturn(2L);
-        final Identifier<Jvm> id = new Identifier<>(1L);
-        when(mockJvmCrudService.getJvm(eq(id))).thenReturn(mockJpaJvm);
-        when(mockJpaJvm.getGroups()).thenReturn(jpaGroupList);
-        when(mockJvmCrudService.getJvmCount(anyString())).thenReturn(6L);
-        when(mockJvmCrudService.getJvmStartedCount(anyString())).thenReturn(3L);
-        when(mockJvmCrudService.getJvmStoppedCount(anyString())).thenReturn(2L);
-        when(mockJvmCrudService.getJvmForciblyStoppedCount(anyString())).thenReturn(1L);
-        when(mockWebServerCrudService.getWebServerCount(anyString())).thenReturn(16L);
-        when(mockWebServerCrudService.getWebServerStartedCount(anyString())).thenReturn(2L);
-        when(mockWebServerCrudService.getWebServerStoppedCount(anyString())).thenReturn(8L);
-        when(mockWebServerCrudService.getWebServerForciblyStoppedCount(anyString())).thenReturn(6L);
-        groupStateNotificationServiceImpl.retrieveStateAndSend(id, Jvm.class);
-        System.out.println(groupStateArray[0]);
-        System.out.println(groupStateArray[1]);
-        assertTrue(groupStateArray[0].indexOf("type=GROUP,message=,webServerCount=16,webServerStartedCount=2," +
-                "webServerStoppedCount=8,webServerForciblyStoppedCount=6,jvmCount=6,jvmStartedCount=3,jvmStoppedCount=2," +
-                "jvmForciblyStoppedCount=1]") > -1);
-        assertTrue(groupStateArray[1].indexOf("type=GROUP,message=,webServerCount=16,webServerStartedCount=2," +
-                "webServerStoppedCount=8,webServerForciblyStoppedCount=6,jvmCount=6,jvmStartedCount=3,jvmStoppedCount=2," +
-                "jvmForciblyStoppedCount=1]") > -1);
+    public void testSameStateIsNotSent() {
+        groupStateNotificationServiceImpl.jvmStateChanged(new Identifier<Jvm>(1L), JvmState.JVM_STARTED);
+        groupStateNotificationServiceImpl.webServerStateChanged(new Identifier<WebServer>(1L), WebServerReachableState.WS_REACHABLE);
+        verify(mockMessagingService, never()).send(any());
     }
 
-    private static class TesterMessagingService implements MessagingService {
+    @Test
+    public void testServerWithoutGroupIsIgnored() {
+        groupStateNotificationServiceImpl.jvmStateChanged(new Identifier<Jvm>(99L), JvmState.JVM_STOPPED);
+        verify(mockMessagingService, never()).send(any());
+    }
+
+    @Test
+    public void testCountsAreRebuiltWhenTheTopologyChanges() {
+        jpaJvms.add(mockJpaJvm(5L, JvmState.JVM_STOPPED, group1));
+        topologyVersion++;
+
+        groupStateNotificationServiceImpl.jvmStateChanged(new Identifier<Jvm>(5L), JvmState.JVM_STARTED);
+        final List<CurrentState<Group, OperationalState>> sentStates = captureSentStates(1);
+        assertCounts(sentStates.get(0), 3, 2, 1, 0, 2, 1, 1, 0);
+        verify(mockJvmCrudService, times(2)).getJvms();
+    }
+
+    @Test
+    public void testReconcileSendsTheGroupsThatChanged() {
+        when(jpaJvms.get(2).getState()).thenReturn(JvmState.JVM_STOPPED);
+
+        groupStateNotificationServiceImpl.reconcile();
+        final List<CurrentState<Group, OperationalState>> sentStates = captureSentStates(1);
+        assertEquals(new Identifier<Group>(2L), sentStates.get(0).getId());
+        assertCounts(sentStates.get(0), 3, 1, 1, 0, 0, 0, 0, 0);
+
+        reset(mockMessagingService);
+        groupStateNotificationServiceImpl.reconcile();
+        verify(mockMessagingService, never()).send(any());
+    }
 
-        @Override
-        public void send(Object payLoad) {
-            final CurrentState<Group, OperationalState> groupState = (CurrentState<Group, OperationalState>) payLoad;
-            groupStateArray[groupStateArrayCount++] = groupState.getId() + ", " + groupState.toString();
+    @Test
+    public void testGetGroupIds() {
+        assertEquals(Arrays.asList(new Identifier<Group>(1L), new Identifier<Group>(2L)),
+                groupStateNotificationServiceImpl.getJvmGroupIds(new Identifier<Jvm>(1L)));
+        assertEquals(Collections.singletonList(new Identifier<Group>(1L)),
+                groupStateNotificationServiceImpl.getWebServerGroupIds(new Identifier<WebServer>(2L)));
+        assertTrue(groupStateNotificationServiceImpl.getJvmGroupIds(new Identifier<Jvm>(99L)).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CurrentState<Group, OperationalState>> captureSentStates(final int count) {
+        final ArgumentCaptor<CurrentState> captor = ArgumentCaptor.forClass(CurrentState.class);
+        verify(mockMessagingService, times(count)).send(captor.capture());
+        final List<CurrentState<Group, OperationalState>> sentStates = new ArrayList<>();
+        for (final CurrentState currentState : captor.getAllValues()) {
+            sentStates.add(currentState);
         }
+        return sentStates;
+    }
+
+    private static void assertCounts(final CurrentState<Group, OperationalState> groupState, final long jvmCount,
+                                     final long jvmStartedCount, final long jvmStoppedCount,
+                                     final long jvmForciblyStoppedCount, final long webServerCount,
+                                     final long webServerStartedCount, final long webServerStoppedCount,
+                                     final long webServerForciblyStoppedCount) {
+        assertEquals(Long.valueOf(jvmCount), groupState.getJvmCount());
+        assertEquals(Long.valueOf(jvmStartedCount), groupState.getJvmStartedCount());
+        assertEquals(Long.valueOf(jvmStoppedCount), groupState.getJvmStoppedCount());
+        assertEquals(Long.valueOf(jvmForciblyStoppedCount), groupState.getJvmForciblyStoppedCount());
+        assertEquals(Long.valueOf(webServerCount), groupState.getWebServerCount());
+        assertEquals(Long.valueOf(webServerStartedCount), groupState.getWebServerStartedCount());
+        assertEquals(Long.valueOf(webServerStoppedCount), groupState.getWebServerStoppedCount());
+        assertEquals(Long.valueOf(webServerForciblyStoppedCount), groupState.getWebServerForciblyStoppedCount());
+    }
+
+    private static JpaGroup mockJpaGroup(final long id, final String name) {
+        final JpaGroup jpaGroup = mock(JpaGroup.class);
+        when(jpaGroup.getId()).thenReturn(id);
+        when(jpaGroup.getName()).thenReturn(name);
+        return jpaGroup;
+    }
+
+    private static JpaJvm mockJpaJvm(final long id, final JvmState state, final JpaGroup... groups) {
+        final JpaJvm jpaJvm = mock(JpaJvm.class);
+        when(jpaJvm.getId()).thenReturn(id);
+        when(jpaJvm.getState()).thenReturn(state);
+        when(jpaJvm.getGroups()).thenReturn(Arrays.asList(groups));
+        return jpaJvm;
+    }
+
+    private static JpaWebServer mockJpaWebServer(final long id, final WebServerReachableState state, final JpaGroup... groups) {
+        final JpaWebServer jpaWebServer = mock(JpaWebServer.class);
+        when(jpaWebServer.getId()).thenReturn(id);
+        when(jpaWebServer.getState()).thenReturn(state);
+        when(jpaWebServer.getGroups()).thenReturn(Arrays.asList(groups));
+        return jpaWebServer;
     }
 
 }
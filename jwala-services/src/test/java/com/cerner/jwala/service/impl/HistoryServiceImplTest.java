@@ -2,6 +2,8 @@ package com.cerner.jwala.service.impl;
 
 import com.cerner.jwala.common.domain.model.group.Group;
 import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
+import com.cerner.jwala.persistence.jpa.domain.JpaHistory;
 import com.cerner.jwala.persistence.jpa.service.HistoryCrudService;
 import com.cerner.jwala.persistence.jpa.type.EventType;
 import com.cerner.jwala.service.HistoryService;
@@ -11,12 +13,15 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 /**
@@ -46,10 +51,31 @@ public class HistoryServiceImplTest {
                 eq(EventType.USER_ACTION_INFO), eq("user"));
     }
 
+    @Test
+    public void testWriteBatch() {
+        final List<JpaHistory> histories = new ArrayList<>();
+        histories.add(new JpaHistory("any", new JpaGroup(), "Testing...", EventType.SYSTEM_INFO, "user"));
+        historyService.createHistory(histories);
+        verify(mockHistoryCrudService).createHistory(histories);
+    }
+
     @Test
     public void testRead() {
         historyService.findHistory("any", "any", null);
         verify(mockHistoryCrudService).findHistory(eq("any"), eq("any"), anyInt());
     }
 
+    @Test
+    public void testReadPage() {
+        historyService.findHistory("any", null, 20, 100L);
+        verify(mockHistoryCrudService).findHistory("any", null, 20, 100L);
+    }
+
+    @Test
+    public void testPurge() {
+        final Calendar createdBefore = Calendar.getInstance();
+        when(mockHistoryCrudService.purgeHistory(createdBefore, 500)).thenReturn(500);
+        assertEquals(500, historyService.purgeHistory(createdBefore, 500));
+    }
+
 }
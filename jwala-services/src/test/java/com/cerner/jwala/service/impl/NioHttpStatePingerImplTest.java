@@ -0,0 +1,235 @@
+package com.cerner.jwala.service.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link NioHttpStatePingerImpl} against a local HTTP server with fast and hung endpoints
+ */
+public class NioHttpStatePingerImplTest {
+
+    private static final int CONNECT_TIMEOUT = 1000;
+    private static final int READ_TIMEOUT = 2000;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CountDownLatch releaseHungRequests;
+    private NioHttpStatePingerImpl pinger;
+    private String baseUri;
+
+    @Before
+    public void setUp() throws IOException {
+        releaseHungRequests = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 200);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "OK"));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "Not found"));
+        server.createContext("/chunked", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            final OutputStream body = exchange.getResponseBody();
+            body.write("first chunk".getBytes(StandardCharsets.US_ASCII));
+            body.flush();
+            body.write("second chunk".getBytes(StandardCharsets.US_ASCII));
+            body.close();
+        });
+        server.createContext("/hung", exchange -> {
+            try {
+                releaseHungRequests.await(30, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "OK");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUri = "http://localhost:" + server.getAddress().getPort();
+
+        pinger = new NioHttpStatePingerImpl(60000, 2, 2, Executors.defaultThreadFactory());
+    }
+
+    @After
+    public void tearDown() {
+        releaseHungRequests.countDown();
+        pinger.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testPingReturnsTheStatusCode() throws Exception {
+        assertEquals(Integer.valueOf(200), ping("/ok").get(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(404), ping("/missing").get(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(200), ping("/chunked").get(5, TimeUnit.SECONDS));
+        assertEquals(0, pinger.getMetrics().get("inFlight"));
+        assertEquals(3L, pinger.getMetrics().get("completed"));
+    }
+
+    @Test
+    public void testConnectionIsKeptAliveAndReused() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(200), ping(i % 2 == 0 ? "/ok" : "/chunked").get(5, TimeUnit.SECONDS));
+            waitForIdleConnection();
+        }
+        assertEquals(1L, pinger.getMetrics().get("connectionsOpened"));
+        assertEquals(4L, pinger.getMetrics().get("connectionsReused"));
+    }
+
+    @Test
+    public void testHungEndpointTimesOutWithoutHoldingBackTheOthers() throws Exception {
+        // the hung endpoint only answers when it is released in the tear down, well after the 300 ms read timeout
+        final CompletableFuture<Integer> hung = pinger.ping(URI.create(baseUri + "/hung"), CONNECT_TIMEOUT, 300);
+        final List<CompletableFuture<Integer>> fast = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            fast.add(ping("/ok"));
+        }
+        for (final CompletableFuture<Integer> future : fast) {
+            assertEquals(Integer.valueOf(200), future.get(5, TimeUnit.SECONDS));
+        }
+
+        try {
+            hung.get(5, TimeUnit.SECONDS);
+            fail("The request to the hung endpoint should have timed out");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof SocketTimeoutException);
+        }
+        assertEquals(1L, pinger.getMetrics().get("timedOut"));
+    }
+
+    @Test
+    public void testServerThatNeverRespondsTimesOut() throws Exception {
+        try (final ServerSocket silentServer = new ServerSocket(0)) {
+            final List<Socket> accepted = new ArrayList<>();
+            final Thread acceptor = new Thread(() -> {
+                try {
+                    accepted.add(silentServer.accept());
+                } catch (final IOException e) {
+                    // closed
+                }
+            });
+            acceptor.start();
+            final CompletableFuture<Integer> future = pinger.ping(URI.create("http://localhost:" + silentServer.getLocalPort() + "/"),
+                    CONNECT_TIMEOUT, 300);
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail("The request should have timed out");
+            } catch (final ExecutionException e) {
+                assertTrue(e.getCause() instanceof SocketTimeoutException);
+            }
+            acceptor.join(1000);
+            for (final Socket socket : accepted) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void testRefusedConnectionFails() throws Exception {
+        final int closedPort;
+        try (final ServerSocket serverSocket = new ServerSocket(0)) {
+            closedPort = serverSocket.getLocalPort();
+        }
+        try {
+            pinger.ping(URI.create("http://localhost:" + closedPort + "/"), CONNECT_TIMEOUT, READ_TIMEOUT).get(5, TimeUnit.SECONDS);
+            fail("The request should have failed");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConnectException);
+        }
+        assertEquals(1L, pinger.getMetrics().get("failed"));
+    }
+
+    @Test
+    public void testManySlowRequestsAreInFlightAtTheSameTime() throws Exception {
+        final int requestCount = 100;
+        // the endpoint only answers once all the requests have reached the server, which can't happen if the requests
+        // are sent one after the other
+        final CountDownLatch arrived = new CountDownLatch(requestCount);
+        server.createContext("/together", exchange -> {
+            arrived.countDown();
+            boolean together = false;
+            try {
+                together = arrived.await(20, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, together ? 200 : 503, "");
+        });
+        final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(pinger.ping(URI.create(baseUri + "/together"), CONNECT_TIMEOUT, 30000));
+        }
+        for (final CompletableFuture<Integer> future : futures) {
+            assertEquals(Integer.valueOf(200), future.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals((long) requestCount, pinger.getMetrics().get("completed"));
+    }
+
+    @Test
+    public void testPingAfterShutdownFails() throws Exception {
+        pinger.shutdown();
+        try {
+            ping("/ok").get(5, TimeUnit.SECONDS);
+            fail("The request should have failed");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(0, pinger.getMetrics().get("inFlight"));
+    }
+
+    @Test
+    public void testUriWithoutHostFailsWithoutStayingInFlight() throws Exception {
+        try {
+            pinger.ping(URI.create("http:/no-host"), CONNECT_TIMEOUT, READ_TIMEOUT).get(5, TimeUnit.SECONDS);
+            fail("The request should have failed");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof UnknownHostException);
+        }
+        assertEquals(0, pinger.getMetrics().get("inFlight"));
+        assertEquals(1L, pinger.getMetrics().get("failed"));
+    }
+
+    private CompletableFuture<Integer> ping(final String path) {
+        return pinger.ping(URI.create(baseUri + path), CONNECT_TIMEOUT, READ_TIMEOUT);
+    }
+
+    private void waitForIdleConnection() throws InterruptedException {
+        // the future completes once the status line is read, the connection is released once the body is read
+        final long deadline = System.currentTimeMillis() + 5000;
+        while ((Integer) pinger.getMetrics().get("idleConnections") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final int statusCode, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.cerner.jwala.service.impl;
+
+import com.cerner.jwala.service.RemoteOperationScheduler.Priority;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link RemoteOperationSchedulerImpl}
+ */
+public class RemoteOperationSchedulerImplTest {
+
+    private RemoteOperationSchedulerImpl scheduler;
+    private CountDownLatch release;
+    private List<String> started;
+
+    @Before
+    public void setup() {
+        release = new CountDownLatch(1);
+        started = Collections.synchronizedList(new ArrayList<String>());
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerHostLimit() throws Exception {
+        scheduler = new RemoteOperationSchedulerImpl(4, 1);
+        final Future<String> first = scheduler.submit("host1", "group1", Priority.DEPLOY, blocked("host1-a"));
+        final Future<String> second = scheduler.submit("host1", "group1", Priority.DEPLOY, blocked("host1-b"));
+        final Future<String> other = scheduler.submit("host2", "group1", Priority.DEPLOY, recorded("host2-a"));
+
+        assertEquals("host2-a", other.get(10, TimeUnit.SECONDS));
+        waitForStarted(2);
+        waitForCompleted(1);
+        assertEquals(2, started.size());
+        assertFalse(started.contains("host1-b"));
+        assertFalse(second.isDone());
+
+        final Map<String, Object> metrics = scheduler.getMetrics();
+        assertEquals(1, metrics.get("running"));
+        assertEquals(1, metrics.get("queued"));
+
+        release.countDown();
+        assertEquals("host1-a", first.get(10, TimeUnit.SECONDS));
+        assertEquals("host1-b", second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testControlOperationsRunAheadOfDeployOperations() throws Exception {
+        scheduler = new RemoteOperationSchedulerImpl(1, 1);
+        final Future<String> blocking = scheduler.submit("host1", "group1", Priority.DEPLOY, blocked("blocking"));
+        waitForStarted(1);
+        final Future<String> deploy = scheduler.submit("host1", "group1", Priority.DEPLOY, recorded("deploy"));
+        final Future<String> control = scheduler.submit("host1", "group1", Priority.CONTROL, recorded("control"));
+
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        deploy.get(10, TimeUnit.SECONDS);
+        control.get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("blocking", "control", "deploy"), started);
+    }
+
+    @Test
+    public void testQueuesAreServedRoundRobin() throws Exception {
+        scheduler = new RemoteOperationSchedulerImpl(1, 1);
+        final List<Future<String>> futures = new ArrayList<>();
+        futures.add(scheduler.submit(null, "blocking", Priority.DEPLOY, blocked("blocking")));
+        waitForStarted(1);
+        futures.add(scheduler.submit(null, "large", Priority.DEPLOY, recorded("large-1")));
+        futures.add(scheduler.submit(null, "large", Priority.DEPLOY, recorded("large-2")));
+        futures.add(scheduler.submit(null, "large", Priority.DEPLOY, recorded("large-3")));
+        futures.add(scheduler.submit(null, "small", Priority.DEPLOY, recorded("small-1")));
+
+        release.countDown();
+        for (final Future<String> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(Arrays.asList("blocking", "large-1", "small-1", "large-2", "large-3"), started);
+    }
+
+    @Test
+    public void testNestedOperationRunsInTheCallingThread() throws Exception {
+        scheduler = new RemoteOperationSchedulerImpl(1, 1);
+        final Future<String> outer = scheduler.submit("host1", "group1", Priority.CONTROL,
+                () -> scheduler.submit("host1", "group1", Priority.CONTROL, recorded("inner")).get(10, TimeUnit.SECONDS));
+
+        assertEquals("inner", outer.get(10, TimeUnit.SECONDS));
+        waitForCompleted(1);
+        final Map<String, Object> metrics = scheduler.getMetrics();
+        assertEquals(2L, metrics.get("submittedCount"));
+        assertEquals(1L, metrics.get("inlineCount"));
+        assertEquals(1L, metrics.get("completedCount"));
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        scheduler = new RemoteOperationSchedulerImpl(5, 2);
+        scheduler.submit("host1", "group1", Priority.CONTROL, recorded("a")).get(10, TimeUnit.SECONDS);
+        waitForCompleted(1);
+
+        final Map<String, Object> metrics = scheduler.getMetrics();
+        assertEquals(5, metrics.get("maxConcurrent"));
+        assertEquals(2, metrics.get("maxConcurrentPerHost"));
+        assertEquals(0, metrics.get("running"));
+        assertEquals(0, metrics.get("queued"));
+        assertTrue(((Map) metrics.get("runningPerHost")).isEmpty());
+        assertEquals(1L, metrics.get("submittedCount"));
+        assertTrue(metrics.containsKey("meanWaitTimeMillis"));
+        assertTrue(metrics.containsKey("maxWaitTimeMillis"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimit() {
+        new RemoteOperationSchedulerImpl(0, 1);
+    }
+
+    private Callable<String> recorded(final String name) {
+        return () -> {
+            started.add(name);
+            return name;
+        };
+    }
+
+    private Callable<String> blocked(final String name) {
+        return () -> {
+            started.add(name);
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return name;
+        };
+    }
+
+    private void waitForStarted(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (started.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void waitForCompleted(final long count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while ((Long) scheduler.getMetrics().get("completedCount") < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
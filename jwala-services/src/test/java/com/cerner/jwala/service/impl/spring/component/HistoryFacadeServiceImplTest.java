@@ -5,18 +5,29 @@ import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.persistence.jpa.domain.JpaGroup;
 import com.cerner.jwala.persistence.jpa.domain.JpaHistory;
 import com.cerner.jwala.persistence.jpa.type.EventType;
-import com.cerner.jwala.service.HistoryFacadeService;
 import com.cerner.jwala.service.HistoryService;
+import com.cerner.jwala.service.Message;
 import com.cerner.jwala.service.MessagingService;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyList;
-import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -39,7 +50,7 @@ public class HistoryFacadeServiceImplTest {
     @Mock
     private JpaGroup jpaGroup;
 
-    private HistoryFacadeService historyFacadeService;
+    private HistoryFacadeServiceImpl historyFacadeService;
 
     final Group someGroup = new Group(new Identifier<Group>(1L), "someGroup");
 
@@ -47,22 +58,140 @@ public class HistoryFacadeServiceImplTest {
     @SuppressWarnings("all")
     public void setup() {
         initMocks(this);
-        historyFacadeService = new HistoryFacadeServiceImpl(mockHistoryService, mockMessagingService);
+        historyFacadeService = new HistoryFacadeServiceImpl(mockHistoryService, mockMessagingService, 2, 10, 200,
+                "SYSTEM_ERROR", Executors.defaultThreadFactory());
         when(jpaGroup.getName()).thenReturn("mockGroup");
+        when(jpaGroup.getId()).thenReturn(1L);
         when(mockJpaHistory.getGroup()).thenReturn(jpaGroup);
-        when(mockHistoryService.createHistory(anyString(), anyList(), anyString(), eq(EventType.SYSTEM_INFO), anyString()))
-                .thenReturn(Arrays.asList(mockJpaHistory));
+        when(mockHistoryService.createHistory(anyList())).thenReturn(Arrays.asList(mockJpaHistory));
     }
 
     @Test
     @SuppressWarnings("all")
     public void testWrite() throws Exception {
+        final long before = System.currentTimeMillis();
         historyFacadeService.write("someServer", Arrays.asList(someGroup), "some event", EventType.SYSTEM_INFO, "someUser");
+        final long after = System.currentTimeMillis();
+        verify(mockHistoryService, never()).createHistory(anyList());
+
+        historyFacadeService.flush();
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockHistoryService).createHistory(captor.capture());
+        final JpaHistory history = (JpaHistory) captor.getValue().get(0);
+        assertEquals("someServer", history.getServerName());
+        assertEquals(Long.valueOf(1L), history.getGroup().getId());
+        assertEquals(EventType.SYSTEM_INFO, history.getEventType());
+        // stamped when it was written to the journal, not when it was flushed
+        assertTrue(history.getCreateDate().getTimeInMillis() >= before);
+        assertTrue(history.getCreateDate().getTimeInMillis() <= after);
+        verify(mockMessagingService).send(any(Message.class), eq(new Identifier<Group>(1L)));
+        assertEquals(1L, historyFacadeService.getMetrics().get("written"));
     }
 
     @Test
     public void testWrite2() throws Exception {
         historyFacadeService.write("someServer", someGroup, "some event", EventType.SYSTEM_INFO, "someUser");
+        assertEquals(1, historyFacadeService.getMetrics().get("backlog"));
+    }
+
+    @Test
+    @SuppressWarnings("all")
+    public void testSyncEventTypeIsWrittenAfterTheJournal() {
+        historyFacadeService.write("someServer", someGroup, "first", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.write("someServer", someGroup, "second", EventType.SYSTEM_ERROR, "someUser");
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockHistoryService, times(2)).createHistory(captor.capture());
+        assertEquals("first", ((JpaHistory) captor.getAllValues().get(0).get(0)).getEvent());
+        assertEquals("second", ((JpaHistory) captor.getAllValues().get(1).get(0)).getEvent());
+        assertEquals(0, historyFacadeService.getMetrics().get("backlog"));
+        assertEquals(1L, historyFacadeService.getMetrics().get("sync"));
+    }
+
+    @Test
+    @SuppressWarnings("all")
+    public void testFullJournalIsWrittenRightAway() {
+        historyFacadeService.write("someServer", Arrays.asList(someGroup, someGroup, someGroup), "some event",
+                EventType.SYSTEM_INFO, "someUser");
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockHistoryService, times(2)).createHistory(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals(1, captor.getAllValues().get(1).size());
+        assertEquals(1L, historyFacadeService.getMetrics().get("journalFull"));
+    }
+
+    @Test
+    @SuppressWarnings("all")
+    public void testShutdownFlushesTheJournal() {
+        historyFacadeService.start();
+        historyFacadeService.write("someServer", someGroup, "some event", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.shutdown();
+        verify(mockHistoryService).createHistory(anyList());
+        assertEquals(0, historyFacadeService.getMetrics().get("backlog"));
+
+        historyFacadeService.write("someServer", someGroup, "some event", EventType.SYSTEM_INFO, "someUser");
+        verify(mockHistoryService, times(2)).createHistory(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("all")
+    public void testFailedBatchIsCounted() {
+        when(mockHistoryService.createHistory(anyList())).thenThrow(new RuntimeException("db down"));
+        historyFacadeService.write("someServer", someGroup, "some event", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.flush();
+        assertEquals(1L, historyFacadeService.getMetrics().get("failed"));
+        verify(mockMessagingService, never()).send(any(Message.class), any(Identifier.class));
+    }
+
+    @Test
+    @SuppressWarnings("all")
+    public void testPoisonedRowDoesNotFailTheOtherRowsOfTheBatch() {
+        historyFacadeService = new HistoryFacadeServiceImpl(mockHistoryService, mockMessagingService, 10, 10, 200,
+                "SYSTEM_ERROR", Executors.defaultThreadFactory());
+        final List<JpaHistory> written = new ArrayList<>();
+        when(mockHistoryService.createHistory(anyList())).thenAnswer(new Answer<List<JpaHistory>>() {
+            @Override
+            public List<JpaHistory> answer(final InvocationOnMock invocation) {
+                final List<JpaHistory> histories = (List<JpaHistory>) invocation.getArguments()[0];
+                for (final JpaHistory history : histories) {
+                    if ("poisoned".equals(history.getEvent())) {
+                        throw new RuntimeException("value too long");
+                    }
+                }
+                written.addAll(histories);
+                return histories;
+            }
+        });
+
+        historyFacadeService.write("server1", someGroup, "first", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.write("server2", someGroup, "poisoned", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.write("server3", someGroup, "third", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.flush();
+
+        assertEquals(2, written.size());
+        assertEquals("first", written.get(0).getEvent());
+        assertEquals("third", written.get(1).getEvent());
+        assertEquals(2L, historyFacadeService.getMetrics().get("written"));
+        assertEquals(1L, historyFacadeService.getMetrics().get("failed"));
+        verify(mockMessagingService, times(2)).send(any(Message.class), eq(new Identifier<Group>(1L)));
+    }
+
+    @Test
+    @SuppressWarnings("all")
+    public void testSyncEventTypeOnlyWritesTheJournalOfItsServer() {
+        historyFacadeService = new HistoryFacadeServiceImpl(mockHistoryService, mockMessagingService, 10, 10, 200,
+                "SYSTEM_ERROR", Executors.defaultThreadFactory());
+        historyFacadeService.write("server1", someGroup, "first", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.write("server2", someGroup, "other server", EventType.SYSTEM_INFO, "someUser");
+        historyFacadeService.write("server1", someGroup, "second", EventType.SYSTEM_ERROR, "someUser");
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockHistoryService, times(2)).createHistory(captor.capture());
+        assertEquals(1, captor.getAllValues().get(0).size());
+        assertEquals("first", ((JpaHistory) captor.getAllValues().get(0).get(0)).getEvent());
+        assertEquals("second", ((JpaHistory) captor.getAllValues().get(1).get(0)).getEvent());
+        assertEquals(1, historyFacadeService.getMetrics().get("backlog"));
     }
 
 }
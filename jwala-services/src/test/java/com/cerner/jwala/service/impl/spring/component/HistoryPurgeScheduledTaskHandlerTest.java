@@ -0,0 +1,59 @@
+package com.cerner.jwala.service.impl.spring.component;
+
+import com.cerner.jwala.service.HistoryService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit test for {@link HistoryPurgeScheduledTaskHandler}
+ */
+public class HistoryPurgeScheduledTaskHandlerTest {
+
+    @Mock
+    private HistoryService mockHistoryService;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+    }
+
+    @Test
+    public void testPurgeInBatchesUntilNothingIsLeft() {
+        when(mockHistoryService.purgeHistory(any(Calendar.class), eq(10))).thenReturn(10, 10, 3);
+        new HistoryPurgeScheduledTaskHandler(mockHistoryService, 30, 10, 100).execute();
+
+        final ArgumentCaptor<Calendar> captor = ArgumentCaptor.forClass(Calendar.class);
+        verify(mockHistoryService, times(3)).purgeHistory(captor.capture(), eq(10));
+        final Calendar thirtyDaysAgo = Calendar.getInstance();
+        thirtyDaysAgo.add(Calendar.DATE, -30);
+        assertTrue(Math.abs(captor.getValue().getTimeInMillis() - thirtyDaysAgo.getTimeInMillis()) < 60000);
+    }
+
+    @Test
+    public void testPurgeStopsAfterMaxBatches() {
+        when(mockHistoryService.purgeHistory(any(Calendar.class), eq(10))).thenReturn(10);
+        new HistoryPurgeScheduledTaskHandler(mockHistoryService, 30, 10, 2).execute();
+        verify(mockHistoryService, times(2)).purgeHistory(any(Calendar.class), eq(10));
+    }
+
+    @Test
+    public void testHistoryIsKeptForeverWithoutRetention() {
+        new HistoryPurgeScheduledTaskHandler(mockHistoryService, 0, 10, 2).execute();
+        verify(mockHistoryService, never()).purgeHistory(any(Calendar.class), anyInt());
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.cerner.jwala.service.impl.spring.component;
+
+import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.common.domain.model.state.CurrentState;
+import com.cerner.jwala.common.domain.model.state.OperationalState;
+import com.cerner.jwala.common.domain.model.state.StateType;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
+import com.cerner.jwala.common.domain.model.webserver.WebServerState;
+import com.cerner.jwala.service.Message;
+import com.cerner.jwala.service.StateBatch;
+import com.cerner.jwala.service.group.GroupStateNotificationService;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link SimpMessagingServiceImpl}
+ */
+public class SimpMessagingServiceImplTest {
+
+    private static final String TOPIC = "/topic/server-states";
+    private static final DateTime AS_OF = new DateTime(1000L);
+
+    private SimpMessagingTemplate mockMessagingTemplate;
+    private GroupStateNotificationService mockGroupStateNotificationService;
+    private StompSessionRegistry mockStompSessionRegistry;
+    private SimpMessagingServiceImpl simpMessagingService;
+
+    @Before
+    public void setUp() {
+        mockMessagingTemplate = mock(SimpMessagingTemplate.class);
+        mockGroupStateNotificationService = mock(GroupStateNotificationService.class);
+        mockStompSessionRegistry = mock(StompSessionRegistry.class);
+        when(mockStompSessionRegistry.hasSubscribers(TOPIC)).thenReturn(true);
+        when(mockGroupStateNotificationService.getJvmGroupIds(new Identifier<Jvm>(1L)))
+                .thenReturn(Arrays.asList(new Identifier<Group>(1L), new Identifier<Group>(2L)));
+        when(mockGroupStateNotificationService.getWebServerGroupIds(new Identifier<WebServer>(1L)))
+                .thenReturn(Collections.singletonList(new Identifier<Group>(2L)));
+        simpMessagingService = new SimpMessagingServiceImpl(mockMessagingTemplate, mockGroupStateNotificationService,
+                mockStompSessionRegistry, TOPIC);
+    }
+
+    @Test
+    public void testStatesAreSentOnFlushOnly() {
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTING, AS_OF));
+        verify(mockMessagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+
+        simpMessagingService.flush();
+        final StateBatch batch = captureBatch();
+        assertEquals(1, batch.getSequence());
+        assertEquals(1, batch.getUpdates().size());
+
+        final Map<String, Object> update = batch.getUpdates().get(0);
+        assertEquals(new Identifier<Jvm>(1L), update.get("id"));
+        assertEquals(StateType.JVM, update.get("type"));
+        assertEquals(JvmState.JVM_STARTING, update.get("state"));
+        assertEquals(AS_OF, update.get("asOf"));
+        // the counts of a JVM state are null and are not sent
+        assertFalse(update.containsKey("jvmCount"));
+    }
+
+    @Test
+    public void testStatesOfTheSameServerAreCoalesced() {
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTING, AS_OF));
+        simpMessagingService.send(jvmState(2L, JvmState.JVM_STOPPING, AS_OF));
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTED, AS_OF));
+        // the id is the same but the type is not
+        simpMessagingService.send(groupState(1L, 2L, AS_OF));
+
+        simpMessagingService.flush();
+        final List<Map<String, Object>> updates = captureBatch().getUpdates();
+        assertEquals(3, updates.size());
+        for (final Map<String, Object> update : updates) {
+            if (StateType.JVM.equals(update.get("type")) && new Identifier<Jvm>(1L).equals(update.get("id"))) {
+                assertEquals(JvmState.JVM_STARTED, update.get("state"));
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyChangedFieldsAreSent() {
+        simpMessagingService.send(groupState(1L, 2L, AS_OF));
+        simpMessagingService.flush();
+        reset(mockMessagingTemplate);
+
+        final DateTime asOf = AS_OF.plusSeconds(1);
+        simpMessagingService.send(groupState(1L, 3L, asOf));
+        simpMessagingService.flush();
+
+        final StateBatch batch = captureBatch();
+        assertEquals(2, batch.getSequence());
+        final Map<String, Object> update = batch.getUpdates().get(0);
+        assertEquals(new HashSet<>(Arrays.asList("id", "type", "asOf", "jvmStartedCount", "jvmStoppedCount")), update.keySet());
+        assertEquals(3L, update.get("jvmStartedCount"));
+        assertEquals(asOf, update.get("asOf"));
+    }
+
+    @Test
+    public void testUnchangedStateIsNotSent() {
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTED, AS_OF));
+        simpMessagingService.flush();
+        reset(mockMessagingTemplate);
+
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTED, AS_OF));
+        simpMessagingService.flush();
+        simpMessagingService.flush();
+        verify(mockMessagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+    }
+
+    @Test
+    public void testOtherPayloadsAreSentRightAway() {
+        final Message<String> message = new Message<>(Message.Type.HISTORY, "history");
+        simpMessagingService.send(message);
+        verify(mockMessagingTemplate).convertAndSend(TOPIC, message);
+    }
+
+    @Test
+    public void testSnapshotHasTheFullLastSentStates() {
+        simpMessagingService.send(groupState(1L, 2L, AS_OF));
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTED, AS_OF));
+        simpMessagingService.flush();
+        simpMessagingService.send(groupState(1L, 3L, AS_OF));
+        simpMessagingService.flush();
+        // not flushed yet
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STOPPING, AS_OF));
+
+        final StateBatch snapshot = simpMessagingService.getStateSnapshot(null);
+        assertEquals(2, snapshot.getSequence());
+        assertEquals(2, snapshot.getUpdates().size());
+        for (final Map<String, Object> state : snapshot.getUpdates()) {
+            if (StateType.GROUP.equals(state.get("type"))) {
+                assertEquals(3L, state.get("jvmStartedCount"));
+                assertEquals(4L, state.get("jvmCount"));
+            } else {
+                assertEquals(JvmState.JVM_STARTED, state.get("state"));
+                assertTrue(state.containsKey("jvmCount"));
+            }
+        }
+    }
+
+    @Test
+    public void testRemovedStatesAreNotInTheSnapshots() {
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTED, AS_OF));
+        simpMessagingService.send(webServerState(1L, AS_OF));
+        simpMessagingService.flush();
+        // not flushed yet
+        simpMessagingService.send(jvmState(2L, JvmState.JVM_STARTED, AS_OF));
+
+        simpMessagingService.removeState(StateType.JVM, new Identifier<Jvm>(1L));
+        simpMessagingService.removeState(StateType.JVM, new Identifier<Jvm>(2L));
+        simpMessagingService.flush();
+
+        final List<Map<String, Object>> states = simpMessagingService.getStateSnapshot(null).getUpdates();
+        assertEquals(1, states.size());
+        assertEquals(StateType.WEB_SERVER, states.get(0).get("type"));
+        assertTrue(simpMessagingService.getStateSnapshot(TOPIC + "/jvms/1").getUpdates().isEmpty());
+    }
+
+    @Test
+    public void testStatesAreSentToTheTopicsOfTheirGroupsAndServers() {
+        when(mockStompSessionRegistry.hasSubscribers(TOPIC)).thenReturn(false);
+        when(mockStompSessionRegistry.hasSubscribers(TOPIC + "/groups")).thenReturn(true);
+        when(mockStompSessionRegistry.hasSubscribers(TOPIC + "/groups/2")).thenReturn(true);
+        when(mockStompSessionRegistry.hasSubscribers(TOPIC + "/jvms/1")).thenReturn(true);
+
+        simpMessagingService.send(jvmState(1L, JvmState.JVM_STARTED, AS_OF));
+        simpMessagingService.send(webServerState(1L, AS_OF));
+        simpMessagingService.send(groupState(1L, 2L, AS_OF));
+        simpMessagingService.send(groupState(2L, 2L, AS_OF));
+        simpMessagingService.flush();
+
+        // nobody subscribed to the main topic and to the topics of group 1 and of the web server
+        verify(mockMessagingTemplate, never()).convertAndSend(eq(TOPIC), any(Object.class));
+        verify(mockMessagingTemplate, never()).convertAndSend(eq(TOPIC + "/groups/1"), any(Object.class));
+        verify(mockMessagingTemplate, never()).convertAndSend(eq(TOPIC + "/web-servers/1"), any(Object.class));
+
+        assertEquals(2, captureBatch(TOPIC + "/groups").getUpdates().size());
+        assertEquals(3, captureBatch(TOPIC + "/groups/2").getUpdates().size());
+        final StateBatch jvmBatch = captureBatch(TOPIC + "/jvms/1");
+        assertEquals(1, jvmBatch.getSequence());
+        assertEquals(1, jvmBatch.getUpdates().size());
+
+        final StateBatch groupSnapshot = simpMessagingService.getStateSnapshot(TOPIC + "/groups/1");
+        assertEquals(0, groupSnapshot.getSequence());
+        assertEquals(2, groupSnapshot.getUpdates().size());
+        assertEquals(3, simpMessagingService.getStateSnapshot(TOPIC + "/groups/2").getUpdates().size());
+        assertEquals(4, simpMessagingService.getStateSnapshot(TOPIC).getUpdates().size());
+    }
+
+    @Test
+    public void testGroupPayloadsAreSentToTheTopicOfTheGroup() {
+        when(mockStompSessionRegistry.hasSubscribers(TOPIC + "/groups/3")).thenReturn(true);
+        final Message<String> message = new Message<>(Message.Type.HISTORY, "history");
+        simpMessagingService.send(message, new Identifier<Group>(3L));
+        verify(mockMessagingTemplate).convertAndSend(TOPIC, message);
+        verify(mockMessagingTemplate).convertAndSend(TOPIC + "/groups/3", message);
+    }
+
+    private StateBatch captureBatch() {
+        return captureBatch(TOPIC);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StateBatch captureBatch(final String destination) {
+        final ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(mockMessagingTemplate).convertAndSend(eq(destination), captor.capture());
+        assertEquals(Message.Type.BATCH, captor.getValue().getType());
+        return (StateBatch) captor.getValue().getBody();
+    }
+
+    private static CurrentState<Jvm, JvmState> jvmState(final long id, final JvmState state, final DateTime asOf) {
+        return new CurrentState<>(new Identifier<Jvm>(id), state, asOf, StateType.JVM);
+    }
+
+    private static WebServerState webServerState(final long id, final DateTime asOf) {
+        return new WebServerState(new Identifier<WebServer>(id), WebServerReachableState.WS_REACHABLE, asOf);
+    }
+
+    private static CurrentState<Group, OperationalState> groupState(final long id, final long jvmStartedCount,
+                                                                     final DateTime asOf) {
+        return new CurrentState<>(new Identifier<Group>(id), null, asOf, StateType.GROUP, 0L, 0L, 0L, 0L, 4L,
+                jvmStartedCount, 4L - jvmStartedCount, 0L);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.cerner.jwala.service.impl.spring.component;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link StompSessionRegistry}
+ */
+public class StompSessionRegistryTest {
+
+    private static final String GROUP_TOPIC = "/topic/server-states/groups/1";
+
+    private StompSessionRegistry stompSessionRegistry;
+
+    @Before
+    public void setUp() {
+        stompSessionRegistry = new StompSessionRegistry();
+    }
+
+    @Test
+    public void testSubscriptions() {
+        inbound(SimpMessageType.CONNECT, "session1", null, null);
+        inbound(SimpMessageType.CONNECT, "session2", null, null);
+        assertFalse(stompSessionRegistry.hasSubscribers(GROUP_TOPIC));
+
+        inbound(SimpMessageType.SUBSCRIBE, "session1", "sub1", GROUP_TOPIC);
+        inbound(SimpMessageType.SUBSCRIBE, "session2", "sub1", GROUP_TOPIC);
+        assertTrue(stompSessionRegistry.hasSubscribers(GROUP_TOPIC));
+        assertFalse(stompSessionRegistry.hasSubscribers("/topic/server-states/groups/2"));
+
+        inbound(SimpMessageType.UNSUBSCRIBE, "session1", "sub1", null);
+        assertTrue(stompSessionRegistry.hasSubscribers(GROUP_TOPIC));
+        inbound(SimpMessageType.DISCONNECT, "session2", null, null);
+        assertFalse(stompSessionRegistry.hasSubscribers(GROUP_TOPIC));
+    }
+
+    @Test
+    public void testPatternSubscription() {
+        inbound(SimpMessageType.CONNECT, "session1", null, null);
+        inbound(SimpMessageType.SUBSCRIBE, "session1", "sub1", "/topic/server-states/groups/*");
+        assertTrue(stompSessionRegistry.hasSubscribers(GROUP_TOPIC));
+        assertFalse(stompSessionRegistry.hasSubscribers("/topic/server-states/jvms/1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDeliveredMessagesAreCountedPerSession() {
+        inbound(SimpMessageType.CONNECT, "session1", null, null);
+        inbound(SimpMessageType.SUBSCRIBE, "session1", "sub1", GROUP_TOPIC);
+        outbound(SimpMessageType.MESSAGE, "session1");
+        outbound(SimpMessageType.MESSAGE, "session1");
+        outbound(SimpMessageType.HEARTBEAT, "session1");
+        outbound(SimpMessageType.MESSAGE, "unknown");
+
+        final Map<String, Object> metrics = stompSessionRegistry.getMetrics();
+        assertEquals(1, metrics.get("sessions"));
+        assertEquals(1, metrics.get("subscriptions"));
+        assertEquals(2L, metrics.get("delivered"));
+        final Map<String, Object> session = ((List<Map<String, Object>>) metrics.get("sessionDetails")).get(0);
+        assertEquals("session1", session.get("id"));
+        assertEquals("admin", session.get("user"));
+        assertEquals(Collections.singletonList(GROUP_TOPIC), session.get("destinations"));
+        assertEquals(2L, session.get("delivered"));
+
+        inbound(SimpMessageType.DISCONNECT, "session1", null, null);
+        assertEquals(0, stompSessionRegistry.getMetrics().get("sessions"));
+        assertEquals(2L, stompSessionRegistry.getMetrics().get("delivered"));
+    }
+
+    private void inbound(final SimpMessageType messageType, final String sessionId, final String subscriptionId,
+                         final String destination) {
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(messageType);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        accessor.setUser(new Principal() {
+            @Override
+            public String getName() {
+                return "admin";
+            }
+        });
+        final Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        stompSessionRegistry.getInboundInterceptor().preSend(message, null);
+    }
+
+    private void outbound(final SimpMessageType messageType, final String sessionId) {
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(messageType);
+        accessor.setSessionId(sessionId);
+        final Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        stompSessionRegistry.getOutboundInterceptor().preSend(message, null);
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.cerner.jwala.service.jvm.impl;
+
+import com.cerner.jwala.common.domain.model.fault.FaultType;
+import com.cerner.jwala.common.exec.ExecCommand;
+import com.cerner.jwala.common.exception.InternalErrorException;
+import com.cerner.jwala.exception.CommandFailureException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit test for {@link GenerationStages}
+ */
+public class GenerationStagesTest {
+
+    private ExecutorService executorService;
+    private List<String> executed;
+
+    @Before
+    public void setup() {
+        executorService = Executors.newFixedThreadPool(4);
+        executed = Collections.synchronizedList(new ArrayList<String>());
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testStagesRunAfterTheirDependencies() throws Exception {
+        final Map<String, Long> durations = new GenerationStages()
+                .add("a", () -> executed.add("a"))
+                .add("b", () -> executed.add("b"), "a")
+                .add("c", () -> executed.add("c"), "a")
+                .add("d", () -> executed.add("d"), "b", "c")
+                .execute(executorService);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), new ArrayList<>(durations.keySet()));
+        assertEquals(4, executed.size());
+        assertEquals("a", executed.get(0));
+        assertEquals("d", executed.get(3));
+    }
+
+    @Test
+    public void testIndependentStagesRunConcurrently() throws Exception {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final GenerationStages.Stage awaitOther = () -> {
+            bothStarted.countDown();
+            try {
+                assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        final Map<String, Long> durations = new GenerationStages()
+                .add("remote", awaitOther)
+                .add("local", awaitOther)
+                .execute(executorService);
+
+        assertEquals(2, durations.size());
+        assertEquals(0, bothStarted.getCount());
+    }
+
+    @Test
+    public void testStagesRunInDeclarationOrderWithoutAnExecutor() throws Exception {
+        new GenerationStages()
+                .add("a", () -> executed.add("a"))
+                .add("b", () -> executed.add("b"))
+                .add("c", () -> executed.add("c"), "a")
+                .execute(null);
+
+        assertEquals(Arrays.asList("a", "b", "c"), executed);
+    }
+
+    @Test
+    public void testFailureSkipsDependentStages() throws Exception {
+        final CommandFailureException failure = new CommandFailureException(new ExecCommand("scp"), new Throwable("Failed scp"));
+        try {
+            new GenerationStages()
+                    .add("a", () -> executed.add("a"))
+                    .add("b", () -> {
+                        throw failure;
+                    }, "a")
+                    .add("c", () -> executed.add("c"), "b")
+                    .execute(executorService);
+            fail("The failure of stage b was expected");
+        } catch (CommandFailureException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(Collections.singletonList("a"), executed);
+    }
+
+    @Test
+    public void testFailureOfTheFirstDeclaredStageIsRethrown() throws Exception {
+        try {
+            new GenerationStages()
+                    .add("a", () -> {
+                        throw new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, "a failed");
+                    })
+                    .add("b", () -> {
+                        throw new IOException("b failed");
+                    })
+                    .execute(null);
+            fail("The failure of stage a was expected");
+        } catch (InternalErrorException e) {
+            assertEquals("a failed", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDependency() {
+        new GenerationStages().add("a", () -> executed.add("a"), "b");
+    }
+
+    @Test
+    public void testStagesAreNotStartedAfterAFailure() throws Exception {
+        try {
+            new GenerationStages()
+                    .add("a", () -> {
+                        throw new IOException("a failed");
+                    })
+                    .add("b", () -> executed.add("b"))
+                    .execute(null);
+            fail("The failure of stage a was expected");
+        } catch (IOException e) {
+            assertFalse(executed.contains("b"));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cerner.jwala.service.jvm.impl;
 
+import com.cerner.jwala.commandprocessor.impl.jsch.JschScpBatchCommandProcessorImpl.FileResult;
 import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
@@ -16,6 +17,7 @@ import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.request.jvm.ControlJvmRequest;
 import com.cerner.jwala.control.command.common.Command;
+import com.cerner.jwala.control.command.common.RemoteScriptCache;
 import com.cerner.jwala.control.command.common.ShellCommandFactory;
 import com.cerner.jwala.control.configuration.SshConfig;
 import com.cerner.jwala.control.jvm.command.JvmCommandFactory;
@@ -98,6 +100,7 @@ public class JvmControlServiceImplTest extends VerificationBehaviorSupport {
         verify(Config.mockJvmPersistenceService, times(1)).getJvm(eq(jvmId));
         verify(Config.mockJvmCommandFactory).executeCommand(any(Jvm.class), any(JvmControlOperation.class));
         verify(Config.mockJvmStateService, times(1)).updateState(any(Jvm.class), any(JvmState.class));
+        verify(Config.mockJvmStateService, atLeastOnce()).resetPollSchedule(jvm);
         verify(Config.mockHistoryFacadeService).write(anyString(), anyList(), anyString(), any(EventType.class), anyString());
 
         // test other command codes
@@ -182,53 +185,48 @@ public class JvmControlServiceImplTest extends VerificationBehaviorSupport {
 
     @Test
     public void testSecureCopyConfFile() throws CommandFailureException {
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CREATE_DIR), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.MOVE), anyString(), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CHECK_FILE_EXISTS), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CHANGE_FILE_MODE), any(String[].class))).thenReturn(mock(RemoteCommandReturnInfo.class));
-
         final Jvm mockJvm = mock(Jvm.class);
         when(mockJvm.getHostName()).thenReturn("host");
         when(Config.mockJvmPersistenceService.getJvm(any(Identifier.class))).thenReturn(mockJvm);
-        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP), anyString(), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
+        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP_AND_PLACE), anyString(),
+                anyString(), anyString(), anyString())).thenReturn(new RemoteCommandReturnInfo(0, FileResult.COPIED.name(), ""));
 
         final ControlJvmRequest mockControlJvmRequest = mock(ControlJvmRequest.class);
         when(mockControlJvmRequest.getControlOperation()).thenReturn(JvmControlOperation.SCP);
-        jvmControlService.secureCopyFile(mockControlJvmRequest, "./source/filename", "./dest/filename", "user-id", true);
-        verify(Config.mockShellCommandFactory).executeRemoteCommand("host", Command.CREATE_DIR, "./dest");
-        verify(Config.mockShellCommandFactory).executeRemoteCommand("host", Command.SCP, "./source/filename", "./dest/filename");
+        final CommandOutput result = jvmControlService.secureCopyFile(mockControlJvmRequest, "./source/filename", "./dest/filename", "user-id", true);
+        assertTrue(result.getReturnCode().wasSuccessful());
+        verify(Config.mockShellCommandFactory).executeRemoteCommand(eq("host"), eq(Command.SCP_AND_PLACE), eq("./source/filename"),
+                eq("./dest/filename"), eq("true"), matches("\\.\\d{8}_\\d{6}"));
+        verify(Config.mockShellCommandFactory, never()).executeRemoteCommand(anyString(), eq(Command.CREATE_DIR), anyString());
+        verify(Config.mockShellCommandFactory, never()).executeRemoteCommand(anyString(), eq(Command.CHECK_FILE_EXISTS), anyString());
+        verify(Config.mockShellCommandFactory, never()).executeRemoteCommand(anyString(), eq(Command.MOVE), anyString(), anyString());
+        verify(Config.mockHistoryFacadeService).write(anyString(), anyCollection(), contains("sending file filename"),
+                eq(EventType.USER_ACTION_INFO), eq("user-id"));
     }
 
     @Test
     public void testSecureCopyConfFileOverwriteFalseAndFileExists() throws CommandFailureException {
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CREATE_DIR), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.MOVE), anyString(), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CHECK_FILE_EXISTS), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CHANGE_FILE_MODE), any(String[].class))).thenReturn(mock(RemoteCommandReturnInfo.class));
-
         final Jvm mockJvm = mock(Jvm.class);
         when(mockJvm.getHostName()).thenReturn("host");
         when(Config.mockJvmPersistenceService.getJvm(any(Identifier.class))).thenReturn(mockJvm);
-        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP), anyString(), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
+        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP_AND_PLACE), anyString(),
+                anyString(), anyString(), anyString())).thenReturn(new RemoteCommandReturnInfo(0, FileResult.SKIPPED.name(), ""));
 
         final ControlJvmRequest mockControlJvmRequest = mock(ControlJvmRequest.class);
         when(mockControlJvmRequest.getControlOperation()).thenReturn(JvmControlOperation.SCP);
         CommandOutput result = jvmControlService.secureCopyFile(mockControlJvmRequest, "./source/filename", "./dest/filename", "user-id", false);
-        verify(Config.mockShellCommandFactory).executeRemoteCommand("host", Command.CREATE_DIR, "./dest");
-        verify(Config.mockShellCommandFactory, never()).executeRemoteCommand("host", Command.SCP, "./source/filename", "./dest/filename");
+        verify(Config.mockShellCommandFactory).executeRemoteCommand("host", Command.SCP_AND_PLACE, "./source/filename", "./dest/filename", "false", "");
+        assertTrue(result.getReturnCode().wasSuccessful());
         assertEquals("Skipping scp of file: ./dest/filename already exists and overwrite is set to false.", result.getStandardOutput());
     }
 
     @Test(expected = InternalErrorException.class)
     public void testSecureCopyConfFileFailsBackup() throws CommandFailureException {
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CREATE_DIR), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CHECK_FILE_EXISTS), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.MOVE), anyString(), anyString())).thenReturn(new RemoteCommandReturnInfo(1, "", "FAILED BACK UP"));
-
         final Jvm mockJvm = mock(Jvm.class);
         when(mockJvm.getHostName()).thenReturn("host");
         when(Config.mockJvmPersistenceService.getJvm(any(Identifier.class))).thenReturn(mockJvm);
-        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP), anyString(), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
+        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP_AND_PLACE), anyString(),
+                anyString(), anyString(), anyString())).thenReturn(new RemoteCommandReturnInfo(1, FileResult.BACKUP_FAILED.name(), "FAILED BACK UP"));
 
         final ControlJvmRequest mockControlJvmRequest = mock(ControlJvmRequest.class);
         when(mockControlJvmRequest.getControlOperation()).thenReturn(JvmControlOperation.SCP);
@@ -237,18 +235,32 @@ public class JvmControlServiceImplTest extends VerificationBehaviorSupport {
 
     @Test(expected = InternalErrorException.class)
     public void testSecureCopyConfFileFailsCreateDirectory() throws CommandFailureException {
-        when(Config.mockShellCommandFactory.executeRemoteCommand(anyString(), eq(Command.CREATE_DIR), anyString())).thenReturn(new RemoteCommandReturnInfo(1, "", "FAILED BACK UP"));
-
         final Jvm mockJvm = mock(Jvm.class);
         when(mockJvm.getHostName()).thenReturn("host");
         when(Config.mockJvmPersistenceService.getJvm(any(Identifier.class))).thenReturn(mockJvm);
-        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP), anyString(), anyString())).thenReturn(mock(RemoteCommandReturnInfo.class));
+        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP_AND_PLACE), anyString(),
+                anyString(), anyString(), anyString())).thenReturn(new RemoteCommandReturnInfo(1, FileResult.CREATE_DIR_FAILED.name(), "FAILED MKDIR"));
 
         final ControlJvmRequest mockControlJvmRequest = mock(ControlJvmRequest.class);
         when(mockControlJvmRequest.getControlOperation()).thenReturn(JvmControlOperation.SCP);
         jvmControlService.secureCopyFile(mockControlJvmRequest, "./source/path", "./dest/path", "user-id", true);
     }
 
+    @Test
+    public void testSecureCopyConfFileFailsCopy() throws CommandFailureException {
+        final Jvm mockJvm = mock(Jvm.class);
+        when(mockJvm.getHostName()).thenReturn("host");
+        when(Config.mockJvmPersistenceService.getJvm(any(Identifier.class))).thenReturn(mockJvm);
+        when(Config.mockShellCommandFactory.executeRemoteCommand(eq("host"), eq(Command.SCP_AND_PLACE), anyString(),
+                anyString(), anyString(), anyString())).thenReturn(new RemoteCommandReturnInfo(1, FileResult.COPY_FAILED.name(), "No space left on device"));
+
+        final ControlJvmRequest mockControlJvmRequest = mock(ControlJvmRequest.class);
+        when(mockControlJvmRequest.getControlOperation()).thenReturn(JvmControlOperation.SCP);
+        final CommandOutput result = jvmControlService.secureCopyFile(mockControlJvmRequest, "./source/path", "./dest/path", "user-id", true);
+        assertFalse(result.getReturnCode().wasSuccessful());
+        assertEquals("No space left on device", result.getStandardError());
+    }
+
     @Test
     public void testChangeFileMode() throws CommandFailureException {
         final Jvm mockJvm = mock(Jvm.class);
@@ -346,6 +358,9 @@ public class JvmControlServiceImplTest extends VerificationBehaviorSupport {
         @Mock
         static ResourceContentGeneratorService mockResourceContentGeneratorService;
 
+        @Mock
+        static RemoteScriptCache mockRemoteScriptCache;
+
         public Config() {
             initMocks(this);
         }
@@ -355,6 +370,11 @@ public class JvmControlServiceImplTest extends VerificationBehaviorSupport {
             return mockJvmCommandFactory;
         }
 
+        @Bean
+        public RemoteScriptCache getMockRemoteScriptCache() {
+            return mockRemoteScriptCache;
+        }
+
         @Bean
         public BinaryDistributionControlService getMockBinaryDistributionControlService() {
             return mockBinaryDistributionControlService;
@@ -12,6 +12,7 @@ import com.cerner.jwala.common.domain.model.media.Media;
 import com.cerner.jwala.common.domain.model.media.MediaType;
 import com.cerner.jwala.common.domain.model.path.Path;
 import com.cerner.jwala.common.domain.model.resource.*;
+import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.common.domain.model.user.User;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.exception.InternalErrorException;
@@ -25,6 +26,7 @@ import com.cerner.jwala.common.request.jvm.*;
 import com.cerner.jwala.common.scrubber.ObjectStoreService;
 import com.cerner.jwala.control.AemControl;
 import com.cerner.jwala.exception.CommandFailureException;
+import com.cerner.jwala.persistence.jpa.domain.resource.config.template.JpaJvmConfigTemplate;
 import com.cerner.jwala.persistence.jpa.type.EventType;
 import com.cerner.jwala.persistence.service.GroupPersistenceService;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
@@ -40,12 +42,14 @@ import com.cerner.jwala.service.group.GroupService;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
 import com.cerner.jwala.service.impl.spring.component.JvmWinSvcPwdStoreServiceImpl;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmService;
 import com.cerner.jwala.service.jvm.JvmStateService;
 import com.cerner.jwala.service.jvm.exception.JvmServiceException;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.resource.impl.CreateResourceResponseWrapper;
 import com.cerner.jwala.service.resource.impl.ResourceGeneratorType;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.webserver.component.ClientFactoryHelper;
 import com.jcraft.jsch.JSchException;
 import org.apache.commons.io.FileUtils;
@@ -112,9 +116,10 @@ public class JvmServiceImplTest extends VerificationBehaviorSupport {
         FileUtils.forceMkdir(new File(ApplicationProperties.get(PropertyKeys.PATHS_GENERATED_RESOURCE_DIR) + "/" + JUNIT_JVM));
 
         reset(Config.mockJvmPersistenceService, Config.mockGroupService, Config.mockApplicationService, Config.mockHistoryFacadeService,
-                Config.mockMessagingTemplate, Config.mockGroupStateNotificationService, Config.mockResourceService,
+                Config.mockMessagingTemplate, Config.mockMessagingService, Config.mockGroupStateNotificationService, Config.mockResourceService,
                 Config.mockClientFactoryHelper, Config.mockJvmControlService, Config.mockBinaryDistributionService,
-                Config.mockBinaryDistributionLockManager, Config.mockJvmStateService, Config.mockWebServerPersistenceService, Config.mockGroupPersistenceService);
+                Config.mockBinaryDistributionLockManager, Config.mockJvmStateService, Config.mockWebServerPersistenceService, Config.mockGroupPersistenceService,
+                Config.mockJvmPollSchedule, Config.mockJvmMetricsService);
     }
 
     @Test
@@ -759,6 +764,58 @@ public class JvmServiceImplTest extends VerificationBehaviorSupport {
 //        FileUtils.deleteDirectory(new File("./" + jvm.getJvmName() + "null"));
     }
 
+    @Test
+    public void testGenerateAndDeployReportsSkippedResourceFiles() throws CommandFailureException, IOException {
+        CommandOutput commandOutput = new CommandOutput(new ExecReturnCode(0), "", "");
+        Jvm mockJvm = mock(Jvm.class);
+        when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
+        when(mockJvm.getJvmName()).thenReturn("test-jvm-deploy-skipped");
+        when(mockJvm.getId()).thenReturn(new Identifier<Jvm>(111L));
+        when(mockJvm.getJdkMedia()).thenReturn(new Media(1L, "test JDK media", MediaType.JDK,
+                Paths.get("x:/test/archive/path.zip"), Paths.get("x:/test-destination"), Paths.get("root-dir-destination")));
+        when(mockJvm.getTomcatMedia()).thenReturn(new Media(2L, "test Tomcat media", MediaType.TOMCAT,
+                Paths.get("./src/test/resources/binaries/apache-tomcat-test.zip"), Paths.get("x:/test-destination-tomcat"), Paths.get("tomcat-root-dir-destination")));
+        when(Config.mockJvmControlService.secureCopyFile(any(ControlJvmRequest.class), anyString(), anyString(), anyString(), anyBoolean())).thenReturn(commandOutput);
+        when(Config.mockJvmControlService.executeCreateDirectoryCommand(any(Jvm.class), anyString())).thenReturn(commandOutput);
+        when(Config.mockJvmControlService.executeChangeFileModeCommand(any(Jvm.class), anyString(), anyString(), anyString())).thenReturn(commandOutput);
+        when(Config.mockJvmControlService.controlJvm(any(ControlJvmRequest.class), any(User.class))).thenReturn(commandOutput);
+        when(Config.mockJvmControlService.executeCheckFileExistsCommand(any(Jvm.class), anyString())).thenReturn(commandOutput);
+        when(Config.mockJvmPersistenceService.findJvmByExactName(anyString())).thenReturn(mockJvm);
+        when(Config.mockJvmPersistenceService.getJvmTemplate(anyString(), any(Identifier.class))).thenReturn("<server>some xml</server>");
+        when(Config.mockResourceService.generateResourceGroup()).thenReturn(mock(ResourceGroup.class));
+        when(Config.mockResourceService.generateResourceFile(anyString(), anyString(), any(ResourceGroup.class), anyObject(), any(ResourceGeneratorType.class))).thenReturn("<server>some xml</server>");
+
+        // two resources that are not overwritten, the first one is not deployed yet and the second one is
+        final List<JpaJvmConfigTemplate> configTemplates = new ArrayList<>();
+        for (final String templateName : Arrays.asList("new.properties", "existing.properties")) {
+            final JpaJvmConfigTemplate configTemplate = new JpaJvmConfigTemplate();
+            configTemplate.setTemplateName(templateName);
+            configTemplate.setTemplateContent("./resources/" + templateName);
+            configTemplate.setMetaData(templateName);
+            configTemplates.add(configTemplate);
+            final ResourceTemplateMetaData metaData = mock(ResourceTemplateMetaData.class);
+            when(metaData.getContentType()).thenReturn(org.apache.tika.mime.MediaType.OCTET_STREAM);
+            when(metaData.getDeployPath()).thenReturn("./conf");
+            when(metaData.getDeployFileName()).thenReturn(templateName);
+            when(metaData.isOverwrite()).thenReturn(false);
+            when(Config.mockResourceService.generateResourceFile(eq(templateName), eq(templateName), any(ResourceGroup.class),
+                    anyObject(), eq(ResourceGeneratorType.METADATA))).thenReturn(templateName + "-metadata");
+            when(Config.mockResourceService.getMetaData(templateName + "-metadata")).thenReturn(metaData);
+        }
+        when(Config.mockJvmPersistenceService.getConfigTemplates("test-jvm-deploy-skipped")).thenReturn(configTemplates);
+        when(Config.mockJvmControlService.secureCopyFile(any(ControlJvmRequest.class), eq("./resources/new.properties"),
+                eq("./conf/new.properties"), anyString(), eq(false))).thenReturn(new CommandOutput(new ExecReturnCode(0), "COPIED", ""));
+        when(Config.mockJvmControlService.secureCopyFile(any(ControlJvmRequest.class), eq("./resources/existing.properties"),
+                eq("./conf/existing.properties"), anyString(), eq(false))).thenReturn(new CommandOutput(new ExecReturnCode(0),
+                "Skipping scp of file: ./conf/existing.properties already exists and overwrite is set to false.", ""));
+
+        jvmService.generateAndDeployJvm("test-jvm-deploy-skipped", Config.mockUser);
+
+        verify(Config.mockHistoryFacadeService).write(anyString(), anyCollection(),
+                eq("Deployed the resource files of JVM test-jvm-deploy-skipped: 1 changed, 0 unchanged, 1 skipped, 0 failed"),
+                eq(EventType.SYSTEM_INFO), anyString());
+    }
+
 
     @Test(expected = InternalErrorException.class)
     public void testGenerateAndDeployJVMFailsJVMStarted() {
@@ -1050,6 +1107,9 @@ public class JvmServiceImplTest extends VerificationBehaviorSupport {
         jvmService.deleteJvm(id, false, user);
         verify(Config.mockJvmControlService, never()).controlJvm(any(ControlJvmRequest.class), eq(user));
         verify(Config.mockJvmPersistenceService).removeJvm(id);
+        verify(Config.mockJvmPollSchedule).remove(id);
+        verify(Config.mockMessagingService).removeState(StateType.JVM, id);
+        verify(Config.mockJvmMetricsService).remove(id);
     }
 
     @Test
@@ -1268,6 +1328,11 @@ public class JvmServiceImplTest extends VerificationBehaviorSupport {
 
         static WebServer mockWebServer = mock(WebServer.class);
 
+        static JvmMetricsService mockJvmMetricsService = mock(JvmMetricsService.class);
+
+        @SuppressWarnings("unchecked")
+        static AdaptivePollSchedule<Identifier<Jvm>> mockJvmPollSchedule = mock(AdaptivePollSchedule.class);
+
         @Bean
         public JvmPersistenceService getMockJvmPersistenceService() {
             return mockJvmPersistenceService;
@@ -1363,11 +1428,21 @@ public class JvmServiceImplTest extends VerificationBehaviorSupport {
             return new JvmWinSvcPwdStoreServiceImpl(mockJvmPersistenceService);
         }
 
+        @Bean
+        public static JvmMetricsService getMockJvmMetricsService() {
+            return mockJvmMetricsService;
+        }
+
+        @Bean(name = "jvmPollSchedule")
+        public static AdaptivePollSchedule<Identifier<Jvm>> getMockJvmPollSchedule() {
+            return mockJvmPollSchedule;
+        }
+
         @Bean
         public JvmService getJvmService() {
             return new JvmServiceImpl(mockJvmPersistenceService, mockGroupPersistenceService, mockApplicationService,
-                    mockMessagingTemplate, mockGroupStateNotificationService, mockResourceService, mockClientFactoryHelper,
-                    "/topic/server-states", mockJvmControlService, mockBinaryDistributionService, mockBinaryDistributionLockManager,
+                    mockMessagingService, mockGroupStateNotificationService, mockResourceService, mockClientFactoryHelper,
+                    mockJvmControlService, mockBinaryDistributionService, mockBinaryDistributionLockManager,
                     mockHistoryFacadeService, new FileUtility());
         }
 
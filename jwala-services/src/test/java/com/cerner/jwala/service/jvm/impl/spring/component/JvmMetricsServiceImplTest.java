@@ -0,0 +1,66 @@
+package com.cerner.jwala.service.jvm.impl.spring.component;
+
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.exception.NotFoundException;
+import com.cerner.jwala.service.jvm.JvmMetrics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link JvmMetricsServiceImpl}
+ */
+public class JvmMetricsServiceImplTest {
+
+    private JvmMetricsServiceImpl jvmMetricsService;
+
+    private final Jvm jvm = new Jvm(new Identifier<Jvm>(1L), "jvm-name");
+
+    @Before
+    public void setUp() {
+        jvmMetricsService = new JvmMetricsServiceImpl();
+    }
+
+    @Test
+    public void testUpdate() {
+        jvmMetricsService.update(jvm, 2000, metrics(512));
+        final JvmMetrics jvmMetrics = jvmMetricsService.getMetrics(jvm.getId());
+        assertEquals(jvm.getId(), jvmMetrics.getJvmId());
+        assertEquals("jvm-name", jvmMetrics.getJvmName());
+        assertEquals(2000, jvmMetrics.getAsOf());
+        assertEquals(metrics(512), jvmMetrics.getMetrics());
+
+        jvmMetricsService.update(jvm, 3000, metrics(1024));
+        assertEquals(metrics(1024), jvmMetricsService.getMetrics(jvm.getId()).getMetrics());
+        assertEquals(1, jvmMetricsService.getMetrics().size());
+    }
+
+    @Test
+    public void testOlderMetricsAreIgnored() {
+        jvmMetricsService.update(jvm, 3000, metrics(1024));
+        jvmMetricsService.update(jvm, 2000, metrics(512));
+        assertEquals(metrics(1024), jvmMetricsService.getMetrics(jvm.getId()).getMetrics());
+    }
+
+    @Test
+    public void testRemove() {
+        jvmMetricsService.update(jvm, 2000, metrics(512));
+        jvmMetricsService.remove(jvm.getId());
+        assertTrue(jvmMetricsService.getMetrics().isEmpty());
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void testGetMetricsOfJvmWithoutMetrics() {
+        jvmMetricsService.getMetrics(new Identifier<Jvm>(2L));
+    }
+
+    private static Map<String, Long> metrics(final long heapUsed) {
+        return Collections.singletonMap("heapUsed", heapUsed);
+    }
+}
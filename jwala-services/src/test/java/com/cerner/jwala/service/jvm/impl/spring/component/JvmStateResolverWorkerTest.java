@@ -6,9 +6,10 @@ import com.cerner.jwala.common.domain.model.jvm.JvmState;
 import com.cerner.jwala.common.domain.model.state.CurrentState;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.HttpStatePinger;
 import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.jvm.JvmStateService;
-import com.cerner.jwala.service.webserver.component.ClientFactoryHelper;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,20 +18,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -47,17 +49,14 @@ public class JvmStateResolverWorkerTest {
     @Mock
     private Jvm mockJvm;
 
-    @Mock
-    private ClientHttpResponse mockResponse;
-
     @Autowired
     private JvmStateResolverWorker jvmStateResolverWorker;
 
     @Before
     public void setup() {
         initMocks(this);
-        reset(Config.mockClientFactoryHelper, Config.mockHistoryFacadeService, Config.mockComponentsHttpClientRequestFactory,
-                Config.mockMessagingService, Config.mockJvmStateService);
+        reset(Config.mockHttpStatePinger, Config.mockHistoryFacadeService, Config.mockMessagingService,
+                Config.mockJvmStateService);
     }
 
     @Test
@@ -71,8 +70,8 @@ public class JvmStateResolverWorkerTest {
     public void testPingAndUpdateJvmStateHttpStatusOk() throws ExecutionException, InterruptedException, IOException {
         when(mockJvm.getId()).thenReturn(new Identifier<Jvm>(1L));
         when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
-        when(Config.mockClientFactoryHelper.requestGet(any(URI.class))).thenReturn(mockResponse);
-        when(mockResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(Config.mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.OK.value()));
         Future<CurrentState<Jvm, JvmState>> future = jvmStateResolverWorker.pingAndUpdateJvmState(mockJvm, Config.mockJvmStateService);
         assertEquals(JvmState.JVM_STARTED, future.get().getState());
     }
@@ -81,8 +80,8 @@ public class JvmStateResolverWorkerTest {
     public void testPingAndUpdateJvmStateHttpStatusNotOk() throws ExecutionException, InterruptedException, IOException {
         when(mockJvm.getId()).thenReturn(new Identifier<Jvm>(1L));
         when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
-        when(Config.mockClientFactoryHelper.requestGet(any(URI.class))).thenReturn(mockResponse);
-        when(mockResponse.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
+        when(Config.mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.NOT_FOUND.value()));
         final RemoteCommandReturnInfo remoteCommandReturnInfo = new RemoteCommandReturnInfo(0, "STOPPED", "");
         when(Config.mockJvmStateService.getServiceStatus(eq(mockJvm))).thenReturn(remoteCommandReturnInfo);
         Future<CurrentState<Jvm, JvmState>> future = jvmStateResolverWorker.pingAndUpdateJvmState(mockJvm, Config.mockJvmStateService);
@@ -93,8 +92,8 @@ public class JvmStateResolverWorkerTest {
     public void testPingAndUpdateJvmStateHttpStatusNotOkAndRetCodeNotZero() throws ExecutionException, InterruptedException, IOException {
         when(mockJvm.getId()).thenReturn(new Identifier<Jvm>(1L));
         when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
-        when(Config.mockClientFactoryHelper.requestGet(any(URI.class))).thenReturn(mockResponse);
-        when(mockResponse.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
+        when(Config.mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.NOT_FOUND.value()));
         final RemoteCommandReturnInfo remoteCommandReturnInfo = new RemoteCommandReturnInfo(-1, "STOPPED", "");
         when(Config.mockJvmStateService.getServiceStatus(eq(mockJvm))).thenReturn(remoteCommandReturnInfo);
         Future<CurrentState<Jvm, JvmState>> future = jvmStateResolverWorker.pingAndUpdateJvmState(mockJvm,
@@ -105,7 +104,9 @@ public class JvmStateResolverWorkerTest {
     @Test
     public void testPingAndUpdateJvmStateHttpStatusWithIoE() throws IOException, ExecutionException, InterruptedException {
         when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
-        when(Config.mockClientFactoryHelper.requestGet(any(URI.class))).thenThrow(new IOException());
+        final CompletableFuture<Integer> failedPing = new CompletableFuture<>();
+        failedPing.completeExceptionally(new IOException());
+        when(Config.mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenReturn(failedPing);
         final RemoteCommandReturnInfo remoteCommandReturnInfo = new RemoteCommandReturnInfo(-1, "STOPPED", "");
         when(Config.mockJvmStateService.getServiceStatus(eq(mockJvm))).thenReturn(remoteCommandReturnInfo);
         Future<CurrentState<Jvm, JvmState>> future = jvmStateResolverWorker.pingAndUpdateJvmState(mockJvm, Config.mockJvmStateService);
@@ -115,19 +116,31 @@ public class JvmStateResolverWorkerTest {
     @Test
     public void testPingAndUpdateJvmStateHttpStatusWithRuntimeException() throws IOException, ExecutionException, InterruptedException {
         when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
-        when(Config.mockClientFactoryHelper.requestGet(any(URI.class))).thenThrow(new RuntimeException());
+        when(Config.mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenThrow(new RuntimeException());
         final RemoteCommandReturnInfo remoteCommandReturnInfo = new RemoteCommandReturnInfo(-1, "STOPPED", "");
         when(Config.mockJvmStateService.getServiceStatus(eq(mockJvm))).thenReturn(remoteCommandReturnInfo);
         Future<CurrentState<Jvm, JvmState>> future = jvmStateResolverWorker.pingAndUpdateJvmState(mockJvm, Config.mockJvmStateService);
         assertNull(future.get());
     }
 
+    @Test
+    public void testPingAndUpdateJvmStateUpdatesTheStateWhenTheResponseArrives() throws ExecutionException, InterruptedException {
+        when(mockJvm.getId()).thenReturn(new Identifier<Jvm>(1L));
+        when(mockJvm.getState()).thenReturn(JvmState.JVM_STOPPED);
+        final CompletableFuture<Integer> pendingPing = new CompletableFuture<>();
+        when(Config.mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenReturn(pendingPing);
+        Future<CurrentState<Jvm, JvmState>> future = jvmStateResolverWorker.pingAndUpdateJvmState(mockJvm, Config.mockJvmStateService);
+        assertFalse(future.isDone());
+        verify(Config.mockJvmStateService, never()).updateNotInMemOrStaleState(any(Jvm.class), any(JvmState.class), anyString());
+
+        pendingPing.complete(HttpStatus.OK.value());
+        assertEquals(JvmState.JVM_STARTED, future.get().getState());
+        verify(Config.mockJvmStateService).updateNotInMemOrStaleState(eq(mockJvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+    }
+
     @Configuration
     static class Config {
-        static HttpComponentsClientHttpRequestFactory mockComponentsHttpClientRequestFactory =
-                mock(HttpComponentsClientHttpRequestFactory.class);
-
-        static ClientFactoryHelper mockClientFactoryHelper = mock(ClientFactoryHelper.class);
+        static HttpStatePinger mockHttpStatePinger = mock(HttpStatePinger.class);
 
         static HistoryFacadeService mockHistoryFacadeService = mock(HistoryFacadeService.class);
 
@@ -135,14 +148,9 @@ public class JvmStateResolverWorkerTest {
 
         static JvmStateService mockJvmStateService = mock(JvmStateService.class);
 
-        @Bean(name = "httpRequestFactory")
-        public HttpComponentsClientHttpRequestFactory getMockHttpClientRequestFactory() {
-            return mockComponentsHttpClientRequestFactory;
-        }
-
         @Bean
-        public ClientFactoryHelper getMockClientFactoryHelper() {
-            return mockClientFactoryHelper;
+        public HttpStatePinger getMockHttpStatePinger() {
+            return mockHttpStatePinger;
         }
 
         @Bean
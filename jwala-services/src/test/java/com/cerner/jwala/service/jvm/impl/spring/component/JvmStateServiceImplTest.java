@@ -7,13 +7,16 @@ import com.cerner.jwala.common.domain.model.jvm.JvmControlOperation;
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
 import com.cerner.jwala.common.domain.model.ssh.SshConfiguration;
 import com.cerner.jwala.common.domain.model.state.CurrentState;
+import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.control.jvm.command.JvmCommandFactory;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
 import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
 import com.cerner.jwala.service.jvm.JvmStateService;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
+import com.cerner.jwala.service.state.impl.AdaptivePollScheduleImpl;
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -21,6 +24,7 @@ import org.mockito.Mock;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import static org.mockito.Matchers.any;
@@ -75,14 +79,15 @@ public class JvmStateServiceImplTest {
                 mockJvmCommandFactory,
                 mockSshConfig,
                 LOCK_TIMEOUT,
-                KEY_LOCK_STRIPE_COUNT);
+                KEY_LOCK_STRIPE_COUNT,
+                new AdaptivePollScheduleImpl<Identifier<Jvm>>(0, 60000, 10000, 600000, 0));
     }
 
     @Test
     public void testVerifyAndUpdateNotInMemOrStaleStates() {
         final List<Jvm> jvmList = new ArrayList<>();
         jvmList.add(new Jvm(new Identifier<Jvm>(1L), "some-jvm", new HashSet<Group>()));
-        when(mockJvmPersistenceService.getJvms()).thenReturn(jvmList);
+        when(mockJvmPersistenceService.getJvmsForStatePolling()).thenReturn(jvmList);
         when(mockJvmStateResolverWorker.pingAndUpdateJvmState(eq(jvmList.get(0)), any(JvmStateService.class))).thenReturn(mock(Future.class));
         jvmStateService.verifyAndUpdateJvmStates();
         verify(mockJvmStateResolverWorker).pingAndUpdateJvmState(eq(jvmList.get(0)), any(JvmStateService.class));
@@ -90,18 +95,59 @@ public class JvmStateServiceImplTest {
 
     @Test
     public void testVerifyAndUpdateJvmStatesOnNullJvmList() {
-        when(mockJvmPersistenceService.getJvms()).thenReturn(null);
+        when(mockJvmPersistenceService.getJvmsForStatePolling()).thenReturn(null);
         jvmStateService.verifyAndUpdateJvmStates();
         verify(mockJvmStateResolverWorker, never()).pingAndUpdateJvmState(any(Jvm.class), any(JvmStateService.class));
     }
 
     @Test
     public void testVerifyAndUpdateJvmStatesOnEmptyJvmList() {
-        when(mockJvmPersistenceService.getJvms()).thenReturn(new ArrayList<>());
+        when(mockJvmPersistenceService.getJvmsForStatePolling()).thenReturn(new ArrayList<>());
         jvmStateService.verifyAndUpdateJvmStates();
         verify(mockJvmStateResolverWorker, never()).pingAndUpdateJvmState(any(Jvm.class), any(JvmStateService.class));
     }
 
+    @Test
+    public void testVerifyAndUpdateJvmStatesPingsStaleStartedJvmAtTheStableInterval() {
+        final Jvm jvm = mockJvmInMemory(10L, JvmState.JVM_STARTED, DateTime.now().minusHours(1));
+        when(mockJvmStateResolverWorker.pingAndUpdateJvmState(eq(jvm), any(JvmStateService.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        jvmStateService.verifyAndUpdateJvmStates();
+        jvmStateService.verifyAndUpdateJvmStates();
+        verify(mockJvmStateResolverWorker, times(1)).pingAndUpdateJvmState(eq(jvm), any(JvmStateService.class));
+
+        jvmStateService.resetPollSchedule(jvm);
+        jvmStateService.verifyAndUpdateJvmStates();
+        verify(mockJvmStateResolverWorker, times(2)).pingAndUpdateJvmState(eq(jvm), any(JvmStateService.class));
+    }
+
+    @Test
+    public void testVerifyAndUpdateJvmStatesDoesNotPingFreshStartedJvm() {
+        final Jvm jvm = mockJvmInMemory(11L, JvmState.JVM_STARTED, DateTime.now());
+        jvmStateService.verifyAndUpdateJvmStates();
+        verify(mockJvmStateResolverWorker, never()).pingAndUpdateJvmState(any(Jvm.class), any(JvmStateService.class));
+    }
+
+    @Test
+    public void testVerifyAndUpdateJvmStatesPingsStoppingJvmOnEveryRun() {
+        final Jvm jvm = mockJvmInMemory(12L, JvmState.JVM_STOPPING, DateTime.now());
+        when(mockJvmStateResolverWorker.pingAndUpdateJvmState(eq(jvm), any(JvmStateService.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        jvmStateService.verifyAndUpdateJvmStates();
+        jvmStateService.verifyAndUpdateJvmStates();
+        verify(mockJvmStateResolverWorker, times(2)).pingAndUpdateJvmState(eq(jvm), any(JvmStateService.class));
+    }
+
+    @Test
+    public void testUpdateNotInMemOrStaleStateIgnoresStartedWhileStopping() {
+        final Jvm jvm = mockJvmInMemory(13L, JvmState.JVM_STOPPING, DateTime.now());
+        jvmStateService.updateNotInMemOrStaleState(jvm, JvmState.JVM_STARTED, StringUtils.EMPTY);
+        verify(mockJvmPersistenceService, never()).updateState(any(Identifier.class), any(JvmState.class), anyString());
+
+        jvmStateService.updateNotInMemOrStaleState(jvm, JvmState.JVM_STOPPED, StringUtils.EMPTY);
+        verify(mockJvmPersistenceService).updateState(eq(jvm.getId()), eq(JvmState.JVM_STOPPED), eq(StringUtils.EMPTY));
+    }
+
     @Test
     public void testGetServiceStatus() {
         final Jvm jvm = new Jvm(new Identifier<Jvm>(1L), "some-jvm", new HashSet<Group>());
@@ -122,7 +168,7 @@ public class JvmStateServiceImplTest {
         jvmStateService.updateState(mockJvm, JvmState.JVM_STOPPED);
         verify(mockJvmPersistenceService).updateState(eq(id), eq(JvmState.JVM_STOPPED), eq(StringUtils.EMPTY));
         verify(mockMessagingService).send(any(CurrentState.class));
-        verify(mockGroupStateNotificationService).retrieveStateAndSend(eq(id), eq(Jvm.class));
+        verify(mockGroupStateNotificationService).jvmStateChanged(eq(id), eq(JvmState.JVM_STOPPED));
     }
 
     @Test
@@ -139,4 +185,15 @@ public class JvmStateServiceImplTest {
         verify(mockJvmPersistenceService, never()).updateState(eq(id), eq(JvmState.JVM_STOPPED), eq(StringUtils.EMPTY));
     }
 
+    private Jvm mockJvmInMemory(final long id, final JvmState state, final DateTime asOf) {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(id), "some-jvm-" + id, new HashSet<Group>());
+        final List<Jvm> jvmList = new ArrayList<>();
+        jvmList.add(jvm);
+        when(mockJvmPersistenceService.getJvmsForStatePolling()).thenReturn(jvmList);
+        when(mockInMemoryStateManagerService.containsKey(eq(jvm.getId()))).thenReturn(true);
+        when(mockInMemoryStateManagerService.get(eq(jvm.getId())))
+                .thenReturn(new CurrentState<>(jvm.getId(), state, asOf, StateType.JVM));
+        return jvm;
+    }
+
 }
\ No newline at end of file
@@ -3,19 +3,30 @@ package com.cerner.jwala.service.jvm.state;
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
 import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.common.domain.model.state.CurrentState;
+import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmStateService;
+import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import org.apache.catalina.LifecycleState;
 import org.apache.commons.lang3.StringUtils;
 import org.jgroups.Message;
+import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
 import javax.persistence.NoResultException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -37,10 +48,19 @@ public class JvmStateReceiverAdapterTest {
     @Mock
     private JvmPersistenceService mockJvmPersistenceService;
 
+    @Mock
+    private JvmMetricsService mockJvmMetricsService;
+
+    @Mock
+    private InMemoryStateManagerService<Identifier<Jvm>, CurrentState<Jvm, JvmState>> mockInMemoryStateManagerService;
+
+    private final AtomicLong topologyVersion = new AtomicLong();
+
     @Before
     public void setup() {
         initMocks(this);
-        jvmStateReceiverAdapter = new JvmStateReceiverAdapter(mockJvmStateService, mockJvmPersistenceService);
+        jvmStateReceiverAdapter = new JvmStateReceiverAdapter(mockJvmStateService, mockJvmPersistenceService,
+                mockJvmMetricsService, mockInMemoryStateManagerService, 3, 10, 30000, Executors.defaultThreadFactory(), topologyVersion::get);
     }
 
     @Test
@@ -58,6 +78,7 @@ public class JvmStateReceiverAdapterTest {
 
         when (mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenReturn(jvm);
         jvmStateReceiverAdapter.receive(msg);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
         verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STOPPING), eq(StringUtils.EMPTY));
     }
 
@@ -76,6 +97,7 @@ public class JvmStateReceiverAdapterTest {
 
         when (mockJvmPersistenceService.getJvm(jvmId)).thenReturn(jvm);
         jvmStateReceiverAdapter.receive(msg);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
         verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STOPPING), eq(StringUtils.EMPTY));
     }
 
@@ -95,6 +117,7 @@ public class JvmStateReceiverAdapterTest {
         when (mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenThrow(new NoResultException(""));
 
         jvmStateReceiverAdapter.receive(msg);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
         verify(mockJvmStateService, never()).updateState(eq(jvm), eq(JvmState.JVM_STOPPING), eq(StringUtils.EMPTY));
     }
 
@@ -114,9 +137,187 @@ public class JvmStateReceiverAdapterTest {
         when (mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenReturn(null);
 
         jvmStateReceiverAdapter.receive(msg);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
         verify(mockJvmStateService, never()).updateState(eq(jvm), eq(JvmState.JVM_STOPPING), eq(StringUtils.EMPTY));
     }
 
+    @Test
+    public void testJvmIsCachedUntilTheTopologyChanges() {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(1L), "jvm-name");
+        when(mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenReturn(jvm);
+
+        receive(jvm.getJvmName(), LifecycleState.STARTING);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        receive(jvm.getJvmName(), LifecycleState.STARTED);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmPersistenceService, times(1)).findJvmByExactName(jvm.getJvmName());
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTING), eq(StringUtils.EMPTY));
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+
+        topologyVersion.incrementAndGet();
+        receive(jvm.getJvmName(), LifecycleState.STOPPING);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmPersistenceService, times(2)).findJvmByExactName(jvm.getJvmName());
+    }
+
+    @Test
+    public void testUnchangedStateIsDropped() {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(1L), "jvm-name");
+        when(mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenReturn(jvm);
+        when(mockInMemoryStateManagerService.get(jvm.getId())).thenReturn(
+                new CurrentState<>(jvm.getId(), JvmState.JVM_STARTED, DateTime.now(), StateType.JVM));
+
+        receive(jvm.getJvmName(), LifecycleState.STARTED);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService, never()).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+
+        // a state older than the refresh interval is refreshed
+        when(mockInMemoryStateManagerService.get(jvm.getId())).thenReturn(
+                new CurrentState<>(jvm.getId(), JvmState.JVM_STARTED, DateTime.now().minusMinutes(1), StateType.JVM));
+        receive(jvm.getJvmName(), LifecycleState.STARTED);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+
+        assertEquals(1L, jvmStateReceiverAdapter.getMetrics().get("unchanged"));
+        assertEquals(1L, jvmStateReceiverAdapter.getMetrics().get("updated"));
+    }
+
+    @Test
+    public void testOnlyTheLastHeartbeatOfABatchIsProcessed() {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(1L), "jvm-name");
+        when(mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenReturn(jvm);
+
+        receive(jvm.getJvmName(), LifecycleState.STARTING);
+        receive(jvm.getJvmName(), LifecycleState.STARTED);
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService, never()).updateState(eq(jvm), eq(JvmState.JVM_STARTING), eq(StringUtils.EMPTY));
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+        assertEquals(1L, jvmStateReceiverAdapter.getMetrics().get("coalesced"));
+    }
+
+    @Test
+    public void testHeartbeatsAreDroppedWhenTheQueueIsFull() {
+        for (int i = 0; i < 5; i++) {
+            receive("jvm-" + i, LifecycleState.STARTED);
+        }
+        final Map<String, Object> metrics = jvmStateReceiverAdapter.getMetrics();
+        assertEquals(5L, metrics.get("received"));
+        assertEquals(2L, metrics.get("dropped"));
+        assertEquals(3, metrics.get("queued"));
+        assertEquals(3, metrics.get("queueCapacity"));
+    }
+
+    @Test
+    public void testReceiveBinaryHeartbeat() throws IOException {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(12L), "jvm-name");
+        when(mockJvmPersistenceService.getJvm(jvm.getId())).thenReturn(jvm);
+
+        jvmStateReceiverAdapter.receive(new Message(null, null, heartbeat(12, LifecycleState.STARTING, 1000, 1, null)));
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTING), eq(StringUtils.EMPTY));
+        verify(mockJvmPersistenceService, never()).findJvmByExactName(anyString());
+    }
+
+    @Test
+    public void testReceiveBinaryHeartbeatWithName() throws IOException {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(12L), "jvm-name");
+        when(mockJvmPersistenceService.findJvmByExactName(jvm.getJvmName())).thenReturn(jvm);
+
+        jvmStateReceiverAdapter.receive(new Message(null, null, heartbeat(-1, LifecycleState.STARTED, 1000, 1, jvm.getJvmName())));
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+    }
+
+    @Test
+    public void testTheLatestBinaryHeartbeatOfABatchIsProcessed() throws IOException {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(12L), "jvm-name");
+        when(mockJvmPersistenceService.getJvm(jvm.getId())).thenReturn(jvm);
+
+        // received out of order
+        jvmStateReceiverAdapter.receive(new Message(null, null, heartbeat(12, LifecycleState.STARTED, 1000, 2, null)));
+        jvmStateReceiverAdapter.receive(new Message(null, null, heartbeat(12, LifecycleState.STARTING, 1000, 1, null)));
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+        verify(mockJvmStateService, never()).updateState(eq(jvm), eq(JvmState.JVM_STARTING), eq(StringUtils.EMPTY));
+    }
+
+    @Test
+    public void testReceiveBinaryHeartbeatWithMetrics() throws IOException {
+        final Jvm jvm = new Jvm(new Identifier<Jvm>(12L), "jvm-name");
+        when(mockJvmPersistenceService.getJvm(jvm.getId())).thenReturn(jvm);
+        when(mockInMemoryStateManagerService.get(jvm.getId())).thenReturn(
+                new CurrentState<>(jvm.getId(), JvmState.JVM_STARTED, DateTime.now(), StateType.JVM));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.write(heartbeat(12, LifecycleState.STARTED, 1000, 1, null));
+        out.writeByte(3);
+        out.writeByte(JvmStateReceiverAdapter.HEARTBEAT_METRICS.indexOf("heapUsed"));
+        out.writeLong(1024);
+        out.writeByte(100); // a metric this version doesn't know
+        out.writeLong(7);
+        out.writeByte(JvmStateReceiverAdapter.HEARTBEAT_METRICS.indexOf("connectorBusyThreads"));
+        out.writeLong(5);
+        out.close();
+
+        jvmStateReceiverAdapter.receive(new Message(null, null, bytes.toByteArray()));
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+
+        final Map<String, Long> metrics = new HashMap<>();
+        metrics.put("heapUsed", 1024L);
+        metrics.put("connectorBusyThreads", 5L);
+        // the state didn't change but the metrics are kept
+        verify(mockJvmMetricsService).update(eq(jvm), eq(1000L), eq(metrics));
+        verify(mockJvmStateService, never()).updateState(eq(jvm), eq(JvmState.JVM_STARTED), eq(StringUtils.EMPTY));
+    }
+
+    @Test
+    public void testUnsupportedHeartbeatVersionIsIgnored() throws IOException {
+        final byte[] heartbeat = heartbeat(12, LifecycleState.STARTED, 1000, 1, null);
+        heartbeat[2] = 2;
+        jvmStateReceiverAdapter.receive(new Message(null, null, heartbeat));
+        jvmStateReceiverAdapter.receive(new Message(null, null, new byte[]{'J', 'H', 1, 0}));
+        assertEquals(0, jvmStateReceiverAdapter.getMetrics().get("queued"));
+    }
+
+    @Test
+    public void testHeartbeatWithAnUnknownStateIsIgnored() throws IOException {
+        final byte[] heartbeat = heartbeat(12, LifecycleState.STARTED, 1000, 1, null);
+        // the state index follows the magic, the version and the id
+        heartbeat[11] = (byte) JvmStateReceiverAdapter.HEARTBEAT_STATES.size();
+        jvmStateReceiverAdapter.receive(new Message(null, null, heartbeat));
+        assertEquals(0, jvmStateReceiverAdapter.getMetrics().get("queued"));
+        jvmStateReceiverAdapter.processQueuedHeartbeats();
+        verify(mockJvmStateService, never()).updateState(any(Jvm.class), any(JvmState.class), anyString());
+    }
+
+    private static byte[] heartbeat(final long id, final LifecycleState state, final long asOf, final long sequence,
+                                    final String name) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.write(JvmStateReceiverAdapter.HEARTBEAT_MAGIC);
+        out.writeByte(JvmStateReceiverAdapter.HEARTBEAT_VERSION);
+        out.writeLong(id);
+        out.writeByte(JvmStateReceiverAdapter.HEARTBEAT_STATES.indexOf(state.name()));
+        out.writeLong(asOf);
+        out.writeLong(sequence);
+        if (name != null) {
+            out.writeUTF(name);
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void receive(final String jvmName, final LifecycleState state) {
+        final Map<Object, Object> serverInfoMap = new HashMap();
+        serverInfoMap.put(JvmStateReceiverAdapter.NAME_KEY, jvmName);
+        serverInfoMap.put(JvmStateReceiverAdapter.STATE_KEY, state);
+        final Message message = new Message();
+        message.setObject(serverInfoMap);
+        jvmStateReceiverAdapter.receive(message);
+    }
+
     private enum ReportingJmsMessageTestKey {
         ID("id"),
         STATE("state"),
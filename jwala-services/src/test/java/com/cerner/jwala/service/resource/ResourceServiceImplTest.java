@@ -33,7 +33,9 @@ import com.cerner.jwala.service.repository.RepositoryServiceException;
 import com.cerner.jwala.service.resource.impl.CreateResourceResponseWrapper;
 import com.cerner.jwala.service.resource.impl.ResourceContentGeneratorServiceImpl;
 import com.cerner.jwala.service.resource.impl.ResourceGeneratorType;
+import com.cerner.jwala.service.resource.impl.ResourceGroupSnapshotServiceImpl;
 import com.cerner.jwala.service.resource.impl.ResourceServiceImpl;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.tika.Tika;
@@ -62,6 +64,7 @@ import java.io.*;
 import java.net.Inet4Address;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -380,9 +383,9 @@ public class ResourceServiceImplTest {
                     new com.cerner.jwala.common.domain.model.path.Path("/statusPath"), "EXAMPLE_OPTS=%someEvn%/someVal", JvmState.JVM_STOPPED, "", null, null, null, null, null, null, null));
 
             when(Config.mockGroupPesistenceService.getGroups()).thenReturn(groups);
-            when(Config.mockAppPersistenceService.findApplicationsBelongingTo(anyString())).thenReturn(applications);
-            when(Config.mockJvmPersistenceService.getJvmsAndWebAppsByGroupName(anyString())).thenReturn(jvms);
-            when(Config.mockWebServerPersistenceService.getWebServersByGroupName(anyString())).thenReturn(webServers);
+            when(Config.mockAppPersistenceService.getApplications()).thenReturn(applications);
+            when(Config.mockJvmPersistenceService.getJvmsAndWebApps()).thenReturn(jvms);
+            when(Config.mockWebServerPersistenceService.getWebServers()).thenReturn(webServers);
 
             System.setProperty(ApplicationProperties.PROPERTIES_ROOT_PATH,
                     this.getClass().getClassLoader().getResource("vars.properties").getPath().replace("vars.properties", ""));
@@ -1039,6 +1042,31 @@ public class ResourceServiceImplTest {
         assertEquals(scpResult, result);
     }
 
+    @Test
+    public void testGenerateAndDeployFileSkipsUnchangedFile() throws IOException {
+        ApplicationProperties.reload();
+        reset(Config.mockBinaryDistributionControlService);
+        final ResourceIdentifier.Builder builder = new ResourceIdentifier.Builder();
+        final ResourceIdentifier resourceIdentifier = builder.setGroupName("group1").setResourceName("server.xml")
+                .setJvmName("jvm1").build();
+        final ConfigTemplate mockConfigTemplate = mock(ConfigTemplate.class);
+        when(Config.mockResourceHandler.fetchResource(resourceIdentifier)).thenReturn(mockConfigTemplate);
+        when(mockConfigTemplate.getMetaData()).thenReturn("{\"deployPath\":\"c:/temp\",\"templateName\":\"ServerXMLTemplate.tpl\"," +
+                "\"deployFileName\":\"server.xml\",\"contentType\":\"application/xml\"}");
+        when(mockConfigTemplate.getTemplateContent()).thenReturn("<server/>");
+        when(Config.mockResourceHandler.getSelectedValue(resourceIdentifier)).thenReturn(mock(Jvm.class));
+        when(Config.mockJvmPersistenceService.getJvmTemplate(anyString(), any(Identifier.class))).thenReturn("<server/>");
+        when(Config.mockDistributionService.remoteChecksums(eq("localhost"), eq(Collections.singletonList("c:/temp/server.xml"))))
+                .thenReturn(Collections.singletonMap("c:/temp/server.xml", DigestUtils.sha256Hex("<server/>")));
+
+        CommandOutput result = resourceService.generateAndDeployFile(resourceIdentifier, "jvm1", "server.xml", "localhost");
+        assertTrue(result.getReturnCode().wasSuccessful());
+        assertTrue(result.getStandardOutput().contains("unchanged"));
+        verify(Config.mockBinaryDistributionControlService, never()).createDirectory(anyString(), anyString());
+        verify(Config.mockBinaryDistributionControlService, never()).backupFileWithMove(anyString(), anyString());
+        verify(Config.mockBinaryDistributionControlService, never()).secureCopyFile(anyString(), anyString(), anyString());
+    }
+
     @Test
     public void testGenerateAndDeployFileForApplicationWithJvm() throws IOException {
         final ResourceIdentifier.Builder builder = new ResourceIdentifier.Builder();
@@ -1200,15 +1228,20 @@ public class ResourceServiceImplTest {
 
         @Bean
         public ResourceService getResourceService() {
-            ResourceContentGeneratorService resourceContentGeneratorService = new ResourceContentGeneratorServiceImpl(mockGroupPesistenceService,
-                    mockWebServerPersistenceService, mockJvmPersistenceService, mockAppPersistenceService, mockHistoryFacadeService);
+            // the tests stub the persistence services differently so the snapshot is rebuilt every time
+            final AtomicLong topologyVersion = new AtomicLong();
+            ResourceGroupSnapshotService resourceGroupSnapshotService = new ResourceGroupSnapshotServiceImpl(mockGroupPesistenceService,
+                    mockJvmPersistenceService, mockWebServerPersistenceService, mockAppPersistenceService, topologyVersion::incrementAndGet);
+            ResourceContentGeneratorService resourceContentGeneratorService = new ResourceContentGeneratorServiceImpl(
+                    resourceGroupSnapshotService, mockHistoryFacadeService);
             Tika tika = new Tika();
             BinaryDistributionService mockBinaryDistributionService = mock(BinaryDistributionService.class);
 
             return new ResourceServiceImpl(mockResourcePersistenceService, mockGroupPesistenceService,
                     mockAppPersistenceService, mockJvmPersistenceService, mockWebServerPersistenceService,
                     mockResourceDao, mockResourceHandler,
-                    resourceContentGeneratorService, mockBinaryDistributionService, tika, mockRepositoryService);
+                    resourceContentGeneratorService, mockBinaryDistributionService, tika, mockRepositoryService,
+                    resourceGroupSnapshotService);
         }
 
         @Bean
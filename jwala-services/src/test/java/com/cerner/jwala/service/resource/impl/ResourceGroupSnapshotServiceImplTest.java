@@ -0,0 +1,140 @@
+package com.cerner.jwala.service.resource.impl;
+
+import com.cerner.jwala.common.domain.model.app.Application;
+import com.cerner.jwala.common.domain.model.group.Group;
+import com.cerner.jwala.common.domain.model.id.Identifier;
+import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.common.domain.model.jvm.JvmState;
+import com.cerner.jwala.common.domain.model.path.Path;
+import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
+import com.cerner.jwala.common.domain.model.webserver.WebServer;
+import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
+import com.cerner.jwala.persistence.service.ApplicationPersistenceService;
+import com.cerner.jwala.persistence.service.GroupPersistenceService;
+import com.cerner.jwala.persistence.service.JvmPersistenceService;
+import com.cerner.jwala.persistence.service.WebServerPersistenceService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link ResourceGroupSnapshotServiceImpl}
+ */
+public class ResourceGroupSnapshotServiceImplTest {
+
+    @Mock
+    private GroupPersistenceService mockGroupPersistenceService;
+
+    @Mock
+    private JvmPersistenceService mockJvmPersistenceService;
+
+    @Mock
+    private WebServerPersistenceService mockWebServerPersistenceService;
+
+    @Mock
+    private ApplicationPersistenceService mockApplicationPersistenceService;
+
+    private AtomicLong topologyVersion;
+    private ResourceGroupSnapshotServiceImpl resourceGroupSnapshotService;
+    private Group group1;
+    private Group group2;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        topologyVersion = new AtomicLong();
+        resourceGroupSnapshotService = new ResourceGroupSnapshotServiceImpl(mockGroupPersistenceService, mockJvmPersistenceService,
+                mockWebServerPersistenceService, mockApplicationPersistenceService, topologyVersion::get);
+
+        group1 = new Group(new Identifier<Group>(1L), "group1");
+        group2 = new Group(new Identifier<Group>(2L), "group2");
+        when(mockGroupPersistenceService.getGroups()).thenReturn(Arrays.asList(group1, group2));
+
+        final Jvm jvm1 = createJvm(11L, "jvm1", group1);
+        final Jvm jvm2 = createJvm(12L, "jvm2", group1, group2);
+        when(mockJvmPersistenceService.getJvmsAndWebApps()).thenReturn(Arrays.asList(jvm1, jvm2));
+
+        final WebServer webServer = new WebServer(new Identifier<WebServer>(21L), Collections.singletonList(group2), "webServer",
+                "localhost", 80, 443, new Path("/statusPath"), WebServerReachableState.WS_UNREACHABLE, null);
+        when(mockWebServerPersistenceService.getWebServers()).thenReturn(Collections.singletonList(webServer));
+
+        final Application application = new Application(new Identifier<Application>(31L), "app", "d:/jwala/app/archive",
+                "/app", group1, true, true, false, "app.war", "d:/deployPath");
+        when(mockApplicationPersistenceService.getApplications()).thenReturn(Collections.singletonList(application));
+    }
+
+    @Test
+    public void testMembersAreDistributedToTheirGroups() {
+        final List<Group> groups = resourceGroupSnapshotService.getResourceGroup().getGroups();
+
+        assertEquals(2, groups.size());
+        assertEquals("group1", groups.get(0).getName());
+        assertEquals(Arrays.asList("jvm1", "jvm2"), getJvmNames(groups.get(0)));
+        assertTrue(groups.get(0).getWebServers().isEmpty());
+        assertEquals("app", groups.get(0).getApplications().iterator().next().getName());
+
+        assertEquals("group2", groups.get(1).getName());
+        assertEquals(Collections.singletonList("jvm2"), getJvmNames(groups.get(1)));
+        assertEquals("webServer", groups.get(1).getWebServers().iterator().next().getName());
+        assertTrue(groups.get(1).getApplications().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsReusedUntilTheTopologyChanges() {
+        final ResourceGroup first = resourceGroupSnapshotService.getResourceGroup();
+        assertSame(first, resourceGroupSnapshotService.getResourceGroup());
+        verify(mockGroupPersistenceService, times(1)).getGroups();
+
+        topologyVersion.incrementAndGet();
+        assertNotSame(first, resourceGroupSnapshotService.getResourceGroup());
+        verify(mockGroupPersistenceService, times(2)).getGroups();
+    }
+
+    @Test
+    public void testSnapshotIsBuiltWithoutPerGroupQueries() {
+        resourceGroupSnapshotService.getResourceGroup();
+
+        verify(mockJvmPersistenceService, times(1)).getJvmsAndWebApps();
+        verify(mockWebServerPersistenceService, times(1)).getWebServers();
+        verify(mockApplicationPersistenceService, times(1)).getApplications();
+        verify(mockJvmPersistenceService, never()).getJvmsAndWebAppsByGroupName(anyString());
+        verify(mockWebServerPersistenceService, never()).getWebServersByGroupName(anyString());
+        verify(mockApplicationPersistenceService, never()).findApplicationsBelongingTo(anyString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotCannotBeModified() {
+        resourceGroupSnapshotService.getResourceGroup().getGroups().add(new Group(new Identifier<Group>(3L), "group3"));
+    }
+
+    private static Jvm createJvm(final long id, final String name, final Group... groups) {
+        return new Jvm(new Identifier<Jvm>(id), name, "localhost", new HashSet<>(Arrays.asList(groups)), 8080, 8443, 8005, -1,
+                8009, new Path("/statusPath"), "", JvmState.JVM_STOPPED, "", null, null, null, null, null, null, null);
+    }
+
+    private static List<String> getJvmNames(final Group group) {
+        final List<String> names = new ArrayList<>();
+        for (final Jvm jvm : group.getJvms()) {
+            names.add(jvm.getJvmName());
+        }
+        return names;
+    }
+}
@@ -43,7 +43,7 @@ public class ExternalPropertiesResourceHandlerTest {
     private RepositoryService mockRepositoryService;
 
     private ResourceService resourceService = new ResourceServiceImpl(null, null, null, null, null, null, null,
-                                                                      null, null, new Tika(), mockRepositoryService);
+                                                                      null, null, new Tika(), mockRepositoryService, null);
     @Before
     public void setup(){
         mockResourceDao = mock(ResourceDao.class);
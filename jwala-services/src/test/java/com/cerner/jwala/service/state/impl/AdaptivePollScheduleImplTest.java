@@ -0,0 +1,129 @@
+package com.cerner.jwala.service.state.impl;
+
+import com.cerner.jwala.service.state.AdaptivePollSchedule.Activity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link AdaptivePollScheduleImpl} with a manual clock
+ */
+public class AdaptivePollScheduleImplTest {
+
+    private static final String SERVER = "server";
+
+    private long now;
+    private double random;
+    private AdaptivePollScheduleImpl<String> schedule;
+
+    @Before
+    public void setUp() {
+        now = 1000000;
+        random = 0.5;
+        schedule = new AdaptivePollScheduleImpl<>(5000, 60000, 10000, 80000, 0.2, () -> now, () -> random);
+    }
+
+    @Test
+    public void testNewServerIsDue() {
+        assertTrue(schedule.isDue(SERVER));
+    }
+
+    @Test
+    public void testTransitionInterval() {
+        schedule.polled(SERVER, Activity.TRANSITION);
+        assertNextPollAfter(5000);
+    }
+
+    @Test
+    public void testStableInterval() {
+        schedule.polled(SERVER, Activity.STABLE);
+        assertNextPollAfter(60000);
+    }
+
+    @Test
+    public void testUnreachableBackoffDoublesUpToTheMaximum() {
+        final long[] expectedDelays = {10000, 20000, 40000, 80000, 80000};
+        for (final long expectedDelay : expectedDelays) {
+            schedule.polled(SERVER, Activity.UNREACHABLE);
+            assertNextPollAfter(expectedDelay);
+        }
+
+        schedule.polled(SERVER, Activity.STABLE);
+        schedule.polled(SERVER, Activity.UNREACHABLE);
+        assertNextPollAfter(10000);
+    }
+
+    @Test
+    public void testBackoffDoesNotOverflow() {
+        for (int i = 0; i < 100; i++) {
+            schedule.polled(SERVER, Activity.UNREACHABLE);
+        }
+        assertNextPollAfter(80000);
+    }
+
+    @Test
+    public void testJitter() {
+        random = 0;
+        schedule.polled(SERVER, Activity.STABLE);
+        assertNextPollAfter(48000);
+
+        random = 1;
+        schedule.polled(SERVER, Activity.UNREACHABLE);
+        assertNextPollAfter(12000);
+
+        // polls in transition are not delayed
+        schedule.polled(SERVER, Activity.TRANSITION);
+        assertNextPollAfter(5000);
+    }
+
+    @Test
+    public void testResetMakesTheServerDueAndClearsTheBackoff() {
+        schedule.polled(SERVER, Activity.UNREACHABLE);
+        schedule.polled(SERVER, Activity.UNREACHABLE);
+        schedule.reset(SERVER);
+        assertTrue(schedule.isDue(SERVER));
+
+        schedule.polled(SERVER, Activity.UNREACHABLE);
+        assertNextPollAfter(10000);
+    }
+
+    @Test
+    public void testMetrics() {
+        schedule.polled("a", Activity.TRANSITION);
+        schedule.polled("b", Activity.STABLE);
+        schedule.polled("c", Activity.UNREACHABLE);
+        schedule.polled("c", Activity.UNREACHABLE);
+        schedule.reset("a");
+        schedule.reset("d");
+        now += 10000;
+
+        final Map<String, Object> metrics = schedule.getMetrics();
+        assertEquals(2, metrics.get("scheduled"));
+        assertEquals(0, metrics.get("due"));
+        assertEquals(0, metrics.get("transition"));
+        assertEquals(1, metrics.get("stable"));
+        assertEquals(1, metrics.get("unreachable"));
+        assertEquals(10000L, metrics.get("longestBackoffMillis"));
+        assertEquals(1L, metrics.get("resets"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidJitter() {
+        new AdaptivePollScheduleImpl<String>(5000, 60000, 10000, 80000, 1);
+    }
+
+    private void assertNextPollAfter(final long delay) {
+        final long pollTime = now;
+        now = pollTime + delay - 1;
+        assertFalse(schedule.isDue(SERVER));
+        now = pollTime + delay;
+        assertTrue(schedule.isDue(SERVER));
+        now = pollTime;
+    }
+
+}
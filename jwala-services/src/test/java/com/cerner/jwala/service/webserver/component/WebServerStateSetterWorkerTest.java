@@ -4,8 +4,11 @@ import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
 import com.cerner.jwala.common.domain.model.webserver.WebServerState;
+import com.cerner.jwala.service.HttpStatePinger;
 import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.group.GroupStateNotificationService;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
+import com.cerner.jwala.service.state.AdaptivePollSchedule.Activity;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import com.cerner.jwala.service.webserver.WebServerService;
 import org.apache.commons.lang3.StringUtils;
@@ -13,20 +16,15 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.client.ClientHttpRequest;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.contains;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -39,6 +37,9 @@ import static org.mockito.Mockito.*;
 @SuppressWarnings("unchecked")
 public class WebServerStateSetterWorkerTest {
 
+    private static final int CONNECT_TIMEOUT = 250;
+    private static final int READ_TIMEOUT = 1000;
+
     private WebServerStateSetterWorker webServerStateSetterWorker;
 
     @Mock
@@ -47,15 +48,6 @@ public class WebServerStateSetterWorkerTest {
     @Mock
     private WebServer mockWebServer;
 
-    @Mock
-    private ClientHttpResponse mockClientHttpResponse;
-
-    @Mock
-    private ClientHttpRequest mockClientHttpRequest;
-
-    @Mock
-    private HttpComponentsClientHttpRequestFactory mockHttpClientRequestFactory;
-
     @Mock
     private WebServerService mockWebServerService;
 
@@ -69,61 +61,117 @@ public class WebServerStateSetterWorkerTest {
     private InMemoryStateManagerService mockInMemoryStateManagerService;
 
     @Mock
-    private HttpComponentsClientHttpRequestFactory mockHttpRequestFactory;
+    private HttpStatePinger mockHttpStatePinger;
 
-    private int executeCount;
+    @Mock
+    private AdaptivePollSchedule<Identifier<WebServer>> mockPollSchedule;
 
     @Before
     @SuppressWarnings("unchecked")
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
         webServerStateSetterWorker = new WebServerStateSetterWorker(mockInMemoryStateManagerService, mockWebServerService,
-                mockMessagingService, mockGroupNotificationService, mockHttpRequestFactory);
+                mockMessagingService, mockGroupNotificationService, mockHttpStatePinger, mockPollSchedule, CONNECT_TIMEOUT,
+                READ_TIMEOUT);
+        when(mockPollSchedule.isDue(any(Identifier.class))).thenReturn(true);
     }
 
     @Test
     public void testPingWebServer() throws Exception {
-        when(mockClientHttpResponse.getStatusCode()).thenReturn(HttpStatus.OK);
-        when(mockClientHttpRequest.execute()).thenReturn(mockClientHttpResponse);
-        when(mockHttpRequestFactory.createRequest(any(URI.class), eq(HttpMethod.GET))).thenReturn(mockClientHttpRequest);
+        when(mockHttpStatePinger.ping(any(URI.class), eq(CONNECT_TIMEOUT), eq(READ_TIMEOUT)))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.OK.value()));
         final Identifier<WebServer> id = new Identifier<>(1L);
         when(mockWebServer.getId()).thenReturn(id);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
         verify(mockWebServerService).updateState(any(Identifier.class), eq(WebServerReachableState.WS_REACHABLE),
                 eq(StringUtils.EMPTY));
         verify(mockMessagingService).send(any(WebServerState.class));
+        verify(mockPollSchedule).polled(id, Activity.STABLE);
+    }
+
+    @Test
+    public void testPingWebServerNotDue() throws Exception {
+        final Identifier<WebServer> id = new Identifier<>(1L);
+        when(mockWebServer.getId()).thenReturn(id);
+        when(mockPollSchedule.isDue(id)).thenReturn(false);
+        webServerStateSetterWorker.pingWebServer(mockWebServer);
+        verify(mockHttpStatePinger, never()).ping(any(URI.class), anyInt(), anyInt());
+        verify(mockPollSchedule, never()).polled(any(Identifier.class), any(Activity.class));
+    }
+
+    @Test
+    public void testPingBusyWebServer() throws Exception {
+        final Identifier<WebServer> id = new Identifier<>(1L);
+        when(mockWebServer.getId()).thenReturn(id);
+        when(mockInMemoryStateManagerService.get(id)).thenReturn(WebServerReachableState.WS_START_SENT);
+        webServerStateSetterWorker.pingWebServer(mockWebServer);
+        verify(mockHttpStatePinger, never()).ping(any(URI.class), anyInt(), anyInt());
+        verify(mockPollSchedule).polled(id, Activity.TRANSITION);
     }
 
     @Test
     public void testPingWebServerNotFound() throws Exception {
-        when(mockClientHttpResponse.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
-        when(mockClientHttpRequest.execute()).thenReturn(mockClientHttpResponse);
-        when(mockHttpRequestFactory.createRequest(any(URI.class), eq(HttpMethod.GET))).thenReturn(mockClientHttpRequest);
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.NOT_FOUND.value()));
         final Identifier<WebServer> id = new Identifier<>(1L);
         when(mockWebServer.getId()).thenReturn(id);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
         verify(mockWebServerService).updateState(any(Identifier.class), eq(WebServerReachableState.WS_UNREACHABLE),
-                contains("failed with a response code"));
+                contains("failed with a response code of 404"));
         verify(mockMessagingService).send(any(WebServerState.class));
     }
 
     @Test
     public void testPingWebServerWithIOException() throws Exception {
-        when(mockClientHttpRequest.execute()).thenThrow(IOException.class);
-        when(mockHttpRequestFactory.createRequest(any(URI.class), eq(HttpMethod.GET))).thenReturn(mockClientHttpRequest);
+        final CompletableFuture<Integer> failedPing = new CompletableFuture<>();
+        failedPing.completeExceptionally(new IOException());
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenReturn(failedPing);
         final Identifier<WebServer> id = new Identifier<>(1L);
         when(mockWebServer.getId()).thenReturn(id);
+        when(mockWebServer.getState()).thenReturn(WebServerReachableState.WS_REACHABLE);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
         verify(mockWebServerService).updateState(any(Identifier.class), eq(WebServerReachableState.WS_UNREACHABLE),
                 eq(StringUtils.EMPTY));
         verify(mockMessagingService).send(any(WebServerState.class));
+        verify(mockPollSchedule).polled(id, Activity.UNREACHABLE);
+    }
+
+    @Test
+    public void testPingStoppedWebServerWithIOException() throws Exception {
+        final CompletableFuture<Integer> failedPing = new CompletableFuture<>();
+        failedPing.completeExceptionally(new IOException());
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenReturn(failedPing);
+        final Identifier<WebServer> id = new Identifier<>(1L);
+        when(mockWebServer.getId()).thenReturn(id);
+        when(mockWebServer.getState()).thenReturn(WebServerReachableState.WS_UNREACHABLE);
+        webServerStateSetterWorker.pingWebServer(mockWebServer);
+        verify(mockWebServerService, never()).updateState(any(Identifier.class), any(WebServerReachableState.class),
+                anyString());
+        verify(mockPollSchedule).polled(id, Activity.STABLE);
+        verify(mockPollSchedule, never()).polled(id, Activity.UNREACHABLE);
+    }
+
+    @Test
+    public void testPingWebServerStoppedWhileBeingPinged() throws Exception {
+        final CompletableFuture<Integer> pendingPing = new CompletableFuture<>();
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenReturn(pendingPing);
+        final Identifier<WebServer> id = new Identifier<>(1L);
+        when(mockWebServer.getId()).thenReturn(id);
+        when(mockWebServer.getState()).thenReturn(WebServerReachableState.WS_REACHABLE);
+        webServerStateSetterWorker.pingWebServer(mockWebServer);
+
+        when(mockInMemoryStateManagerService.get(id)).thenReturn(WebServerReachableState.WS_STOP_SENT);
+        pendingPing.completeExceptionally(new IOException());
+        verify(mockPollSchedule).polled(id, Activity.TRANSITION);
+        verify(mockPollSchedule, never()).polled(id, Activity.UNREACHABLE);
+        verify(mockWebServerService, never()).updateState(any(Identifier.class), any(WebServerReachableState.class),
+                anyString());
     }
 
     @Test
     public void testPingWebServerTwice() throws Exception {
-        when(mockClientHttpResponse.getStatusCode()).thenReturn(HttpStatus.OK);
-        when(mockClientHttpRequest.execute()).thenReturn(mockClientHttpResponse);
-        when(mockHttpRequestFactory.createRequest(any(URI.class), eq(HttpMethod.GET))).thenReturn(mockClientHttpRequest);
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.OK.value()));
         final Identifier<WebServer> id = new Identifier<>(1L);
         when(mockWebServer.getId()).thenReturn(id);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
@@ -142,9 +190,8 @@ public class WebServerStateSetterWorkerTest {
 
     @Test
     public void testPingWebServerNotFoundTwice() throws Exception {
-        when(mockClientHttpResponse.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
-        when(mockClientHttpRequest.execute()).thenReturn(mockClientHttpResponse);
-        when(mockHttpRequestFactory.createRequest(any(URI.class), eq(HttpMethod.GET))).thenReturn(mockClientHttpRequest);
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(HttpStatus.NOT_FOUND.value()));
         final Identifier<WebServer> id = new Identifier<>(1L);
         when(mockWebServer.getId()).thenReturn(id);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
@@ -166,6 +213,7 @@ public class WebServerStateSetterWorkerTest {
         when(mockWebServer.getId()).thenReturn(id);
         when(mockWebServer.getState()).thenReturn(WebServerReachableState.WS_NEW);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
+        verify(mockHttpStatePinger, never()).ping(any(URI.class), anyInt(), anyInt());
         verify(mockWebServerService, never()).updateState(any(Identifier.class), eq(WebServerReachableState.WS_REACHABLE),
                 eq(StringUtils.EMPTY));
         verify(mockMessagingService, never()).send(any(WebServerState.class));
@@ -173,55 +221,27 @@ public class WebServerStateSetterWorkerTest {
 
     @Test
     public void testPingWebServerThatIsCurrentlyBeingPinged() throws Exception {
-        executeCount = 0;
-        when(mockClientHttpResponse.getStatusCode()).thenReturn(HttpStatus.OK);
-        when(mockHttpRequestFactory.createRequest(any(URI.class), eq(HttpMethod.GET))).thenReturn(new ClientHttpRequest() {
-            @Override
-            public HttpHeaders getHeaders() {
-                return null;
-            }
-
-            @Override
-            public HttpMethod getMethod() {
-                return null;
-            }
-
-            @Override
-            public URI getURI() {
-                return null;
-            }
-
-            @Override
-            public OutputStream getBody() throws IOException {
-                return null;
-            }
-
-            @Override
-            public ClientHttpResponse execute() throws IOException {
-                // Test the ff scenario: Executing ping with a web server that is currently being pinged should return
-                // without doing the ping or updating the state
-                executeCount++;
-
-                // Be careful when modifying this! This not only tests web server ping logic it also prevents a
-                // never ending loop!
-                if (executeCount > 1) {
-                    fail("ClientHttpRequest.execute is only expected to run once!");
-                }
-
-                webServerStateSetterWorker.pingWebServer(mockWebServer);
-                verify(mockWebServerService, never()).updateState(any(Identifier.class), eq(WebServerReachableState.WS_REACHABLE),
-                        eq(StringUtils.EMPTY));
-                verify(mockMessagingService, never()).send(any(WebServerState.class));
-                reset(mockWebServerService, mockMessagingService);
-                return mockClientHttpResponse;
-            }
-        });
+        // Executing ping with a web server that is currently being pinged should return without doing the ping or
+        // updating the state
+        final CompletableFuture<Integer> pendingPing = new CompletableFuture<>();
+        when(mockHttpStatePinger.ping(any(URI.class), anyInt(), anyInt())).thenReturn(pendingPing);
         final Identifier<WebServer> id = new Identifier<>(1L);
         when(mockWebServer.getId()).thenReturn(id);
         webServerStateSetterWorker.pingWebServer(mockWebServer);
+        webServerStateSetterWorker.pingWebServer(mockWebServer);
+        verify(mockHttpStatePinger, times(1)).ping(any(URI.class), anyInt(), anyInt());
+        verify(mockWebServerService, never()).updateState(any(Identifier.class), any(WebServerReachableState.class),
+                anyString());
+        verify(mockMessagingService, never()).send(any(WebServerState.class));
+
+        pendingPing.complete(HttpStatus.OK.value());
         verify(mockWebServerService).updateState(any(Identifier.class), eq(WebServerReachableState.WS_REACHABLE),
                 eq(StringUtils.EMPTY));
         verify(mockMessagingService).send(any(WebServerState.class));
+
+        // the web server can be pinged again once the response arrived
+        webServerStateSetterWorker.pingWebServer(mockWebServer);
+        verify(mockHttpStatePinger, times(2)).ping(any(URI.class), anyInt(), anyInt());
     }
 
-}
\ No newline at end of file
+}
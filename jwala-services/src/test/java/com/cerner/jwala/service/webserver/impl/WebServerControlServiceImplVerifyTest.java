@@ -14,6 +14,7 @@ import com.cerner.jwala.common.exec.ExecReturnCode;
 import com.cerner.jwala.common.jsch.RemoteCommandReturnInfo;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.common.request.webserver.ControlWebServerRequest;
+import com.cerner.jwala.control.command.common.RemoteScriptCache;
 import com.cerner.jwala.control.configuration.SshConfig;
 import com.cerner.jwala.control.webserver.command.WebServerCommandFactory;
 import com.cerner.jwala.exception.CommandFailureException;
@@ -26,6 +27,7 @@ import com.cerner.jwala.service.binarydistribution.DistributionService;
 import com.cerner.jwala.service.binarydistribution.impl.BinaryDistributionControlServiceImpl;
 import com.cerner.jwala.service.resource.ResourceContentGeneratorService;
 import com.cerner.jwala.service.resource.ResourceService;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.webserver.WebServerControlService;
 import com.cerner.jwala.service.webserver.WebServerService;
 import org.apache.commons.lang3.StringUtils;
@@ -109,6 +111,7 @@ public class WebServerControlServiceImplVerifyTest extends VerificationBehaviorS
         ControlWebServerRequest controlWSRequest = new ControlWebServerRequest(webServerIdentifier, WebServerControlOperation.START);
         CommandOutput result = webServerControlService.controlWebServer(controlWSRequest, user);
         assertEquals(new ExecReturnCode(0), result.getReturnCode());
+        verify(Config.mockWebServerPollSchedule, atLeastOnce()).reset(webServerIdentifier);
 
         when(Config.mockWebServerCommandFactory.executeCommand(eq(webserver), eq(WebServerControlOperation.STOP))).thenReturn(new RemoteCommandReturnInfo(ExecReturnCode.JWALA_EXIT_PROCESS_KILLED, "", "PROCESS KILLED"));
         controlWSRequest = new ControlWebServerRequest(webServerIdentifier, WebServerControlOperation.STOP);
@@ -133,22 +136,11 @@ public class WebServerControlServiceImplVerifyTest extends VerificationBehaviorS
         when(mockWebServer.getHost()).thenReturn(HOST_NAME);
         when(mockWebServer.getName()).thenReturn(WEB_SERVER_NAME);
         when(Config.mockWebServerService.getWebServer(WEB_SERVER_NAME)).thenReturn(mockWebServer);
-        when(Config.mockDistributionService.remoteFileCheck(HOST_NAME, DEST_DIR)).thenReturn(false);
         webServerControlService.secureCopyFile(WEB_SERVER_NAME, SOURCE_DIR, DEST_DIR, USER_ID);
+        verify(Config.mockDistributionService).remoteSecureCopyAndPlaceFile(HOST_NAME, SOURCE_DIR, DEST_DIR);
+        verify(Config.mockDistributionService, never()).remoteFileCheck(HOST_NAME, DEST_DIR);
         verify(Config.mockDistributionService, never()).backupFile(HOST_NAME, DEST_DIR);
-        verify(Config.mockDistributionService).remoteSecureCopyFile(HOST_NAME, SOURCE_DIR, DEST_DIR);
-    }
-
-    @Test
-    public void testSecureCopyPerformsBackup() throws CommandFailureException {
-        final WebServer mockWebServer = mock(WebServer.class);
-        when(mockWebServer.getHost()).thenReturn(HOST_NAME);
-        when(mockWebServer.getName()).thenReturn(WEB_SERVER_NAME);
-        when(Config.mockWebServerService.getWebServer(WEB_SERVER_NAME)).thenReturn(mockWebServer);
-        when(Config.mockDistributionService.remoteFileCheck(HOST_NAME, DEST_DIR)).thenReturn(true);
-        webServerControlService.secureCopyFile(WEB_SERVER_NAME, SOURCE_DIR, DEST_DIR, USER_ID);
-        verify(Config.mockDistributionService).backupFile(HOST_NAME, DEST_DIR);
-        verify(Config.mockDistributionService).remoteSecureCopyFile(HOST_NAME, SOURCE_DIR, DEST_DIR);
+        verify(Config.mockDistributionService, never()).remoteSecureCopyFile(HOST_NAME, SOURCE_DIR, DEST_DIR);
     }
 
     @Test(expected = InternalErrorException.class)
@@ -158,7 +150,7 @@ public class WebServerControlServiceImplVerifyTest extends VerificationBehaviorS
         when(mockWebServer.getHost()).thenReturn(HOST_NAME);
         when(Config.mockWebServerService.getWebServer(WEB_SERVER_NAME)).thenReturn(mockWebServer);
         doThrow(new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, StringUtils.EMPTY))
-                .when(Config.mockDistributionService).remoteSecureCopyFile(HOST_NAME, SOURCE_DIR, DEST_DIR);
+                .when(Config.mockDistributionService).remoteSecureCopyAndPlaceFile(HOST_NAME, SOURCE_DIR, DEST_DIR);
         webServerControlService.secureCopyFile(WEB_SERVER_NAME, SOURCE_DIR, DEST_DIR, USER_ID);
     }
 
@@ -192,8 +184,8 @@ public class WebServerControlServiceImplVerifyTest extends VerificationBehaviorS
         final Identifier<WebServer> webServerIdentifier = new Identifier<>(12L);
         WebServer webserver = new WebServer(webServerIdentifier, new HashSet<Group>(), WEB_SERVER_NAME);
         when(Config.mockWebServerService.getWebServer(anyString())).thenReturn(webserver);
-        when(Config.mockDistributionService.remoteFileCheck(anyString(), anyString()))
-                .thenThrow(new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, StringUtils.EMPTY));
+        doThrow(new InternalErrorException(FaultType.REMOTE_COMMAND_FAILURE, StringUtils.EMPTY))
+                .when(Config.mockDistributionService).remoteSecureCopyAndPlaceFile(anyString(), anyString(), anyString());
         webServerControlService.secureCopyFile(WEB_SERVER_NAME, SOURCE_DIR, DEST_DIR, USER_ID);
     }
 
@@ -284,6 +276,12 @@ public class WebServerControlServiceImplVerifyTest extends VerificationBehaviorS
         @Mock
         static ResourceContentGeneratorService mockResourceContentGeneratorService;
 
+        @Mock
+        static RemoteScriptCache mockRemoteScriptCache;
+
+        @Mock
+        static AdaptivePollSchedule<Identifier<WebServer>> mockWebServerPollSchedule;
+
         public Config() {
             initMocks(this);
         }
@@ -293,6 +291,16 @@ public class WebServerControlServiceImplVerifyTest extends VerificationBehaviorS
             return mockWebServerCommandFactory;
         }
 
+        @Bean
+        public RemoteScriptCache getMockRemoteScriptCache() {
+            return mockRemoteScriptCache;
+        }
+
+        @Bean(name = "webServerPollSchedule")
+        public AdaptivePollSchedule<Identifier<WebServer>> getMockWebServerPollSchedule() {
+            return mockWebServerPollSchedule;
+        }
+
         @Bean
         public DistributionService getMockDistributionService() {
             return mockDistributionService;
@@ -9,6 +9,7 @@ import com.cerner.jwala.common.domain.model.resource.ResourceContent;
 import com.cerner.jwala.common.domain.model.resource.ResourceGroup;
 import com.cerner.jwala.common.domain.model.resource.ResourceIdentifier;
 import com.cerner.jwala.common.domain.model.resource.ResourceTemplateMetaData;
+import com.cerner.jwala.common.domain.model.state.StateType;
 import com.cerner.jwala.common.domain.model.user.User;
 import com.cerner.jwala.common.domain.model.webserver.WebServer;
 import com.cerner.jwala.common.domain.model.webserver.WebServerReachableState;
@@ -26,10 +27,12 @@ import com.cerner.jwala.persistence.jpa.domain.JpaWebServer;
 import com.cerner.jwala.persistence.service.GroupPersistenceService;
 import com.cerner.jwala.persistence.service.JvmPersistenceService;
 import com.cerner.jwala.persistence.service.WebServerPersistenceService;
+import com.cerner.jwala.service.MessagingService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager;
 import com.cerner.jwala.service.media.MediaService;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.resource.impl.ResourceGeneratorType;
+import com.cerner.jwala.service.state.AdaptivePollSchedule;
 import com.cerner.jwala.service.state.InMemoryStateManagerService;
 import com.cerner.jwala.service.state.impl.InMemoryStateManagerServiceImpl;
 import com.cerner.jwala.service.webserver.WebServerControlService;
@@ -143,7 +146,7 @@ public class WebServerServiceImplTest {
         mockWebServers12.add(mockWebServer2);
 
         reset(Config.mockBinaryDistributionLockManager, Config.mockResourceService, Config.mockWebServerControlService,
-              Config.mockWebServerPersistenceService, Config.mockJvmPersistenceService);
+              Config.mockWebServerPersistenceService, Config.mockJvmPersistenceService, Config.mockWebServerPollSchedule);
     }
 
     @SuppressWarnings("unchecked")
@@ -563,6 +566,13 @@ public class WebServerServiceImplTest {
         assertEquals(webServers, wsService.getWebServersPropagationNew());
     }
 
+    @Test
+    public void testGetWebServersForStatePolling() {
+        List<WebServer> webServers = new ArrayList<>();
+        when(Config.mockWebServerPersistenceService.getWebServersForStatePolling()).thenReturn(webServers);
+        assertEquals(webServers, wsService.getWebServersForStatePolling());
+    }
+
     private String removeCarriageReturnsAndNewLines(String s) {
         return s.replaceAll("\\r", "").replaceAll("\\n", "");
     }
@@ -574,6 +584,8 @@ public class WebServerServiceImplTest {
         wsService.deleteWebServer(id, false, user);
         verify(Config.mockWebServerControlService, never()).controlWebServer(any(ControlWebServerRequest.class), eq(user));
         verify(Config.mockWebServerPersistenceService).removeWebServer(id);
+        verify(Config.mockWebServerPollSchedule).remove(id);
+        verify(Config.mockMessagingService).removeState(StateType.WEB_SERVER, id);
     }
 
     @Test
@@ -741,6 +753,11 @@ public class WebServerServiceImplTest {
 
         private static GroupPersistenceService mockGroupPersistenceService = mock(GroupPersistenceService.class);
 
+        private static MessagingService mockMessagingService = mock(MessagingService.class);
+
+        @SuppressWarnings("unchecked")
+        private static AdaptivePollSchedule<Identifier<WebServer>> mockWebServerPollSchedule = mock(AdaptivePollSchedule.class);
+
         @Bean
         public static WebServerPersistenceService getMockWebServerPersistenceService() {
             return mockWebServerPersistenceService;
@@ -776,6 +793,16 @@ public class WebServerServiceImplTest {
             return mockGroupPersistenceService;
         }
 
+        @Bean
+        public static MessagingService getMockMessagingService() {
+            return mockMessagingService;
+        }
+
+        @Bean(name = "webServerPollSchedule")
+        public static AdaptivePollSchedule<Identifier<WebServer>> getMockWebServerPollSchedule() {
+            return mockWebServerPollSchedule;
+        }
+
         @Bean
         public WebServerService getWebServerService() {
             return new WebServerServiceImpl(mockWebServerPersistenceService, mockResourceService, inMemService, "/any",
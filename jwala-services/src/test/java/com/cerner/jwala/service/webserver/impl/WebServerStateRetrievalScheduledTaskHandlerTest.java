@@ -42,9 +42,9 @@ public class WebServerStateRetrievalScheduledTaskHandlerTest {
         final List<WebServer> webServerList = new ArrayList<>();
         webServerList.add(mock(WebServer.class));
         webServerList.add(mock(WebServer.class));
-        when(mockWebServerService.getWebServersPropagationNew()).thenReturn(webServerList);
+        when(mockWebServerService.getWebServersForStatePolling()).thenReturn(webServerList);
         webServerStateRetrievalScheduledTaskHandler.execute();
-        verify(mockWebServerService).getWebServersPropagationNew();
+        verify(mockWebServerService).getWebServersForStatePolling();
         verify(mockWebServerStateSetterWorker, times(2)).pingWebServer(any(WebServer.class));
     }
 
@@ -25,8 +25,8 @@ public class JGroupsLifeCycleReporterRunnable implements Runnable {
 
     @Override
     public void run() {
-        LOGGER.info("+++ JGroups life cycle reporting thread {} running...", Thread.currentThread().getId());
+        LOGGER.debug("+++ JGroups life cycle reporting thread {} running...", Thread.currentThread().getId());
         messagingService.send(msgBuilder.build());
-        LOGGER.info("--- JGroups life cycle reporting thread {} is done...", Thread.currentThread().getId());
+        LOGGER.debug("--- JGroups life cycle reporting thread {} is done...", Thread.currentThread().getId());
     }
 }
@@ -41,8 +41,7 @@ public class JGroupsMessagingServiceImpl implements MessagingService<Message> {
     public void send(final Message msg) {
         try {
             connect(clusterName);
-            LOGGER.info("Sending msg {}", msg);
-            LOGGER.info("Msg content = {}", msg.getObject());
+            LOGGER.debug("Sending msg {}", msg);
             channel.send(msg);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
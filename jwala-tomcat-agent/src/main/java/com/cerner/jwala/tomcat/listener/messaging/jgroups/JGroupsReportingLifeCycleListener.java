@@ -26,6 +26,7 @@ public class JGroupsReportingLifeCycleListener implements LifecycleListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(JGroupsReportingLifeCycleListener.class);
     private static final long SCHEDULER_DELAY_INITIAL_DEFAULT = 60;
     private static final long SCHEDULER_DELAY_SUBSEQUENT_DEFAULT = 60;
+    private static final long SCHEDULER_DELAY_KEEP_ALIVE_DEFAULT = 120;
     private static final int SCHEDULER_THREAD_COUNT_DEFAULT = 1;
     private static final String JGROUPS_COORDINATOR_HOSTNAME = "jgroupsCoordinatorHostname";
     private static final String JGROUPS_COORDINATOR_IP_ADDRESS = "jgroupsCoordinatorIp";
@@ -44,15 +45,17 @@ public class JGroupsReportingLifeCycleListener implements LifecycleListener {
     private String jgroupsClusterName;
     private long schedulerDelayInitial = SCHEDULER_DELAY_INITIAL_DEFAULT;
     private long schedulerDelaySubsequent = SCHEDULER_DELAY_SUBSEQUENT_DEFAULT;
+    private long schedulerDelayKeepAlive = SCHEDULER_DELAY_KEEP_ALIVE_DEFAULT;
     private TimeUnit schedulerDelayUnit = TimeUnit.SECONDS;
     private int schedulerThreadCount = SCHEDULER_THREAD_COUNT_DEFAULT;
+    private boolean reportMetrics;
 
     private JChannel channel;
     private IpAddress jgroupsDestIpAddr;
 
     @Override
     public void lifecycleEvent(final LifecycleEvent event) {
-        LOGGER.info("LifeCycleEvent received: {} on {}", event.getType(), event.getLifecycle().getStateName());
+        LOGGER.debug("LifeCycleEvent received: {} on {}", event.getType(), event.getLifecycle().getStateName());
         synchronized (lockObject) {
             if (messagingService == null) {
                 // init messaging service...
@@ -72,7 +75,8 @@ public class JGroupsReportingLifeCycleListener implements LifecycleListener {
                 try {
                     jgroupsStateReporter = new JGroupsStateReporter(messagingService, serverId, serverName,
                             jgroupsDestIpAddr, schedulerThreadCount,
-                            schedulerDelayInitial, schedulerDelaySubsequent, schedulerDelayUnit);
+                            schedulerDelayInitial, schedulerDelaySubsequent, schedulerDelayKeepAlive, schedulerDelayUnit,
+                            reportMetrics ? new JvmMetricsCollector() : null);
                 } catch (final Exception e) {
                     LOGGER.error("Failed to report state!", e);
                 }
@@ -186,6 +190,17 @@ public class JGroupsReportingLifeCycleListener implements LifecycleListener {
         }
     }
 
+    public void setSchedulerDelayKeepAlive(final String schedulerDelayKeepAlive) {
+        try {
+            this.schedulerDelayKeepAlive = Long.parseLong(schedulerDelayKeepAlive);
+        } catch (final NumberFormatException e) {
+            LOGGER.warn(
+                    "Failed to convert schedulerDelayKeepAlive value of \"{}\" to long! "
+                            + "The default value {} will be used instead.",
+                    schedulerDelayKeepAlive, SCHEDULER_DELAY_KEEP_ALIVE_DEFAULT, e);
+        }
+    }
+
     public void setSchedulerDelayUnit(final String schedulerDelayUnit) {
         try {
             this.schedulerDelayUnit = TimeUnit.valueOf(schedulerDelayUnit);
@@ -205,4 +220,11 @@ public class JGroupsReportingLifeCycleListener implements LifecycleListener {
                     schedulerDelaySubsequent, SCHEDULER_THREAD_COUNT_DEFAULT, e);
         }
     }
+
+    /**
+     * @param reportMetrics "true" to send the heap, GC, thread and connector metrics with each message
+     */
+    public void setReportMetrics(final String reportMetrics) {
+        this.reportMetrics = Boolean.parseBoolean(reportMetrics);
+    }
 }
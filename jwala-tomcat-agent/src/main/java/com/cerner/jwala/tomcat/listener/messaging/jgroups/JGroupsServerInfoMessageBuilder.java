@@ -1,26 +1,59 @@
 package com.cerner.jwala.tomcat.listener.messaging.jgroups;
 
-import com.cerner.jwala.tomcat.listener.messaging.ServerInfoFields;
+import com.cerner.jwala.tomcat.listener.messaging.MessagingServiceException;
 import org.apache.catalina.LifecycleState;
 import org.jgroups.Address;
 import org.jgroups.Message;
-import org.joda.time.DateTime;
 
-import java.util.HashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A message content builder
  *
+ * The content is a compact binary heartbeat instead of a serialized map so that the receiver can read it without
+ * Java serialization. Version 1 of the format, all numbers are big-endian:
+ * <pre>
+ *     magic       2 bytes  'J' 'H'
+ *     version     1 byte   1
+ *     id          8 bytes  the server id, -1 if the id is not a number
+ *     state       1 byte   the index of the state in {@link #STATES}, -1 if unknown
+ *     as of       8 bytes  epoch millis
+ *     sequence    8 bytes  incremented for every message the server sends
+ *     name        modified UTF-8 with a 2 byte length prefix, only if the id is -1
+ *     metrics     optional, 1 byte count followed by a 1 byte index in {@link #METRICS} and an 8 byte value per metric
+ * </pre>
+ * The states are sent by index in a fixed list rather than by enum ordinal so that the receiver doesn't depend on the
+ * Tomcat version of the server. The receiver has the same list, states can only be appended to it. The same goes for
+ * the metrics, a receiver skips the metrics it doesn't know and one that doesn't read metrics ignores them.
+ *
  * Created by Jedd Cuison on 8/15/2016
  */
 public class JGroupsServerInfoMessageBuilder {
 
+    public static final byte[] MAGIC = {'J', 'H'};
+    public static final byte VERSION = 1;
+    public static final List<String> STATES = Arrays.asList("NEW", "INITIALIZING", "INITIALIZED", "STARTING_PREP",
+            "STARTING", "STARTED", "STOPPING_PREP", "STOPPING", "STOPPED", "DESTROYING", "DESTROYED", "FAILED",
+            "MUST_STOP", "MUST_DESTROY");
+    public static final List<String> METRICS = Arrays.asList(JvmMetricsCollector.HEAP_USED,
+            JvmMetricsCollector.HEAP_COMMITTED, JvmMetricsCollector.GC_COUNT, JvmMetricsCollector.GC_TIME,
+            JvmMetricsCollector.THREAD_COUNT, JvmMetricsCollector.CONNECTOR_BUSY_THREADS,
+            JvmMetricsCollector.CONNECTOR_REQUEST_COUNT);
+    private static final long UNKNOWN_ID = -1;
+
     private String serverId;
     private String serverName;
     private LifecycleState state;
     private Address srcAddress;
     private Address destAddress;
+    private AtomicLong sequence = new AtomicLong();
+    private JvmMetricsCollector metricsCollector;
 
     public JGroupsServerInfoMessageBuilder setServerId(final String serverId) {
         this.serverId = serverId;
@@ -47,12 +80,66 @@ public class JGroupsServerInfoMessageBuilder {
         return this;
     }
 
+    /**
+     * @param sequence the sequence of the server's messages, shared by the builders of the server
+     */
+    public JGroupsServerInfoMessageBuilder setSequence(final AtomicLong sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    /**
+     * @param metricsCollector collects the metrics sent with every message, no metrics are sent if null
+     */
+    public JGroupsServerInfoMessageBuilder setMetricsCollector(final JvmMetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+        return this;
+    }
+
     public Message build() {
-        final Map<String, Object> serverInfoMap = new HashMap<>();
-        serverInfoMap.put(ServerInfoFields.ID.name(), serverId);
-        serverInfoMap.put(ServerInfoFields.NAME.name(), serverName);
-        serverInfoMap.put(ServerInfoFields.AS_OF.name(), DateTime.now());
-        serverInfoMap.put(ServerInfoFields.STATE.name(), state);
-        return new Message(destAddress, srcAddress, serverInfoMap);
+        final long id = getId();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(id);
+            out.writeByte(state == null ? -1 : STATES.indexOf(state.name()));
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(sequence.incrementAndGet());
+            if (id == UNKNOWN_ID) {
+                out.writeUTF(serverName == null ? "" : serverName);
+            }
+            if (metricsCollector != null) {
+                writeMetrics(out, metricsCollector.collect());
+            }
+        } catch (final IOException e) {
+            throw new MessagingServiceException("Failed to build the message!", e);
+        }
+        return new Message(destAddress, srcAddress, bytes.toByteArray());
+    }
+
+    private static void writeMetrics(final DataOutputStream out, final Map<String, Long> metrics) throws IOException {
+        int count = 0;
+        for (final String metric : metrics.keySet()) {
+            if (METRICS.contains(metric)) {
+                count++;
+            }
+        }
+        out.writeByte(count);
+        for (final Map.Entry<String, Long> metric : metrics.entrySet()) {
+            final int index = METRICS.indexOf(metric.getKey());
+            if (index >= 0) {
+                out.writeByte(index);
+                out.writeLong(metric.getValue());
+            }
+        }
+    }
+
+    private long getId() {
+        try {
+            return serverId == null ? UNKNOWN_ID : Long.parseLong(serverId.trim());
+        } catch (final NumberFormatException e) {
+            return UNKNOWN_ID;
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.cerner.jwala.tomcat.listener.messaging.jgroups;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.catalina.LifecycleState;
 import org.jgroups.Address;
@@ -13,6 +14,9 @@ import org.slf4j.LoggerFactory;
 /**
  * The reporting mechanism
  *
+ * A message is sent as soon as the state changes and then repeated as a keep-alive. The keep-alive is repeated with
+ * the subsequent delay while the server is in transition and with the longer keep-alive delay once it has started.
+ *
  * Usage:
  * jgroupsStateReporter.sendAndRepeat(state)
  * 
@@ -32,11 +36,18 @@ public class JGroupsStateReporter {
     private int schedulerThreadCount;
     private long schedulerDelayInitial;
     private long schedulerDelaySubsequent;
+    private long schedulerDelayKeepAlive;
     private TimeUnit schedulerDelayUnit;
+    private final JvmMetricsCollector metricsCollector;
+    private final AtomicLong sequence = new AtomicLong();
  
+    /**
+     * @param metricsCollector collects the metrics that are sent with each message, null to send no metrics
+     */
     public JGroupsStateReporter(final JGroupsMessagingServiceImpl messagingService, final String serverId,
             final String serverName, final IpAddress coordinator, final int schedulerThreadCount,
-            final long schedulerDelayInitial, final long schedulerDelaySubsequent, final TimeUnit schedulerDelayUnit) {
+            final long schedulerDelayInitial, final long schedulerDelaySubsequent, final long schedulerDelayKeepAlive,
+            final TimeUnit schedulerDelayUnit, final JvmMetricsCollector metricsCollector) {
         this.messagingService = messagingService;
         this.serverId = serverId;
         this.serverName = serverName;
@@ -44,20 +55,29 @@ public class JGroupsStateReporter {
         this.schedulerThreadCount = schedulerThreadCount;
         this.schedulerDelayInitial = schedulerDelayInitial;
         this.schedulerDelaySubsequent = schedulerDelaySubsequent;
+        this.schedulerDelayKeepAlive = schedulerDelayKeepAlive;
         this.schedulerDelayUnit = schedulerDelayUnit;
+        this.metricsCollector = metricsCollector;
     }
 
     /**
      * 
      * Send the initial message and then schedule an executor to repeat this message on an interval.
+     * Nothing is sent if the state is the same as the state that is already being repeated.
      * 
      * @param newState
      *            the latest state
      */
     public synchronized void sendAndRepeat(final LifecycleState newState) {        
+        if (scheduler != null && newState.equals(state)) {
+            LOGGER.debug("State {} is already being reported", newState);
+            return;
+        }
         init(newState);
         sendMsg(serverId, serverName, coordinator);
-        schedulePeriodicMsgDelivery(schedulerThreadCount, schedulerDelayInitial, schedulerDelaySubsequent, schedulerDelayUnit);
+        schedulePeriodicMsgDelivery(schedulerThreadCount, schedulerDelayInitial,
+                LifecycleState.STARTED.equals(state) ? schedulerDelayKeepAlive : schedulerDelaySubsequent,
+                schedulerDelayUnit);
     }
     
     /**
@@ -67,7 +87,7 @@ public class JGroupsStateReporter {
      */
     private void init(final LifecycleState newState) {
         if (scheduler != null && !newState.equals(state)) {
-            LOGGER.info("Shutting down the scheduler NOW...");
+            LOGGER.debug("Shutting down the scheduler NOW...");
             scheduler.shutdownNow();
             scheduler = null;
         }
@@ -91,7 +111,8 @@ public class JGroupsStateReporter {
             final Address channelAddress =
                     messagingService.getChannel().getAddress();
             msgBuilder = new JGroupsServerInfoMessageBuilder().setServerId(serverId).setServerName(serverName)
-                    .setState(state).setSrcAddress(channelAddress).setDestAddress(destAddr);
+                    .setState(state).setSrcAddress(channelAddress).setDestAddress(destAddr).setSequence(sequence)
+                    .setMetricsCollector(metricsCollector);
         } catch (final Exception e) {
             throw new JGroupsStateReporterException("Failed to create message!", e);
         }
@@ -121,7 +142,7 @@ public class JGroupsStateReporter {
     private void schedulePeriodicMsgDelivery(final int schedulerThreadCount,
             final long schedulerDelayInitial, final long schedulerDelaySubsequent, final TimeUnit schedulerDelayUnit) {
         if (messagingService.getChannel().isConnected() && scheduler == null) {
-            LOGGER.info(
+            LOGGER.debug(
                     "Creating scheduler with treadCount: {}, initialDelay: {}, subsequentDelay: {} and timeUnit: {}",
                     schedulerThreadCount, schedulerDelayInitial, schedulerDelaySubsequent, schedulerDelayUnit);
             scheduler = Executors.newScheduledThreadPool(schedulerThreadCount);
@@ -0,0 +1,102 @@
+package com.cerner.jwala.tomcat.listener.messaging.jgroups;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects a few runtime metrics of the local JVM through JMX to be sent with the heartbeats
+ *
+ * The connector metrics are the sums over all the Tomcat connectors, they are left out if there are no connectors.
+ */
+public class JvmMetricsCollector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JvmMetricsCollector.class);
+
+    public static final String HEAP_USED = "heapUsed";
+    public static final String HEAP_COMMITTED = "heapCommitted";
+    public static final String GC_COUNT = "gcCount";
+    public static final String GC_TIME = "gcTime";
+    public static final String THREAD_COUNT = "threadCount";
+    public static final String CONNECTOR_BUSY_THREADS = "connectorBusyThreads";
+    public static final String CONNECTOR_REQUEST_COUNT = "connectorRequestCount";
+
+    private static final String THREAD_POOL_QUERY = "*:type=ThreadPool,*";
+    private static final String REQUEST_PROCESSOR_QUERY = "*:type=GlobalRequestProcessor,*";
+
+    private final MBeanServer mBeanServer;
+
+    public JvmMetricsCollector() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * @param mBeanServer the server with the Tomcat MBeans
+     */
+    JvmMetricsCollector(final MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * @return the metrics by name
+     */
+    public Map<String, Long> collect() {
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        metrics.put(HEAP_USED, heap.getUsed());
+        metrics.put(HEAP_COMMITTED, heap.getCommitted());
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // -1 if the collector doesn't know
+            gcCount += Math.max(gc.getCollectionCount(), 0);
+            gcTime += Math.max(gc.getCollectionTime(), 0);
+        }
+        metrics.put(GC_COUNT, gcCount);
+        metrics.put(GC_TIME, gcTime);
+        metrics.put(THREAD_COUNT, (long) ManagementFactory.getThreadMXBean().getThreadCount());
+
+        final Long busyThreads = sum(THREAD_POOL_QUERY, "currentThreadsBusy");
+        if (busyThreads != null) {
+            metrics.put(CONNECTOR_BUSY_THREADS, busyThreads);
+        }
+        final Long requestCount = sum(REQUEST_PROCESSOR_QUERY, "requestCount");
+        if (requestCount != null) {
+            metrics.put(CONNECTOR_REQUEST_COUNT, requestCount);
+        }
+        return metrics;
+    }
+
+    /**
+     * @return the sum of a numeric attribute of the MBeans that match a query or null if none of them has it
+     */
+    private Long sum(final String query, final String attribute) {
+        Long sum = null;
+        try {
+            final Set<ObjectName> names = mBeanServer.queryNames(new ObjectName(query), null);
+            for (final ObjectName name : names) {
+                try {
+                    final Object value = mBeanServer.getAttribute(name, attribute);
+                    if (value instanceof Number) {
+                        sum = (sum == null ? 0 : sum) + ((Number) value).longValue();
+                    }
+                } catch (final JMException e) {
+                    LOGGER.debug("Failed to get {} of {}", attribute, name, e);
+                }
+            }
+        } catch (final JMException e) {
+            LOGGER.debug("Failed to query {}", query, e);
+        }
+        return sum;
+    }
+}
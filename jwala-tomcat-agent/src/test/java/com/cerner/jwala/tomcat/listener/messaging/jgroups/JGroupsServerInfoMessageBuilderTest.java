@@ -5,7 +5,16 @@ import org.jgroups.Message;
 import org.jgroups.stack.IpAddress;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit test for {@link JGroupsServerInfoMessageBuilderTest}
@@ -23,4 +32,76 @@ public class JGroupsServerInfoMessageBuilderTest {
                                                                  .build();
         assertNotNull(msg);
     }
+
+    @Test
+    public void testBuildBinaryHeartbeat() throws Exception {
+        final AtomicLong sequence = new AtomicLong(41);
+        final JGroupsServerInfoMessageBuilder builder = new JGroupsServerInfoMessageBuilder().setServerId("12")
+                                                                                             .setServerName("jvm-name")
+                                                                                             .setState(LifecycleState.STARTED)
+                                                                                             .setSequence(sequence);
+        final long before = System.currentTimeMillis();
+        final DataInputStream in = read(builder.build());
+        assertEquals('J', in.readByte());
+        assertEquals('H', in.readByte());
+        assertEquals(JGroupsServerInfoMessageBuilder.VERSION, in.readByte());
+        assertEquals(12L, in.readLong());
+        assertEquals("STARTED", JGroupsServerInfoMessageBuilder.STATES.get(in.readByte()));
+        assertTrue(in.readLong() >= before);
+        assertEquals(42L, in.readLong());
+        assertEquals(-1, in.read());
+
+        final DataInputStream next = read(builder.build());
+        next.skipBytes(2 + 1 + 8 + 1 + 8);
+        assertEquals(43L, next.readLong());
+    }
+
+    @Test
+    public void testBuildBinaryHeartbeatWithName() throws Exception {
+        final DataInputStream in = read(new JGroupsServerInfoMessageBuilder().setServerName("jvm-name")
+                                                                             .setState(LifecycleState.STOPPING)
+                                                                             .build());
+        in.skipBytes(2 + 1);
+        assertEquals(-1L, in.readLong());
+        assertEquals("STOPPING", JGroupsServerInfoMessageBuilder.STATES.get(in.readByte()));
+        in.skipBytes(8);
+        assertEquals(1L, in.readLong());
+        assertEquals("jvm-name", in.readUTF());
+    }
+
+    @Test
+    public void testBuildBinaryHeartbeatWithMetrics() throws Exception {
+        final JvmMetricsCollector collector = new JvmMetricsCollector() {
+            @Override
+            public Map<String, Long> collect() {
+                final Map<String, Long> metrics = new LinkedHashMap<>();
+                metrics.put(JvmMetricsCollector.HEAP_USED, 1024L);
+                metrics.put("unknown", 1L);
+                metrics.put(JvmMetricsCollector.CONNECTOR_BUSY_THREADS, 5L);
+                return metrics;
+            }
+        };
+        final DataInputStream in = read(new JGroupsServerInfoMessageBuilder().setServerId("12")
+                                                                             .setState(LifecycleState.STARTED)
+                                                                             .setMetricsCollector(collector)
+                                                                             .build());
+        in.skipBytes(2 + 1 + 8 + 1 + 8 + 8);
+        assertEquals(2, in.readByte());
+        assertEquals(JvmMetricsCollector.HEAP_USED, JGroupsServerInfoMessageBuilder.METRICS.get(in.readByte()));
+        assertEquals(1024L, in.readLong());
+        assertEquals(JvmMetricsCollector.CONNECTOR_BUSY_THREADS, JGroupsServerInfoMessageBuilder.METRICS.get(in.readByte()));
+        assertEquals(5L, in.readLong());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testAllStatesHaveAnIndex() {
+        for (final LifecycleState state : LifecycleState.values()) {
+            assertTrue(state.name(), JGroupsServerInfoMessageBuilder.STATES.contains(state.name()));
+        }
+    }
+
+    private static DataInputStream read(final Message msg) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(msg.getRawBuffer(), msg.getOffset(), msg.getLength()));
+    }
 }
@@ -0,0 +1,104 @@
+package com.cerner.jwala.tomcat.listener.messaging.jgroups;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link JvmMetricsCollector}
+ */
+public class JvmMetricsCollectorTest {
+
+    private MBeanServer mBeanServer;
+
+    @Before
+    public void setup() {
+        mBeanServer = MBeanServerFactory.newMBeanServer();
+    }
+
+    @Test
+    public void testCollect() throws Exception {
+        mBeanServer.registerMBean(new AttributeMBean("currentThreadsBusy", 3), new ObjectName("Catalina:type=ThreadPool,name=\"http-nio-8080\""));
+        mBeanServer.registerMBean(new AttributeMBean("currentThreadsBusy", 2), new ObjectName("Catalina:type=ThreadPool,name=\"ajp-nio-8009\""));
+        mBeanServer.registerMBean(new AttributeMBean("requestCount", 40), new ObjectName("Catalina:type=GlobalRequestProcessor,name=\"http-nio-8080\""));
+
+        final Map<String, Long> metrics = new JvmMetricsCollector(mBeanServer).collect();
+        assertTrue(metrics.get(JvmMetricsCollector.HEAP_USED) > 0);
+        assertTrue(metrics.get(JvmMetricsCollector.HEAP_COMMITTED) >= metrics.get(JvmMetricsCollector.HEAP_USED));
+        assertTrue(metrics.get(JvmMetricsCollector.GC_COUNT) >= 0);
+        assertTrue(metrics.get(JvmMetricsCollector.GC_TIME) >= 0);
+        assertTrue(metrics.get(JvmMetricsCollector.THREAD_COUNT) > 0);
+        assertEquals(Long.valueOf(5), metrics.get(JvmMetricsCollector.CONNECTOR_BUSY_THREADS));
+        assertEquals(Long.valueOf(40), metrics.get(JvmMetricsCollector.CONNECTOR_REQUEST_COUNT));
+    }
+
+    @Test
+    public void testCollectWithoutConnectors() {
+        final Map<String, Long> metrics = new JvmMetricsCollector(mBeanServer).collect();
+        assertTrue(metrics.containsKey(JvmMetricsCollector.THREAD_COUNT));
+        assertFalse(metrics.containsKey(JvmMetricsCollector.CONNECTOR_BUSY_THREADS));
+        assertFalse(metrics.containsKey(JvmMetricsCollector.CONNECTOR_REQUEST_COUNT));
+    }
+
+    /**
+     * An MBean with one attribute, Tomcat's MBeans have attribute names that start in lower case like this one
+     */
+    private static class AttributeMBean implements DynamicMBean {
+        private final String attribute;
+        private final Object value;
+
+        private AttributeMBean(final String attribute, final Object value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        @Override
+        public Object getAttribute(final String name) throws AttributeNotFoundException {
+            if (attribute.equals(name)) {
+                return value;
+            }
+            throw new AttributeNotFoundException(name);
+        }
+
+        @Override
+        public void setAttribute(final Attribute attribute) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AttributeList getAttributes(final String[] names) {
+            return new AttributeList();
+        }
+
+        @Override
+        public AttributeList setAttributes(final AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(final String actionName, final Object[] params, final String[] signature) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return new MBeanInfo(AttributeMBean.class.getName(), null,
+                    new MBeanAttributeInfo[]{new MBeanAttributeInfo(attribute, value.getClass().getName(), null, true, false, false)},
+                    null, null, null);
+        }
+    }
+}
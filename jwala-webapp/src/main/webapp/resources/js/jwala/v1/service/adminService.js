@@ -21,6 +21,10 @@ var adminService = {
 
     getAuthorizationDetails: function(){
         return serviceFoundation.promisedGet("v1.0/admin/context/authorization", "json");
+    },
+
+    getServerStateSnapshot: function(destination) {
+        return serviceFoundation.promisedGet("v1.0/admin/server-states?destination=" + encodeURIComponent(destination), "json");
     }
     
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 var historyService = {
 
-    read: function(groupName, serverName, numOfRec) {
+    /**
+     * Read the newest history or, if beforeId is set, the page of history that comes after the record with that id
+     */
+    read: function(groupName, serverName, numOfRec, beforeId) {
+        var params = "?numOfRec=" + numOfRec + (beforeId === undefined || beforeId === null ? "" : "&beforeId=" + beforeId);
         if (serverName === undefined || serverName === null) {
-            return serviceFoundation.promisedGet("v1.0/history/" + groupName +"?numOfRec="+numOfRec,
+            return serviceFoundation.promisedGet("v1.0/history/" + groupName + params,
                                                  "json", true);
         }
-        return serviceFoundation.promisedGet("v1.0/history/" + groupName + "/" + serverName+"?numOfRec="+numOfRec,
+        return serviceFoundation.promisedGet("v1.0/history/" + groupName + "/" + serverName + params,
                                              "json", true);
     }
 
-}
\ No newline at end of file
+}
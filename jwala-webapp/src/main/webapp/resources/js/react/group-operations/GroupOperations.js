@@ -64,6 +64,7 @@ var GroupOperations = React.createClass({
                                                               webServers={this.state.webServers}
                                                               jvms={this.state.jvms}
                                                               updateWebServerDataCallback={this.updateWebServerDataCallback}
+                                                              expandRowCallback={this.expandRowCallback}
                                                               collapseRowCallback={this.collapseRowCallback}
                                                               commandStatusWidgetMap={this.commandStatusWidgetMap}
                                                               parent={this}/>
@@ -392,7 +393,9 @@ var GroupOperations = React.createClass({
     },
     pollStates: function() {
         React.renderComponent(<span>Connecting to a web socket...</span>, this.refs.stompMsgDiv.getDOMNode());
-        ServiceFactory.getServerStateWebSocketService().connect(this.msgHandler, this.stompConnectedCallback, this.stompConnectErrorHandler);
+        var serverStateWebSocketService = ServiceFactory.getServerStateWebSocketService();
+        serverStateWebSocketService.subscribe(serverStateWebSocketService.groupsTopic(), this.msgHandler);
+        serverStateWebSocketService.connect(this.stompConnectedCallback, this.stompConnectErrorHandler);
     },
     stompConnectedCallback: function(frame) {
         if (this.refs.stompMsgDiv) {
@@ -408,7 +411,7 @@ var GroupOperations = React.createClass({
         React.renderComponent(<span>Connecting to a web socket...</span>, this.refs.stompMsgDiv.getDOMNode());
 
         // try to connect again...
-        ServiceFactory.getServerStateWebSocketService().connect(this.msgHandler, this.stompConnectedCallback, this.stompConnectErrorHandler);
+        ServiceFactory.getServerStateWebSocketService().connect(this.stompConnectedCallback, this.stompConnectErrorHandler);
     },
     markGroupExpanded: function(groupId, isExpanded) {
         this.setState(groupOperationsHelper.markGroupExpanded(this.state.groups,
@@ -439,8 +442,15 @@ var GroupOperations = React.createClass({
                                                                  []));
         this.updateWebServerStateData(null);
     },
+    expandRowCallback: function(groupId) {
+        // Only receive the states of the JVMs and web servers of the groups that are shown
+        var serverStateWebSocketService = ServiceFactory.getServerStateWebSocketService();
+        serverStateWebSocketService.subscribe(serverStateWebSocketService.groupTopic(groupId), this.msgHandler);
+    },
     collapseRowCallback: function(groupId) {
         delete this.state.visibleWebServers["grp_" + groupId];
+        var serverStateWebSocketService = ServiceFactory.getServerStateWebSocketService();
+        serverStateWebSocketService.unsubscribe(serverStateWebSocketService.groupTopic(groupId));
     },
     statePoller: null,
     statics: {
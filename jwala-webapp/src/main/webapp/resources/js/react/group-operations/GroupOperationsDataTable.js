@@ -249,6 +249,8 @@ var GroupOperationsDataTable = React.createClass({
         var self = this;
         var key = GroupOperations.getExtDivCompId(groupId);
 
+        this.props.expandRowCallback(groupId);
+
         // Mount a status window where one can see action events and status errors.
         var mountingNode = $("#" + key);
         mountingNode.empty(); // Remove the node. TODO: Use react's unmount.
@@ -1,20 +1,128 @@
 /**
  * The server state web socket service.
+ *
+ * Clients subscribe to the topics of what they show, e.g. the states of all the groups or everything about one group.
+ * States are pushed in batches that only have the fields that changed since the previous batch. The full states
+ * are kept per topic so that the message handler always gets complete states. A full snapshot of a topic is fetched
+ * when it is subscribed to and whenever a batch is missed.
  */
 var serverStateWebSocketService = {
-    connect: function(msgHandler, connectedCallback, errorHandler) {
+    TOPIC: "/topic/server-states",
+    subscriptions: {},
+    connected: false,
+    groupsTopic: function() {
+        return this.TOPIC + "/groups";
+    },
+    groupTopic: function(groupId) {
+        return this.TOPIC + "/groups/" + groupId;
+    },
+    jvmTopic: function(jvmId) {
+        return this.TOPIC + "/jvms/" + jvmId;
+    },
+    webServerTopic: function(webServerId) {
+        return this.TOPIC + "/web-servers/" + webServerId;
+    },
+    connect: function(connectedCallback, errorHandler) {
         var self = this;
         var socket = new SockJS(jwalaVars["rootContextName"] + "/endpoint");
         stompClient = Stomp.over(socket);
         stompClient.connect({}, function(frame) {
             console.log("Connected: " + frame);
-            stompClient.subscribe("/topic/server-states", function(rawMsg){
-                msgHandler(JSON.parse(rawMsg.body));
-            });
+            self.connected = true;
+            for (var destination in self.subscriptions) {
+                self.startSubscription(self.subscriptions[destination]);
+            }
             connectedCallback(frame);
-        }, errorHandler);
+        }, function(e) {
+            self.connected = false;
+            errorHandler(e);
+        });
+    },
+    /**
+     * Subscribe to a topic, the subscription is kept when reconnecting.
+     */
+    subscribe: function(destination, msgHandler) {
+        if (this.subscriptions[destination]) {
+            return;
+        }
+        var subscription = {destination: destination, msgHandler: msgHandler};
+        this.subscriptions[destination] = subscription;
+        if (this.connected) {
+            this.startSubscription(subscription);
+        }
+    },
+    unsubscribe: function(destination) {
+        var subscription = this.subscriptions[destination];
+        if (subscription) {
+            delete this.subscriptions[destination];
+            if (subscription.stompSubscription && this.connected) {
+                subscription.stompSubscription.unsubscribe();
+            }
+        }
+    },
+    startSubscription: function(subscription) {
+        var self = this;
+        subscription.states = {};
+        subscription.lastSequence = null;
+        subscription.stompSubscription = stompClient.subscribe(subscription.destination, function(rawMsg){
+            var msg = JSON.parse(rawMsg.body);
+            if (msg.type === "BATCH") {
+                self.receiveBatch(subscription, msg.body);
+            } else {
+                subscription.msgHandler(msg);
+            }
+        });
+        self.loadSnapshot(subscription);
+    },
+    receiveBatch: function(subscription, batch) {
+        if (subscription.pendingBatches) {
+            // a snapshot is on its way, the batch is applied after it
+            subscription.pendingBatches.push(batch);
+        } else if (batch.sequence !== subscription.lastSequence + 1 || this.hasUnknownState(subscription, batch)) {
+            console.log("Missed state batches of " + subscription.destination + ", loading a snapshot");
+            this.loadSnapshot(subscription);
+            subscription.pendingBatches.push(batch);
+        } else {
+            this.applyBatch(subscription, batch);
+        }
+    },
+    hasUnknownState: function(subscription, batch) {
+        // e.g. a server that was added to the group, the batch only has what changed since it was last sent elsewhere
+        return batch.updates.some(function(update) {
+            return subscription.states[update.type + "/" + update.id.id] === undefined;
+        });
+    },
+    loadSnapshot: function(subscription) {
+        var self = this;
+        subscription.pendingBatches = [];
+        ServiceFactory.getAdminService().getServerStateSnapshot(subscription.destination).then(function(response) {
+            var snapshot = response.applicationResponseContent;
+            subscription.states = {};
+            self.applyBatch(subscription, snapshot);
+            subscription.pendingBatches.forEach(function(batch) {
+                if (batch.sequence > subscription.lastSequence) {
+                    self.applyBatch(subscription, batch);
+                }
+            });
+        }).caught(function(e) {
+            console.log("Failed to load the server state snapshot of " + subscription.destination);
+            console.log(e);
+        }).lastly(function() {
+            subscription.pendingBatches = null;
+        });
+    },
+    applyBatch: function(subscription, batch) {
+        batch.updates.forEach(function(update) {
+            var key = update.type + "/" + update.id.id;
+            var state = $.extend({}, subscription.states[key], update);
+            subscription.states[key] = state;
+            subscription.msgHandler($.extend({}, state));
+        });
+        subscription.lastSequence = batch.sequence;
     },
     disconnect: function() {
+        this.subscriptions = {};
+        this.connected = false;
         if (stompClient) {
             try {
                 stompClient.disconnect();
@@ -3,6 +3,7 @@ package com.cerner.jwala.ws.rest.v1.configuration;
 import com.cerner.jwala.files.FilesConfiguration;
 import com.cerner.jwala.service.HistoryFacadeService;
 import com.cerner.jwala.service.HistoryService;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.app.ApplicationService;
 import com.cerner.jwala.service.balancermanager.BalancerManagerService;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionService;
@@ -11,6 +12,7 @@ import com.cerner.jwala.service.group.GroupJvmControlService;
 import com.cerner.jwala.service.group.GroupService;
 import com.cerner.jwala.service.group.GroupWebServerControlService;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmService;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.webserver.WebServerCommandService;
@@ -79,6 +81,9 @@ public class AemWebServiceConfiguration {
     @Autowired
     private JvmControlService jvmControlService;
 
+    @Autowired
+    private JvmMetricsService jvmMetricsService;
+
     @Autowired
     private ApplicationService applicationService;
 
@@ -114,6 +119,9 @@ public class AemWebServiceConfiguration {
     @Autowired
     private BinaryDistributionService binaryDistributionService;
 
+    @Autowired
+    private RemoteOperationScheduler remoteOperationScheduler;
+
     private final Map<String, ReentrantReadWriteLock> wsWriteLockMap = new ConcurrentHashMap<>();
 
     @Bean
@@ -157,7 +165,7 @@ public class AemWebServiceConfiguration {
     public GroupServiceRest getV1GroupServiceRest() {
         return new GroupServiceRestImpl(groupService, resourceService, groupControlService, groupJvmControlService,
                 groupWebServerControlService, jvmService, webServerService, applicationService, getV1ApplicationServiceRest(),
-                getV1WebServerServiceRest());
+                getV1WebServerServiceRest(), remoteOperationScheduler);
     }
 
     @Bean
@@ -169,7 +177,8 @@ public class AemWebServiceConfiguration {
     public JvmServiceRest getV1JvmServiceRest() {
         return new JvmServiceRestImpl(
                 jvmService,
-                jvmControlService
+                jvmControlService,
+                jvmMetricsService
         );
     }
 
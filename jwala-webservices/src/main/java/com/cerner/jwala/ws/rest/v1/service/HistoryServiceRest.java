@@ -23,6 +23,7 @@ public interface HistoryServiceRest {
      * Retrieve history data.
      * @param groupName the group name
      * @param numOfRec The Number of records to fetch. If null, all records are retrieved.
+     * @param beforeId the id of the last record of the previous page, if null the newest records are retrieved
      * @return {@link Response} containing history data.
      */
     @GET
@@ -31,13 +32,15 @@ public interface HistoryServiceRest {
             response = JpaHistory.class
     )
     Response findHistory(@ApiParam(value = "The name of the group to retrieve data", required = true) @PathParam("groupName") String groupName,
-                         @ApiParam(value = "The number of history records to retrieve", required = true) @QueryParam("numOfRec") Integer numOfRec);
+                         @ApiParam(value = "The number of history records to retrieve", required = true) @QueryParam("numOfRec") Integer numOfRec,
+                         @ApiParam(value = "The id of the last history record of the previous page") @QueryParam("beforeId") Long beforeId);
 
     /**
      * Retrieve history data.
      * @param groupName the group name
      * @param serverName the server name, if null the history of all the servers belonging to the group will be queried
      * @param numOfRec The Number of records to fetch. If null, all records are retrieved.
+     * @param beforeId the id of the last record of the previous page, if null the newest records are retrieved
      * @return {@link Response} containing history data.
      */
     @GET
@@ -47,6 +50,7 @@ public interface HistoryServiceRest {
     )
     Response findHistory(@ApiParam(value = "The name of the group to retrieve data", required = true) @PathParam("groupName") String groupName,
                          @ApiParam(value = "The name of the host to retrieve data", required = true) @PathParam("serverName") String serverName,
-                         @ApiParam(value = "The number of history records to retrieve", required = true) @QueryParam("numOfRec") Integer numOfRec);
+                         @ApiParam(value = "The number of history records to retrieve", required = true) @QueryParam("numOfRec") Integer numOfRec,
+                         @ApiParam(value = "The id of the last history record of the previous page") @QueryParam("beforeId") Long beforeId);
 
 }
@@ -8,6 +8,7 @@ import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -65,4 +66,53 @@ public interface AdminServiceRest {
             response = GrantedAuthority.class
     )
     Response getAuthorizationDetails();
+
+    @GET
+    @Path("/metrics/ssh-channel-pool")
+    @ApiOperation(value = "Get the metrics of the SSH shell channel pool",
+            notes = "Returns the pool's limits, active/idle counts, borrow wait times and borrow failures",
+            response = Map.class
+    )
+    Response getSshChannelPoolMetrics();
+
+    @GET
+    @Path("/metrics/remote-operations")
+    @ApiOperation(value = "Get the metrics of the remote operation scheduler",
+            notes = "Returns the scheduler's limits, queue depths, running operations per host and queue wait times",
+            response = Map.class
+    )
+    Response getRemoteOperationSchedulerMetrics();
+
+    @GET
+    @Path("/metrics/template-cache")
+    @ApiOperation(value = "Get the statistics of the compiled resource template cache",
+            notes = "Returns the cache's size and limit, hit/miss/eviction counts and the time spent compiling templates",
+            response = Map.class
+    )
+    Response getTemplateCacheStatistics();
+
+    @GET
+    @Path("/metrics/http-state-pinger")
+    @ApiOperation(value = "Get the metrics of the JVM and web server state pinger",
+            notes = "Returns the requests in flight, completed/failed/timed out counts and the connections opened and reused",
+            response = Map.class
+    )
+    Response getHttpStatePingerMetrics();
+
+    @GET
+    @Path("/server-states")
+    @ApiOperation(value = "Get the last sent state of every JVM, web server and group sent to a web socket topic",
+            notes = "Returns the states with the sequence of the last state batch, for web socket clients that missed a batch",
+            response = Map.class
+    )
+    Response getServerStateSnapshot(@ApiParam(value = "The topic, e.g. /topic/server-states/groups/1")
+                                    @QueryParam("destination") String destination);
+
+    @GET
+    @Path("/metrics/history-journal")
+    @ApiOperation(value = "Get the metrics of the history journal",
+            notes = "Returns the history rows queued, written right away, written and failed and the journal backlog",
+            response = Map.class
+    )
+    Response getHistoryJournalMetrics();
 }
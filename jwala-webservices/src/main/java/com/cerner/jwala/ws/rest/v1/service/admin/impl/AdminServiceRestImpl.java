@@ -1,10 +1,16 @@
 package com.cerner.jwala.ws.rest.v1.service.admin.impl;
 
+import com.cerner.jwala.commandprocessor.jsch.impl.JschChannelPool;
 import com.cerner.jwala.common.domain.model.fault.FaultType;
 import com.cerner.jwala.common.exception.InternalErrorException;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.files.FilesConfiguration;
+import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.HttpStatePinger;
+import com.cerner.jwala.service.MessagingService;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.resource.ResourceService;
+import com.cerner.jwala.template.ResourceFileGenerator;
 import com.cerner.jwala.ws.rest.response.ResponseContent;
 import com.cerner.jwala.ws.rest.v1.response.ResponseBuilder;
 import com.cerner.jwala.ws.rest.v1.service.admin.AdminServiceRest;
@@ -43,6 +49,21 @@ public class AdminServiceRestImpl implements AdminServiceRest {
     @Autowired
     PropertySourcesPlaceholderConfigurer configurer;
 
+    @Autowired
+    private JschChannelPool channelPool;
+
+    @Autowired
+    private RemoteOperationScheduler remoteOperationScheduler;
+
+    @Autowired
+    private HttpStatePinger httpStatePinger;
+
+    @Autowired
+    private MessagingService messagingService;
+
+    @Autowired
+    private HistoryFacadeService historyFacadeService;
+
     public AdminServiceRestImpl(FilesConfiguration theFilesConfiguration, ResourceService resourceService) {
         this.filesConfiguration = theFilesConfiguration;
         this.resourceService = resourceService;
@@ -126,4 +147,34 @@ public class AdminServiceRestImpl implements AdminServiceRest {
             }
         });
     }
+
+    @Override
+    public Response getSshChannelPoolMetrics() {
+        return ResponseBuilder.ok(channelPool.getMetrics());
+    }
+
+    @Override
+    public Response getRemoteOperationSchedulerMetrics() {
+        return ResponseBuilder.ok(remoteOperationScheduler.getMetrics());
+    }
+
+    @Override
+    public Response getTemplateCacheStatistics() {
+        return ResponseBuilder.ok(ResourceFileGenerator.getTemplateCacheStatistics());
+    }
+
+    @Override
+    public Response getHttpStatePingerMetrics() {
+        return ResponseBuilder.ok(httpStatePinger.getMetrics());
+    }
+
+    @Override
+    public Response getServerStateSnapshot(final String destination) {
+        return ResponseBuilder.ok(messagingService.getStateSnapshot(destination));
+    }
+
+    @Override
+    public Response getHistoryJournalMetrics() {
+        return ResponseBuilder.ok(historyFacadeService.getMetrics());
+    }
 }
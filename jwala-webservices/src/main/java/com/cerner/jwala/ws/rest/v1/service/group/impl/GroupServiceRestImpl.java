@@ -24,6 +24,7 @@ import com.cerner.jwala.persistence.jpa.service.exception.NonRetrievableResource
 import com.cerner.jwala.persistence.jpa.service.exception.ResourceTemplateUpdateException;
 import com.cerner.jwala.persistence.jpa.type.EventType;
 import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.RemoteOperationScheduler;
 import com.cerner.jwala.service.app.ApplicationService;
 import com.cerner.jwala.service.exception.GroupServiceException;
 import com.cerner.jwala.service.group.*;
@@ -73,7 +74,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
 
     private final GroupService groupService;
     private final ResourceService resourceService;
-    private final ExecutorService executorService;
+    private final RemoteOperationScheduler remoteOperationScheduler;
     private final ApplicationService applicationService;
     private final GroupControlService groupControlService;
     private final GroupJvmControlService groupJvmControlService;
@@ -88,7 +89,8 @@ public class GroupServiceRestImpl implements GroupServiceRest {
                                 final GroupControlService groupControlService, final GroupJvmControlService groupJvmControlService,
                                 final GroupWebServerControlService groupWebServerControlService, final JvmService jvmService,
                                 final WebServerService webServerService, ApplicationService applicationService,
-                                final ApplicationServiceRest applicationServiceRest, final WebServerServiceRest webServerServiceRest) {
+                                final ApplicationServiceRest applicationServiceRest, final WebServerServiceRest webServerServiceRest,
+                                final RemoteOperationScheduler remoteOperationScheduler) {
         this.groupService = groupService;
         this.resourceService = resourceService;
         this.groupControlService = groupControlService;
@@ -99,7 +101,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
         this.applicationService = applicationService;
         this.applicationServiceRest = applicationServiceRest;
         this.webServerServiceRest = webServerServiceRest;
-        executorService = Executors.newFixedThreadPool(Integer.parseInt(ApplicationProperties.get("resources.thread-task-executor.pool.size", "25")));
+        this.remoteOperationScheduler = remoteOperationScheduler;
     }
 
     @Override
@@ -225,7 +227,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
                 for (final WebServer webServer : groupWebServers) {
                     final String webServerName = webServer.getName();
                     LOGGER.info("Updating Web Server {} template {}", webServerName, resourceTemplateName);
-                    Future<Response> futureContent = executorService.submit(new Callable<Response>() {
+                    Future<Response> futureContent = remoteOperationScheduler.submit(null, groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                         @Override
                         public Response call() throws Exception {
                             return ResponseBuilder.ok(webServerService.updateResourceTemplate(webServerName, resourceTemplateName, updatedContent));
@@ -299,7 +301,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
                 for (final Jvm jvm : groupJvms) {
                     final String jvmName = jvm.getJvmName();
                     LOGGER.info("Updating JVM {} template {}", jvmName, resourceTemplateName);
-                    Future<Response> futureContent = executorService.submit(new Callable<Response>() {
+                    Future<Response> futureContent = remoteOperationScheduler.submit(null, groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                         @Override
                         public Response call() throws Exception {
                             SecurityContextHolder.getContext().setAuthentication(auth);
@@ -365,7 +367,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
         final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         for (final WebServer webserver : webServers) {
             final String name = webserver.getName();
-            Future<Response> responseFuture = executorService.submit(new Callable<Response>() {
+            Future<Response> responseFuture = remoteOperationScheduler.submit(webserver.getHost(), groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                 @Override
                 public Response call() throws Exception {
                     SecurityContextHolder.getContext().setAuthentication(auth);
@@ -494,7 +496,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
             final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             for (final WebServer webServer : webServers) {
                 final String webServerName = webServer.getName();
-                Future<Response> responseFuture = executorService.submit(new Callable<Response>() {
+                Future<Response> responseFuture = remoteOperationScheduler.submit(webServer.getHost(), group.getName(), RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                     @Override
                     public Response call() throws Exception {
                         SecurityContextHolder.getContext().setAuthentication(auth);
@@ -537,7 +539,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
             final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             for (final Jvm jvm : jvms) {
                 final String jvmName = jvm.getJvmName();
-                Future<Response> responseFuture = executorService.submit(new Callable<Response>() {
+                Future<Response> responseFuture = remoteOperationScheduler.submit(jvm.getHostName(), group.getName(), RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                     @Override
                     public Response call() throws Exception {
                         SecurityContextHolder.getContext().setAuthentication(auth);
@@ -662,7 +664,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
                 for (final Jvm jvm : groupJvms) {
                     final String jvmName = jvm.getJvmName();
                     LOGGER.info("Updating JVM {} template {}", jvmName, resourceTemplateName);
-                    Future<Response> futureContent = executorService.submit(new Callable<Response>() {
+                    Future<Response> futureContent = remoteOperationScheduler.submit(null, groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                         @Override
                         public Response call() throws Exception {
                             SecurityContextHolder.getContext().setAuthentication(auth);
@@ -828,7 +830,7 @@ public class GroupServiceRestImpl implements GroupServiceRest {
         final Map<String, Future<Response>> futureMap = new HashMap<>();
         for (Jvm jvm : jvms) {
             final String jvmName = jvm.getJvmName();
-            Future<Response> responseFuture = executorService.submit(new Callable<Response>() {
+            Future<Response> responseFuture = remoteOperationScheduler.submit(jvm.getHostName(), groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
                 @Override
                 public Response call() throws Exception {
                     SecurityContextHolder.getContext().setAuthentication(auth);
@@ -871,7 +873,8 @@ public class GroupServiceRestImpl implements GroupServiceRest {
     private Future<Response> createFutureResponseForAppDeploy(final String groupName, final String fileName, final String appName, final Jvm jvm, final String hostName) {
         final Application application = applicationService.getApplication(appName);
         final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        Future<Response> responseFuture = executorService.submit(new Callable<Response>() {
+        final String host = jvm != null ? jvm.getHostName() : hostName;
+        Future<Response> responseFuture = remoteOperationScheduler.submit(host, groupName, RemoteOperationScheduler.Priority.DEPLOY, new Callable<Response>() {
             @Override
             public Response call() throws Exception {
                 SecurityContextHolder.getContext().setAuthentication(auth);
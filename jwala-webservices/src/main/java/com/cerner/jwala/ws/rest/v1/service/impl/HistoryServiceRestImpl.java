@@ -21,14 +21,15 @@ public class HistoryServiceRestImpl implements HistoryServiceRest {
     }
 
     @Override
-    public Response findHistory(final String groupName, final Integer numOfRec) {
-        final List<JpaHistory> historyList = historyService.findHistory(groupName, null, numOfRec);
+    public Response findHistory(final String groupName, final Integer numOfRec, final Long beforeId) {
+        final List<JpaHistory> historyList = historyService.findHistory(groupName, null, numOfRec, beforeId);
         return Response.ok(historyList).build();
     }
 
     @Override
-    public Response findHistory(final String groupName, final String serverName, final Integer numOfRec) {
-        final List<JpaHistory> historyList = historyService.findHistory(groupName, serverName, numOfRec);
+    public Response findHistory(final String groupName, final String serverName, final Integer numOfRec,
+                                final Long beforeId) {
+        final List<JpaHistory> historyList = historyService.findHistory(groupName, serverName, numOfRec, beforeId);
         return Response.ok(historyList).build();
     }
 
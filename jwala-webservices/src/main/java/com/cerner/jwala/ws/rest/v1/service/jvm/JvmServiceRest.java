@@ -2,6 +2,7 @@ package com.cerner.jwala.ws.rest.v1.service.jvm;
 
 import com.cerner.jwala.common.domain.model.id.Identifier;
 import com.cerner.jwala.common.domain.model.jvm.Jvm;
+import com.cerner.jwala.service.jvm.JvmMetrics;
 import com.cerner.jwala.ws.rest.v1.provider.AuthenticatedUser;
 import com.cerner.jwala.ws.rest.v1.service.jvm.impl.JsonControlJvm;
 import com.cerner.jwala.ws.rest.v1.service.jvm.impl.JsonCreateJvm;
@@ -31,6 +32,22 @@ public interface JvmServiceRest {
     )
     Response getJvm(@ApiParam(value = "The JVM's ID", required = true) @PathParam("jvmId") final Identifier<Jvm> aJvmId);
 
+    @GET
+    @Path("/metrics")
+    @ApiOperation(value = "Get the latest runtime metrics of all the JVMs that send metrics with their heartbeats",
+            notes = "Returns the heap, GC, thread and connector metrics of each JVM and when they were collected",
+            response = List.class
+    )
+    Response getJvmMetrics();
+
+    @GET
+    @Path("/{jvmId}/metrics")
+    @ApiOperation(value = "Get the latest runtime metrics a JVM sent with its heartbeat",
+            response = JvmMetrics.class
+    )
+    @ApiResponses(@ApiResponse(code = 404, message = "The JVM hasn't sent any metrics"))
+    Response getJvmMetrics(@ApiParam(value = "The JVM's ID", required = true) @PathParam("jvmId") final Identifier<Jvm> aJvmId);
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Create a JVM on Jwala database, The actual JVM instance on the server is created only after generate operation",
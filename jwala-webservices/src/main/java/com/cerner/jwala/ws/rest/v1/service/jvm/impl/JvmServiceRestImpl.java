@@ -11,6 +11,7 @@ import com.cerner.jwala.common.exec.CommandOutputReturnCode;
 import com.cerner.jwala.common.request.jvm.ControlJvmRequest;
 import com.cerner.jwala.common.request.jvm.ControlJvmRequestFactory;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmService;
 import com.cerner.jwala.service.jvm.exception.JvmControlServiceException;
 import com.cerner.jwala.ws.rest.v1.provider.AuthenticatedUser;
@@ -33,14 +34,17 @@ public class JvmServiceRestImpl implements JvmServiceRest {
 
     private final JvmService jvmService;
     private final JvmControlService jvmControlService;
+    private final JvmMetricsService jvmMetricsService;
 
     @Context
     private MessageContext context;
 
     public JvmServiceRestImpl(final JvmService theJvmService,
-                              final JvmControlService theJvmControlService) {
+                              final JvmControlService theJvmControlService,
+                              final JvmMetricsService theJvmMetricsService) {
         jvmService = theJvmService;
         jvmControlService = theJvmControlService;
+        jvmMetricsService = theJvmMetricsService;
     }
 
     @Override
@@ -60,6 +64,18 @@ public class JvmServiceRestImpl implements JvmServiceRest {
         return ResponseBuilder.ok(aJvm);
     }
 
+    @Override
+    public Response getJvmMetrics() {
+        LOGGER.debug("Get JVM metrics requested");
+        return ResponseBuilder.ok(jvmMetricsService.getMetrics());
+    }
+
+    @Override
+    public Response getJvmMetrics(final Identifier<Jvm> aJvmId) {
+        LOGGER.debug("Get JVM metrics requested: {}", aJvmId);
+        return ResponseBuilder.ok(jvmMetricsService.getMetrics(aJvmId));
+    }
+
     @Override
     public Response createJvm(final JsonCreateJvm jsonCreateJvm, final AuthenticatedUser aUser) {
         try {
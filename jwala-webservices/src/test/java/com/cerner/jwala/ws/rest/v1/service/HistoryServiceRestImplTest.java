@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import javax.ws.rs.core.Response;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 /**
@@ -28,13 +29,15 @@ public class HistoryServiceRestImplTest {
 
     @Test
     public void testFindHistory() {
-        final Response response = historyServiceRest.findHistory("any", 1);
+        final Response response = historyServiceRest.findHistory("any", 1, null);
         assertEquals(response.getStatus(), 200);
+        verify(mockHistoryService).findHistory("any", null, 1, null);
     }
 
     @Test
     public void testFindHistoryWithServer() {
-        final Response response = historyServiceRest.findHistory("any", "any", 1);
+        final Response response = historyServiceRest.findHistory("any", "any", 1, 100L);
         assertEquals(response.getStatus(), 200);
+        verify(mockHistoryService).findHistory("any", "any", 1, 100L);
     }
 }
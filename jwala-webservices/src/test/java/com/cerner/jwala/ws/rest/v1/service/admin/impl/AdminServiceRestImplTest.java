@@ -1,7 +1,13 @@
 package com.cerner.jwala.ws.rest.v1.service.admin.impl;
 
+import com.cerner.jwala.commandprocessor.jsch.impl.JschChannelPool;
 import com.cerner.jwala.common.properties.ApplicationProperties;
 import com.cerner.jwala.files.FilesConfiguration;
+import com.cerner.jwala.service.HistoryFacadeService;
+import com.cerner.jwala.service.HttpStatePinger;
+import com.cerner.jwala.service.MessagingService;
+import com.cerner.jwala.service.RemoteOperationScheduler;
+import com.cerner.jwala.service.StateBatch;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.ws.rest.v1.response.ApplicationResponse;
 import org.junit.After;
@@ -19,6 +25,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
@@ -44,6 +53,21 @@ public class AdminServiceRestImplTest {
     @Mock
     PropertySourcesPlaceholderConfigurer thePropConfigurer = mock(PropertySourcesPlaceholderConfigurer.class);
 
+    @Mock
+    private JschChannelPool mockChannelPool;
+
+    @Mock
+    private RemoteOperationScheduler mockRemoteOperationScheduler;
+
+    @Mock
+    private HttpStatePinger mockHttpStatePinger;
+
+    @Mock
+    private MessagingService mockMessagingService;
+
+    @Mock
+    private HistoryFacadeService mockHistoryFacadeService;
+
     public AdminServiceRestImplTest() {
         cut = new AdminServiceRestImpl(theFilesConfiguration, theResourceService);
     }
@@ -128,4 +152,63 @@ public class AdminServiceRestImplTest {
         Response response = cut.getAuthorizationDetails();
         assertEquals(response.getStatus(), 200);
     }
+
+    @Test
+    public void testGetSshChannelPoolMetrics() {
+        final Map<String, Object> metrics = new HashMap<>();
+        metrics.put("numActive", 1);
+        when(mockChannelPool.getMetrics()).thenReturn(metrics);
+        Response response = cut.getSshChannelPoolMetrics();
+        assertEquals(200, response.getStatus());
+        assertEquals(metrics, ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+    }
+
+    @Test
+    public void testGetRemoteOperationSchedulerMetrics() {
+        final Map<String, Object> metrics = new HashMap<>();
+        metrics.put("queued", 2);
+        when(mockRemoteOperationScheduler.getMetrics()).thenReturn(metrics);
+        Response response = cut.getRemoteOperationSchedulerMetrics();
+        assertEquals(200, response.getStatus());
+        assertEquals(metrics, ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+    }
+
+    @Test
+    public void testGetTemplateCacheStatistics() {
+        Response response = cut.getTemplateCacheStatistics();
+        assertEquals(200, response.getStatus());
+        final Map statistics = (Map) ((ApplicationResponse) response.getEntity()).getApplicationResponseContent();
+        assertTrue(statistics.containsKey("hitCount"));
+        assertTrue(statistics.containsKey("missCount"));
+        assertTrue(statistics.containsKey("evictionCount"));
+    }
+
+    @Test
+    public void testGetHttpStatePingerMetrics() {
+        final Map<String, Object> metrics = new HashMap<>();
+        metrics.put("inFlight", 3);
+        when(mockHttpStatePinger.getMetrics()).thenReturn(metrics);
+        Response response = cut.getHttpStatePingerMetrics();
+        assertEquals(200, response.getStatus());
+        assertEquals(metrics, ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+    }
+
+    @Test
+    public void testGetServerStateSnapshot() {
+        final StateBatch snapshot = new StateBatch(7, Collections.<Map<String, Object>>emptyList());
+        when(mockMessagingService.getStateSnapshot("/topic/server-states/groups/1")).thenReturn(snapshot);
+        Response response = cut.getServerStateSnapshot("/topic/server-states/groups/1");
+        assertEquals(200, response.getStatus());
+        assertEquals(snapshot, ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+    }
+
+    @Test
+    public void testGetHistoryJournalMetrics() {
+        final Map<String, Object> metrics = new HashMap<>();
+        metrics.put("backlog", 5);
+        when(mockHistoryFacadeService.getMetrics()).thenReturn(metrics);
+        Response response = cut.getHistoryJournalMetrics();
+        assertEquals(200, response.getStatus());
+        assertEquals(metrics, ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+    }
 }
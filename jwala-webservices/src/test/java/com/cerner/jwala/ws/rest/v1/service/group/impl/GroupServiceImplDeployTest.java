@@ -25,8 +25,10 @@ import com.cerner.jwala.service.binarydistribution.BinaryDistributionControlServ
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionLockManager;
 import com.cerner.jwala.service.binarydistribution.BinaryDistributionService;
 import com.cerner.jwala.service.group.*;
+import com.cerner.jwala.service.impl.RemoteOperationSchedulerImpl;
 import com.cerner.jwala.service.impl.spring.component.SimpMessagingServiceImpl;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.JvmService;
 import com.cerner.jwala.service.resource.ResourceService;
 import com.cerner.jwala.service.webserver.WebServerCommandService;
@@ -543,12 +545,12 @@ public class GroupServiceImplDeployTest {
         public GroupServiceRest getGroupServiceRest() {
             return new GroupServiceRestImpl(Config.mockGroupService, mockResourceService, mockGroupControlService, mockGroupJvmControlService,
                     mockGroupWebServerControlService, mockJvmService, mockWebServerService, mockApplicationService,
-                    mockApplicationServiceRest, mockWebServerServiceRest);
+                    mockApplicationServiceRest, mockWebServerServiceRest, new RemoteOperationSchedulerImpl(25, 25));
         }
 
         @Bean
         public JvmServiceRest getJvmServiceRest() {
-            return new JvmServiceRestImpl(mockJvmService, mockJvmControlService);
+            return new JvmServiceRestImpl(mockJvmService, mockJvmControlService, mock(JvmMetricsService.class));
         }
 
         @Bean
@@ -16,6 +16,8 @@ import com.cerner.jwala.common.request.jvm.ControlJvmRequest;
 import com.cerner.jwala.common.request.jvm.CreateJvmAndAddToGroupsRequest;
 import com.cerner.jwala.common.request.jvm.UpdateJvmRequest;
 import com.cerner.jwala.service.jvm.JvmControlService;
+import com.cerner.jwala.service.jvm.JvmMetrics;
+import com.cerner.jwala.service.jvm.JvmMetricsService;
 import com.cerner.jwala.service.jvm.impl.JvmServiceImpl;
 import com.cerner.jwala.service.jvm.state.JvmStateReceiverAdapter;
 import com.cerner.jwala.service.resource.ResourceService;
@@ -35,6 +37,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -79,6 +82,8 @@ public class JvmServiceRestImplTest {
     private ResourceService resourceService;
     @Mock
     private JvmStateReceiverAdapter jvmStateReceiverAdapter;
+    @Mock
+    private JvmMetricsService jvmMetricsService;
 
     private JvmServiceRestImpl jvmServiceRest;
 
@@ -106,7 +111,7 @@ public class JvmServiceRestImplTest {
     @Before
     public void setUp() {
         System.setProperty(ApplicationProperties.PROPERTIES_ROOT_PATH, "./src/test/resources");
-        jvmServiceRest = new JvmServiceRestImpl(jvmService, jvmControlService);
+        jvmServiceRest = new JvmServiceRestImpl(jvmService, jvmControlService, jvmMetricsService);
         when(authenticatedUser.getUser()).thenReturn(new User("Unused"));
     }
 
@@ -127,6 +132,21 @@ public class JvmServiceRestImplTest {
         assertTrue(content instanceof List);
     }
 
+    @Test
+    public void testGetJvmMetrics() {
+        final JvmMetrics jvmMetrics = new JvmMetrics(Identifier.id(1L, Jvm.class), name, 1000,
+                Collections.singletonMap("heapUsed", 1024L));
+        when(jvmMetricsService.getMetrics()).thenReturn(Collections.singletonList(jvmMetrics));
+        when(jvmMetricsService.getMetrics(Identifier.id(1L, Jvm.class))).thenReturn(jvmMetrics);
+
+        Response response = jvmServiceRest.getJvmMetrics();
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(Collections.singletonList(jvmMetrics), ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+
+        response = jvmServiceRest.getJvmMetrics(Identifier.id(1L, Jvm.class));
+        assertEquals(jvmMetrics, ((ApplicationResponse) response.getEntity()).getApplicationResponseContent());
+    }
+
     @Test
     public void testGetJvm() {
         when(jvmService.getJvm(any(Identifier.class))).thenReturn(jvm);